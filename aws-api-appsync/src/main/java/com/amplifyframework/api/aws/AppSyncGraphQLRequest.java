@@ -87,6 +87,22 @@ public final class AppSyncGraphQLRequest<R> extends GraphQLRequest<R> {
         return Immutable.of(variables);
     }
 
+    /**
+     * Returns the GraphQL types of the variables of this request, keyed by variable name.
+     * @return the GraphQL types of the variables of this request.
+     */
+    public Map<String, String> getVariableTypes() {
+        return Immutable.of(variableTypes);
+    }
+
+    /**
+     * Returns the {@link SelectionSet} for this request.
+     * @return the {@link SelectionSet} for this request.
+     */
+    public SelectionSet getSelectionSet() {
+        return selectionSet;
+    }
+
     /**
      * Returns the {@link AuthorizationType} for this request.
      * @return the {@link AuthorizationType} for this request.
@@ -138,6 +154,10 @@ public final class AppSyncGraphQLRequest<R> extends GraphQLRequest<R> {
      */
     @Override
     public String getQuery() {
+        return GraphQLDocumentCache.getDocument(modelSchema, operation, selectionSet, variableTypes, this::renderQuery);
+    }
+
+    private String renderQuery() {
         String inputTypeString = "";
         String inputParameterString = "";
         if (variableTypes.size() > 0) {
@@ -391,7 +411,7 @@ public final class AppSyncGraphQLRequest<R> extends GraphQLRequest<R> {
                     );
                 }
                 // Derive modelSchema from modelClass if not available
-                modelSchema = ModelSchema.fromModelClass(this.modelClass);
+                modelSchema = GraphQLDocumentCache.getModelSchema(this.modelClass);
             }
 
             // if this Builder was created via newBuilder(),
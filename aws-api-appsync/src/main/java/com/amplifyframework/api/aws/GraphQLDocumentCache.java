@@ -0,0 +1,228 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.graphql.Operation;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelSchema;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches the parts of a GraphQL document that only depend on the model class, and not on the
+ * values of a request: the {@link ModelSchema} of the class, its {@link SelectionSet} for an
+ * operation, and the text of the document.
+ *
+ * Building these walks the model classes by reflection, and renders the selection set again,
+ * for every request. Since an app sends requests for a small, fixed set of model classes and
+ * operations, they are built once, and only the variables are built per request.
+ *
+ * Selection sets of {@link com.amplifyframework.core.model.SerializedModel}s are not cached,
+ * since they are built from schemas which can be registered again at runtime.
+ */
+final class GraphQLDocumentCache {
+    private static final ConcurrentMap<Class<? extends Model>, ModelSchema> MODEL_SCHEMAS =
+        new ConcurrentHashMap<>();
+    private static final ConcurrentMap<SelectionSetKey, SelectionSet> SELECTION_SETS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<DocumentKey, String> DOCUMENTS = new ConcurrentHashMap<>();
+
+    private GraphQLDocumentCache() {}
+
+    /**
+     * Gets the schema of a model class, deriving it the first time.
+     * @param modelClass A model class
+     * @return The schema of the model class
+     * @throws AmplifyException If the schema can not be derived from the class
+     */
+    @NonNull
+    static ModelSchema getModelSchema(@NonNull Class<? extends Model> modelClass) throws AmplifyException {
+        ModelSchema modelSchema = MODEL_SCHEMAS.get(modelClass);
+        if (modelSchema == null) {
+            modelSchema = ModelSchema.fromModelClass(modelClass);
+            ModelSchema existing = MODEL_SCHEMAS.putIfAbsent(modelClass, modelSchema);
+            if (existing != null) {
+                modelSchema = existing;
+            }
+        }
+        return modelSchema;
+    }
+
+    /**
+     * Gets the selection set of a model class for an operation, building it the first time.
+     * The selection set is immutable, so that it can be shared by requests.
+     * @param modelClass A model class
+     * @param operation An operation on the model
+     * @param requestOptions Options for building the selection set
+     * @param factory Builds the selection set, if it is not cached
+     * @return An immutable selection set
+     * @throws AmplifyException From the factory
+     */
+    @NonNull
+    static SelectionSet getSelectionSet(
+            @NonNull Class<? extends Model> modelClass,
+            @NonNull Operation operation,
+            @NonNull GraphQLRequestOptions requestOptions,
+            @NonNull Factory<SelectionSet> factory) throws AmplifyException {
+        SelectionSetKey key = new SelectionSetKey(modelClass, operation, requestOptions);
+        SelectionSet selectionSet = SELECTION_SETS.get(key);
+        if (selectionSet == null) {
+            selectionSet = SelectionSet.immutableCopyOf(factory.create());
+            SelectionSet existing = SELECTION_SETS.putIfAbsent(key, selectionSet);
+            if (existing != null) {
+                selectionSet = existing;
+            }
+        }
+        return selectionSet;
+    }
+
+    /**
+     * Gets the text of a document, rendering it the first time. Only documents with a selection
+     * set from {@link #getSelectionSet(Class, Operation, GraphQLRequestOptions, Factory)} are cached,
+     * since other selection sets may change.
+     * @param modelSchema Schema of the model
+     * @param operation An operation on the model
+     * @param selectionSet Selection set of the document
+     * @param variableTypes GraphQL types of the variables of the document, by name
+     * @param factory Renders the document, if it is not cached
+     * @return The text of the document
+     */
+    @NonNull
+    static String getDocument(
+            @NonNull ModelSchema modelSchema,
+            @NonNull Operation operation,
+            @NonNull SelectionSet selectionSet,
+            @NonNull Map<String, String> variableTypes,
+            @NonNull Supplier<String> factory) {
+        if (!selectionSet.isImmutable()) {
+            return factory.get();
+        }
+        DocumentKey key = new DocumentKey(modelSchema, operation, selectionSet, variableTypes);
+        String document = DOCUMENTS.get(key);
+        if (document == null) {
+            document = factory.get();
+            DOCUMENTS.putIfAbsent(key, document);
+        }
+        return document;
+    }
+
+    @VisibleForTesting
+    static void clear() {
+        MODEL_SCHEMAS.clear();
+        SELECTION_SETS.clear();
+        DOCUMENTS.clear();
+    }
+
+    /**
+     * Creates a value which is not in the cache.
+     * @param <T> Type of value
+     */
+    interface Factory<T> {
+        /**
+         * Creates the value.
+         * @return The value
+         * @throws AmplifyException On failure to create the value
+         */
+        @NonNull
+        T create() throws AmplifyException;
+    }
+
+    private static final class SelectionSetKey {
+        private final Class<? extends Model> modelClass;
+        private final Operation operation;
+        private final List<Object> requestOptions;
+
+        SelectionSetKey(Class<? extends Model> modelClass, Operation operation, GraphQLRequestOptions requestOptions) {
+            this.modelClass = modelClass;
+            this.operation = operation;
+            this.requestOptions = new ArrayList<>();
+            this.requestOptions.add(new ArrayList<>(requestOptions.paginationFields()));
+            this.requestOptions.add(new ArrayList<>(requestOptions.modelMetaFields()));
+            this.requestOptions.add(requestOptions.listField());
+            this.requestOptions.add(requestOptions.maxDepth());
+            this.requestOptions.add(requestOptions.leafSerializationBehavior());
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass()) {
+                return false;
+            }
+            SelectionSetKey that = (SelectionSetKey) object;
+            return modelClass.equals(that.modelClass) &&
+                operation.equals(that.operation) &&
+                requestOptions.equals(that.requestOptions);
+        }
+
+        @Override
+        public int hashCode() {
+            return ObjectsCompat.hash(modelClass, operation, requestOptions);
+        }
+    }
+
+    // Selection sets are compared by identity, since a cached selection set is only ever equal to itself.
+    private static final class DocumentKey {
+        private final List<String> modelNames;
+        private final Operation operation;
+        private final SelectionSet selectionSet;
+        private final Map<String, String> variableTypes;
+
+        DocumentKey(ModelSchema modelSchema, Operation operation, SelectionSet selectionSet,
+                    Map<String, String> variableTypes) {
+            this.modelNames = new ArrayList<>();
+            this.modelNames.add(modelSchema.getName());
+            this.modelNames.add(modelSchema.getPluralName());
+            this.modelNames.add(modelSchema.getListPluralName());
+            this.modelNames.add(modelSchema.getSyncPluralName());
+            this.operation = operation;
+            this.selectionSet = selectionSet;
+            this.variableTypes = new HashMap<>(variableTypes);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass()) {
+                return false;
+            }
+            DocumentKey that = (DocumentKey) object;
+            return selectionSet == that.selectionSet &&
+                modelNames.equals(that.modelNames) &&
+                operation.equals(that.operation) &&
+                variableTypes.equals(that.variableTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return ObjectsCompat.hash(modelNames, operation, System.identityHashCode(selectionSet), variableTypes);
+        }
+    }
+}
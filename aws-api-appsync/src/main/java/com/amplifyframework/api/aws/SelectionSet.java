@@ -58,6 +58,9 @@ public final class SelectionSet {
 
     private final String value;
     private final Set<SelectionSet> nodes;
+    private final boolean immutable;
+    // The last rendering of an immutable selection set, with the margin it was rendered with.
+    private volatile String[] rendering;
 
     /**
      * Copy constructor.
@@ -82,8 +85,38 @@ public final class SelectionSet {
      * @param nodes Set of child nodes
      */
     public SelectionSet(String value, @NonNull Set<SelectionSet> nodes) {
+        this(value, nodes, false);
+    }
+
+    private SelectionSet(String value, Set<SelectionSet> nodes, boolean immutable) {
         this.value = value;
         this.nodes = Objects.requireNonNull(nodes);
+        this.immutable = immutable;
+    }
+
+    /**
+     * Creates a deep copy of a selection set, whose nodes can not be changed. Since it can not change,
+     * it is only rendered once for a margin, and can be shared by requests.
+     * @param selectionSet A selection set
+     * @return An immutable copy of the selection set
+     */
+    static SelectionSet immutableCopyOf(@NonNull SelectionSet selectionSet) {
+        if (selectionSet.immutable) {
+            return selectionSet;
+        }
+        Set<SelectionSet> nodes = new HashSet<>();
+        for (SelectionSet node : selectionSet.nodes) {
+            nodes.add(immutableCopyOf(node));
+        }
+        return new SelectionSet(selectionSet.value, Collections.unmodifiableSet(nodes), true);
+    }
+
+    /**
+     * Returns whether the nodes of this selection set can be changed.
+     * @return true if this is an immutable selection set
+     */
+    boolean isImmutable() {
+        return immutable;
     }
 
     /**
@@ -122,6 +155,18 @@ public final class SelectionSet {
      * @return String value of the SelectionSet for a GraphQL query document.
      */
     public String toString(String margin) {
+        if (!immutable) {
+            return render(margin);
+        }
+        String[] rendering = this.rendering;
+        if (rendering == null || !rendering[0].equals(margin)) {
+            rendering = new String[] {margin, render(margin)};
+            this.rendering = rendering;
+        }
+        return rendering[1];
+    }
+
+    private String render(String margin) {
         List<String> fieldsList = new ArrayList<>();
         StringBuilder builder = new StringBuilder();
 
@@ -210,6 +255,13 @@ public final class SelectionSet {
                         "Provide either a modelClass or a modelSchema to build the selection set");
             }
             Objects.requireNonNull(this.operation);
+            if (modelClass != null && SerializedModel.class != modelClass) {
+                return GraphQLDocumentCache.getSelectionSet(modelClass, operation, requestOptions, this::buildNode);
+            }
+            return buildNode();
+        }
+
+        private SelectionSet buildNode() throws AmplifyException {
             SelectionSet node = new SelectionSet(null,
                     SerializedModel.class == modelClass
                             ? getModelFields(modelSchema, requestOptions.maxDepth(), operation)
@@ -260,7 +312,7 @@ public final class SelectionSet {
             }
 
             Set<SelectionSet> result = new HashSet<>();
-            ModelSchema schema = ModelSchema.fromModelClass(clazz);
+            ModelSchema schema = GraphQLDocumentCache.getModelSchema(clazz);
 
             if (depth == 0
                     && LeafSerializationBehavior.JUST_ID.equals(requestOptions.leafSerializationBehavior())
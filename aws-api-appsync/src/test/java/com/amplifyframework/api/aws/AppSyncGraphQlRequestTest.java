@@ -24,6 +24,8 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 @RunWith(RobolectricTestRunner.class)
 public class AppSyncGraphQlRequestTest {
@@ -46,4 +48,32 @@ public class AppSyncGraphQlRequestTest {
         assertEquals(original.getContent(), newInstance.getContent());
         assertEquals(original.toString(), newInstance.toString());
     }
+
+    /**
+     * Verify that requests for the same model and operation, whose variables have the same types,
+     * share their selection set and document, and only differ by their variables.
+     * @throws AmplifyException on failure to build request.
+     */
+    @Test
+    public void requestsOfSameShapeShareSelectionSetAndDocument() throws AmplifyException {
+        AppSyncGraphQLRequest<Todo> first = buildGetTodoRequest("String!", "bar");
+        AppSyncGraphQLRequest<Todo> second = buildGetTodoRequest("String!", "baz");
+        AppSyncGraphQLRequest<Todo> otherShape = buildGetTodoRequest("Int", 42);
+
+        assertSame(first.getSelectionSet(), second.getSelectionSet());
+        assertSame(first.getQuery(), second.getQuery());
+        assertNotEquals(first.getContent(), second.getContent());
+        assertNotEquals(first.getQuery(), otherShape.getQuery());
+    }
+
+    private static AppSyncGraphQLRequest<Todo> buildGetTodoRequest(String type, Object value)
+            throws AmplifyException {
+        return AppSyncGraphQLRequest.builder()
+                .modelClass(Todo.class)
+                .operation(QueryType.GET)
+                .requestOptions(new DefaultGraphQLRequestOptions())
+                .responseType(Todo.class)
+                .variable("foo", type, value)
+                .build();
+    }
 }
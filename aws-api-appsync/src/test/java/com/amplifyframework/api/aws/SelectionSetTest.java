@@ -43,6 +43,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 
 @RunWith(RobolectricTestRunner.class)
 public class SelectionSetTest {
@@ -60,6 +62,32 @@ public class SelectionSetTest {
         assertEquals(Resources.readAsString("selection-set-post.txt"), selectionSet.toString() + "\n");
     }
 
+    /**
+     * Test that the selection set of a model class is built once, and can not be changed
+     * by the requests which share it.
+     * @throws AmplifyException if a ModelSchema can't be derived from Post.class
+     */
+    @Test
+    public void selectionSetOfModelClassIsCachedAndImmutable() throws AmplifyException {
+        SelectionSet selectionSet = SelectionSet.builder()
+                .modelClass(Post.class)
+                .operation(QueryType.LIST)
+                .requestOptions(new DefaultGraphQLRequestOptions())
+                .build();
+        SelectionSet again = SelectionSet.builder()
+                .modelClass(Post.class)
+                .operation(QueryType.LIST)
+                .requestOptions(new DefaultGraphQLRequestOptions())
+                .build();
+
+        assertSame(selectionSet, again);
+        assertThrows(UnsupportedOperationException.class,
+            () -> selectionSet.getNodes().add(new SelectionSet("extra")));
+        for (SelectionSet node : selectionSet.getNodes()) {
+            assertThrows(UnsupportedOperationException.class, () -> node.getNodes().clear());
+        }
+    }
+
     /**
      * Test that custom type selection set serialization works as expected.
      * @throws AmplifyException if a ModelSchema can't be derived from Post.class
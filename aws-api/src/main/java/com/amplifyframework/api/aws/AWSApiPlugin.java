@@ -16,6 +16,7 @@
 package com.amplifyframework.api.aws;
 
 import android.content.Context;
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
@@ -25,6 +26,7 @@ import com.amplifyframework.api.ApiException;
 import com.amplifyframework.api.ApiPlugin;
 import com.amplifyframework.api.aws.auth.ApiRequestDecoratorFactory;
 import com.amplifyframework.api.aws.auth.AuthRuleRequestDecorator;
+import com.amplifyframework.api.aws.auth.AuthTokenCache;
 import com.amplifyframework.api.aws.auth.RequestDecorator;
 import com.amplifyframework.api.aws.operation.AWSRestOperation;
 import com.amplifyframework.api.events.ApiEndpointStatusChangeEvent;
@@ -41,11 +43,13 @@ import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.hub.HubChannel;
+import com.amplifyframework.hub.SubscriptionToken;
 import com.amplifyframework.util.Immutable;
 import com.amplifyframework.util.UserAgent;
 
 import org.json.JSONObject;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
@@ -59,11 +63,15 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicReference;
 
+import okhttp3.Cache;
 import okhttp3.Call;
 import okhttp3.Connection;
 import okhttp3.EventListener;
+import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
 
 /**
  * Plugin implementation to be registered with Amplify API category.
@@ -73,13 +81,20 @@ import okhttp3.Protocol;
 public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
     private final Map<String, ClientDetails> apiDetails;
     private final Map<String, OkHttpConfigurator> apiConfigurators;
+    private final Map<String, Long> restCacheSizes;
     private final GraphQLResponse.Factory gqlResponseFactory;
     private final ApiAuthProviders authProvider;
+    private final AuthTokenCache authTokenCache;
     private final ExecutorService executorService;
     private final AuthRuleRequestDecorator requestDecorator;
+    private final boolean cacheSigningKeys;
+    private final boolean usePersistedQueries;
+    @Nullable
+    private final GraphQLResponseCache responseCache;
 
     private final Set<String> restApis;
     private final Set<String> gqlApis;
+    private SubscriptionToken authEventsSubscription;
 
     /**
      * Default constructor for this plugin without any overrides.
@@ -101,12 +116,17 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
     private AWSApiPlugin(@NonNull Builder builder) {
         this.apiDetails = new HashMap<>();
         this.gqlResponseFactory = new GsonGraphQLResponseFactory();
-        this.authProvider = builder.apiAuthProviders;
+        this.authTokenCache = new AuthTokenCache(builder.apiAuthProviders);
+        this.authProvider = authTokenCache.getAuthProviders();
         this.restApis = new HashSet<>();
         this.gqlApis = new HashSet<>();
         this.executorService = Executors.newCachedThreadPool();
         this.requestDecorator = new AuthRuleRequestDecorator(authProvider);
         this.apiConfigurators = Immutable.of(builder.apiConfigurators);
+        this.restCacheSizes = Immutable.of(builder.restCacheSizes);
+        this.cacheSigningKeys = builder.cacheSigningKeys;
+        this.usePersistedQueries = builder.usePersistedQueries;
+        this.responseCache = builder.responseCache;
     }
 
     /**
@@ -132,6 +152,22 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
         AWSApiPluginConfiguration pluginConfig =
                 AWSApiPluginConfigurationReader.readFrom(pluginConfiguration);
 
+        // Cached tokens, credentials and responses belong to the signed in user, so they are dropped
+        // whenever the user signs in or out, or the session expires. The cached tokens and credentials
+        // are also checked against the signed in user when they are read, since events arrive later.
+        // A plugin which is configured again only keeps its latest subscription.
+        synchronized (this) {
+            if (authEventsSubscription != null) {
+                Amplify.Hub.unsubscribe(authEventsSubscription);
+            }
+            authEventsSubscription = Amplify.Hub.subscribe(HubChannel.AUTH, event -> {
+                authTokenCache.invalidate();
+                if (responseCache != null) {
+                    responseCache.clear();
+                }
+            });
+        }
+
         for (Map.Entry<String, ApiConfiguration> entry : pluginConfig.getApis().entrySet()) {
             final String apiName = entry.getKey();
             final ApiConfiguration apiConfiguration = entry.getValue();
@@ -140,6 +176,13 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
             okHttpClientBuilder.addNetworkInterceptor(UserAgentInterceptor.using(UserAgent::string));
             okHttpClientBuilder.eventListener(new ApiConnectionEventListener());
 
+            // The cache is set before the configurator is applied, so that the configurator can replace it.
+            final Long restCacheSize = EndpointType.REST.equals(endpointType) ? restCacheSizes.get(apiName) : null;
+            if (restCacheSize != null) {
+                okHttpClientBuilder.cache(new Cache(new File(context.getCacheDir(), "amplify-api-" + apiName),
+                    restCacheSize));
+            }
+
             OkHttpConfigurator configurator = apiConfigurators.get(apiName);
             if (configurator != null) {
                 configurator.applyConfiguration(okHttpClientBuilder);
@@ -149,7 +192,8 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
                     apiConfiguration.getAuthorizationType(),
                     apiConfiguration.getRegion(),
                     apiConfiguration.getEndpointType(),
-                    apiConfiguration.getApiKey());
+                    apiConfiguration.getApiKey(),
+                    cacheSigningKeys);
 
             ClientDetails clientDetails = null;
             if (EndpointType.REST.equals(endpointType)) {
@@ -166,6 +210,10 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
                         }
                     });
                 }
+                // Added after the authorization interceptor, since it keys cached responses by identity.
+                if (restCacheSize != null) {
+                    okHttpClientBuilder.addInterceptor(new CacheIdentityInterceptor());
+                }
                 clientDetails = new ClientDetails(apiConfiguration,
                                                   okHttpClientBuilder.build(),
                                                   null,
@@ -174,12 +222,15 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
             } else if (EndpointType.GRAPHQL.equals(endpointType)) {
                 final SubscriptionAuthorizer subscriptionAuthorizer =
                     new SubscriptionAuthorizer(apiConfiguration, authProvider);
-                final SubscriptionEndpoint subscriptionEndpoint =
-                    new SubscriptionEndpoint(apiConfiguration, gqlResponseFactory, subscriptionAuthorizer);
+                // The server keeps the documents of persisted queries per API, so each API has its own.
+                final PersistedQueries persistedQueries = usePersistedQueries ? new PersistedQueries() : null;
+                final SubscriptionEndpoint subscriptionEndpoint = new SubscriptionEndpoint(
+                    apiConfiguration, gqlResponseFactory, subscriptionAuthorizer, persistedQueries, responseCache);
                 clientDetails = new ClientDetails(apiConfiguration,
                                                   okHttpClientBuilder.build(),
                                                   subscriptionEndpoint,
-                                                  requestDecoratorFactory);
+                                                  requestDecoratorFactory,
+                                                  persistedQueries);
                 gqlApis.add(apiName);
             }
             if (clientDetails != null) {
@@ -227,9 +278,79 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
             @NonNull GraphQLRequest<R> graphQLRequest,
             @NonNull Consumer<GraphQLResponse<R>> onResponse,
             @NonNull Consumer<ApiException> onFailure) {
+        final GraphQLFetchPolicy fetchPolicy = responseCache == null
+            ? GraphQLFetchPolicy.NETWORK_ONLY
+            : responseCache.getFetchPolicy();
+        return query(apiName, graphQLRequest, fetchPolicy, onResponse, onFailure);
+    }
+
+    /**
+     * Queries the selected GraphQL API, with a fetch policy. The policy only applies if the plugin
+     * was built with a {@link GraphQLResponseCache}, and otherwise, the query is sent to the network.
+     * @param graphQLRequest A GraphQL query
+     * @param fetchPolicy Whether to respond from the cache, from the network, or from both
+     * @param onResponse Called with the response, which may be called twice with
+     *                   {@link GraphQLFetchPolicy#CACHE_AND_NETWORK}
+     * @param onFailure Called when no response is available
+     * @param <R> Casted type of GraphQL result data
+     * @return An operation for the query, or null if it could not be started
+     */
+    @Nullable
+    public <R> GraphQLOperation<R> query(
+            @NonNull GraphQLRequest<R> graphQLRequest,
+            @NonNull GraphQLFetchPolicy fetchPolicy,
+            @NonNull Consumer<GraphQLResponse<R>> onResponse,
+            @NonNull Consumer<ApiException> onFailure) {
+        final String apiName;
         try {
-            final GraphQLOperation<R> operation =
-                    buildAppSyncGraphQLOperation(apiName, graphQLRequest, onResponse, onFailure);
+            apiName = getSelectedApiName(EndpointType.GRAPHQL);
+        } catch (ApiException exception) {
+            onFailure.accept(exception);
+            return null;
+        }
+        return query(apiName, graphQLRequest, fetchPolicy, onResponse, onFailure);
+    }
+
+    /**
+     * Queries a GraphQL API, with a fetch policy. The policy only applies if the plugin
+     * was built with a {@link GraphQLResponseCache}, and otherwise, the query is sent to the network.
+     * @param apiName Name of the GraphQL API
+     * @param graphQLRequest A GraphQL query
+     * @param fetchPolicy Whether to respond from the cache, from the network, or from both
+     * @param onResponse Called with the response, which may be called twice with
+     *                   {@link GraphQLFetchPolicy#CACHE_AND_NETWORK}
+     * @param onFailure Called when no response is available
+     * @param <R> Casted type of GraphQL result data
+     * @return An operation for the query, or null if it could not be started
+     */
+    @Nullable
+    public <R> GraphQLOperation<R> query(
+            @NonNull String apiName,
+            @NonNull GraphQLRequest<R> graphQLRequest,
+            @NonNull GraphQLFetchPolicy fetchPolicy,
+            @NonNull Consumer<GraphQLResponse<R>> onResponse,
+            @NonNull Consumer<ApiException> onFailure) {
+        try {
+            final GraphQLOperation<R> operation;
+            if (responseCache == null ||
+                    GraphQLFetchPolicy.NETWORK_ONLY.equals(fetchPolicy) ||
+                    !GraphQLResponseCache.canRead(graphQLRequest)) {
+                operation = buildAppSyncGraphQLOperation(apiName, graphQLRequest, onResponse, onFailure);
+            } else {
+                operation = CachedGraphQLOperation.<R>builder()
+                    .request(graphQLRequest)
+                    .responseFactory(gqlResponseFactory)
+                    .endpoint(getClientDetails(apiName).getApiConfiguration().getEndpoint())
+                    .responseCache(responseCache)
+                    .fetchPolicy(fetchPolicy)
+                    .onResponse(onResponse)
+                    .onFailure(onFailure)
+                    .executorService(executorService)
+                    .identityResolver(() -> resolveCacheIdentityHash(apiName, graphQLRequest))
+                    .networkOperation((onNetworkResponse, onNetworkFailure) ->
+                        buildAppSyncGraphQLOperation(apiName, graphQLRequest, onNetworkResponse, onNetworkFailure))
+                    .build();
+            }
             operation.start();
             return operation;
         } catch (ApiException exception) {
@@ -642,21 +763,27 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
 
     }
 
+    // Authorizes a query the way it would be sent, to find the identity it is cached for.
+    @Nullable
+    private String resolveCacheIdentityHash(@NonNull String apiName, @NonNull GraphQLRequest<?> graphQLRequest)
+            throws ApiException {
+        final ClientDetails clientDetails = getClientDetails(apiName);
+        Request request = new Request.Builder()
+            .url(clientDetails.getApiConfiguration().getEndpoint())
+            .post(RequestBody.create(graphQLRequest.getContent(), MediaType.parse("application/json")))
+            .build();
+        RequestDecorator requestDecorator =
+            clientDetails.getApiRequestDecoratorFactory().fromGraphQLRequest(graphQLRequest);
+        return CacheIdentityInterceptor.getIdentityHash(requestDecorator.decorate(request));
+    }
+
     private <R> GraphQLOperation<R> buildAppSyncGraphQLOperation(
             @NonNull String apiName,
             @NonNull GraphQLRequest<R> graphQLRequest,
             @NonNull Consumer<GraphQLResponse<R>> onResponse,
             @NonNull Consumer<ApiException> onFailure)
             throws ApiException {
-        final ClientDetails clientDetails = apiDetails.get(apiName);
-        if (clientDetails == null) {
-            throw new ApiException(
-                    "No client information for API named " + apiName,
-                    "Check your amplify configuration to make sure there " +
-                            "is a correctly configured section for " + apiName
-            );
-        }
-
+        final ClientDetails clientDetails = getClientDetails(apiName);
         AuthModeStrategyType authModeStrategyType = getAuthModeStrategyType(graphQLRequest);
         if (AuthModeStrategyType.MULTIAUTH.equals(authModeStrategyType)) {
             return MultiAuthAppSyncGraphQLOperation.<R>builder()
@@ -668,6 +795,8 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
                 .onResponse(onResponse)
                 .onFailure(onFailure)
                 .executorService(executorService)
+                .persistedQueries(clientDetails.getPersistedQueries())
+                .responseCache(responseCache)
                 .build();
         }
         // Not multiauth, so just return the default operation.
@@ -680,9 +809,23 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
             .executorService(executorService)
             .onResponse(onResponse)
             .onFailure(onFailure)
+            .persistedQueries(clientDetails.getPersistedQueries())
+            .responseCache(responseCache)
             .build();
     }
 
+    private ClientDetails getClientDetails(@NonNull String apiName) throws ApiException {
+        final ClientDetails clientDetails = apiDetails.get(apiName);
+        if (clientDetails == null) {
+            throw new ApiException(
+                    "No client information for API named " + apiName,
+                    "Check your amplify configuration to make sure there " +
+                            "is a correctly configured section for " + apiName
+            );
+        }
+        return clientDetails;
+    }
+
     /**
      * Creates a HTTP REST operation.
      * @param type     Operation type
@@ -754,7 +897,8 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
                 clientDetails.apiConfiguration.getEndpoint(),
                 clientDetails.okHttpClient,
                 onResponse,
-                onFailure
+                onFailure,
+                options.isStreamingResponse()
         );
         operation.start();
         return operation;
@@ -768,6 +912,7 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
         private final OkHttpClient okHttpClient;
         private final SubscriptionEndpoint subscriptionEndpoint;
         private final ApiRequestDecoratorFactory apiRequestDecoratorFactory;
+        private final PersistedQueries persistedQueries;
 
         /**
          * Constructs a client detail object containing client and url.
@@ -777,10 +922,19 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
                       final OkHttpClient okHttpClient,
                       final SubscriptionEndpoint subscriptionEndpoint,
                       final ApiRequestDecoratorFactory apiRequestDecoratorFactory) {
+            this(apiConfiguration, okHttpClient, subscriptionEndpoint, apiRequestDecoratorFactory, null);
+        }
+
+        ClientDetails(final ApiConfiguration apiConfiguration,
+                      final OkHttpClient okHttpClient,
+                      final SubscriptionEndpoint subscriptionEndpoint,
+                      final ApiRequestDecoratorFactory apiRequestDecoratorFactory,
+                      final PersistedQueries persistedQueries) {
             this.apiConfiguration = apiConfiguration;
             this.okHttpClient = okHttpClient;
             this.subscriptionEndpoint = subscriptionEndpoint;
             this.apiRequestDecoratorFactory = apiRequestDecoratorFactory;
+            this.persistedQueries = persistedQueries;
         }
 
         ApiConfiguration getApiConfiguration() {
@@ -799,6 +953,11 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
             return apiRequestDecoratorFactory;
         }
 
+        @Nullable
+        PersistedQueries getPersistedQueries() {
+            return persistedQueries;
+        }
+
         @Override
         public boolean equals(Object thatObject) {
             if (this == thatObject) {
@@ -870,10 +1029,15 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
     public static final class Builder {
         private ApiAuthProviders apiAuthProviders;
         private final Map<String, OkHttpConfigurator> apiConfigurators;
+        private final Map<String, Long> restCacheSizes;
+        private boolean cacheSigningKeys;
+        private boolean usePersistedQueries;
+        private GraphQLResponseCache responseCache;
 
         private Builder() {
             this.apiAuthProviders = ApiAuthProviders.noProviderOverrides();
             this.apiConfigurators = new HashMap<>();
+            this.restCacheSizes = new HashMap<>();
         }
 
         /**
@@ -904,6 +1068,69 @@ public final class AWSApiPlugin extends ApiPlugin<Map<String, OkHttpClient>> {
             return this;
         }
 
+        /**
+         * Cache the responses to GET requests of a REST API on disk, as allowed by their HTTP caching
+         * headers, such as Cache-Control and ETag. A stale response with an ETag is revalidated with an
+         * If-None-Match request. Responses are cached separately for each identity that requests are
+         * authorized as, so that they are never served to another user. A request can bypass the cache
+         * with a Cache-Control header of its own. By default, responses are not cached.
+         * @param forApiName The name of a REST API, from your `amplifyconfiguration.json` file
+         * @param maxSizeBytes Maximum size of the cache, in bytes
+         * @return A builder instance, to continue chaining configurations
+         * @throws IllegalArgumentException If the maximum size is less than 1
+         */
+        @NonNull
+        public Builder cacheRestResponses(@NonNull String forApiName, @IntRange(from = 1) long maxSizeBytes) {
+            if (maxSizeBytes < 1) {
+                throw new IllegalArgumentException("The maximum size of the cache must be at least 1 byte.");
+            }
+            this.restCacheSizes.put(Objects.requireNonNull(forApiName), maxSizeBytes);
+            return this;
+        }
+
+        /**
+         * Sign requests to IAM-authorized APIs with a SigV4 signer that caches the signing key it derives
+         * for the credentials, date, region and service, and that signs on the calling thread, instead of
+         * with the signer of the AWS SDK. This reduces the CPU cost of signing for APIs with a high
+         * request rate. Disabled by default.
+         * @param cacheSigningKeys Whether to use the caching signer
+         * @return A builder instance, to continue chaining configurations
+         */
+        @NonNull
+        public Builder cacheSigningKeys(boolean cacheSigningKeys) {
+            this.cacheSigningKeys = cacheSigningKeys;
+            return this;
+        }
+
+        /**
+         * Send GraphQL requests and subscriptions as automatic persisted queries: once a GraphQL API has
+         * accepted the SHA-256 hash of a document, only the hash is sent, instead of the whole document.
+         * If the API no longer knows the hash, the request is sent again with the document. Only enable
+         * this for GraphQL APIs which support the persistedQuery extension. Disabled by default.
+         * @param usePersistedQueries Whether to send persisted queries
+         * @return A builder instance, to continue chaining configurations
+         */
+        @NonNull
+        public Builder usePersistedQueries(boolean usePersistedQueries) {
+            this.usePersistedQueries = usePersistedQueries;
+            return this;
+        }
+
+        /**
+         * Cache the responses to GraphQL queries of models, such as those of
+         * {@link com.amplifyframework.api.graphql.model.ModelQuery}, in a normalized cache, which
+         * is kept up to date by the mutations and subscriptions sent through the plugin. Queries
+         * are answered according to the fetch policy of the cache, unless they specify one. By
+         * default, responses are not cached.
+         * @param responseCache A GraphQL response cache
+         * @return A builder instance, to continue chaining configurations
+         */
+        @NonNull
+        public Builder responseCache(@NonNull GraphQLResponseCache responseCache) {
+            this.responseCache = Objects.requireNonNull(responseCache);
+            return this;
+        }
+
         /**
          * Builds an {@link AWSApiPlugin}.
          * @return An AWSApiPlugin
@@ -56,10 +56,15 @@ public final class AppSyncGraphQLOperation<R> extends GraphQLOperation<R> {
     private static final int END_OF_CLIENT_ERROR_CODE = 499;
     private final String endpoint;
     private final OkHttpClient client;
+    private final GraphQLResponse.Factory responseFactory;
     private final Consumer<GraphQLResponse<R>> onResponse;
     private final Consumer<ApiException> onFailure;
     private final ExecutorService executorService;
     private final ApiRequestDecoratorFactory apiRequestDecoratorFactory;
+    @Nullable
+    private final PersistedQueries persistedQueries;
+    @Nullable
+    private final GraphQLResponseCache responseCache;
 
     @Nullable
     private Call ongoingCall;
@@ -72,10 +77,13 @@ public final class AppSyncGraphQLOperation<R> extends GraphQLOperation<R> {
         super(builder.request, builder.responseFactory);
         this.endpoint = Objects.requireNonNull(builder.endpoint);
         this.client = Objects.requireNonNull(builder.client);
+        this.responseFactory = Objects.requireNonNull(builder.responseFactory);
         this.apiRequestDecoratorFactory = Objects.requireNonNull(builder.apiRequestDecoratorFactory);
         this.executorService = Objects.requireNonNull(builder.executorService);
         this.onResponse = Objects.requireNonNull(builder.onResponse);
         this.onFailure = Objects.requireNonNull(builder.onFailure);
+        this.persistedQueries = builder.persistedQueries;
+        this.responseCache = builder.responseCache;
     }
 
     @Override
@@ -84,22 +92,28 @@ public final class AppSyncGraphQLOperation<R> extends GraphQLOperation<R> {
         if (ongoingCall != null && (ongoingCall.isExecuted() || ongoingCall.isCanceled())) {
             return;
         }
-        executorService.submit(this::dispatchRequest);
+        executorService.submit(() ->
+            dispatchRequest(persistedQueries == null || !persistedQueries.isAccepted(getRequest())));
     }
 
-    private void dispatchRequest() {
+    // With persisted queries, the query may be left out of the request, and only its hash sent.
+    private void dispatchRequest(boolean includeQuery) {
         try {
-            LOG.debug("Request: " + getRequest().getContent());
+            final boolean sentWithHash = persistedQueries != null && persistedQueries.isEnabled();
+            final String content = sentWithHash
+                ? persistedQueries.getContent(getRequest(), includeQuery)
+                : getRequest().getContent();
+            LOG.debug("Request: " + content);
             RequestDecorator requestDecorator = apiRequestDecoratorFactory.fromGraphQLRequest(getRequest());
             Request okHttpRequest = new Request.Builder()
                 .url(endpoint)
                 .addHeader("accept", CONTENT_TYPE)
                 .addHeader("content-type", CONTENT_TYPE)
-                .post(RequestBody.create(getRequest().getContent(), MediaType.parse(CONTENT_TYPE)))
+                .post(RequestBody.create(content, MediaType.parse(CONTENT_TYPE)))
                 .build();
 
             ongoingCall = client.newCall(requestDecorator.decorate(okHttpRequest));
-            ongoingCall.enqueue(new OkHttpCallback());
+            ongoingCall.enqueue(new OkHttpCallback(sentWithHash, includeQuery));
         } catch (Exception error) {
             // Cancel if possible
             if (ongoingCall != null) {
@@ -120,15 +134,50 @@ public final class AppSyncGraphQLOperation<R> extends GraphQLOperation<R> {
         }
     }
 
+    // A page of results is parsed as it is read from the response body, instead of reading the whole body first.
+    // When the response to the request can be cached, the whole body is read, so that it can be written to the cache.
+    private boolean canStreamResponse() {
+        return (responseCache == null || !GraphQLResponseCache.canRead(getRequest())) &&
+            responseFactory instanceof GsonGraphQLResponseFactory &&
+            GsonGraphQLResponseFactory.isStreamable(getRequest());
+    }
+
+    private GraphQLResponse<R> streamResponse(ResponseBody responseBody) throws ApiException {
+        try (ResponseBody body = responseBody) {
+            return ((GsonGraphQLResponseFactory) responseFactory).buildResponse(getRequest(), body.charStream());
+        }
+    }
+
     static <R> Builder<R> builder() {
         return new Builder<>();
     }
 
     @SuppressLint("SyntheticAccessor")
     class OkHttpCallback implements Callback {
+        private final boolean sentWithHash;
+        private final boolean includedQuery;
+
+        OkHttpCallback(boolean sentWithHash, boolean includedQuery) {
+            this.sentWithHash = sentWithHash;
+            this.includedQuery = includedQuery;
+        }
+
         @Override
         public void onResponse(@NonNull Call call, @NonNull Response response) {
             final ResponseBody responseBody = response.body();
+            if (responseBody != null && response.isSuccessful() && canStreamResponse()) {
+                try {
+                    GraphQLResponse<R> graphQLResponse = streamResponse(responseBody);
+                    if (!retryWithQuery(PersistedQueries.rejectionOf(graphQLResponse.getErrors()))) {
+                        acceptHash(graphQLResponse);
+                        onResponse.accept(graphQLResponse);
+                    }
+                } catch (ApiException exception) {
+                    onFailure.accept(exception);
+                }
+                return;
+            }
+
             String jsonResponse = null;
             if (responseBody != null) {
                 try {
@@ -142,6 +191,9 @@ public final class AppSyncGraphQLOperation<R> extends GraphQLOperation<R> {
                     return;
                 }
             }
+            if (retryWithQuery(PersistedQueries.rejectionOf(jsonResponse))) {
+                return;
+            }
             if (response.code() >= START_OF_CLIENT_ERROR_CODE && response.code() <= END_OF_CLIENT_ERROR_CODE) {
                 onFailure.accept(new ApiException
                         .NonRetryableException("OkHttp client request failed.", "Irrecoverable error")
@@ -149,13 +201,40 @@ public final class AppSyncGraphQLOperation<R> extends GraphQLOperation<R> {
             }
 
             try {
-                onResponse.accept(wrapResponse(jsonResponse));
+                GraphQLResponse<R> graphQLResponse = wrapResponse(jsonResponse);
+                if (responseCache != null && response.isSuccessful()) {
+                    responseCache.write(
+                        endpoint, CacheIdentityInterceptor.getIdentityHash(call.request()), getRequest(), jsonResponse
+                    );
+                }
+                if (response.isSuccessful()) {
+                    acceptHash(graphQLResponse);
+                }
+                onResponse.accept(graphQLResponse);
                 //TODO: Dispatch to hub
             } catch (ApiException exception) {
                 onFailure.accept(exception);
             }
         }
 
+        // If the server did not know the hash of a query sent without its text, or does not support persisted
+        // queries, the request is sent again with its text.
+        private boolean retryWithQuery(@Nullable PersistedQueries.Rejection rejection) {
+            if (!sentWithHash || rejection == null ||
+                    !persistedQueries.shouldResendWithQuery(getRequest(), rejection, includedQuery)) {
+                return false;
+            }
+            executorService.submit(() -> dispatchRequest(true));
+            return true;
+        }
+
+        // Once the server has executed the request, the text of its query can be left out from now on.
+        private void acceptHash(GraphQLResponse<R> graphQLResponse) {
+            if (sentWithHash && graphQLResponse.hasData()) {
+                persistedQueries.accept(getRequest());
+            }
+        }
+
         @Override
         public void onFailure(@NonNull Call call, @NonNull IOException exception) {
             if (!call.isCanceled()) {
@@ -175,6 +254,8 @@ public final class AppSyncGraphQLOperation<R> extends GraphQLOperation<R> {
         private Consumer<GraphQLResponse<R>> onResponse;
         private Consumer<ApiException> onFailure;
         private ExecutorService executorService;
+        private PersistedQueries persistedQueries;
+        private GraphQLResponseCache responseCache;
 
         Builder<R> endpoint(@NonNull String endpoint) {
             this.endpoint = Objects.requireNonNull(endpoint);
@@ -216,6 +297,16 @@ public final class AppSyncGraphQLOperation<R> extends GraphQLOperation<R> {
             return this;
         }
 
+        Builder<R> persistedQueries(@Nullable PersistedQueries persistedQueries) {
+            this.persistedQueries = persistedQueries;
+            return this;
+        }
+
+        Builder<R> responseCache(@Nullable GraphQLResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
         @SuppressLint("SyntheticAccessor")
         AppSyncGraphQLOperation<R> build() {
             return new AppSyncGraphQLOperation<>(this);
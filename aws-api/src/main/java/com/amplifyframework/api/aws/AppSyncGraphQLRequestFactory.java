@@ -151,7 +151,7 @@ public final class AppSyncGraphQLRequestFactory {
             Type responseType
     ) {
         try {
-            String modelName = ModelSchema.fromModelClass(modelClass).getName();
+            String modelName = GraphQLDocumentCache.getModelSchema(modelClass).getName();
             AppSyncGraphQLRequest.Builder builder = AppSyncGraphQLRequest.builder()
                     .modelClass(modelClass)
                     .operation(QueryType.LIST)
@@ -191,7 +191,7 @@ public final class AppSyncGraphQLRequestFactory {
     ) {
         try {
             Class<? extends Model> modelClass = model.getClass();
-            ModelSchema schema = ModelSchema.fromModelClass(modelClass);
+            ModelSchema schema = GraphQLDocumentCache.getModelSchema(modelClass);
             String graphQlTypeName = schema.getName();
 
             AppSyncGraphQLRequest.Builder builder = AppSyncGraphQLRequest.builder()
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.api.aws.auth.CognitoJWTParser;
+import com.amplifyframework.api.aws.auth.CognitoParameterInvalidException;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.ByteString;
+
+/**
+ * An OkHttp3 interceptor which makes the HTTP cache of a REST API keep separate responses for
+ * each identity that requests are authorized as, so that a cached response is never served to
+ * another user.
+ *
+ * OkHttp keys cached responses by URL, so this interceptor sets the fragment of the URL to a hash
+ * of the identity. The fragment is never sent to the server. It must be added after the interceptor
+ * which authorizes requests. The identity is:
+ * <ul>
+ *     <li>the access key ID of the credentials, for requests signed with SigV4, since the signature
+ *     changes with every request;</li>
+ *     <li>the sub claim of the token, for requests with a JWT, so that responses outlive the refresh
+ *     of the token, or else the token itself;</li>
+ *     <li>the API key, for requests with an API key.</li>
+ * </ul>
+ * The {@link GraphQLResponseCache} keys its records by the same hash.
+ */
+final class CacheIdentityInterceptor implements Interceptor {
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String API_KEY = "x-api-key";
+    private static final String SIGV4_ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String CREDENTIAL = "Credential=";
+    private static final String SUBJECT_CLAIM = "sub";
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        String fragment = getIdentityHash(request);
+        if (fragment == null) {
+            return chain.proceed(request);
+        }
+        return chain.proceed(request.newBuilder()
+            .url(request.url().newBuilder().fragment(fragment).build())
+            .build());
+    }
+
+    /**
+     * Gets a hash of the identity that a request is authorized as.
+     * @param request An authorized request
+     * @return A hash of the identity, or null if the request isn't authorized
+     */
+    @Nullable
+    static String getIdentityHash(@NonNull Request request) {
+        return hash(getIdentity(request.header(AUTHORIZATION), request.header(API_KEY)));
+    }
+
+    /**
+     * Gets a hash of the identity that a subscription is authorized as.
+     * @param headers The authorization headers of the subscription
+     * @return A hash of the identity, or null if there are no authorization headers
+     */
+    @Nullable
+    static String getIdentityHash(@NonNull JSONObject headers) {
+        return hash(getIdentity(headers.optString(AUTHORIZATION, null), headers.optString(API_KEY, null)));
+    }
+
+    @Nullable
+    private static String hash(@Nullable String identity) {
+        return identity == null ? null : ByteString.encodeUtf8(identity).sha256().hex();
+    }
+
+    @Nullable
+    private static String getIdentity(@Nullable String authorization, @Nullable String apiKey) {
+        if (authorization != null) {
+            if (authorization.startsWith(SIGV4_ALGORITHM)) {
+                int start = authorization.indexOf(CREDENTIAL);
+                int end = start < 0 ? -1 : authorization.indexOf('/', start);
+                if (end >= 0) {
+                    return "iam:" + authorization.substring(start + CREDENTIAL.length(), end);
+                }
+            }
+            try {
+                return "sub:" + CognitoJWTParser.Companion.getClaim(authorization, SUBJECT_CLAIM);
+            } catch (CognitoParameterInvalidException exception) {
+                return "token:" + authorization;
+            }
+        }
+        return apiKey == null ? null : "key:" + apiKey;
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import android.annotation.SuppressLint;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.graphql.GraphQLOperation;
+import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.Consumer;
+import com.amplifyframework.logging.Logger;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An operation for a GraphQL query, which responds from a {@link GraphQLResponseCache}, from the
+ * network, or from both, according to a {@link GraphQLFetchPolicy}. The network operation writes
+ * its responses to the cache.
+ * @param <R> Casted type of GraphQL result data
+ */
+final class CachedGraphQLOperation<R> extends GraphQLOperation<R> {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-api");
+    private final String endpoint;
+    private final GraphQLResponseCache responseCache;
+    private final GraphQLFetchPolicy fetchPolicy;
+    private final Consumer<GraphQLResponse<R>> onResponse;
+    private final Consumer<ApiException> onFailure;
+    private final ExecutorService executorService;
+    private final IdentityResolver identityResolver;
+    private final GraphQLOperation<R> networkOperation;
+    private volatile boolean canceled;
+
+    private CachedGraphQLOperation(@NonNull Builder<R> builder) throws ApiException {
+        super(builder.request, builder.responseFactory);
+        this.endpoint = Objects.requireNonNull(builder.endpoint);
+        this.responseCache = Objects.requireNonNull(builder.responseCache);
+        this.fetchPolicy = Objects.requireNonNull(builder.fetchPolicy);
+        this.onResponse = Objects.requireNonNull(builder.onResponse);
+        this.onFailure = Objects.requireNonNull(builder.onFailure);
+        this.executorService = Objects.requireNonNull(builder.executorService);
+        this.identityResolver = Objects.requireNonNull(builder.identityResolver);
+        this.networkOperation = Objects.requireNonNull(builder.networkOperationFactory)
+            .create(this::onNetworkResponse, this::onNetworkFailure);
+    }
+
+    @Override
+    public void start() {
+        executorService.submit(() -> {
+            if (canceled) {
+                return;
+            }
+            switch (fetchPolicy) {
+                case CACHE_FIRST:
+                    if (!respondFromCache()) {
+                        networkOperation.start();
+                    }
+                    break;
+                case CACHE_AND_NETWORK:
+                    respondFromCache();
+                    networkOperation.start();
+                    break;
+                case NETWORK_FIRST:
+                case NETWORK_ONLY:
+                default:
+                    networkOperation.start();
+                    break;
+            }
+        });
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        networkOperation.cancel();
+    }
+
+    private void onNetworkResponse(GraphQLResponse<R> response) {
+        if (!canceled) {
+            onResponse.accept(response);
+        }
+    }
+
+    private void onNetworkFailure(ApiException exception) {
+        if (canceled || (GraphQLFetchPolicy.NETWORK_FIRST.equals(fetchPolicy) && respondFromCache())) {
+            return;
+        }
+        onFailure.accept(exception);
+    }
+
+    // Returns whether there was a response in the cache. A cached response which can no longer be
+    // parsed into the type of the request is treated as a miss.
+    private boolean respondFromCache() {
+        GraphQLResponse<R> response = readCache();
+        if (response == null || canceled) {
+            return false;
+        }
+        onResponse.accept(response);
+        return true;
+    }
+
+    @Nullable
+    private GraphQLResponse<R> readCache() {
+        final String identityHash;
+        try {
+            identityHash = identityResolver.resolveIdentityHash();
+        } catch (ApiException exception) {
+            LOG.warn("Failed to find the identity of a query, so it is not read from the cache.", exception);
+            return null;
+        }
+        String json = responseCache.read(endpoint, identityHash, getRequest());
+        if (json == null) {
+            return null;
+        }
+        try {
+            return wrapResponse(json);
+        } catch (ApiException exception) {
+            LOG.warn("Failed to parse a response from the GraphQL response cache.", exception);
+            return null;
+        }
+    }
+
+    static <R> Builder<R> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Creates the operation which sends the query to the network.
+     * @param <R> Casted type of GraphQL result data
+     */
+    interface NetworkOperationFactory<R> {
+        /**
+         * Creates the network operation.
+         * @param onResponse Called with the response from the network
+         * @param onFailure Called when the request fails
+         * @return A network operation, which has not been started
+         * @throws ApiException On failure to create the operation
+         */
+        @NonNull
+        GraphQLOperation<R> create(
+                @NonNull Consumer<GraphQLResponse<R>> onResponse,
+                @NonNull Consumer<ApiException> onFailure) throws ApiException;
+    }
+
+    /**
+     * Finds the identity that the query is authorized as, since the cache keeps separate
+     * responses for each identity.
+     */
+    interface IdentityResolver {
+        /**
+         * Gets a hash of the identity that the query is authorized as.
+         * @return A hash of the identity, as from {@link CacheIdentityInterceptor}, or null if there is none
+         * @throws ApiException On failure to authorize the query
+         */
+        @Nullable
+        String resolveIdentityHash() throws ApiException;
+    }
+
+    static final class Builder<R> {
+        private GraphQLRequest<R> request;
+        private GraphQLResponse.Factory responseFactory;
+        private String endpoint;
+        private GraphQLResponseCache responseCache;
+        private GraphQLFetchPolicy fetchPolicy;
+        private Consumer<GraphQLResponse<R>> onResponse;
+        private Consumer<ApiException> onFailure;
+        private ExecutorService executorService;
+        private IdentityResolver identityResolver;
+        private NetworkOperationFactory<R> networkOperationFactory;
+
+        Builder<R> request(@NonNull GraphQLRequest<R> request) {
+            this.request = Objects.requireNonNull(request);
+            return this;
+        }
+
+        Builder<R> responseFactory(@NonNull GraphQLResponse.Factory responseFactory) {
+            this.responseFactory = Objects.requireNonNull(responseFactory);
+            return this;
+        }
+
+        Builder<R> endpoint(@NonNull String endpoint) {
+            this.endpoint = Objects.requireNonNull(endpoint);
+            return this;
+        }
+
+        Builder<R> responseCache(@NonNull GraphQLResponseCache responseCache) {
+            this.responseCache = Objects.requireNonNull(responseCache);
+            return this;
+        }
+
+        Builder<R> fetchPolicy(@NonNull GraphQLFetchPolicy fetchPolicy) {
+            this.fetchPolicy = Objects.requireNonNull(fetchPolicy);
+            return this;
+        }
+
+        Builder<R> onResponse(@NonNull Consumer<GraphQLResponse<R>> onResponse) {
+            this.onResponse = Objects.requireNonNull(onResponse);
+            return this;
+        }
+
+        Builder<R> onFailure(@NonNull Consumer<ApiException> onFailure) {
+            this.onFailure = Objects.requireNonNull(onFailure);
+            return this;
+        }
+
+        Builder<R> executorService(@NonNull ExecutorService executorService) {
+            this.executorService = Objects.requireNonNull(executorService);
+            return this;
+        }
+
+        Builder<R> identityResolver(@NonNull IdentityResolver identityResolver) {
+            this.identityResolver = Objects.requireNonNull(identityResolver);
+            return this;
+        }
+
+        Builder<R> networkOperation(@NonNull NetworkOperationFactory<R> networkOperationFactory) {
+            this.networkOperationFactory = Objects.requireNonNull(networkOperationFactory);
+            return this;
+        }
+
+        @SuppressLint("SyntheticAccessor")
+        CachedGraphQLOperation<R> build() throws ApiException {
+            return new CachedGraphQLOperation<>(this);
+        }
+    }
+}
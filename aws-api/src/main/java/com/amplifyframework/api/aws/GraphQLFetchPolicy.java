@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+/**
+ * Where the response to a GraphQL query is taken from, when the {@link AWSApiPlugin}
+ * has a {@link GraphQLResponseCache}. Responses from the network are always written
+ * to the cache.
+ */
+public enum GraphQLFetchPolicy {
+
+    /**
+     * Respond from the cache, if it has a response for the query. Otherwise, send the
+     * query to the network.
+     */
+    CACHE_FIRST,
+
+    /**
+     * Send the query to the network. If the request fails, respond from the cache, if
+     * it has a response for the query.
+     */
+    NETWORK_FIRST,
+
+    /**
+     * Respond from the cache, if it has a response for the query, and then also send
+     * the query to the network, and respond again with its result. The response
+     * consumer of the query may be called twice.
+     */
+    CACHE_AND_NETWORK,
+
+    /**
+     * Send the query to the network, without responding from the cache.
+     */
+    NETWORK_ONLY
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import android.content.Context;
+import android.database.SQLException;
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.MutationType;
+import com.amplifyframework.api.graphql.Operation;
+import com.amplifyframework.api.graphql.QueryType;
+import com.amplifyframework.api.graphql.SubscriptionType;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.logging.Logger;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A normalized cache of the responses to GraphQL queries of models, such as those of
+ * {@link com.amplifyframework.api.graphql.model.ModelQuery}.
+ *
+ * Each model in a response is stored once, as an entity, by its __typename and primary key. The
+ * response to a get or list query only refers to the entities it contains, so that a model which is
+ * changed by a mutation, or by subscription data, is changed in every response that contains it.
+ * When a model is created, updated or deleted, the responses to list queries of its type are
+ * dropped, since the model may have been added to them, or removed from them. A response which refers
+ * to a deleted model is a cache miss. The most recently used records are kept in memory, and all of
+ * them are optionally persisted to a SQLite database.
+ *
+ * Only the models at the top level of a response, that is, the model of a get query and the items of a
+ * list query, are normalized. A model nested in another one, such as the target of a belongsTo or hasMany
+ * association, is stored as part of the entity of its parent, and so it is not changed when a mutation or
+ * subscription data changes that nested model itself.
+ *
+ * Responses and entities are kept separately for each identity that requests are authorized as, like
+ * the HTTP cache of a REST API, so that a response is never served to another user. A model which is
+ * changed by a mutation is only changed in the responses of the identity that sent it, but the responses
+ * to list queries of its type are dropped for all identities.
+ *
+ * Queries which are not {@link AppSyncGraphQLRequest}s, and responses with errors, are not cached.
+ * The cache is cleared whenever the user signs in or out, since responses depend on the user.
+ */
+public final class GraphQLResponseCache {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-api");
+    private static final int DEFAULT_MAX_RECORDS = 1000;
+    private static final String DATABASE_NAME = "amplify_api_response_cache.db";
+    private static final String REFERENCE = "__ref";
+    private static final String TYPENAME = "__typename";
+    private static final String FIELD = "field";
+    private static final String VALUE = "value";
+    private static final String ITEMS = "items";
+
+    private final GraphQLFetchPolicy fetchPolicy;
+    private final ResponseCacheStore memoryStore;
+    @Nullable
+    private final ResponseCacheStore persistentStore;
+    private final ExecutorService backgroundWrites;
+
+    private GraphQLResponseCache(@NonNull Builder builder) {
+        this.fetchPolicy = builder.fetchPolicy;
+        this.memoryStore = new LruResponseCacheStore(builder.maxRecords);
+        this.persistentStore = builder.context == null
+            ? null
+            : new SQLiteResponseCacheStore(builder.context, DATABASE_NAME, builder.maxRecords);
+        this.backgroundWrites = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "amplify-graphql-response-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Begins construction of a new GraphQLResponseCache by using a fluent builder.
+     * @return A builder to help construct a GraphQLResponseCache
+     */
+    @NonNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the fetch policy of queries that don't specify one.
+     * @return The default fetch policy
+     */
+    @NonNull
+    public GraphQLFetchPolicy getFetchPolicy() {
+        return fetchPolicy;
+    }
+
+    /**
+     * Removes all cached responses and entities, from memory and from the database.
+     */
+    public synchronized void clear() {
+        try {
+            memoryStore.clear();
+            if (persistentStore != null) {
+                persistentStore.clear();
+            }
+        } catch (SQLException exception) {
+            LOG.warn("Failed to clear the GraphQL response cache.", exception);
+        }
+    }
+
+    /**
+     * Returns whether the response to a request can be read from the cache.
+     * @param request A GraphQL request
+     * @return true for get and list queries of models
+     */
+    static boolean canRead(@NonNull GraphQLRequest<?> request) {
+        if (!(request instanceof AppSyncGraphQLRequest)) {
+            return false;
+        }
+        Operation operation = ((AppSyncGraphQLRequest<?>) request).getOperation();
+        return QueryType.GET.equals(operation) || QueryType.LIST.equals(operation);
+    }
+
+    /**
+     * Reads the response to a query from the cache.
+     * @param endpoint Endpoint of the GraphQL API the query is for
+     * @param identityHash Hash of the identity that the query is authorized as, from {@link CacheIdentityInterceptor}
+     * @param request A GraphQL query
+     * @return JSON body of the cached response, or null if the cache has no complete response to the query
+     */
+    @Nullable
+    synchronized String read(
+            @NonNull String endpoint, @Nullable String identityHash, @NonNull GraphQLRequest<?> request) {
+        if (!canRead(request)) {
+            return null;
+        }
+        AppSyncGraphQLRequest<?> appSyncRequest = (AppSyncGraphQLRequest<?>) request;
+        try {
+            String record = get(getQueryKey(endpoint, identityHash, appSyncRequest));
+            if (record == null) {
+                return null;
+            }
+            JSONObject query = new JSONObject(record);
+            Object value = QueryType.LIST.equals(appSyncRequest.getOperation())
+                ? resolveItems(query.get(VALUE))
+                : resolve(query.get(VALUE));
+            if (value == null) {
+                return null;
+            }
+            return new JSONObject()
+                .put("data", new JSONObject().put(query.getString(FIELD), value))
+                .toString();
+        } catch (JSONException | SQLException exception) {
+            LOG.warn("Failed to read a response from the GraphQL response cache.", exception);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the response to a request to the cache. The response to a query is cached. A response to
+     * a mutation, or subscription data, updates or removes the entity it contains, and drops the responses
+     * to list queries of its type.
+     * @param endpoint Endpoint of the GraphQL API the request was sent to
+     * @param identityHash Hash of the identity that the request was authorized as,
+     *                     from {@link CacheIdentityInterceptor}
+     * @param request A GraphQL request
+     * @param json JSON body of the response, or data of a subscription
+     */
+    synchronized void write(
+            @NonNull String endpoint,
+            @Nullable String identityHash,
+            @NonNull GraphQLRequest<?> request,
+            @Nullable String json) {
+        if (!(request instanceof AppSyncGraphQLRequest) || json == null) {
+            return;
+        }
+        AppSyncGraphQLRequest<?> appSyncRequest = (AppSyncGraphQLRequest<?>) request;
+        ModelSchema modelSchema = appSyncRequest.getModelSchema();
+        Operation operation = appSyncRequest.getOperation();
+        try {
+            if (!(operation instanceof QueryType)) {
+                removeAll(getQueryKeyPrefix(endpoint, modelSchema, QueryType.LIST));
+            }
+            JSONObject response = new JSONObject(json);
+            JSONArray errors = response.optJSONArray("errors");
+            JSONObject data = response.optJSONObject("data");
+            if ((errors != null && errors.length() > 0) || data == null || data.length() != 1) {
+                return;
+            }
+            String field = data.keys().next();
+            Object value = data.get(field);
+            if (canRead(request)) {
+                Object normalized = QueryType.LIST.equals(operation)
+                    ? normalizeItems(endpoint, identityHash, modelSchema, value)
+                    : normalize(endpoint, identityHash, modelSchema, value);
+                put(getQueryKey(endpoint, identityHash, appSyncRequest), new JSONObject()
+                    .put(FIELD, field)
+                    .put(VALUE, normalized)
+                    .toString());
+            } else if (value instanceof JSONObject) {
+                String entityKey = getEntityKey(endpoint, identityHash, modelSchema, (JSONObject) value);
+                if (entityKey == null) {
+                    return;
+                }
+                if (MutationType.DELETE.equals(operation) || SubscriptionType.ON_DELETE.equals(operation)) {
+                    remove(entityKey);
+                } else {
+                    writeEntity(entityKey, (JSONObject) value);
+                }
+            }
+        } catch (JSONException | SQLException exception) {
+            LOG.warn("Failed to write a response to the GraphQL response cache.", exception);
+        }
+    }
+
+    /**
+     * Writes the response to a request to the cache, like {@link #write(String, String, GraphQLRequest, String)},
+     * on a background thread of the cache. Writes are applied in the order they are submitted.
+     * @param endpoint Endpoint of the GraphQL API the request was sent to
+     * @param identityHash Hash of the identity that the request was authorized as,
+     *                     from {@link CacheIdentityInterceptor}
+     * @param request A GraphQL request
+     * @param json JSON body of the response, or data of a subscription
+     */
+    void writeInBackground(
+            @NonNull String endpoint,
+            @Nullable String identityHash,
+            @NonNull GraphQLRequest<?> request,
+            @Nullable String json) {
+        backgroundWrites.execute(() -> write(endpoint, identityHash, request, json));
+    }
+
+    // Replaces a model which has a primary key by a reference to its entity.
+    private Object normalize(String endpoint, String identityHash, ModelSchema modelSchema, Object value)
+            throws JSONException {
+        if (!(value instanceof JSONObject)) {
+            return value;
+        }
+        String entityKey = getEntityKey(endpoint, identityHash, modelSchema, (JSONObject) value);
+        if (entityKey == null) {
+            return value;
+        }
+        writeEntity(entityKey, (JSONObject) value);
+        return new JSONObject().put(REFERENCE, entityKey);
+    }
+
+    private Object normalizeItems(String endpoint, String identityHash, ModelSchema modelSchema, Object value)
+            throws JSONException {
+        if (!(value instanceof JSONObject) || ((JSONObject) value).optJSONArray(ITEMS) == null) {
+            return value;
+        }
+        JSONObject page = new JSONObject(value.toString());
+        JSONArray items = page.getJSONArray(ITEMS);
+        for (int index = 0; index < items.length(); index++) {
+            items.put(index, normalize(endpoint, identityHash, modelSchema, items.get(index)));
+        }
+        return page;
+    }
+
+    // Replaces a reference by its entity. Returns null if the entity is no longer cached.
+    @Nullable
+    private Object resolve(Object value) throws JSONException {
+        if (!(value instanceof JSONObject) || !((JSONObject) value).has(REFERENCE)) {
+            return value;
+        }
+        String entity = get(((JSONObject) value).getString(REFERENCE));
+        return entity == null ? null : new JSONObject(entity);
+    }
+
+    @Nullable
+    private Object resolveItems(Object value) throws JSONException {
+        if (!(value instanceof JSONObject) || ((JSONObject) value).optJSONArray(ITEMS) == null) {
+            return value;
+        }
+        JSONObject page = (JSONObject) value;
+        JSONArray items = page.getJSONArray(ITEMS);
+        for (int index = 0; index < items.length(); index++) {
+            Object item = resolve(items.get(index));
+            if (item == null) {
+                return null;
+            }
+            items.put(index, item);
+        }
+        return page;
+    }
+
+    // An entity is merged with the cached one, since responses may select different fields of the same model.
+    private void writeEntity(String entityKey, JSONObject model) throws JSONException {
+        String cached = get(entityKey);
+        JSONObject entity = cached == null ? new JSONObject() : new JSONObject(cached);
+        Iterator<String> fields = model.keys();
+        while (fields.hasNext()) {
+            String field = fields.next();
+            entity.put(field, model.get(field));
+        }
+        put(entityKey, entity.toString());
+    }
+
+    @Nullable
+    private static String getEntityKey(
+            String endpoint, String identityHash, ModelSchema modelSchema, JSONObject model) {
+        StringBuilder key = new StringBuilder(endpoint)
+            .append("|entity|")
+            .append(identityHash == null ? "" : identityHash)
+            .append('|')
+            .append(model.optString(TYPENAME, modelSchema.getName()));
+        for (String primaryKeyField : modelSchema.getPrimaryIndexFields()) {
+            Object value = model.opt(primaryKeyField);
+            if (value == null || JSONObject.NULL.equals(value)) {
+                return null;
+            }
+            key.append('|').append(value);
+        }
+        return key.toString();
+    }
+
+    // The identity follows the operation, so that the responses to list queries of all identities share a prefix.
+    private static String getQueryKey(String endpoint, String identityHash, AppSyncGraphQLRequest<?> request) {
+        return getQueryKeyPrefix(endpoint, request.getModelSchema(), request.getOperation()) +
+            (identityHash == null ? "" : identityHash) + "|" + request.getContent();
+    }
+
+    private static String getQueryKeyPrefix(String endpoint, ModelSchema modelSchema, Operation operation) {
+        return endpoint + "|query|" + modelSchema.getName() + "|" + operation + "|";
+    }
+
+    // Records are read from memory, and from the database if they have been evicted from memory.
+    @Nullable
+    private String get(String key) {
+        String value = memoryStore.get(key);
+        if (value == null && persistentStore != null) {
+            value = persistentStore.get(key);
+            if (value != null) {
+                memoryStore.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    private void put(String key, String value) {
+        memoryStore.put(key, value);
+        if (persistentStore != null) {
+            persistentStore.put(key, value);
+        }
+    }
+
+    private void remove(String key) {
+        memoryStore.remove(key);
+        if (persistentStore != null) {
+            persistentStore.remove(key);
+        }
+    }
+
+    private void removeAll(String keyPrefix) {
+        memoryStore.removeAll(keyPrefix);
+        if (persistentStore != null) {
+            persistentStore.removeAll(keyPrefix);
+        }
+    }
+
+    /**
+     * Builds a {@link GraphQLResponseCache}.
+     */
+    public static final class Builder {
+        private int maxRecords;
+        private GraphQLFetchPolicy fetchPolicy;
+        private Context context;
+
+        private Builder() {
+            this.maxRecords = DEFAULT_MAX_RECORDS;
+            this.fetchPolicy = GraphQLFetchPolicy.CACHE_FIRST;
+        }
+
+        /**
+         * Sets the maximum number of records kept in memory, and in the database. There is a record for
+         * each entity, and for each query. Defaults to 1000.
+         * @param maxRecords Maximum number of records
+         * @return Current builder instance, for fluent construction of the cache
+         * @throws IllegalArgumentException If the maximum is less than 1
+         */
+        @NonNull
+        public Builder maxRecords(@IntRange(from = 1) int maxRecords) {
+            if (maxRecords < 1) {
+                throw new IllegalArgumentException("The maximum number of records must be at least 1.");
+            }
+            this.maxRecords = maxRecords;
+            return this;
+        }
+
+        /**
+         * Sets the fetch policy of queries that don't specify one. Defaults to
+         * {@link GraphQLFetchPolicy#CACHE_FIRST}.
+         * @param fetchPolicy Default fetch policy
+         * @return Current builder instance, for fluent construction of the cache
+         */
+        @NonNull
+        public Builder fetchPolicy(@NonNull GraphQLFetchPolicy fetchPolicy) {
+            this.fetchPolicy = Objects.requireNonNull(fetchPolicy);
+            return this;
+        }
+
+        /**
+         * Persists cached responses to a SQLite database, so that they outlive the process. By default,
+         * responses are only cached in memory.
+         * @param context An Android Context
+         * @return Current builder instance, for fluent construction of the cache
+         */
+        @NonNull
+        public Builder persistent(@NonNull Context context) {
+            this.context = Objects.requireNonNull(context).getApplicationContext();
+            return this;
+        }
+
+        /**
+         * Builds a {@link GraphQLResponseCache}.
+         * @return A GraphQLResponseCache
+         */
+        @NonNull
+        public GraphQLResponseCache build() {
+            return new GraphQLResponseCache(this);
+        }
+    }
+}
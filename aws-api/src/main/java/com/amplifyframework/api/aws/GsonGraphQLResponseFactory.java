@@ -33,17 +33,43 @@ import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Converts JSON strings into models of a given type, using Gson.
+ *
+ * A single Gson instance is built up front and reused for every response, so that the type adapters
+ * it creates for each response type are cached across requests, instead of being rebuilt by reflection
+ * for every sync page and subscription message. The request being parsed is handed to the
+ * {@link IterableDeserializer} through a thread-local, since it is needed to build the request for
+ * the next page of a {@link PaginatedResult}.
+ *
+ * Responses to requests for a {@link PaginatedResult}, such as sync pages, can also be streamed from
+ * a {@link Reader} with {@link #buildResponse(GraphQLRequest, Reader)}. The items of the page are then
+ * read one at a time, so neither the full response body nor a JSON tree of the whole page is held in
+ * memory while it is parsed.
  */
 final class GsonGraphQLResponseFactory implements GraphQLResponse.Factory {
-    private final Gson gson;
+    private static final String DATA_KEY = "data";
+    private static final String ERRORS_KEY = "errors";
+    private static final String ITEMS_KEY = "items";
+    private static final String NEXT_TOKEN_KEY = "nextToken";
+    private static final Type ERRORS_TYPE =
+        TypeMaker.getParameterizedType(ArrayList.class, GraphQLResponse.Error.class);
+
+    private final ThreadLocal<GraphQLRequest<?>> currentRequest;
+    private final Gson responseGson;
 
     GsonGraphQLResponseFactory() {
         this(GsonFactory.instance());
@@ -51,7 +77,10 @@ final class GsonGraphQLResponseFactory implements GraphQLResponse.Factory {
 
     @VisibleForTesting
     GsonGraphQLResponseFactory(Gson gson) {
-        this.gson = gson;
+        this.currentRequest = new ThreadLocal<>();
+        this.responseGson = gson.newBuilder()
+            .registerTypeHierarchyAdapter(Iterable.class, new IterableDeserializer(currentRequest))
+            .create();
     }
 
     @Override
@@ -70,10 +99,9 @@ final class GsonGraphQLResponseFactory implements GraphQLResponse.Factory {
         }
 
         Type responseType = TypeMaker.getParameterizedType(GraphQLResponse.class, request.getResponseType());
+        GraphQLRequest<?> previousRequest = currentRequest.get();
+        currentRequest.set(request);
         try {
-            Gson responseGson = gson.newBuilder()
-                .registerTypeHierarchyAdapter(Iterable.class, new IterableDeserializer<>(request))
-                .create();
             return responseGson.fromJson(responseJson, responseType);
         } catch (JsonParseException jsonParseException) {
             throw new ApiException(
@@ -81,17 +109,162 @@ final class GsonGraphQLResponseFactory implements GraphQLResponse.Factory {
                     jsonParseException,
                     AmplifyException.TODO_RECOVERY_SUGGESTION
             );
+        } finally {
+            if (previousRequest == null) {
+                currentRequest.remove();
+            } else {
+                currentRequest.set(previousRequest);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the response to a request can be streamed with
+     * {@link #buildResponse(GraphQLRequest, Reader)}, that is, whether it is a page of results.
+     * @param request A GraphQL request
+     * @return true if the response type of the request is a {@link PaginatedResult}
+     */
+    static boolean isStreamable(GraphQLRequest<?> request) {
+        Type responseType = request.getResponseType();
+        return responseType instanceof ParameterizedType &&
+            PaginatedResult.class.equals(((ParameterizedType) responseType).getRawType());
+    }
+
+    /**
+     * Builds the response to a request for a {@link PaginatedResult} by streaming its JSON from a reader.
+     * The reader is not closed by this method.
+     * @param request A request for which {@link #isStreamable(GraphQLRequest)} is true
+     * @param responseReader A reader over the JSON response
+     * @param <T> The response type of the request
+     * @return The response
+     * @throws ApiException If the response could not be read, or could not be deserialized
+     */
+    <T> GraphQLResponse<T> buildResponse(GraphQLRequest<T> request, Reader responseReader) throws ApiException {
+        Type itemType = ((ParameterizedType) request.getResponseType()).getActualTypeArguments()[0];
+        JsonReader reader = responseGson.newJsonReader(responseReader);
+        reader.setLenient(true);
+        try {
+            PaginatedResult<Object> data = null;
+            List<GraphQLResponse.Error> errors = Collections.emptyList();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case DATA_KEY:
+                        data = readQueryField(reader, request, itemType);
+                        break;
+                    case ERRORS_KEY:
+                        List<GraphQLResponse.Error> parsedErrors = responseGson.fromJson(reader, ERRORS_TYPE);
+                        errors = parsedErrors == null ? Collections.emptyList() : parsedErrors;
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            @SuppressWarnings("unchecked") // The response type of the request is a PaginatedResult.
+            T typedData = (T) data;
+            return new GraphQLResponse<>(typedData, errors);
+        } catch (EOFException | MalformedJsonException | IllegalStateException | JsonParseException exception) {
+            throw new ApiException(
+                "Amplify encountered an error while deserializing an object.",
+                exception,
+                AmplifyException.TODO_RECOVERY_SUGGESTION
+            );
+        } catch (IOException exception) {
+            throw new ApiException(
+                "Could not retrieve the response body from the returned JSON",
+                exception,
+                AmplifyException.TODO_RECOVERY_SUGGESTION
+            );
+        }
+    }
+
+    // Reads the value of the data key, which holds a single field named after the query.
+    private PaginatedResult<Object> readQueryField(JsonReader reader, GraphQLRequest<?> request, Type itemType)
+            throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        reader.beginObject();
+        if (!reader.hasNext()) {
+            throw new JsonParseException(
+                "Amplify encountered an error while serializing/deserializing an object.  " +
+                    "Please add a single top level field in your query."
+            );
+        }
+        reader.nextName();
+        PaginatedResult<Object> page = readPage(reader, request, itemType);
+        if (reader.hasNext()) {
+            throw new JsonParseException(
+                "Amplify encountered an error while serializing/deserializing an object.  " +
+                    "Please reduce your query to a single top level field."
+            );
         }
+        reader.endObject();
+        return page;
     }
 
-    static final class IterableDeserializer<R> implements JsonDeserializer<Iterable<Object>> {
-        private static final String ITEMS_KEY = "items";
-        private static final String NEXT_TOKEN_KEY = "nextToken";
+    // Reads a page of items, deserializing one item at a time.
+    private PaginatedResult<Object> readPage(JsonReader reader, GraphQLRequest<?> request, Type itemType)
+            throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        List<Object> items = null;
+        String nextToken = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (ITEMS_KEY.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                items = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    items.add(responseGson.fromJson(reader, itemType));
+                }
+                reader.endArray();
+            } else if (NEXT_TOKEN_KEY.equals(name) &&
+                    (reader.peek() == JsonToken.STRING || reader.peek() == JsonToken.NUMBER)) {
+                nextToken = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (items == null) {
+            throw new JsonParseException(
+                "Got JSON from an API call which was supposed to go with a page of results, " +
+                    "but it does not have an items property with the actual array of data."
+            );
+        }
+        return buildPaginatedResult(request, items, nextToken);
+    }
 
-        private final GraphQLRequest<R> request;
+    private static PaginatedResult<Object> buildPaginatedResult(
+            GraphQLRequest<?> request, Iterable<Object> items, String nextToken) {
+        GraphQLRequest<PaginatedResult<Object>> requestForNextPage = null;
+        if (nextToken != null && request instanceof AppSyncGraphQLRequest) {
+            try {
+                requestForNextPage = ((AppSyncGraphQLRequest<?>) request).newBuilder()
+                        .variable(NEXT_TOKEN_KEY, "String", nextToken)
+                        .build();
+            } catch (AmplifyException exception) {
+                throw new JsonParseException(
+                    "Failed to create requestForNextPage with nextToken variable",
+                    exception
+                );
+            }
+        }
+        return new PaginatedResult<>(items, requestForNextPage);
+    }
 
-        IterableDeserializer(GraphQLRequest<R> request) {
-            this.request = request;
+    static final class IterableDeserializer implements JsonDeserializer<Iterable<Object>> {
+        private final ThreadLocal<GraphQLRequest<?>> currentRequest;
+
+        IterableDeserializer(ThreadLocal<GraphQLRequest<?>> currentRequest) {
+            this.currentRequest = currentRequest;
         }
 
         @Override
@@ -167,23 +340,11 @@ final class GsonGraphQLResponseFactory implements GraphQLResponse.Factory {
         }
 
         private PaginatedResult<Object> buildPaginatedResult(Iterable<Object> items, JsonElement nextTokenElement) {
-            GraphQLRequest<PaginatedResult<Object>> requestForNextPage = null;
+            String nextToken = null;
             if (nextTokenElement.isJsonPrimitive()) {
-                String nextToken = nextTokenElement.getAsJsonPrimitive().getAsString();
-                try {
-                    if (request instanceof AppSyncGraphQLRequest) {
-                        requestForNextPage = ((AppSyncGraphQLRequest<R>) request).newBuilder()
-                                .variable(NEXT_TOKEN_KEY, "String", nextToken)
-                                .build();
-                    }
-                } catch (AmplifyException exception) {
-                    throw new JsonParseException(
-                        "Failed to create requestForNextPage with nextToken variable",
-                        exception
-                    );
-                }
+                nextToken = nextTokenElement.getAsJsonPrimitive().getAsString();
             }
-            return new PaginatedResult<>(items, requestForNextPage);
+            return GsonGraphQLResponseFactory.buildPaginatedResult(currentRequest.get(), items, nextToken);
         }
     }
 }
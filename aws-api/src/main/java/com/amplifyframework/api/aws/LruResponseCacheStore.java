@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the most recently used records of a {@link GraphQLResponseCache} in memory.
+ */
+final class LruResponseCacheStore implements ResponseCacheStore {
+    private final Map<String, String> records;
+
+    LruResponseCacheStore(int maxRecords) {
+        // An access-ordered map iterates from the least recently used record, which is evicted first.
+        this.records = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxRecords;
+            }
+        };
+    }
+
+    @Nullable
+    @Override
+    public synchronized String get(@NonNull String key) {
+        return records.get(key);
+    }
+
+    @Override
+    public synchronized void put(@NonNull String key, @NonNull String value) {
+        records.put(key, value);
+    }
+
+    @Override
+    public synchronized void remove(@NonNull String key) {
+        records.remove(key);
+    }
+
+    @Override
+    public synchronized void removeAll(@NonNull String keyPrefix) {
+        Iterator<String> keys = records.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().startsWith(keyPrefix)) {
+                keys.remove();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        records.clear();
+    }
+}
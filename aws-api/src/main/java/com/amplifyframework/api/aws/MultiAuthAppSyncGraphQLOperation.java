@@ -17,6 +17,7 @@ package com.amplifyframework.api.aws;
 
 import android.annotation.SuppressLint;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.ApiException;
@@ -58,10 +59,15 @@ public final class MultiAuthAppSyncGraphQLOperation<R> extends GraphQLOperation<
 
     private final String endpoint;
     private final OkHttpClient client;
+    private final GraphQLResponse.Factory responseFactory;
     private final Consumer<GraphQLResponse<R>> onResponse;
     private final Consumer<ApiException> onFailure;
     private final ApiRequestDecoratorFactory apiRequestDecoratorFactory;
     private final ExecutorService executorService;
+    @Nullable
+    private final PersistedQueries persistedQueries;
+    @Nullable
+    private final GraphQLResponseCache responseCache;
 
     private AuthorizationTypeIterator authTypes;
     private Call ongoingCall;
@@ -75,9 +81,12 @@ public final class MultiAuthAppSyncGraphQLOperation<R> extends GraphQLOperation<
         this.apiRequestDecoratorFactory = builder.apiRequestDecoratorFactory;
         this.endpoint = builder.endpoint;
         this.client = builder.client;
+        this.responseFactory = builder.responseFactory;
         this.onResponse = builder.onResponse;
         this.onFailure = builder.onFailure;
         this.executorService = builder.executorService;
+        this.persistedQueries = builder.persistedQueries;
+        this.responseCache = builder.responseCache;
 
         if (!(getRequest() instanceof AppSyncGraphQLRequest)) {
             onFailure.accept(new ApiException(
@@ -103,30 +112,8 @@ public final class MultiAuthAppSyncGraphQLOperation<R> extends GraphQLOperation<
 
     private void dispatchRequest() {
         if (authTypes.hasNext()) {
-            AuthorizationType authType = authTypes.next();
-            Request okHttpRequest = new Request.Builder()
-                .url(endpoint)
-                .addHeader("accept", CONTENT_TYPE)
-                .addHeader("content-type", CONTENT_TYPE)
-                .post(RequestBody.create(getRequest().getContent(), MediaType.parse(CONTENT_TYPE)))
-                .build();
-            Request decoratedOkHttpRequest;
-            try {
-                RequestDecorator requestDecorator = apiRequestDecoratorFactory.forAuthType(authType);
-                decoratedOkHttpRequest = requestDecorator.decorate(okHttpRequest);
-            } catch (ApiException apiException) {
-                LOG.warn("Failed to make a successful request with " + authType, apiException);
-                // Only queue up a retry if it's an auth-related exception.
-                if (apiException instanceof ApiAuthException && authTypes.hasNext()) {
-                    executorService.submit(this::dispatchRequest);
-                } else {
-                    onFailure.accept(apiException);
-                }
-                return;
-            }
-            LOG.debug("Request: " + getRequest().getContent());
-            ongoingCall = client.newCall(decoratedOkHttpRequest);
-            ongoingCall.enqueue(new OkHttpCallback());
+            dispatchRequest(authTypes.next(),
+                persistedQueries == null || !persistedQueries.isAccepted(getRequest()));
         } else {
             onFailure.accept(new ApiAuthException(
                 "Unable to successfully complete request with any of the compatible auth types.",
@@ -135,6 +122,37 @@ public final class MultiAuthAppSyncGraphQLOperation<R> extends GraphQLOperation<
         }
     }
 
+    // With persisted queries, the query may be left out of the request, and only its hash sent.
+    private void dispatchRequest(AuthorizationType authType, boolean includeQuery) {
+        final boolean sentWithHash = persistedQueries != null && persistedQueries.isEnabled();
+        final String content = sentWithHash
+            ? persistedQueries.getContent(getRequest(), includeQuery)
+            : getRequest().getContent();
+        Request okHttpRequest = new Request.Builder()
+            .url(endpoint)
+            .addHeader("accept", CONTENT_TYPE)
+            .addHeader("content-type", CONTENT_TYPE)
+            .post(RequestBody.create(content, MediaType.parse(CONTENT_TYPE)))
+            .build();
+        Request decoratedOkHttpRequest;
+        try {
+            RequestDecorator requestDecorator = apiRequestDecoratorFactory.forAuthType(authType);
+            decoratedOkHttpRequest = requestDecorator.decorate(okHttpRequest);
+        } catch (ApiException apiException) {
+            LOG.warn("Failed to make a successful request with " + authType, apiException);
+            // Only queue up a retry if it's an auth-related exception.
+            if (apiException instanceof ApiAuthException && authTypes.hasNext()) {
+                executorService.submit(this::dispatchRequest);
+            } else {
+                onFailure.accept(apiException);
+            }
+            return;
+        }
+        LOG.debug("Request: " + content);
+        ongoingCall = client.newCall(decoratedOkHttpRequest);
+        ongoingCall.enqueue(new OkHttpCallback(authType, sentWithHash, includeQuery));
+    }
+
     @Override
     public void cancel() {
         if (ongoingCall != null) {
@@ -152,15 +170,48 @@ public final class MultiAuthAppSyncGraphQLOperation<R> extends GraphQLOperation<
         return false;
     }
 
+    // A page of results is parsed as it is read from the response body, instead of reading the whole body first.
+    // When the response to the request can be cached, the whole body is read, so that it can be written to the cache.
+    private boolean canStreamResponse() {
+        return (responseCache == null || !GraphQLResponseCache.canRead(getRequest())) &&
+            responseFactory instanceof GsonGraphQLResponseFactory &&
+            GsonGraphQLResponseFactory.isStreamable(getRequest());
+    }
+
+    private GraphQLResponse<R> streamResponse(ResponseBody responseBody) throws ApiException {
+        try (ResponseBody body = responseBody) {
+            return ((GsonGraphQLResponseFactory) responseFactory).buildResponse(getRequest(), body.charStream());
+        }
+    }
+
     static <R> Builder<R> builder() {
         return new Builder<>();
     }
 
     @SuppressLint("SyntheticAccessor")
     class OkHttpCallback implements Callback {
+        private final AuthorizationType authType;
+        private final boolean sentWithHash;
+        private final boolean includedQuery;
+
+        OkHttpCallback(AuthorizationType authType, boolean sentWithHash, boolean includedQuery) {
+            this.authType = authType;
+            this.sentWithHash = sentWithHash;
+            this.includedQuery = includedQuery;
+        }
+
         @Override
         public void onResponse(@NonNull Call call, @NonNull Response response) {
             final ResponseBody responseBody = response.body();
+            if (responseBody != null && response.isSuccessful() && canStreamResponse()) {
+                try {
+                    handleResponse(streamResponse(responseBody), true, true);
+                } catch (ApiException exception) {
+                    onFailure.accept(exception);
+                }
+                return;
+            }
+
             String jsonResponse = null;
             if (responseBody != null) {
                 try {
@@ -174,19 +225,49 @@ public final class MultiAuthAppSyncGraphQLOperation<R> extends GraphQLOperation<
                 }
             }
 
+            if (retryWithQuery(PersistedQueries.rejectionOf(jsonResponse))) {
+                return;
+            }
             try {
                 GraphQLResponse<R> graphQLResponse = wrapResponse(jsonResponse);
-                if (graphQLResponse.hasErrors() && hasAuthRelatedErrors(graphQLResponse) && authTypes.hasNext()) {
-                    executorService.submit(MultiAuthAppSyncGraphQLOperation.this::dispatchRequest);
-                } else {
-                    onResponse.accept(graphQLResponse);
+                if (responseCache != null && response.isSuccessful()) {
+                    responseCache.write(
+                        endpoint, CacheIdentityInterceptor.getIdentityHash(call.request()), getRequest(), jsonResponse
+                    );
                 }
+                handleResponse(graphQLResponse, false, response.isSuccessful());
                 //TODO: Dispatch to hub
             } catch (ApiException exception) {
                 onFailure.accept(exception);
             }
         }
 
+        private void handleResponse(GraphQLResponse<R> graphQLResponse, boolean streamed, boolean successful) {
+            if (streamed && retryWithQuery(PersistedQueries.rejectionOf(graphQLResponse.getErrors()))) {
+                return;
+            }
+            if (successful && sentWithHash && graphQLResponse.hasData()) {
+                // Once the server has executed the request, the text of its query can be left out from now on.
+                persistedQueries.accept(getRequest());
+            }
+            if (graphQLResponse.hasErrors() && hasAuthRelatedErrors(graphQLResponse) && authTypes.hasNext()) {
+                executorService.submit(MultiAuthAppSyncGraphQLOperation.this::dispatchRequest);
+            } else {
+                onResponse.accept(graphQLResponse);
+            }
+        }
+
+        // If the server did not know the hash of a query sent without its text, or does not support persisted
+        // queries, the request is sent again, with the same auth type, and with its text.
+        private boolean retryWithQuery(@Nullable PersistedQueries.Rejection rejection) {
+            if (!sentWithHash || rejection == null ||
+                    !persistedQueries.shouldResendWithQuery(getRequest(), rejection, includedQuery)) {
+                return false;
+            }
+            executorService.submit(() -> dispatchRequest(authType, true));
+            return true;
+        }
+
         @Override
         public void onFailure(@NonNull Call call, @NonNull IOException exception) {
             onFailure.accept(new ApiException(
@@ -204,6 +285,8 @@ public final class MultiAuthAppSyncGraphQLOperation<R> extends GraphQLOperation<
         private Consumer<GraphQLResponse<R>> onResponse;
         private Consumer<ApiException> onFailure;
         private ExecutorService executorService;
+        private PersistedQueries persistedQueries;
+        private GraphQLResponseCache responseCache;
 
         Builder<R> endpoint(@NonNull String endpoint) {
             this.endpoint = Objects.requireNonNull(endpoint);
@@ -245,6 +328,16 @@ public final class MultiAuthAppSyncGraphQLOperation<R> extends GraphQLOperation<
             return this;
         }
 
+        Builder<R> persistedQueries(@Nullable PersistedQueries persistedQueries) {
+            this.persistedQueries = persistedQueries;
+            return this;
+        }
+
+        Builder<R> responseCache(@Nullable GraphQLResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
         @SuppressLint("SyntheticAccessor")
         MultiAuthAppSyncGraphQLOperation<R> build() {
             return new MultiAuthAppSyncGraphQLOperation<>(this);
@@ -114,8 +114,9 @@ final class MutiAuthSubscriptionOperation<T> extends GraphQLOperation<T> {
                 request,
                 authorizationType,
                 subscriptionId -> {
-                    MutiAuthSubscriptionOperation.this.subscriptionId = subscriptionId;
-                    onSubscriptionStart.accept(subscriptionId);
+                    if (onSubscriptionAcknowledged(subscriptionId)) {
+                        onSubscriptionStart.accept(subscriptionId);
+                    }
                 },
                 response -> {
                     if (response.hasErrors() && hasAuthRelatedErrors(response) && authTypes.hasNext()) {
@@ -128,6 +129,11 @@ final class MutiAuthSubscriptionOperation<T> extends GraphQLOperation<T> {
                     }
                 },
                 apiException -> {
+                    if (canceled.get()) {
+                        // A subscription canceled before its acknowledgement may still time out afterwards.
+                        LOG.debug("Ignoring error of canceled subscription: " + apiException.getMessage());
+                        return;
+                    }
                     LOG.warn("A subscription error occurred.", apiException);
                     if (apiException instanceof ApiAuthException && authTypes.hasNext()) {
                         executorService.submit(this::dispatchRequest);
@@ -144,6 +150,28 @@ final class MutiAuthSubscriptionOperation<T> extends GraphQLOperation<T> {
 
     }
 
+    /**
+     * Records the ID of a subscription once it has been acknowledged. If the operation was canceled
+     * while it waited for the acknowledgement, the subscription is released, instead.
+     * @param subscriptionId ID of the acknowledged subscription
+     * @return true if the subscription should be reported as started
+     */
+    private synchronized boolean onSubscriptionAcknowledged(String subscriptionId) {
+        this.subscriptionId = subscriptionId;
+        if (!canceled.get()) {
+            return true;
+        }
+        executorService.execute(() -> {
+            try {
+                LOG.debug("Cancelling subscription: " + subscriptionId);
+                subscriptionEndpoint.releaseSubscription(subscriptionId);
+            } catch (ApiException exception) {
+                onSubscriptionError.accept(exception);
+            }
+        });
+        return false;
+    }
+
     @Override
     public synchronized void cancel() {
         if (subscriptionId != null && !canceled.get()) {
@@ -157,7 +185,13 @@ final class MutiAuthSubscriptionOperation<T> extends GraphQLOperation<T> {
                 }
             });
         } else if (subscriptionFuture != null && subscriptionFuture.cancel(true)) {
+            // The subscription may have been requested already, and then it's released once it is acknowledged.
             LOG.debug("Subscription attempt was canceled.");
+            canceled.set(true);
+        } else if (subscriptionFuture != null && subscriptionId == null && !canceled.get()) {
+            // The subscription was requested, but not acknowledged yet. It's released once it is.
+            LOG.debug("Subscription will be canceled when it is acknowledged.");
+            canceled.set(true);
         } else {
             LOG.debug("Nothing to cancel. Subscription not yet created, or already cancelled.");
         }
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.util.Wrap;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Automatic persisted queries, for a single GraphQL API.
+ *
+ * A request for a document is sent with its full text and the SHA-256 hash of the text, in the
+ * persistedQuery extension. Once the server has accepted a request with the hash, later requests
+ * for the same document only send the hash. If the server no longer knows the hash, it responds
+ * with a PersistedQueryNotFound error, and the request is sent again with its full text.
+ *
+ * A hash is only considered accepted once the server has executed a request sent with it, that is, once
+ * it responded with data. If the server does not support persisted queries, or it complains that a request
+ * sent with only a hash has no query, persisted queries are disabled for the API, and requests are sent
+ * with their full text, without the extension, from then on.
+ */
+final class PersistedQueries {
+    static final String NOT_FOUND_MESSAGE = "PersistedQueryNotFound";
+    static final String NOT_FOUND_CODE = "PERSISTED_QUERY_NOT_FOUND";
+    static final String NOT_SUPPORTED_MESSAGE = "PersistedQueryNotSupported";
+    static final String NOT_SUPPORTED_CODE = "PERSISTED_QUERY_NOT_SUPPORTED";
+    private static final int VERSION = 1;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final GraphQLRequest.VariablesSerializer VARIABLES_SERIALIZER = new GsonVariablesSerializer();
+
+    // Hashes of documents, by document. Documents are cached, so there are as many as there are kinds of requests.
+    private final Map<String, String> hashes;
+    private final Set<String> acceptedHashes;
+    private volatile boolean enabled;
+
+    PersistedQueries() {
+        this.hashes = new ConcurrentHashMap<>();
+        this.acceptedHashes = ConcurrentHashMap.newKeySet();
+        this.enabled = true;
+    }
+
+    /**
+     * Returns whether requests are sent with the persistedQuery extension. This is false once the server
+     * has shown that it does not support persisted queries.
+     * @return true if persisted queries are used
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns whether the server has accepted the hash of the document of a request, so that the
+     * request can be sent without its document.
+     * @param request A GraphQL request
+     * @return true if the request can be sent with only the hash of its document
+     */
+    boolean isAccepted(@NonNull GraphQLRequest<?> request) {
+        return enabled && acceptedHashes.contains(getHash(request.getQuery()));
+    }
+
+    /**
+     * Records that the server accepted the hash of the document of a request.
+     * @param request A GraphQL request, which the server responded to
+     */
+    void accept(@NonNull GraphQLRequest<?> request) {
+        acceptedHashes.add(getHash(request.getQuery()));
+    }
+
+    /**
+     * Records that the server does not know the hash of the document of a request.
+     * @param request A GraphQL request, which the server responded to with a PersistedQueryNotFound error
+     */
+    void forget(@NonNull GraphQLRequest<?> request) {
+        acceptedHashes.remove(getHash(request.getQuery()));
+    }
+
+    /**
+     * Records what the server said about the hash of a request that it rejected, and returns whether
+     * the request should be sent again, with its query.
+     * @param request A GraphQL request which was sent with the persistedQuery extension
+     * @param rejection Why the server rejected the request
+     * @param includedQuery Whether the request was sent with its query, along with its hash
+     * @return true if the request should be sent again with its query
+     */
+    boolean shouldResendWithQuery(
+            @NonNull GraphQLRequest<?> request, @NonNull Rejection rejection, boolean includedQuery) {
+        switch (rejection) {
+            case NOT_FOUND:
+                forget(request);
+                return !includedQuery;
+            case QUERY_MISSING:
+                if (includedQuery) {
+                    // The query was there, so the error is about something else.
+                    return false;
+                }
+                enabled = false;
+                return true;
+            case NOT_SUPPORTED:
+            default:
+                enabled = false;
+                return true;
+        }
+    }
+
+    /**
+     * Returns the body of a request, with the persistedQuery extension. Once persisted queries are
+     * disabled, the body is the content of the request, with its query, and without the extension.
+     * @param request A GraphQL request
+     * @param includeQuery Whether to send the document of the request, along with its hash
+     * @return JSON body of the request
+     */
+    @NonNull
+    String getContent(@NonNull GraphQLRequest<?> request, boolean includeQuery) {
+        if (!enabled) {
+            return request.getContent();
+        }
+        String query = request.getQuery();
+        String extensions = Wrap.inDoubleQuotes("extensions") + ": {" +
+            Wrap.inDoubleQuotes("persistedQuery") + ": {" +
+            Wrap.inDoubleQuotes("version") + ": " + VERSION + ", " +
+            Wrap.inDoubleQuotes("sha256Hash") + ": " + Wrap.inDoubleQuotes(getHash(query)) + "}}";
+        if (includeQuery) {
+            // The content of a request is a JSON object with the query and the variables, which the extension
+            // is added to, so that the query is escaped the same way as without persisted queries.
+            String content = request.getContent();
+            return content.substring(0, content.lastIndexOf('}')) + ", " + extensions + "}";
+        }
+        return "{" + Wrap.inDoubleQuotes("variables") + ": " + getVariables(request) + ", " + extensions + "}";
+    }
+
+    // The variables are serialized on their own, the same way for every kind of request.
+    @Nullable
+    private static String getVariables(GraphQLRequest<?> request) {
+        Map<String, Object> variables = request.getVariables();
+        return variables == null || variables.isEmpty() ? null : VARIABLES_SERIALIZER.serialize(variables);
+    }
+
+    /**
+     * Returns why the errors of a response say that the server rejected a request sent with
+     * the persistedQuery extension, if they do.
+     * @param errors Errors of a GraphQL response
+     * @return Why the request was rejected, or null if it wasn't rejected for its persisted query
+     */
+    @Nullable
+    static Rejection rejectionOf(@Nullable List<GraphQLResponse.Error> errors) {
+        if (errors == null) {
+            return null;
+        }
+        for (GraphQLResponse.Error error : errors) {
+            Map<String, Object> extensions = error.getExtensions();
+            Object code = extensions == null ? null : extensions.get("code");
+            Rejection rejection = Rejection.from(error.getMessage(), code instanceof String ? (String) code : null);
+            if (rejection != null) {
+                return rejection;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns why a JSON response says that the server rejected a request sent with the
+     * persistedQuery extension, if it does.
+     * @param json Body of a GraphQL response, or payload of a subscription error
+     * @return Why the request was rejected, or null if it wasn't rejected for its persisted query
+     */
+    @Nullable
+    static Rejection rejectionOf(@Nullable String json) {
+        if (json == null || !json.contains("\"errors\"") || !Rejection.mayBeIn(json)) {
+            return null;
+        }
+        try {
+            JSONArray errors = new JSONObject(json).optJSONArray("errors");
+            for (int index = 0; errors != null && index < errors.length(); index++) {
+                JSONObject error = errors.getJSONObject(index);
+                JSONObject extensions = error.optJSONObject("extensions");
+                Rejection rejection = Rejection.from(error.optString("message"),
+                    extensions == null ? null : extensions.optString("code"));
+                if (rejection != null) {
+                    return rejection;
+                }
+            }
+        } catch (JSONException exception) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Why a server rejected a request which was sent with the persistedQuery extension.
+     */
+    enum Rejection {
+        /**
+         * The server does not know the hash of the query.
+         */
+        NOT_FOUND,
+
+        /**
+         * The server does not support persisted queries.
+         */
+        NOT_SUPPORTED,
+
+        /**
+         * The server complains that the request has no query, which means that it ignored the hash.
+         */
+        QUERY_MISSING;
+
+        // Messages of GraphQL servers which don't know about persisted queries, for a request without a query.
+        private static final String[] QUERY_MISSING_MESSAGES = {
+            "must provide query", "query is missing", "missing query"
+        };
+
+        @Nullable
+        static Rejection from(@Nullable String message, @Nullable String code) {
+            if (NOT_FOUND_MESSAGE.equals(message) || NOT_FOUND_CODE.equals(code)) {
+                return NOT_FOUND;
+            }
+            if (NOT_SUPPORTED_MESSAGE.equals(message) || NOT_SUPPORTED_CODE.equals(code)) {
+                return NOT_SUPPORTED;
+            }
+            if (message != null && containsQueryMissingMessage(message)) {
+                return QUERY_MISSING;
+            }
+            return null;
+        }
+
+        // Avoids parsing every response whose errors can't be about persisted queries.
+        static boolean mayBeIn(@NonNull String json) {
+            return json.contains(NOT_FOUND_MESSAGE) || json.contains(NOT_FOUND_CODE) ||
+                json.contains(NOT_SUPPORTED_MESSAGE) || json.contains(NOT_SUPPORTED_CODE) ||
+                containsQueryMissingMessage(json);
+        }
+
+        private static boolean containsQueryMissingMessage(String text) {
+            String lowerCaseText = text.toLowerCase(Locale.ROOT);
+            for (String message : QUERY_MISSING_MESSAGES) {
+                if (lowerCaseText.contains(message)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private String getHash(String query) {
+        String hash = hashes.get(query);
+        if (hash == null) {
+            hash = sha256(query);
+            hashes.put(query, hash);
+        }
+        return hash;
+    }
+
+    private static String sha256(String text) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available.", exception);
+        }
+        char[] chars = new char[digest.length * 2];
+        for (int index = 0; index < digest.length; index++) {
+            chars[index * 2] = HEX_DIGITS[(digest[index] >> 4) & 0xf];
+            chars[index * 2 + 1] = HEX_DIGITS[digest[index] & 0xf];
+        }
+        return new String(chars);
+    }
+}
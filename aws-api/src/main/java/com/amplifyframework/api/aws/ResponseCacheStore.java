@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Stores the records of a {@link GraphQLResponseCache}, which are JSON strings, by key.
+ */
+interface ResponseCacheStore {
+    /**
+     * Gets a record.
+     * @param key Key of the record
+     * @return The record, or null if there is no record for the key
+     */
+    @Nullable
+    String get(@NonNull String key);
+
+    /**
+     * Stores a record, replacing any record with the same key.
+     * @param key Key of the record
+     * @param value The record
+     */
+    void put(@NonNull String key, @NonNull String value);
+
+    /**
+     * Removes a record, if there is one.
+     * @param key Key of the record
+     */
+    void remove(@NonNull String key);
+
+    /**
+     * Removes all records whose keys start with a prefix.
+     * @param keyPrefix Prefix of the keys of the records to remove
+     */
+    void removeAll(@NonNull String keyPrefix);
+
+    /**
+     * Removes all records.
+     */
+    void clear();
+}
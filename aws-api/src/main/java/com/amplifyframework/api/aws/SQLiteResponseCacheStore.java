@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Persists the records of a {@link GraphQLResponseCache} in a SQLite database, so that
+ * cached responses outlive the process.
+ *
+ * Replacing a record gives it a new, larger rowid, so the records with the smallest
+ * rowids are the least recently written ones, and are removed first once there are more
+ * records than the maximum.
+ */
+final class SQLiteResponseCacheStore extends SQLiteOpenHelper implements ResponseCacheStore {
+    private static final int DATABASE_VERSION = 1;
+    private static final String TABLE_NAME = "records";
+    private static final String KEY_COLUMN = "key";
+    private static final String VALUE_COLUMN = "value";
+    // The table is trimmed after this many writes, instead of after every write.
+    private static final int WRITES_PER_TRIM = 64;
+
+    private final int maxRecords;
+    private int writesSinceTrim;
+
+    SQLiteResponseCacheStore(@NonNull Context context, @NonNull String databaseName, int maxRecords) {
+        super(context, databaseName, null, DATABASE_VERSION);
+        this.maxRecords = maxRecords;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase database) {
+        database.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_NAME + " (" +
+            KEY_COLUMN + " TEXT PRIMARY KEY NOT NULL, " +
+            VALUE_COLUMN + " TEXT NOT NULL)");
+    }
+
+    // Records are only a cache, so they are dropped instead of migrated.
+    @Override
+    public void onUpgrade(SQLiteDatabase database, int oldVersion, int newVersion) {
+        database.execSQL("DROP TABLE IF EXISTS " + TABLE_NAME);
+        onCreate(database);
+    }
+
+    @Nullable
+    @Override
+    public String get(@NonNull String key) {
+        try (Cursor cursor = getReadableDatabase().query(TABLE_NAME, new String[] {VALUE_COLUMN},
+                KEY_COLUMN + " = ?", new String[] {key}, null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+
+    @Override
+    public synchronized void put(@NonNull String key, @NonNull String value) {
+        ContentValues values = new ContentValues();
+        values.put(KEY_COLUMN, key);
+        values.put(VALUE_COLUMN, value);
+        SQLiteDatabase database = getWritableDatabase();
+        database.replaceOrThrow(TABLE_NAME, null, values);
+        if (++writesSinceTrim >= WRITES_PER_TRIM) {
+            writesSinceTrim = 0;
+            database.execSQL("DELETE FROM " + TABLE_NAME + " WHERE rowid IN (SELECT rowid FROM " + TABLE_NAME +
+                " ORDER BY rowid DESC LIMIT -1 OFFSET " + maxRecords + ")");
+        }
+    }
+
+    @Override
+    public void remove(@NonNull String key) {
+        getWritableDatabase().delete(TABLE_NAME, KEY_COLUMN + " = ?", new String[] {key});
+    }
+
+    @Override
+    public void removeAll(@NonNull String keyPrefix) {
+        getWritableDatabase().delete(TABLE_NAME,
+            "substr(" + KEY_COLUMN + ", 1, " + keyPrefix.length() + ") = ?", new String[] {keyPrefix});
+    }
+
+    @Override
+    public void clear() {
+        getWritableDatabase().delete(TABLE_NAME, null, null);
+    }
+}
@@ -18,6 +18,8 @@ package com.amplifyframework.api.aws;
 import android.net.Uri;
 import android.util.Base64;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.core.util.ObjectsCompat;
 
 import com.amplifyframework.AmplifyException;
@@ -45,7 +47,11 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import okhttp3.OkHttpClient;
@@ -57,12 +63,19 @@ import okhttp3.WebSocketListener;
 /**
  * Manages the lifecycle of a single WebSocket connection,
  * and multiple GraphQL subscriptions that work on top of it.
+ * Subscriptions are started without waiting for each other: a start message is sent as soon
+ * as the connection is ready, and each subscription is reported as started when its own
+ * acknowledgement arrives.
  */
 final class SubscriptionEndpoint {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-api");
     private static final int CONNECTION_ACKNOWLEDGEMENT_TIMEOUT = 30 /* seconds */;
     private static final int NORMAL_CLOSURE_STATUS = 1000;
     private static final String UNAUTHORIZED_EXCEPTION = "UnauthorizedException";
+    private static final long ACKNOWLEDGEMENT_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+    // The acknowledgement timeouts of all endpoints share a single daemon thread, which lives as long as the
+    // process, so that endpoints don't need to be shut down. A timeout is removed when it is cancelled.
+    private static final ScheduledExecutorService ACKNOWLEDGEMENT_TIMEOUTS = createAcknowledgementTimeouts();
 
     private final ApiConfiguration apiConfiguration;
     private final SubscriptionAuthorizer authorizer;
@@ -71,6 +84,11 @@ final class SubscriptionEndpoint {
     private final TimeoutWatchdog timeoutWatchdog;
     private final Set<String> pendingSubscriptionIds;
     private final OkHttpClient okHttpClient;
+    private final long acknowledgementTimeoutMs;
+    @Nullable
+    private final PersistedQueries persistedQueries;
+    @Nullable
+    private final GraphQLResponseCache responseCache;
     private WebSocket webSocket;
     private AmplifyWebSocketListener webSocketListener;
 
@@ -79,16 +97,54 @@ final class SubscriptionEndpoint {
             @NonNull GraphQLResponse.Factory responseFactory,
             @NonNull SubscriptionAuthorizer authorizer
     ) throws ApiException {
+        this(apiConfiguration, responseFactory, authorizer, null, null);
+    }
+
+    SubscriptionEndpoint(
+            @NonNull ApiConfiguration apiConfiguration,
+            @NonNull GraphQLResponse.Factory responseFactory,
+            @NonNull SubscriptionAuthorizer authorizer,
+            @Nullable PersistedQueries persistedQueries,
+            @Nullable GraphQLResponseCache responseCache
+    ) throws ApiException {
+        this(apiConfiguration, responseFactory, authorizer, persistedQueries, responseCache,
+            new OkHttpClient.Builder()
+                .addNetworkInterceptor(UserAgentInterceptor.using(UserAgent::string))
+                .retryOnConnectionFailure(true)
+                .build(),
+            ACKNOWLEDGEMENT_TIMEOUT_MS);
+    }
+
+    @VisibleForTesting
+    SubscriptionEndpoint(
+            @NonNull ApiConfiguration apiConfiguration,
+            @NonNull GraphQLResponse.Factory responseFactory,
+            @NonNull SubscriptionAuthorizer authorizer,
+            @Nullable PersistedQueries persistedQueries,
+            @Nullable GraphQLResponseCache responseCache,
+            @NonNull OkHttpClient okHttpClient,
+            long acknowledgementTimeoutMs
+    ) {
         this.apiConfiguration = Objects.requireNonNull(apiConfiguration);
         this.subscriptions = new ConcurrentHashMap<>();
         this.responseFactory = Objects.requireNonNull(responseFactory);
         this.authorizer = Objects.requireNonNull(authorizer);
         this.timeoutWatchdog = new TimeoutWatchdog();
         this.pendingSubscriptionIds = Collections.synchronizedSet(new HashSet<>());
-        this.okHttpClient = new OkHttpClient.Builder()
-            .addNetworkInterceptor(UserAgentInterceptor.using(UserAgent::string))
-            .retryOnConnectionFailure(true)
-            .build();
+        this.okHttpClient = Objects.requireNonNull(okHttpClient);
+        this.acknowledgementTimeoutMs = acknowledgementTimeoutMs;
+        this.persistedQueries = persistedQueries;
+        this.responseCache = responseCache;
+    }
+
+    private static ScheduledExecutorService createAcknowledgementTimeouts() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "amplify-subscription-acknowledgement-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
     }
 
     synchronized <T> void requestSubscription(
@@ -147,17 +203,12 @@ final class SubscriptionEndpoint {
             }
         }
 
+        final boolean includeQuery = !canPersistQuery(authType) || !persistedQueries.isAccepted(request);
+        final JSONObject authorization;
+        final String jsonMessage;
         try {
-            String jsonMessage = new JSONObject()
-                .put("id", subscriptionId)
-                .put("type", "start")
-                .put("payload", new JSONObject()
-                .put("data", request.getContent())
-                .put("extensions", new JSONObject()
-                .put("authorization", authorizer.createHeadersForSubscription(request, authType))))
-                .toString();
-
-            webSocket.send(jsonMessage);
+            authorization = authorizer.createHeadersForSubscription(request, authType);
+            jsonMessage = buildStartMessage(subscriptionId, request, authType, authorization, includeQuery);
         } catch (JSONException | ApiException exception) {
             // If the subscriptionId was still pending, then we can call the onSubscriptionError
             if (pendingSubscriptionIds.remove(subscriptionId)) {
@@ -176,31 +227,118 @@ final class SubscriptionEndpoint {
             return;
         }
 
+        // The subscription is registered before its start message is sent, since the acknowledgement
+        // may arrive at any time after that. Nothing waits for the acknowledgement here, so that the
+        // start messages of other subscriptions can be sent right away.
         Subscription<T> subscription = new Subscription<>(
-            onNextItem, onSubscriptionError, onSubscriptionComplete,
+            onSubscriptionStarted, onNextItem, onSubscriptionError, onSubscriptionComplete,
             responseFactory, request.getResponseType(), request
         );
+        subscription.setStartedWith(authType, CacheIdentityInterceptor.getIdentityHash(authorization),
+            canPersistQuery(authType), includeQuery);
         subscriptions.put(subscriptionId, subscription);
-        if (subscription.awaitSubscriptionReady()) {
-            pendingSubscriptionIds.remove(subscriptionId);
-            onSubscriptionStarted.accept(subscriptionId);
+        subscription.startAcknowledgementTimeout(ACKNOWLEDGEMENT_TIMEOUTS, acknowledgementTimeoutMs,
+            () -> notifySubscriptionAcknowledgementTimedOut(subscriptionId));
+        webSocket.send(jsonMessage);
+    }
+
+    // The signature of IAM authorization headers covers the content of the request, which must then include the query.
+    private boolean canPersistQuery(AuthorizationType authType) {
+        return persistedQueries != null && persistedQueries.isEnabled() && authType != AuthorizationType.AWS_IAM;
+    }
+
+    // With persisted queries, the query may be left out of the start message, and only its hash sent.
+    private String buildStartMessage(
+            String subscriptionId,
+            GraphQLRequest<?> request,
+            AuthorizationType authType,
+            JSONObject authorization,
+            boolean includeQuery) throws JSONException, ApiException {
+        return new JSONObject()
+            .put("id", subscriptionId)
+            .put("type", "start")
+            .put("payload", new JSONObject()
+            .put("data", !canPersistQuery(authType)
+                ? request.getContent()
+                : persistedQueries.getContent(request, includeQuery))
+            .put("extensions", new JSONObject()
+            .put("authorization", authorization)))
+            .toString();
+    }
+
+    /**
+     * If the server did not know the hash of a query that a subscription was started with, or does not support
+     * persisted queries, the subscription is started again, with the text of the query.
+     * @param subscriptionId ID of the subscription which failed to start
+     * @param payload Payload of the subscription error
+     * @return true if the subscription is started again
+     */
+    private boolean retrySubscriptionWithQuery(String subscriptionId, String payload) {
+        Subscription<?> subscription = subscriptions.get(subscriptionId);
+        if (subscription == null || !subscription.sentWithHash || !pendingSubscriptionIds.contains(subscriptionId)) {
+            return false;
+        }
+        PersistedQueries.Rejection rejection = PersistedQueries.rejectionOf(payload);
+        if (rejection == null ||
+                !persistedQueries.shouldResendWithQuery(subscription.request, rejection, subscription.includedQuery)) {
+            return false;
+        }
+        try {
+            JSONObject authorization =
+                authorizer.createHeadersForSubscription(subscription.request, subscription.authType);
+            String jsonMessage =
+                buildStartMessage(subscriptionId, subscription.request, subscription.authType, authorization, true);
+            subscription.setStartedWith(subscription.authType, CacheIdentityInterceptor.getIdentityHash(authorization),
+                canPersistQuery(subscription.authType), true);
+            webSocket.send(jsonMessage);
+            return true;
+        } catch (JSONException | ApiException exception) {
+            LOG.warn("Failed to start subscription again with its query.", exception);
+            return false;
         }
     }
 
     private void notifySubscriptionAcknowledged(final String subscriptionId) throws ApiException {
         Subscription<?> subscription = subscriptions.get(subscriptionId);
+        // The server only acknowledges a subscription whose query it could find.
+        if (subscription != null && subscription.sentWithHash) {
+            persistedQueries.accept(subscription.request);
+        }
         // If the subscription is still present (and it should also be pending if it hasn't been canceled),
         // then invoke the callback
         if (subscription != null && pendingSubscriptionIds.remove(subscriptionId)) {
-            subscription.acknowledgeSubscriptionReady();
+            subscription.acknowledgeSubscriptionReady(subscriptionId);
         } else {
-            throw new ApiException(
-                "Acknowledgement for unknown subscription: " + subscriptionId,
-                AmplifyException.TODO_RECOVERY_SUGGESTION
-            );
+            // The subscription was released, or timed out, before it was acknowledged.
+            LOG.debug("Acknowledgement for unknown subscription: " + subscriptionId);
         }
     }
 
+    private void notifySubscriptionAcknowledgementTimedOut(final String subscriptionId) {
+        final Subscription<?> subscription;
+        synchronized (this) {
+            subscription = subscriptions.get(subscriptionId);
+            if (subscription == null || !pendingSubscriptionIds.remove(subscriptionId)) {
+                return;
+            }
+            // The server may still start the subscription after its start message timed out,
+            // so it's stopped, and its data isn't sent to a subscription that no longer exists.
+            if (!webSocketListener.isDisconnectedState()) {
+                try {
+                    webSocket.send(buildStopMessage(subscriptionId));
+                } catch (JSONException jsonException) {
+                    LOG.warn("Failed to construct stop message for timed out subscription.", jsonException);
+                }
+            }
+            subscriptions.remove(subscriptionId);
+            closeWebSocketIfUnused();
+        }
+        subscription.dispatchError(new ApiException(
+            "Timed out waiting for subscription start_ack.",
+            "Check your Internet connection. Is your device online?"
+        ));
+    }
+
     private void notifySubscriptionFailure(final String subscriptionId) {
         Subscription<?> subscription = subscriptions.get(subscriptionId);
         if (subscription != null && pendingSubscriptionIds.remove(subscriptionId)) {
@@ -219,10 +357,9 @@ final class SubscriptionEndpoint {
     private void notifySubscriptionCompleted(String subscriptionId) throws ApiException {
         final Subscription<?> dispatcher = subscriptions.get(subscriptionId);
         if (dispatcher == null) {
-            throw new ApiException(
-                "Got subscription completion for unknown subscription:" + subscriptionId,
-                AmplifyException.TODO_RECOVERY_SUGGESTION
-            );
+            // A subscription which is released before it is acknowledged isn't waiting for its completion.
+            LOG.debug("Got subscription completion for unknown subscription: " + subscriptionId);
+            return;
         }
 
         dispatcher.dispatchCompleted();
@@ -241,10 +378,16 @@ final class SubscriptionEndpoint {
     private void notifySubscriptionData(String subscriptionId, String data) throws ApiException {
         final Subscription<?> dispatcher = subscriptions.get(subscriptionId);
         if (dispatcher == null) {
-            throw new ApiException(
-                "Got subscription data for unknown subscription ID: " + subscriptionId,
-                AmplifyException.TODO_RECOVERY_SUGGESTION
-            );
+            // Data may still arrive for a subscription which was released, or which timed out, before
+            // its stop message reached the server. It doesn't concern the other subscriptions.
+            LOG.debug("Got subscription data for unknown subscription: " + subscriptionId);
+            return;
+        }
+        // Subscription data changes models, like the response to a mutation does. The cache is written
+        // in the background, so that the thread which reads the WebSocket isn't blocked by the database.
+        if (responseCache != null) {
+            responseCache.writeInBackground(apiConfiguration.getEndpoint(), dispatcher.identityHash,
+                dispatcher.request, data);
         }
         dispatcher.dispatchNextMessage(data);
     }
@@ -262,17 +405,15 @@ final class SubscriptionEndpoint {
             );
         }
 
-        // Only do this if the subscription was NOT pending.
-        // Otherwise it would probably fail since it was never established in the first place.
+        if (subscription != null) {
+            subscription.cancelAcknowledgementTimeout();
+        }
 
-        if (!wasSubscriptionPending && !webSocketListener.isDisconnectedState()) {
+        // If the start message of a pending subscription was already sent, the subscription is
+        // stopped too, but its completion isn't awaited, since it may never have been established.
+        if (subscription != null && !webSocketListener.isDisconnectedState()) {
             try {
-                String jsonMessage = new JSONObject()
-                    .put("type", "stop")
-                    .put("id", subscriptionId)
-                    .toString();
-
-                webSocket.send(jsonMessage);
+                webSocket.send(buildStopMessage(subscriptionId));
             } catch (JSONException jsonException) {
                 throw new ApiException(
                     "Failed to construct subscription release message.",
@@ -280,11 +421,24 @@ final class SubscriptionEndpoint {
                     AmplifyException.TODO_RECOVERY_SUGGESTION
                 );
             }
-            subscription.awaitSubscriptionCompleted();
+            if (!wasSubscriptionPending) {
+                subscription.awaitSubscriptionCompleted();
+            }
         }
 
         subscriptions.remove(subscriptionId);
+        closeWebSocketIfUnused();
+    }
+
+    private static String buildStopMessage(String subscriptionId) throws JSONException {
+        return new JSONObject()
+            .put("type", "stop")
+            .put("id", subscriptionId)
+            .toString();
+    }
 
+    // Must be called while holding the lock of the endpoint, so that no subscription is being requested.
+    private void closeWebSocketIfUnused() {
         // If we have zero subscriptions, close the WebSocket
         if (subscriptions.size() == 0) {
             LOG.info("No more active subscriptions. Closing web socket.");
@@ -340,66 +494,72 @@ final class SubscriptionEndpoint {
     }
 
     static final class Subscription<T> {
-        private static final int ACKNOWLEDGEMENT_TIMEOUT = 10 /* seconds */;
 
+        private final Consumer<String> onSubscriptionStarted;
         private final Consumer<GraphQLResponse<T>> onNextItem;
         private final Consumer<ApiException> onSubscriptionError;
         private final Action onSubscriptionComplete;
         private final GraphQLResponse.Factory responseFactory;
         private final Type responseType;
         private final GraphQLRequest<T> request;
-        private final CountDownLatch subscriptionReadyAcknowledgment;
+        private final AtomicBoolean subscriptionReadyAcknowledged;
         private final CountDownLatch subscriptionCompletionAcknowledgement;
-        private boolean failed;
+        private ScheduledFuture<?> acknowledgementTimeout;
+        private volatile AuthorizationType authType;
+        private volatile String identityHash;
+        private volatile boolean sentWithHash;
+        private volatile boolean includedQuery;
 
         Subscription(
+                Consumer<String> onSubscriptionStarted,
                 Consumer<GraphQLResponse<T>> onNextItem,
                 Consumer<ApiException> onSubscriptionError,
                 Action onSubscriptionComplete,
                 GraphQLResponse.Factory responseFactory,
                 Type responseType,
                 GraphQLRequest<T> request) {
+            this.onSubscriptionStarted = onSubscriptionStarted;
             this.onNextItem = onNextItem;
             this.onSubscriptionError = onSubscriptionError;
             this.onSubscriptionComplete = onSubscriptionComplete;
             this.responseFactory = responseFactory;
             this.responseType = responseType;
             this.request = request;
-            this.subscriptionReadyAcknowledgment = new CountDownLatch(1);
+            this.subscriptionReadyAcknowledged = new AtomicBoolean(false);
             this.subscriptionCompletionAcknowledgement = new CountDownLatch(1);
-            this.failed = false;
         }
 
-        void acknowledgeSubscriptionReady() {
-            subscriptionReadyAcknowledgment.countDown();
+        void setStartedWith(
+                AuthorizationType authType, String identityHash, boolean sentWithHash, boolean includedQuery) {
+            this.authType = authType;
+            this.identityHash = identityHash;
+            this.sentWithHash = sentWithHash;
+            this.includedQuery = includedQuery;
         }
 
-        void acknowledgeSubscriptionFailure() {
-            failed = true;
-            subscriptionReadyAcknowledgment.countDown();
+        synchronized void startAcknowledgementTimeout(
+                ScheduledExecutorService scheduler, long timeoutMs, Runnable onTimeout) {
+            acknowledgementTimeout = scheduler.schedule(onTimeout, timeoutMs, TimeUnit.MILLISECONDS);
         }
 
-        boolean awaitSubscriptionReady() {
-            try {
-                if (!subscriptionReadyAcknowledgment.await(ACKNOWLEDGEMENT_TIMEOUT, TimeUnit.SECONDS)) {
-                    dispatchError(new ApiException(
-                        "Timed out waiting for subscription start_ack.",
-                        "Check your Internet connection. Is your device online?"
-                    ));
-                    return false;
-                } else if (failed) {
-                    // An error was already dispatched at the time of failure, so don't dispatch a second one.
-                    return false;
-                }
-            } catch (InterruptedException interruptedException) {
-                // Triggered when the Future created in SubscriptionOperation is cancelled, which happens when the
-                // subscription Observable is disposed, which happens when a SUBSCRIPTION_ERROR occurs.  Don't dispatch
-                // any error because the caller has likely already been disposed.
-                LOG.warn("Thread interrupted awaiting subscription acknowledgement.", interruptedException);
-                return false;
+        synchronized void cancelAcknowledgementTimeout() {
+            if (acknowledgementTimeout != null) {
+                acknowledgementTimeout.cancel(false);
+                acknowledgementTimeout = null;
             }
+        }
 
-            return true;
+        void acknowledgeSubscriptionReady(String subscriptionId) {
+            cancelAcknowledgementTimeout();
+            if (subscriptionReadyAcknowledged.compareAndSet(false, true)) {
+                onSubscriptionStarted.accept(subscriptionId);
+            }
+        }
+
+        void acknowledgeSubscriptionFailure() {
+            // The error is dispatched with the payload of the failure, so the subscription is never started.
+            cancelAcknowledgementTimeout();
+            subscriptionReadyAcknowledged.set(true);
         }
 
         void acknowledgeSubscriptionCompleted() {
@@ -408,7 +568,7 @@ final class SubscriptionEndpoint {
 
         void awaitSubscriptionCompleted() {
             try {
-                if (!subscriptionCompletionAcknowledgement.await(ACKNOWLEDGEMENT_TIMEOUT, TimeUnit.SECONDS)) {
+                if (!subscriptionCompletionAcknowledgement.await(ACKNOWLEDGEMENT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
                     dispatchError(new ApiException(
                         "Subscription completion not acknowledged.",
                         AmplifyException.TODO_RECOVERY_SUGGESTION
@@ -465,7 +625,7 @@ final class SubscriptionEndpoint {
             if (!ObjectsCompat.equals(responseType, that.responseType)) {
                 return false;
             }
-            if (!ObjectsCompat.equals(subscriptionReadyAcknowledgment, that.subscriptionReadyAcknowledgment)) {
+            if (!ObjectsCompat.equals(subscriptionReadyAcknowledged, that.subscriptionReadyAcknowledged)) {
                 return false;
             }
             return ObjectsCompat.equals(
@@ -481,7 +641,7 @@ final class SubscriptionEndpoint {
             result = 31 * result + onSubscriptionComplete.hashCode();
             result = 31 * result + responseFactory.hashCode();
             result = 31 * result + responseType.hashCode();
-            result = 31 * result + subscriptionReadyAcknowledgment.hashCode();
+            result = 31 * result + subscriptionReadyAcknowledged.hashCode();
             result = 31 * result + subscriptionCompletionAcknowledgement.hashCode();
             return result;
         }
@@ -608,6 +768,10 @@ final class SubscriptionEndpoint {
                         timeoutWatchdog.reset();
                         break;
                     case SUBSCRIPTION_ERROR:
+                        if (retrySubscriptionWithQuery(jsonMessage.getString("id"),
+                                jsonMessage.getString("payload"))) {
+                            break;
+                        }
                         notifySubscriptionFailure(jsonMessage.getString("id"));
                         notifySubscriptionData(jsonMessage.getString("id"), jsonMessage.getString("payload"));
                         break;
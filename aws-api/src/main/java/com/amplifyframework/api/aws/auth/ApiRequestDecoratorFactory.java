@@ -27,6 +27,7 @@ import com.amplifyframework.api.aws.EndpointType;
 import com.amplifyframework.api.aws.sigv4.AWS4Signer;
 import com.amplifyframework.api.aws.sigv4.ApiGatewayIamSigner;
 import com.amplifyframework.api.aws.sigv4.AppSyncV4Signer;
+import com.amplifyframework.api.aws.sigv4.CachingSigV4Signer;
 import com.amplifyframework.api.aws.sigv4.CognitoUserPoolsAuthProvider;
 import com.amplifyframework.api.aws.sigv4.DefaultCognitoUserPoolsAuthProvider;
 import com.amplifyframework.api.graphql.GraphQLRequest;
@@ -60,6 +61,7 @@ public final class ApiRequestDecoratorFactory {
     private final AuthorizationType defaultAuthorizationType;
     private final String apiKey;
     private final EndpointType endpointType;
+    private final CachingSigV4Signer cachingSigner;
 
     /**
      * Constructor that accepts the API auth providers to be used with their respective request decorator.
@@ -74,11 +76,38 @@ public final class ApiRequestDecoratorFactory {
                                       @NonNull String region,
                                       @NonNull EndpointType endpointType,
                                       @Nullable String apiKey) {
+        this(apiAuthProviders, defaultAuthorizationType, region, endpointType, apiKey, false);
+    }
+
+    /**
+     * Constructor that accepts the API auth providers to be used with their respective request decorator,
+     * and whether IAM requests are signed with a {@link CachingSigV4Signer}.
+     * @param apiAuthProviders An instance with fully configured auth providers for use when signing requests.
+     * @param defaultAuthorizationType The authorization type to use as default.
+     * @param region The AWS region where the API is deployed.
+     * @param endpointType type of endpoint, either GraphQL or REST.
+     * @param apiKey The API key to use for APIs with API_KEY authentication type.
+     * @param cacheSigningKeys Whether to sign IAM requests with a signer that caches its signing key.
+     */
+    public ApiRequestDecoratorFactory(@NonNull ApiAuthProviders apiAuthProviders,
+                                      @NonNull AuthorizationType defaultAuthorizationType,
+                                      @NonNull String region,
+                                      @NonNull EndpointType endpointType,
+                                      @Nullable String apiKey,
+                                      boolean cacheSigningKeys) {
         this.apiAuthProviders = Objects.requireNonNull(apiAuthProviders);
         this.defaultAuthorizationType = Objects.requireNonNull(defaultAuthorizationType);
         this.region = Objects.requireNonNull(region);
         this.endpointType = Objects.requireNonNull(endpointType);
         this.apiKey = apiKey;
+        // One signer is kept per API, so that its signing key is reused across requests.
+        if (cacheSigningKeys) {
+            this.cachingSigner = endpointType == EndpointType.GRAPHQL
+                ? new CachingSigV4Signer(region, APP_SYNC_SERVICE_NAME, true)
+                : new CachingSigV4Signer(region, API_GATEWAY_SERVICE_NAME, false);
+        } else {
+            this.cachingSigner = null;
+        }
     }
 
     /**
@@ -175,6 +204,9 @@ public final class ApiRequestDecoratorFactory {
                 CredentialsProvider credentialsProvider = apiAuthProviders.getAWSCredentialsProvider() != null
                         ? apiAuthProviders.getAWSCredentialsProvider()
                         : new CognitoCredentialsProvider();
+                if (cachingSigner != null) {
+                    return new IamRequestDecorator(cachingSigner, credentialsProvider);
+                }
 
                 final AWS4Signer signer;
                 final String serviceName;
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.auth;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.aws.ApiAuthProviders;
+import com.amplifyframework.api.aws.sigv4.CognitoUserPoolsAuthProvider;
+import com.amplifyframework.api.aws.sigv4.DefaultCognitoUserPoolsAuthProvider;
+import com.amplifyframework.auth.CognitoCredentialsProvider;
+import com.amplifyframework.core.Amplify;
+
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import aws.smithy.kotlin.runtime.auth.awscredentials.CredentialsProvider;
+
+/**
+ * Caches the Cognito User Pools token and the AWS credentials that the API plugin gets from the
+ * Auth category, so that they are not fetched from Auth for every request.
+ *
+ * The cache is shared through the {@link ApiAuthProviders} returned by {@link #getAuthProviders()},
+ * which are used by the request decorators and by the subscription authorizer. Only the providers
+ * that default to the Auth category are cached; providers supplied by the customer are used as-is.
+ * A token is cached until shortly before the expiration in its exp claim, and AWS credentials until
+ * shortly before their expiration. Both are refreshed in the background ahead of it.
+ *
+ * Cached values belong to the user who was signed in when they were fetched, and are only served
+ * while that user is still signed in. So, a token or credentials of a previous user are never used,
+ * even before the cache is invalidated by the Auth event of the sign out, which arrives asynchronously.
+ */
+public final class AuthTokenCache {
+    // The session of signed out users, and of guests.
+    static final String SIGNED_OUT_SESSION = "";
+    private static final String EXPIRATION_CLAIM = "exp";
+
+    private final ApiAuthProviders authProviders;
+    private final CachingCognitoUserPoolsAuthProvider cognitoUserPoolsAuthProvider;
+    private final CachingCredentialsProvider credentialsProvider;
+
+    /**
+     * Creates a cache for the default providers among the given ones.
+     * @param authProviders The auth providers the API plugin was configured with
+     */
+    public AuthTokenCache(@NonNull ApiAuthProviders authProviders) {
+        Objects.requireNonNull(authProviders);
+        ApiAuthProviders.Builder builder = ApiAuthProviders.builder();
+        if (authProviders.getApiKeyAuthProvider() != null) {
+            builder.apiKeyAuthProvider(authProviders.getApiKeyAuthProvider());
+        }
+        if (authProviders.getOidcAuthProvider() != null) {
+            builder.oidcAuthProvider(authProviders.getOidcAuthProvider());
+        }
+        if (authProviders.getFunctionAuthProvider() != null) {
+            builder.functionAuthProvider(authProviders.getFunctionAuthProvider());
+        }
+
+        if (authProviders.getCognitoUserPoolsAuthProvider() != null) {
+            this.cognitoUserPoolsAuthProvider = null;
+            builder.cognitoUserPoolsAuthProvider(authProviders.getCognitoUserPoolsAuthProvider());
+        } else {
+            this.cognitoUserPoolsAuthProvider = new CachingCognitoUserPoolsAuthProvider();
+            builder.cognitoUserPoolsAuthProvider(cognitoUserPoolsAuthProvider);
+        }
+
+        CredentialsProvider awsCredentialsProvider = authProviders.getAWSCredentialsProvider();
+        if (awsCredentialsProvider == null) {
+            // Without this, the request decorators and the subscription authorizer would each create
+            // an uncached CognitoCredentialsProvider per request.
+            this.credentialsProvider = new CachingCredentialsProvider(() -> new CognitoCredentialsProvider());
+            builder.awsCredentialsProvider(credentialsProvider);
+        } else if (CognitoCredentialsProvider.class.equals(awsCredentialsProvider.getClass())) {
+            this.credentialsProvider = new CachingCredentialsProvider(awsCredentialsProvider);
+            builder.awsCredentialsProvider(credentialsProvider);
+        } else {
+            this.credentialsProvider = null;
+            builder.awsCredentialsProvider(awsCredentialsProvider);
+        }
+        this.authProviders = builder.build();
+    }
+
+    /**
+     * Returns the auth providers, with the default ones replaced by cached ones.
+     * @return The auth providers to use for requests
+     */
+    @NonNull
+    public ApiAuthProviders getAuthProviders() {
+        return authProviders;
+    }
+
+    /**
+     * Drops the cached token and credentials. This is called when the signed in user changes.
+     */
+    public void invalidate() {
+        if (cognitoUserPoolsAuthProvider != null) {
+            cognitoUserPoolsAuthProvider.invalidate();
+        }
+        if (credentialsProvider != null) {
+            credentialsProvider.invalidate();
+        }
+    }
+
+    /**
+     * Gets the session that cached tokens and credentials belong to, which is the ID of the signed
+     * in user, or {@link #SIGNED_OUT_SESSION}. The current user is read locally by the Auth category.
+     * @return The current session
+     * @throws ApiException If interrupted while waiting for the Auth category
+     */
+    @NonNull
+    static String getCurrentSession() throws ApiException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<String> session = new AtomicReference<>(SIGNED_OUT_SESSION);
+        try {
+            Amplify.Auth.getCurrentUser(user -> {
+                session.set(user.getUserId());
+                latch.countDown();
+            }, error -> latch.countDown());
+        } catch (IllegalStateException authNotConfigured) {
+            return SIGNED_OUT_SESSION;
+        }
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            throw new ApiException(
+                "Interrupted waiting for the current user.",
+                exception,
+                AmplifyException.TODO_RECOVERY_SUGGESTION
+            );
+        }
+        return session.get();
+    }
+
+    // Returns the expiration of a JWT from its exp claim, or 0 if the token has none.
+    static long getExpiration(@Nullable String token) {
+        if (token == null) {
+            return 0;
+        }
+        try {
+            String expiration = CognitoJWTParser.Companion.getClaim(token, EXPIRATION_CLAIM);
+            return expiration == null ? 0 : TimeUnit.SECONDS.toMillis(Long.parseLong(expiration));
+        } catch (CognitoParameterInvalidException | NumberFormatException exception) {
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the token of the signed in user from the Auth category, through a single
+     * {@link DefaultCognitoUserPoolsAuthProvider}, and caches it.
+     */
+    private static final class CachingCognitoUserPoolsAuthProvider implements CognitoUserPoolsAuthProvider {
+        private final ExpiringCache<String> tokens;
+        private DefaultCognitoUserPoolsAuthProvider delegate;
+
+        CachingCognitoUserPoolsAuthProvider() {
+            this.tokens = new ExpiringCache<>(() -> getDelegate().getLatestAuthToken(), AuthTokenCache::getExpiration);
+        }
+
+        @Override
+        public String getLatestAuthToken() throws ApiException {
+            return tokens.get(getCurrentSession());
+        }
+
+        @Override
+        public String getUsername() throws ApiException {
+            return getDelegate().getUsername();
+        }
+
+        void invalidate() {
+            tokens.invalidate();
+        }
+
+        // The default provider fails to construct when the Auth plugin is missing, which should only be
+        // reported when a request needs it.
+        private synchronized DefaultCognitoUserPoolsAuthProvider getDelegate() throws ApiException {
+            if (delegate == null) {
+                delegate = new DefaultCognitoUserPoolsAuthProvider();
+            }
+            return delegate;
+        }
+    }
+}
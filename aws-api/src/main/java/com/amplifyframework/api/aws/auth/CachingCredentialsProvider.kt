@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.auth
+
+import aws.smithy.kotlin.runtime.auth.awscredentials.Credentials
+import aws.smithy.kotlin.runtime.auth.awscredentials.CredentialsProvider
+import com.amplifyframework.api.ApiException
+import com.amplifyframework.core.Amplify
+import kotlin.coroutines.resume
+import kotlin.coroutines.suspendCoroutine
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+
+/**
+ * Credentials provider which caches the credentials of another provider until shortly before they
+ * expire. Credentials without an expiration are fetched from the other provider every time.
+ * Cached credentials are only returned while the user they were fetched for is still signed in.
+ *
+ * The other provider is created on first use, so that a default provider which needs the Auth
+ * category is only created when a request is signed with AWS credentials.
+ */
+internal class CachingCredentialsProvider(delegateFactory: () -> CredentialsProvider) : CredentialsProvider {
+    private val delegate by lazy(delegateFactory)
+
+    // Credentials are refreshed in the background from a thread of the cache, which may block.
+    private val cache = ExpiringCache<Credentials>(
+        { runBlocking { delegate.getCredentials() } },
+        { credentials -> credentials.expiration?.epochSeconds?.times(MILLIS_PER_SECOND) ?: 0L }
+    )
+
+    // Coroutines which find no valid credentials in the cache wait for a single one of them to fetch them.
+    private val fetchLock = Mutex()
+
+    constructor(delegate: CredentialsProvider) : this({ delegate })
+
+    override suspend fun getCredentials(): Credentials {
+        val session = currentSession()
+        cache.getIfValid(session)?.let { return it }
+        return fetchLock.withLock {
+            cache.getIfValid(session) ?: run {
+                val generation = cache.generation
+                delegate.getCredentials().also { cache.put(it, generation, session) }
+            }
+        }
+    }
+
+    /**
+     * Drops the cached credentials.
+     */
+    fun invalidate() = cache.invalidate()
+
+    companion object {
+        private const val MILLIS_PER_SECOND = 1000L
+
+        // Credentials belong to the signed in user, like in AuthTokenCache.getCurrentSession(), without blocking.
+        private suspend fun currentSession(): String = suspendCoroutine { continuation ->
+            try {
+                Amplify.Auth.getCurrentUser(
+                    { user -> continuation.resume(user.userId) },
+                    { continuation.resume(AuthTokenCache.SIGNED_OUT_SESSION) }
+                )
+            } catch (authNotConfigured: IllegalStateException) {
+                continuation.resume(AuthTokenCache.SIGNED_OUT_SESSION)
+            }
+        }
+
+        /**
+         * Resolves the credentials of a provider. Cached credentials are returned without going
+         * through a coroutine; other providers are called from a blocking coroutine.
+         */
+        @JvmStatic
+        @Throws(ApiException::class)
+        fun resolve(provider: CredentialsProvider): Credentials {
+            return if (provider is CachingCredentialsProvider) {
+                provider.cache.get(AuthTokenCache.getCurrentSession())
+            } else {
+                runBlocking { provider.getCredentials() }
+            }
+        }
+    }
+}
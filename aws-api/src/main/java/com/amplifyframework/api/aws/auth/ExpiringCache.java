@@ -0,0 +1,241 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.auth;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.logging.Logger;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches a value which expires, such as an auth token or a set of AWS credentials.
+ *
+ * Readers get the cached value without taking a lock for as long as it is valid. Once the value
+ * gets close to its expiration, it is refreshed in the background while readers keep getting the
+ * cached one. The value is fetched in the foreground, by a single reader at a time, only when there
+ * is no valid value in the cache. A value whose expiration is not known is never cached.
+ *
+ * A value belongs to the session, such as the signed in user, that was current when it was fetched.
+ * Readers pass the current session, and a value of another session is never served to them, even if
+ * the cache has not been invalidated yet.
+ *
+ * @param <T> Type of the cached value
+ */
+final class ExpiringCache<T> {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-api");
+    // A value is considered expired a little before its actual expiration, to allow for clock skew.
+    @VisibleForTesting
+    static final long EXPIRATION_MARGIN_MS = TimeUnit.SECONDS.toMillis(30);
+    @VisibleForTesting
+    static final long REFRESH_AHEAD_MS = TimeUnit.MINUTES.toMillis(5);
+    @VisibleForTesting
+    static final long MIN_REFRESH_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private final Fetcher<T> fetcher;
+    private final Expiration<T> expiration;
+    private final Executor refreshExecutor;
+    private final LongSupplier clock;
+    private final AtomicBoolean refreshing;
+
+    private volatile Entry<T> entry;
+    private volatile long generation;
+
+    ExpiringCache(@NonNull Fetcher<T> fetcher, @NonNull Expiration<T> expiration) {
+        this(fetcher, expiration, Executors.newSingleThreadExecutor(), System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    ExpiringCache(@NonNull Fetcher<T> fetcher,
+                  @NonNull Expiration<T> expiration,
+                  @NonNull Executor refreshExecutor,
+                  @NonNull LongSupplier clock) {
+        this.fetcher = Objects.requireNonNull(fetcher);
+        this.expiration = Objects.requireNonNull(expiration);
+        this.refreshExecutor = Objects.requireNonNull(refreshExecutor);
+        this.clock = Objects.requireNonNull(clock);
+        this.refreshing = new AtomicBoolean(false);
+    }
+
+    /**
+     * Gets the cached value, or fetches it if there is no valid value in the cache.
+     * @param session The current session
+     * @return A valid value
+     * @throws ApiException If there was no valid value in the cache, and fetching one failed
+     */
+    T get(@NonNull String session) throws ApiException {
+        T cached = getIfValid(session);
+        return cached != null ? cached : fetch(session);
+    }
+
+    /**
+     * Gets the cached value, without fetching one if there is no valid value in the cache. This lets
+     * callers which can't block, such as coroutines, fetch the value themselves, and then {@link #put} it.
+     * @param session The current session
+     * @return A valid value of the session, or null if there is none in the cache
+     */
+    @Nullable
+    T getIfValid(@NonNull String session) {
+        Entry<T> current = entry;
+        long now = clock.getAsLong();
+        if (isValid(current, session, now)) {
+            if (now >= current.refreshAt) {
+                refreshInBackground(current.session);
+            }
+            return current.value;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of times the cache was invalidated, to be passed to {@link #put} along with
+     * a value which was fetched after this was called.
+     * @return The current generation of the cache
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a value which was fetched by the caller, unless the cache was invalidated since the
+     * fetch started.
+     * @param value A fetched value
+     * @param generationAtStart The generation of the cache when the fetch started
+     * @param session The session that was current when the fetch started
+     */
+    synchronized void put(@NonNull T value, long generationAtStart, @NonNull String session) {
+        if (generation == generationAtStart) {
+            update(value, session);
+        }
+    }
+
+    /**
+     * Drops the cached value, for example when the signed in user changes. A refresh which is in
+     * flight when this is called does not repopulate the cache.
+     */
+    synchronized void invalidate() {
+        generation++;
+        entry = null;
+    }
+
+    private synchronized T fetch(String session) throws ApiException {
+        // Another reader may have fetched a value while this one was waiting for the lock.
+        Entry<T> current = entry;
+        if (isValid(current, session, clock.getAsLong())) {
+            return current.value;
+        }
+        T value = fetcher.fetch();
+        update(value, session);
+        return value;
+    }
+
+    private static boolean isValid(@Nullable Entry<?> entry, String session, long now) {
+        return entry != null && now < entry.expiresAt && entry.session.equals(session);
+    }
+
+    private void refreshInBackground(String session) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        final long generationAtStart = generation;
+        refreshExecutor.execute(() -> {
+            try {
+                T value = fetcher.fetch();
+                synchronized (this) {
+                    if (generation == generationAtStart) {
+                        update(value, session);
+                    }
+                }
+            } catch (Exception exception) {
+                LOG.warn("Failed to refresh a cached credential. The cached one is used until it expires.", exception);
+                postponeRefresh();
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    // Must be called while holding the lock.
+    private void update(T value, String session) {
+        long now = clock.getAsLong();
+        long expiresAt = expiration.expiresAtMillis(value) - EXPIRATION_MARGIN_MS;
+        if (expiresAt <= now) {
+            entry = null;
+            return;
+        }
+        // If the fetched value is already due to be refreshed (e.g. the provider returned the same
+        // token again), wait a little before trying again, instead of refreshing on every read.
+        long refreshAt = Math.max(expiresAt - REFRESH_AHEAD_MS, Math.min(now + MIN_REFRESH_INTERVAL_MS, expiresAt));
+        entry = new Entry<>(value, session, expiresAt, refreshAt);
+    }
+
+    private synchronized void postponeRefresh() {
+        Entry<T> current = entry;
+        if (current != null) {
+            long refreshAt = Math.min(clock.getAsLong() + MIN_REFRESH_INTERVAL_MS, current.expiresAt);
+            entry = new Entry<>(current.value, current.session, current.expiresAt, refreshAt);
+        }
+    }
+
+    /**
+     * Fetches a new value from its source.
+     * @param <T> Type of the value
+     */
+    interface Fetcher<T> {
+        /**
+         * Fetches a new value.
+         * @return The value
+         * @throws ApiException If the value could not be fetched
+         */
+        T fetch() throws ApiException;
+    }
+
+    /**
+     * Reads the expiration of a value.
+     * @param <T> Type of the value
+     */
+    interface Expiration<T> {
+        /**
+         * Returns the expiration of the value.
+         * @param value A value
+         * @return The expiration as milliseconds since the epoch, or 0 if it is not known
+         */
+        long expiresAtMillis(T value);
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final String session;
+        private final long expiresAt;
+        private final long refreshAt;
+
+        Entry(T value, String session, long expiresAt, long refreshAt) {
+            this.value = value;
+            this.session = session;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
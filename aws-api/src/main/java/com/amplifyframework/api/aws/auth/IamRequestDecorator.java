@@ -17,12 +17,14 @@ package com.amplifyframework.api.aws.auth;
 
 import com.amplifyframework.api.ApiException.ApiAuthException;
 import com.amplifyframework.api.aws.sigv4.AWS4Signer;
+import com.amplifyframework.api.aws.sigv4.CachingSigV4Signer;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import aws.smithy.kotlin.runtime.auth.awscredentials.Credentials;
 import aws.smithy.kotlin.runtime.auth.awscredentials.CredentialsProvider;
 import aws.smithy.kotlin.runtime.http.Headers;
 import aws.smithy.kotlin.runtime.http.HttpMethod;
@@ -41,6 +43,7 @@ public class IamRequestDecorator implements RequestDecorator {
     private static final MediaType JSON_MEDIA_TYPE = MediaType.parse(CONTENT_TYPE);
     private final CredentialsProvider credentialsProvider;
     private final AWS4Signer v4Signer;
+    private final CachingSigV4Signer cachingSigner;
     private final String serviceName;
 
     /**
@@ -52,10 +55,25 @@ public class IamRequestDecorator implements RequestDecorator {
      */
     public IamRequestDecorator(AWS4Signer signer, CredentialsProvider credentialsProvider, String serviceName) {
         this.v4Signer = signer;
+        this.cachingSigner = null;
         this.credentialsProvider = credentialsProvider;
         this.serviceName = serviceName;
     }
 
+    /**
+     * Constructor for a decorator which signs requests with a {@link CachingSigV4Signer}, on the
+     * calling thread, instead of going through the signer of the AWS SDK.
+     *
+     * @param signer              Signer used to sign the request; it knows its own service name.
+     * @param credentialsProvider The AWS credentials provider to use when retrieving AWS credentials.
+     */
+    public IamRequestDecorator(CachingSigV4Signer signer, CredentialsProvider credentialsProvider) {
+        this.v4Signer = null;
+        this.cachingSigner = signer;
+        this.credentialsProvider = credentialsProvider;
+        this.serviceName = null;
+    }
+
     /**
      * Adds the appropriate header to the provided HTTP request.
      *
@@ -66,6 +84,9 @@ public class IamRequestDecorator implements RequestDecorator {
     public final okhttp3.Request decorate(okhttp3.Request req) throws ApiAuthException {
         //set the request body
         final byte[] bodyBytes = getBytes(req.body());
+        if (cachingSigner != null) {
+            return signWithCachingSigner(req, bodyBytes);
+        }
         ByteArrayContent body2 = new ByteArrayContent(bodyBytes);
 
         HttpMethod method = HttpMethod.Companion.parse(req.method());
@@ -105,6 +126,25 @@ public class IamRequestDecorator implements RequestDecorator {
         return okReqBuilder.build();
     }
 
+    private okhttp3.Request signWithCachingSigner(okhttp3.Request req, byte[] bodyBytes) throws ApiAuthException {
+        final Credentials credentials;
+        try {
+            credentials = CachingCredentialsProvider.resolve(credentialsProvider);
+        } catch (Exception exception) {
+            throw new ApiAuthException("Unable to retrieve AWS credentials to sign the request",
+                    exception,
+                    "Check your application logs for details.");
+        }
+        okhttp3.Request signed = cachingSigner.sign(req, bodyBytes, credentials);
+        if (req.body() == null) {
+            return signed;
+        }
+        // Send exactly the bytes that were hashed into the signature.
+        return signed.newBuilder()
+            .method(req.method(), RequestBody.create(bodyBytes, req.body().contentType()))
+            .build();
+    }
+
     private byte[] getBytes(RequestBody body) throws ApiAuthException {
         if (body == null) {
             return "".getBytes();
@@ -51,6 +51,7 @@ public final class AWSRestOperation extends RestOperation {
     private final OkHttpClient client;
     private final Consumer<RestResponse> onResponse;
     private final Consumer<ApiException> onFailure;
+    private final boolean streamResponse;
 
     private Call ongoingCall;
 
@@ -68,11 +69,31 @@ public final class AWSRestOperation extends RestOperation {
             @NonNull OkHttpClient client,
             @NonNull Consumer<RestResponse> onResponse,
             @NonNull Consumer<ApiException> onFailure) {
+        this(request, endpoint, client, onResponse, onFailure, false);
+    }
+
+    /**
+     * Constructs a REST operation, which may stream the body of its response.
+     * @param request REST request that contains the query and data.
+     * @param endpoint Endpoint against which the request to be made.
+     * @param client OKHTTPClient to be used for the request.
+     * @param onResponse Callback to be invoked when a response is available from endpoint
+     * @param onFailure Callback to be invoked when there is a failure to obtain any response
+     * @param streamResponse Whether to stream the body of the response, instead of reading it into memory
+     */
+    public AWSRestOperation(
+            @NonNull RestOperationRequest request,
+            @NonNull String endpoint,
+            @NonNull OkHttpClient client,
+            @NonNull Consumer<RestResponse> onResponse,
+            @NonNull Consumer<ApiException> onFailure,
+            boolean streamResponse) {
         super(Objects.requireNonNull(request));
         this.endpoint = Objects.requireNonNull(endpoint);
         this.client = Objects.requireNonNull(client);
         this.onResponse = Objects.requireNonNull(onResponse);
         this.onFailure = Objects.requireNonNull(onFailure);
+        this.streamResponse = streamResponse;
     }
 
     @Override
@@ -126,7 +147,11 @@ public final class AWSRestOperation extends RestOperation {
                 }
             }
             RestResponse restResponse;
-            if (responseBody != null) {
+            if (responseBody != null && streamResponse) {
+                // The body is read from the socket as the stream is read, and closing the stream
+                // releases the connection.
+                restResponse = new RestResponse(statusCode, headersMap, responseBody.byteStream());
+            } else if (responseBody != null) {
                 final byte[] data = responseBody.bytes();
                 restResponse = new RestResponse(statusCode, headersMap, data);
             } else {
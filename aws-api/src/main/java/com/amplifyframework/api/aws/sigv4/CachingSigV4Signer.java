@@ -0,0 +1,274 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.sigv4;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import aws.smithy.kotlin.runtime.auth.awscredentials.Credentials;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * Signs OkHttp requests with AWS Signature Version 4, for a single region and service.
+ *
+ * Unlike {@link AWS4Signer}, which goes through the signer of the AWS SDK and a coroutine for every
+ * request, this signs the request directly on the calling thread, with credentials that have already
+ * been resolved. The signing key derived from the secret key, the date, the region and the service is
+ * cached, so it is only derived again when the credentials or the date change.
+ */
+public final class CachingSigV4Signer {
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String TERMINATOR = "aws4_request";
+    private static final String HOST = "Host";
+    private static final String X_AMZ_DATE = "X-Amz-Date";
+    private static final String X_AMZ_SECURITY_TOKEN = "X-Amz-Security-Token";
+    private static final String X_AMZ_CONTENT_SHA256 = "X-Amz-Content-Sha256";
+    private static final String AUTHORIZATION = "Authorization";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    // Headers which may be added or changed after signing, and so are never signed.
+    private static final Set<String> UNSIGNED_HEADERS = new HashSet<>(Arrays.asList(
+        "authorization", "connection", "expect", "transfer-encoding", "user-agent", "x-amzn-trace-id"
+    ));
+
+    private final String region;
+    private final String serviceName;
+    private final boolean signPayloadHeader;
+
+    private volatile SigningKey signingKey;
+
+    /**
+     * Creates a signer for the given region and service.
+     * @param region The AWS region of the API
+     * @param serviceName The AWS service name, e.g. appsync or execute-api
+     * @param signPayloadHeader Whether to add and sign the X-Amz-Content-Sha256 header, as AppSync expects
+     */
+    public CachingSigV4Signer(@NonNull String region, @NonNull String serviceName, boolean signPayloadHeader) {
+        this.region = Objects.requireNonNull(region);
+        this.serviceName = Objects.requireNonNull(serviceName);
+        this.signPayloadHeader = signPayloadHeader;
+    }
+
+    /**
+     * Signs a request.
+     * @param request The request to sign
+     * @param body The bytes of the body of the request, which are sent as they are
+     * @param credentials The AWS credentials to sign with
+     * @return A copy of the request, with the signature headers added
+     */
+    @NonNull
+    public Request sign(@NonNull Request request, @NonNull byte[] body, @NonNull Credentials credentials) {
+        return sign(request, body, credentials, new Date());
+    }
+
+    @VisibleForTesting
+    Request sign(Request request, byte[] body, Credentials credentials, Date signingDate) {
+        final String amzDate = format("yyyyMMdd'T'HHmmss'Z'", signingDate);
+        final String dateStamp = amzDate.substring(0, 8);
+        final String payloadHash = hex(sha256(body));
+
+        Request.Builder builder = request.newBuilder()
+            .header(HOST, request.url().host())
+            .header(X_AMZ_DATE, amzDate);
+        if (credentials.getSessionToken() != null) {
+            builder.header(X_AMZ_SECURITY_TOKEN, credentials.getSessionToken());
+        }
+        if (signPayloadHeader) {
+            builder.header(X_AMZ_CONTENT_SHA256, payloadHash);
+        }
+        Request unsigned = builder.build();
+
+        // Lower-cased header names, in order, to their comma-separated values.
+        Map<String, String> canonicalHeaders = new TreeMap<>();
+        for (String name : unsigned.headers().names()) {
+            String lowerCaseName = name.toLowerCase(Locale.US);
+            if (!UNSIGNED_HEADERS.contains(lowerCaseName)) {
+                List<String> values = new ArrayList<>();
+                for (String value : unsigned.headers(name)) {
+                    values.add(value.trim().replaceAll(" +", " "));
+                }
+                canonicalHeaders.put(lowerCaseName, join(",", values));
+            }
+        }
+        final String signedHeaders = join(";", canonicalHeaders.keySet());
+
+        StringBuilder canonicalRequest = new StringBuilder()
+            .append(unsigned.method()).append('\n')
+            .append(canonicalUri(unsigned.url())).append('\n')
+            .append(canonicalQueryString(unsigned.url())).append('\n');
+        for (Map.Entry<String, String> header : canonicalHeaders.entrySet()) {
+            canonicalRequest.append(header.getKey()).append(':').append(header.getValue()).append('\n');
+        }
+        canonicalRequest.append('\n')
+            .append(signedHeaders).append('\n')
+            .append(payloadHash);
+
+        final String scope = dateStamp + "/" + region + "/" + serviceName + "/" + TERMINATOR;
+        final String stringToSign = ALGORITHM + "\n" +
+            amzDate + "\n" +
+            scope + "\n" +
+            hex(sha256(canonicalRequest.toString().getBytes(StandardCharsets.UTF_8)));
+        final byte[] key = getSigningKey(credentials.getSecretAccessKey(), dateStamp);
+        final String signature = hex(hmacSha256(key, stringToSign));
+
+        return unsigned.newBuilder()
+            .header(AUTHORIZATION, ALGORITHM + " " +
+                "Credential=" + credentials.getAccessKeyId() + "/" + scope + ", " +
+                "SignedHeaders=" + signedHeaders + ", " +
+                "Signature=" + signature)
+            .build();
+    }
+
+    @VisibleForTesting
+    byte[] getSigningKey(String secretAccessKey, String dateStamp) {
+        SigningKey cached = signingKey;
+        if (cached != null && cached.matches(secretAccessKey, dateStamp)) {
+            return cached.key;
+        }
+        byte[] dateKey = hmacSha256(("AWS4" + secretAccessKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+        byte[] regionKey = hmacSha256(dateKey, region);
+        byte[] serviceKey = hmacSha256(regionKey, serviceName);
+        byte[] key = hmacSha256(serviceKey, TERMINATOR);
+        signingKey = new SigningKey(secretAccessKey, dateStamp, key);
+        return key;
+    }
+
+    // Each path segment is encoded again, on top of the encoding it has in the URL, since AWS services
+    // other than S3 expect the path to be double encoded.
+    private static String canonicalUri(HttpUrl url) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : url.encodedPathSegments()) {
+            segments.add(uriEncode(segment));
+        }
+        return "/" + join("/", segments);
+    }
+
+    // Parameters are sorted by their encoded name, and then by their encoded value.
+    private static String canonicalQueryString(HttpUrl url) {
+        List<String[]> parameters = new ArrayList<>();
+        for (int index = 0; index < url.querySize(); index++) {
+            String value = url.queryParameterValue(index);
+            parameters.add(new String[] {
+                uriEncode(url.queryParameterName(index)), uriEncode(value == null ? "" : value)
+            });
+        }
+        Collections.sort(parameters, (one, two) -> {
+            int byName = one[0].compareTo(two[0]);
+            return byName != 0 ? byName : one[1].compareTo(two[1]);
+        });
+        List<String> pairs = new ArrayList<>();
+        for (String[] parameter : parameters) {
+            pairs.add(parameter[0] + "=" + parameter[1]);
+        }
+        return join("&", pairs);
+    }
+
+    private static String uriEncode(String value) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte character : value.getBytes(StandardCharsets.UTF_8)) {
+            if ((character >= 'A' && character <= 'Z') || (character >= 'a' && character <= 'z') ||
+                    (character >= '0' && character <= '9') ||
+                    character == '-' || character == '_' || character == '.' || character == '~') {
+                encoded.append((char) character);
+            } else {
+                encoded.append('%')
+                    .append(Character.toUpperCase(HEX_DIGITS[(character >> 4) & 0xf]))
+                    .append(Character.toUpperCase(HEX_DIGITS[character & 0xf]));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static String format(String pattern, Date date) {
+        SimpleDateFormat formatter = new SimpleDateFormat(pattern, Locale.US);
+        formatter.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return formatter.format(date);
+    }
+
+    private static String join(String delimiter, Iterable<String> values) {
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            if (joined.length() > 0) {
+                joined.append(delimiter);
+            }
+            joined.append(value);
+        }
+        return joined.toString();
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("SHA-256 is not available.", exception);
+        }
+    }
+
+    private static byte[] hmacSha256(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("HmacSHA256 is not available.", exception);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int index = 0; index < bytes.length; index++) {
+            chars[index * 2] = HEX_DIGITS[(bytes[index] >> 4) & 0xf];
+            chars[index * 2 + 1] = HEX_DIGITS[bytes[index] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private static final class SigningKey {
+        private final String secretAccessKey;
+        private final String dateStamp;
+        private final byte[] key;
+
+        SigningKey(String secretAccessKey, String dateStamp, byte[] key) {
+            this.secretAccessKey = secretAccessKey;
+            this.dateStamp = dateStamp;
+            this.key = key;
+        }
+
+        boolean matches(String secretAccessKey, String dateStamp) {
+            return this.secretAccessKey.equals(secretAccessKey) && this.dateStamp.equals(dateStamp);
+        }
+    }
+}
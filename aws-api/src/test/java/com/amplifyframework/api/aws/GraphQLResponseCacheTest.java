@@ -0,0 +1,246 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.api.graphql.PaginatedResult;
+import com.amplifyframework.api.graphql.model.ModelMutation;
+import com.amplifyframework.api.graphql.model.ModelQuery;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testutils.Await;
+import com.amplifyframework.testutils.Resources;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests GraphQL requests of the {@link AWSApiPlugin} with a {@link GraphQLResponseCache},
+ * against a mock GraphQL server.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class GraphQLResponseCacheTest {
+    private static final String OWNER_ID = "5347fffb-c6a4-40b8-b582-02e7f4d0d165";
+
+    private MockWebServer webServer;
+    private JSONObject configuration;
+    private AWSApiPlugin plugin;
+
+    /**
+     * Configures an API plugin with a response cache, for an API served by a mock server.
+     * @throws ApiException On failure to configure plugin
+     * @throws IOException On failure to start web server
+     * @throws JSONException On failure to arrange configuration JSON
+     */
+    @Before
+    public void setup() throws ApiException, IOException, JSONException {
+        webServer = new MockWebServer();
+        webServer.start();
+
+        configuration = new JSONObject()
+            .put("graphQlApi", new JSONObject()
+                .put("endpointType", "GraphQL")
+                .put("endpoint", webServer.url("/").url())
+                .put("region", "us-east-1")
+                .put("authorizationType", "API_KEY")
+                .put("apiKey", "FAKE-API-KEY"));
+        plugin = buildPlugin(GraphQLResponseCache.builder().build());
+    }
+
+    /**
+     * Stops the mock server.
+     * @throws IOException On failure to shut down the server
+     */
+    @After
+    public void cleanup() throws IOException {
+        webServer.shutdown();
+    }
+
+    /**
+     * With the default cache-first policy, a list query is only sent to the server once.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void listIsServedFromCacheAfterFirstResponse() throws Exception {
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+
+        assertEquals(3, listBlogOwners(GraphQLFetchPolicy.CACHE_FIRST).getData().getItems().size());
+        assertEquals(3, listBlogOwners(GraphQLFetchPolicy.CACHE_FIRST).getData().getItems().size());
+
+        assertEquals(1, webServer.getRequestCount());
+    }
+
+    /**
+     * A model created by a mutation may belong to a cached list, so the list is sent to the server again.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void createMutationDropsCachedLists() throws Exception {
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+        webServer.enqueue(new MockResponse().setBody(ownerResponse("createBlogOwner", "Shemp")));
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+
+        listBlogOwners(GraphQLFetchPolicy.CACHE_FIRST);
+        mutate(ModelMutation.create(BlogOwner.builder().name("Shemp").build()));
+        listBlogOwners(GraphQLFetchPolicy.CACHE_FIRST);
+
+        assertEquals(3, webServer.getRequestCount());
+    }
+
+    /**
+     * A model is stored once, so a model updated by a mutation is updated in every cached response that
+     * contains it, without sending them to the server again.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void updateMutationUpdatesCachedModels() throws Exception {
+        webServer.enqueue(new MockResponse().setBody(ownerResponse("getBlogOwner", "Curly")));
+        webServer.enqueue(new MockResponse().setBody(ownerResponse("updateBlogOwner", "Shemp")));
+
+        assertEquals("Curly", getBlogOwner().getData().getName());
+        mutate(ModelMutation.update(BlogOwner.builder().name("Shemp").id(OWNER_ID).build()));
+
+        assertEquals("Shemp", getBlogOwner().getData().getName());
+        assertEquals(2, webServer.getRequestCount());
+    }
+
+    /**
+     * A cached response that contains a deleted model is not served.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void deleteMutationRemovesCachedModels() throws Exception {
+        webServer.enqueue(new MockResponse().setBody(ownerResponse("getBlogOwner", "Curly")));
+        webServer.enqueue(new MockResponse().setBody(ownerResponse("deleteBlogOwner", "Curly")));
+        webServer.enqueue(new MockResponse().setBody("{\"data\": {\"getBlogOwner\": null}}"));
+
+        getBlogOwner();
+        mutate(ModelMutation.delete(BlogOwner.builder().name("Curly").id(OWNER_ID).build()));
+
+        assertNull(getBlogOwner().getData());
+        assertEquals(3, webServer.getRequestCount());
+    }
+
+    /**
+     * With the network-first policy, a query which fails is served from the cache.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void networkFirstFallsBackToCacheOnFailure() throws Exception {
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+        webServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+
+        listBlogOwners(GraphQLFetchPolicy.NETWORK_FIRST);
+        GraphQLResponse<PaginatedResult<BlogOwner>> response = listBlogOwners(GraphQLFetchPolicy.NETWORK_FIRST);
+
+        assertEquals(3, response.getData().getItems().size());
+        assertEquals(2, webServer.getRequestCount());
+    }
+
+    /**
+     * Responses cached in the database are served by a cache which has nothing in memory.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void persistedResponsesOutliveTheMemoryCache() throws Exception {
+        plugin = buildPlugin(GraphQLResponseCache.builder()
+            .persistent(ApplicationProvider.getApplicationContext())
+            .build());
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+        listBlogOwners(GraphQLFetchPolicy.CACHE_FIRST);
+
+        plugin = buildPlugin(GraphQLResponseCache.builder()
+            .persistent(ApplicationProvider.getApplicationContext())
+            .build());
+
+        assertEquals(3, listBlogOwners(GraphQLFetchPolicy.CACHE_FIRST).getData().getItems().size());
+        assertEquals(1, webServer.getRequestCount());
+    }
+
+    /**
+     * Responses are cached separately for each identity, so a response cached for one API key
+     * is not served to a request made with another one.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void responsesAreNotSharedBetweenIdentities() throws Exception {
+        GraphQLResponseCache responseCache = GraphQLResponseCache.builder().build();
+        plugin = buildPlugin(responseCache);
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+        listBlogOwners(GraphQLFetchPolicy.CACHE_FIRST);
+
+        configuration.getJSONObject("graphQlApi").put("apiKey", "OTHER-FAKE-API-KEY");
+        plugin = buildPlugin(responseCache);
+        listBlogOwners(GraphQLFetchPolicy.CACHE_FIRST);
+        listBlogOwners(GraphQLFetchPolicy.CACHE_FIRST);
+
+        assertEquals(2, webServer.getRequestCount());
+    }
+
+    private AWSApiPlugin buildPlugin(GraphQLResponseCache responseCache) throws ApiException {
+        AWSApiPlugin apiPlugin = AWSApiPlugin.builder()
+            .responseCache(responseCache)
+            .build();
+        apiPlugin.configure(configuration, ApplicationProvider.getApplicationContext());
+        return apiPlugin;
+    }
+
+    private GraphQLResponse<PaginatedResult<BlogOwner>> listBlogOwners(GraphQLFetchPolicy fetchPolicy)
+            throws ApiException {
+        return Await.<GraphQLResponse<PaginatedResult<BlogOwner>>, ApiException>result((onResult, onError) ->
+            plugin.query(ModelQuery.list(BlogOwner.class), fetchPolicy, onResult, onError)
+        );
+    }
+
+    private GraphQLResponse<BlogOwner> getBlogOwner() throws ApiException {
+        return Await.<GraphQLResponse<BlogOwner>, ApiException>result((onResult, onError) ->
+            plugin.query(ModelQuery.get(BlogOwner.class, OWNER_ID), onResult, onError)
+        );
+    }
+
+    private void mutate(GraphQLRequest<BlogOwner> request) throws ApiException {
+        Await.<GraphQLResponse<BlogOwner>, ApiException>result((onResult, onError) ->
+            plugin.mutate(request, onResult, onError)
+        );
+    }
+
+    private static String ownerResponse(String field, String name) throws JSONException {
+        return new JSONObject()
+            .put("data", new JSONObject()
+                .put(field, new JSONObject()
+                    .put("id", OWNER_ID)
+                    .put("name", name)))
+            .toString();
+    }
+}
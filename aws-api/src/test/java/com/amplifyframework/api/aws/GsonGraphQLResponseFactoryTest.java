@@ -37,6 +37,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -50,6 +51,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Unit test for implementation of ResponseFactory.
@@ -271,6 +273,78 @@ public final class GsonGraphQLResponseFactoryTest {
         assertEquals(expectedResponse, response);
     }
 
+    /**
+     * The factory reuses a single Gson across responses. Validates that the request for the next
+     * page is still derived from the request whose response is being parsed, and not from one
+     * that was parsed earlier by the same factory.
+     * @throws AmplifyException From API configuration
+     */
+    @Test
+    public void requestForNextResultIsBuiltFromRequestBeingParsed() throws AmplifyException {
+        String nextToken = "eyJ2ZXJzaW9uIjoyLCJ0b2tlbiI6IkFRSUNBSGg5OUIvN3BjWU41eE96NDZJMW5GeGM4";
+        Type responseType = TypeMaker.getParameterizedType(PaginatedResult.class, Todo.class);
+        final String partialResponseJson = Resources.readAsString("partial-gql-response.json");
+
+        for (int limit = 10; limit <= 30; limit += 10) {
+            AppSyncGraphQLRequest<PaginatedResult<Todo>> request = buildDummyRequest(responseType);
+            request = request.newBuilder().variable("limit", "Int", limit).build();
+            AppSyncGraphQLRequest<PaginatedResult<Todo>> expectedRequestForNextResult =
+                request.newBuilder().variable("nextToken", "String", nextToken).build();
+
+            GraphQLResponse<PaginatedResult<Todo>> response =
+                responseFactory.buildResponse(request, partialResponseJson);
+
+            assertEquals(expectedRequestForNextResult, response.getData().getRequestForNextResult());
+        }
+    }
+
+    /**
+     * Validates that a page of results streamed from a reader is parsed into the same
+     * response as when it is parsed from a string, including its errors and the request
+     * for the next page.
+     * @throws AmplifyException From API configuration
+     */
+    @Test
+    public void streamedPageRendersSameAsParsedPage() throws AmplifyException {
+        final String partialResponseJson = Resources.readAsString("partial-gql-response.json");
+        final String meetingsResponseJson = Resources.readAsString("list-meetings-response.json");
+        GsonGraphQLResponseFactory factory = new GsonGraphQLResponseFactory(GsonFactory.instance());
+
+        Type todosType = TypeMaker.getParameterizedType(PaginatedResult.class, Todo.class);
+        GraphQLRequest<PaginatedResult<Todo>> todosRequest = buildDummyRequest(todosType);
+        assertTrue(GsonGraphQLResponseFactory.isStreamable(todosRequest));
+        assertEquals(
+            factory.buildResponse(todosRequest, partialResponseJson),
+            factory.buildResponse(todosRequest, new StringReader(partialResponseJson))
+        );
+
+        Type meetingsType = TypeMaker.getParameterizedType(PaginatedResult.class, Meeting.class);
+        GraphQLRequest<PaginatedResult<Meeting>> meetingsRequest = buildDummyRequest(meetingsType);
+        assertEquals(
+            factory.buildResponse(meetingsRequest, meetingsResponseJson),
+            factory.buildResponse(meetingsRequest, new StringReader(meetingsResponseJson))
+        );
+    }
+
+    /**
+     * Validates that an empty or malformed page streamed from a reader throws an
+     * ApiException, as it does when it is parsed from a string.
+     * @throws ApiException From API configuration
+     */
+    @Test
+    public void malformedStreamedPageThrowsApiException() throws ApiException {
+        GsonGraphQLResponseFactory factory = new GsonGraphQLResponseFactory(GsonFactory.instance());
+        Type responseType = TypeMaker.getParameterizedType(PaginatedResult.class, Todo.class);
+        GraphQLRequest<PaginatedResult<Todo>> request = buildDummyRequest(responseType);
+        final String nonJsonResponse = Resources.readAsString("non-json-gql-response.json");
+
+        assertThrows(ApiException.class, () -> factory.buildResponse(request, new StringReader("")));
+        assertThrows(ApiException.class, () -> factory.buildResponse(request, new StringReader(nonJsonResponse)));
+        assertThrows(ApiException.class, () ->
+            factory.buildResponse(request, new StringReader("{\"data\": {\"listTodos\": {\"items\": {}}}}"))
+        );
+    }
+
     /**
      * This tests the GsonErrorDeserializer.  The test JSON response has 4 errors, which are all in
      * different formats, but are expected to be parsed into the same resulting object:
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.api.graphql.PaginatedResult;
+import com.amplifyframework.api.graphql.model.ModelQuery;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testutils.Await;
+import com.amplifyframework.testutils.Resources;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests GraphQL requests of the {@link AWSApiPlugin} with persisted queries enabled,
+ * against a mock GraphQL server.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class PersistedQueriesTest {
+    private MockWebServer webServer;
+    private AWSApiPlugin plugin;
+
+    /**
+     * Configures an API plugin with persisted queries, for an API served by a mock server.
+     * @throws ApiException On failure to configure plugin
+     * @throws IOException On failure to start web server
+     * @throws JSONException On failure to arrange configuration JSON
+     */
+    @Before
+    public void setup() throws ApiException, IOException, JSONException {
+        webServer = new MockWebServer();
+        webServer.start();
+
+        JSONObject configuration = new JSONObject()
+            .put("graphQlApi", new JSONObject()
+                .put("endpointType", "GraphQL")
+                .put("endpoint", webServer.url("/").url())
+                .put("region", "us-east-1")
+                .put("authorizationType", "API_KEY")
+                .put("apiKey", "FAKE-API-KEY"));
+        plugin = AWSApiPlugin.builder()
+            .usePersistedQueries(true)
+            .build();
+        plugin.configure(configuration, ApplicationProvider.getApplicationContext());
+    }
+
+    /**
+     * Stops the mock server.
+     * @throws IOException On failure to shut down the server
+     */
+    @After
+    public void cleanup() throws IOException {
+        webServer.shutdown();
+    }
+
+    /**
+     * The first request for a document sends the document and its hash. Once the server has
+     * accepted it, the next request only sends the hash.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void documentIsOnlySentUntilServerAcceptsItsHash() throws Exception {
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+
+        assertEquals(3, listBlogOwners().getData().getItems().size());
+        assertEquals(3, listBlogOwners().getData().getItems().size());
+
+        JSONObject first = takeRequestBody();
+        JSONObject second = takeRequestBody();
+        assertTrue(first.has("query"));
+        assertFalse(second.has("query"));
+        assertEquals(first.getJSONObject("variables").toString(), second.getJSONObject("variables").toString());
+        assertEquals(64, getHash(first).length());
+        assertEquals(getHash(first), getHash(second));
+    }
+
+    /**
+     * When the server no longer knows the hash of a document, the request is sent again with
+     * the document, and the response to that request is returned.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void documentIsSentAgainWhenServerDoesNotKnowItsHash() throws Exception {
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+        webServer.enqueue(new MockResponse().setBody(
+            "{\"errors\": [{\"message\": \"" + PersistedQueries.NOT_FOUND_MESSAGE + "\"}]}"));
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+
+        listBlogOwners();
+        GraphQLResponse<PaginatedResult<BlogOwner>> response = listBlogOwners();
+
+        assertFalse(response.hasErrors());
+        assertEquals(3, response.getData().getItems().size());
+        assertTrue(takeRequestBody().has("query"));
+        assertFalse(takeRequestBody().has("query"));
+        assertTrue(takeRequestBody().has("query"));
+    }
+
+    /**
+     * A hash is only accepted once the server has responded with data to a request sent with it.
+     * A response with only errors doesn't show that the server stored the document.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void documentIsSentAgainAfterResponseWithoutData() throws Exception {
+        webServer.enqueue(new MockResponse().setBody("{\"data\": null, \"errors\": [{\"message\": \"Failed.\"}]}"));
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+
+        assertTrue(listBlogOwners().hasErrors());
+        assertEquals(3, listBlogOwners().getData().getItems().size());
+
+        assertTrue(takeRequestBody().has("query"));
+        assertTrue(takeRequestBody().has("query"));
+    }
+
+    /**
+     * When the server does not support persisted queries, the request is sent again without the
+     * persistedQuery extension, and so are later requests.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void persistedQueriesAreDisabledWhenServerDoesNotSupportThem() throws Exception {
+        webServer.enqueue(new MockResponse().setBody(
+            "{\"errors\": [{\"message\": \"" + PersistedQueries.NOT_SUPPORTED_MESSAGE + "\"}]}"));
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+        webServer.enqueue(new MockResponse().setBody(Resources.readAsString("blog-owners-query-results.json")));
+
+        assertEquals(3, listBlogOwners().getData().getItems().size());
+        assertEquals(3, listBlogOwners().getData().getItems().size());
+
+        assertTrue(takeRequestBody().has("extensions"));
+        for (int request = 0; request < 2; request++) {
+            JSONObject body = takeRequestBody();
+            assertTrue(body.has("query"));
+            assertFalse(body.has("extensions"));
+        }
+    }
+
+    private GraphQLResponse<PaginatedResult<BlogOwner>> listBlogOwners() throws ApiException {
+        return Await.<GraphQLResponse<PaginatedResult<BlogOwner>>, ApiException>result((onResult, onError) ->
+            plugin.query(ModelQuery.list(BlogOwner.class), onResult, onError)
+        );
+    }
+
+    private JSONObject takeRequestBody() throws InterruptedException, JSONException {
+        RecordedRequest request = webServer.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        return new JSONObject(request.getBody().readUtf8());
+    }
+
+    private static String getHash(JSONObject body) throws JSONException {
+        return body.getJSONObject("extensions").getJSONObject("persistedQuery").getString("sha256Hash");
+    }
+}
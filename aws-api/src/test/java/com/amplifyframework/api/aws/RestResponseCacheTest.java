@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+import android.util.Base64;
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.aws.sigv4.CognitoUserPoolsAuthProvider;
+import com.amplifyframework.api.rest.RestOptions;
+import com.amplifyframework.api.rest.RestResponse;
+import com.amplifyframework.testutils.Await;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests REST requests of the {@link AWSApiPlugin} with a response cache, against a mock server.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class RestResponseCacheTest {
+    private static final long CACHE_SIZE = 1024 * 1024;
+
+    private MockWebServer webServer;
+    private AWSApiPlugin plugin;
+    private volatile String token;
+
+    /**
+     * Configures an API plugin with a response cache, for a REST API served by a mock server.
+     * @throws ApiException On failure to configure plugin
+     * @throws IOException On failure to start web server
+     * @throws JSONException On failure to arrange configuration JSON
+     */
+    @Before
+    public void setup() throws ApiException, IOException, JSONException {
+        webServer = new MockWebServer();
+        webServer.start();
+        token = createToken("user-a", 1);
+
+        JSONObject configuration = new JSONObject()
+            .put("restApi", new JSONObject()
+                .put("endpointType", "REST")
+                .put("endpoint", webServer.url("/").url())
+                .put("region", "us-east-1")
+                .put("authorizationType", "AMAZON_COGNITO_USER_POOLS"));
+        ApiAuthProviders authProviders = ApiAuthProviders.builder()
+            .cognitoUserPoolsAuthProvider(new CognitoUserPoolsAuthProvider() {
+                @Override
+                public String getLatestAuthToken() {
+                    return token;
+                }
+
+                @Override
+                public String getUsername() {
+                    return "user";
+                }
+            })
+            .build();
+        plugin = AWSApiPlugin.builder()
+            .apiAuthProviders(authProviders)
+            .cacheRestResponses("restApi", CACHE_SIZE)
+            .build();
+        plugin.configure(configuration, ApplicationProvider.getApplicationContext());
+    }
+
+    /**
+     * Stops the mock server.
+     * @throws IOException On failure to shut down the server
+     */
+    @After
+    public void cleanup() throws IOException {
+        webServer.shutdown();
+    }
+
+    /**
+     * A fresh response is served from the cache, without a request to the server.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void freshResponseIsServedFromCache() throws Exception {
+        webServer.enqueue(new MockResponse().setHeader("Cache-Control", "max-age=60").setBody("cached"));
+
+        assertEquals("cached", get().getData().asString());
+        assertEquals("cached", get().getData().asString());
+        assertEquals(1, webServer.getRequestCount());
+    }
+
+    /**
+     * A response which must be revalidated is requested again with its ETag, and served from the cache
+     * when the server responds that it has not been modified.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void staleResponseIsRevalidatedWithETag() throws Exception {
+        webServer.enqueue(new MockResponse()
+            .setHeader("Cache-Control", "no-cache")
+            .setHeader("ETag", "\"v1\"")
+            .setBody("cached"));
+        webServer.enqueue(new MockResponse().setResponseCode(304));
+
+        get();
+        RestResponse response = get();
+
+        assertEquals("cached", response.getData().asString());
+        assertNull(takeRequest().getHeader("If-None-Match"));
+        assertEquals("\"v1\"", takeRequest().getHeader("If-None-Match"));
+    }
+
+    /**
+     * A response cached for a user is not served to another user, but is served to the same user
+     * once their token is refreshed.
+     * @throws Exception Not expected
+     */
+    @Test
+    public void responsesAreCachedPerUser() throws Exception {
+        webServer.enqueue(new MockResponse().setHeader("Cache-Control", "max-age=60").setBody("for a"));
+        webServer.enqueue(new MockResponse().setHeader("Cache-Control", "max-age=60").setBody("for b"));
+
+        assertEquals("for a", get().getData().asString());
+        token = createToken("user-b", 1);
+        assertEquals("for b", get().getData().asString());
+        token = createToken("user-a", 2);
+        assertEquals("for a", get().getData().asString());
+
+        assertEquals(2, webServer.getRequestCount());
+    }
+
+    private RestResponse get() throws ApiException {
+        RestOptions options = RestOptions.builder().addPath("/items").build();
+        return Await.<RestResponse, ApiException>result((onResult, onError) ->
+            plugin.get(options, onResult, onError)
+        );
+    }
+
+    private RecordedRequest takeRequest() throws InterruptedException {
+        RecordedRequest request = webServer.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        return request;
+    }
+
+    // An unsigned JWT, which is all that the client reads.
+    @NonNull
+    private static String createToken(String subject, long issuedAt) throws JSONException {
+        String payload = new JSONObject().put("sub", subject).put("iat", issuedAt).toString();
+        return encode("{\"alg\":\"none\"}") + "." + encode(payload) + ".signature";
+    }
+
+    private static String encode(String text) {
+        int flags = Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING;
+        return Base64.encodeToString(text.getBytes(StandardCharsets.UTF_8), flags);
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws;
+
+package com.amplifyframework.api.aws;
+
+import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.SimpleGraphQLRequest;
+import com.amplifyframework.testutils.random.RandomString;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the acknowledgement of subscriptions by the {@link SubscriptionEndpoint}, and what
+ * happens when a subscription is not acknowledged in time.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class SubscriptionEndpointTest {
+    private static final long ACKNOWLEDGEMENT_TIMEOUT_MS = 200;
+    private static final long RESULT_TIMEOUT_MS = 5_000;
+
+    private WebSocket webSocket;
+    private WebSocketListener webSocketListener;
+    private List<JSONObject> sentMessages;
+    private SubscriptionEndpoint endpoint;
+    private ExecutorService executorService;
+
+    /**
+     * Creates an endpoint whose web socket is a mock, which acknowledges the connection
+     * as soon as it is opened, and records the messages sent over it.
+     */
+    @Before
+    public void setup() {
+        sentMessages = Collections.synchronizedList(new ArrayList<>());
+        webSocket = mock(WebSocket.class);
+        when(webSocket.send(anyString())).thenAnswer(invocation -> {
+            sentMessages.add(new JSONObject((String) invocation.getArgument(0)));
+            return true;
+        });
+        OkHttpClient okHttpClient = mock(OkHttpClient.class);
+        when(okHttpClient.newWebSocket(any(Request.class), any(WebSocketListener.class))).thenAnswer(invocation -> {
+            webSocketListener = invocation.getArgument(1);
+            webSocketListener.onMessage(webSocket, new JSONObject()
+                .put("type", "connection_ack")
+                .put("payload", new JSONObject().put("connectionTimeoutMs", "300000"))
+                .toString());
+            return webSocket;
+        });
+
+        ApiConfiguration configuration = ApiConfiguration.builder()
+            .endpoint("https://abcdefghijklmnopqrstuvwxyz.appsync-api.us-east-1.amazonaws.com/graphql")
+            .region("us-east-1")
+            .authorizationType(AuthorizationType.API_KEY)
+            .apiKey(RandomString.string())
+            .build();
+        endpoint = new SubscriptionEndpoint(
+            configuration,
+            new GsonGraphQLResponseFactory(),
+            new SubscriptionAuthorizer(configuration),
+            null,
+            null,
+            okHttpClient,
+            ACKNOWLEDGEMENT_TIMEOUT_MS
+        );
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Stops the threads of the subscription operations.
+     */
+    @After
+    public void teardown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * A subscription is reported as started when its start message is acknowledged, and
+     * not before.
+     * @throws JSONException On failure to build the acknowledgement
+     * @throws InterruptedException If interrupted while waiting for the subscription to start
+     */
+    @Test
+    public void subscriptionIsStartedWhenAcknowledged() throws JSONException, InterruptedException {
+        BlockingQueue<String> startedIds = new LinkedBlockingQueue<>();
+        BlockingQueue<ApiException> errors = new LinkedBlockingQueue<>();
+        endpoint.requestSubscription(request(), startedIds::add, response -> { }, errors::add, () -> { });
+
+        String subscriptionId = startMessageId(0);
+        assertNull(startedIds.poll());
+
+        webSocketListener.onMessage(webSocket, message("start_ack", subscriptionId));
+        assertEquals(subscriptionId, startedIds.poll(RESULT_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertNull(errors.poll(ACKNOWLEDGEMENT_TIMEOUT_MS * 2, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * When the start message of a subscription isn't acknowledged in time, the subscription fails.
+     * It's stopped, since the server may still start it, and the web socket is closed, since
+     * no subscription is left on it. A late acknowledgement is ignored.
+     * @throws JSONException On failure to build or read a message
+     * @throws InterruptedException If interrupted while waiting for the timeout
+     */
+    @Test
+    public void subscriptionIsStoppedWhenAcknowledgementTimesOut() throws JSONException, InterruptedException {
+        BlockingQueue<String> startedIds = new LinkedBlockingQueue<>();
+        BlockingQueue<ApiException> errors = new LinkedBlockingQueue<>();
+        endpoint.requestSubscription(request(), startedIds::add, response -> { }, errors::add, () -> { });
+        String subscriptionId = startMessageId(0);
+
+        assertNotNull(errors.poll(RESULT_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertEquals(2, sentMessages.size());
+        assertEquals("stop", sentMessages.get(1).getString("type"));
+        assertEquals(subscriptionId, sentMessages.get(1).getString("id"));
+        verify(webSocket).close(eq(1000), anyString());
+
+        webSocketListener.onMessage(webSocket, message("start_ack", subscriptionId));
+        assertNull(startedIds.poll());
+    }
+
+    /**
+     * Data for a subscription which the endpoint doesn't know, like one that timed out, doesn't
+     * fail the other subscriptions on the web socket.
+     * @throws JSONException On failure to build a message
+     * @throws InterruptedException If interrupted while waiting for the subscription to start
+     */
+    @Test
+    public void dataForUnknownSubscriptionIsIgnored() throws JSONException, InterruptedException {
+        BlockingQueue<String> startedIds = new LinkedBlockingQueue<>();
+        BlockingQueue<ApiException> errors = new LinkedBlockingQueue<>();
+        endpoint.requestSubscription(request(), startedIds::add, response -> { }, errors::add, () -> { });
+        String subscriptionId = startMessageId(0);
+        webSocketListener.onMessage(webSocket, message("start_ack", subscriptionId));
+        assertEquals(subscriptionId, startedIds.poll(RESULT_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        webSocketListener.onMessage(webSocket, new JSONObject(message("data", RandomString.string()))
+            .put("payload", new JSONObject().put("data", JSONObject.NULL))
+            .toString());
+        assertNull(errors.poll(ACKNOWLEDGEMENT_TIMEOUT_MS * 2, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * A subscription operation which is canceled before its subscription is acknowledged doesn't
+     * report the timeout of the acknowledgement as an error. A subscription operation which wasn't
+     * canceled still does.
+     * @throws JSONException On failure to read a message
+     * @throws InterruptedException If interrupted while waiting for the timeout
+     */
+    @Test
+    public void canceledSubscriptionDoesNotReportAcknowledgementTimeout()
+            throws JSONException, InterruptedException {
+        BlockingQueue<ApiException> canceledErrors = new LinkedBlockingQueue<>();
+        SubscriptionOperation<String> canceled = operation(canceledErrors);
+        canceled.start();
+        verify(webSocket, timeout(RESULT_TIMEOUT_MS)).send(anyString());
+        canceled.cancel();
+
+        // The timeouts of both subscriptions run on the same thread, in the order of their start.
+        BlockingQueue<ApiException> errors = new LinkedBlockingQueue<>();
+        operation(errors).start();
+        assertNotNull(errors.poll(RESULT_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(canceledErrors.isEmpty());
+        assertTrue(sentMessages.size() > 2);
+        assertEquals("stop", sentMessages.get(2).getString("type"));
+        assertEquals(startMessageId(0), sentMessages.get(2).getString("id"));
+    }
+
+    private SubscriptionOperation<String> operation(BlockingQueue<ApiException> errors) {
+        return SubscriptionOperation.<String>builder()
+            .subscriptionEndpoint(endpoint)
+            .graphQlRequest(request())
+            .responseFactory(new GsonGraphQLResponseFactory())
+            .executorService(executorService)
+            .onSubscriptionStart(subscriptionId -> { })
+            .onNextItem(response -> { })
+            .onSubscriptionError(errors::add)
+            .onSubscriptionComplete(() -> { })
+            .authorizationType(AuthorizationType.API_KEY)
+            .build();
+    }
+
+    private String startMessageId(int index) throws JSONException {
+        JSONObject startMessage = sentMessages.get(index);
+        assertEquals("start", startMessage.getString("type"));
+        return startMessage.getString("id");
+    }
+
+    private static GraphQLRequest<String> request() {
+        return new SimpleGraphQLRequest<>(
+            "subscription OnCreateTodo { onCreateTodo { id } }", String.class, new GsonVariablesSerializer()
+        );
+    }
+
+    private static String message(String type, String subscriptionId) throws JSONException {
+        return new JSONObject()
+            .put("type", type)
+            .put("id", subscriptionId)
+            .toString();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.auth;
+
+import com.amplifyframework.api.ApiException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ExpiringCache} used to cache auth tokens and credentials.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ExpiringCacheTest {
+    private static final long LIFETIME_MS = TimeUnit.HOURS.toMillis(1);
+    private static final String SESSION = "user-1";
+
+    private AtomicInteger fetchCount;
+    private List<Runnable> pendingRefreshes;
+    private long now;
+    private long expiresAt;
+    private ExpiringCache<String> cache;
+
+    /**
+     * Sets up a cache over a source which returns a new token, valid for an hour, on each fetch.
+     */
+    @Before
+    public void setup() {
+        fetchCount = new AtomicInteger(0);
+        pendingRefreshes = new ArrayList<>();
+        now = 0;
+        cache = new ExpiringCache<>(
+            () -> {
+                expiresAt = now + LIFETIME_MS;
+                return "token" + fetchCount.incrementAndGet();
+            },
+            token -> expiresAt,
+            pendingRefreshes::add,
+            () -> now
+        );
+    }
+
+    /**
+     * The token is fetched once, and then served from the cache.
+     * @throws ApiException Not expected
+     */
+    @Test
+    public void tokenIsFetchedOnce() throws ApiException {
+        assertEquals("token1", cache.get(SESSION));
+        now += TimeUnit.MINUTES.toMillis(30);
+        assertEquals("token1", cache.get(SESSION));
+        assertEquals(1, fetchCount.get());
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    /**
+     * Shortly before the token expires, the cached one is still served while a new one
+     * is fetched in the background.
+     * @throws ApiException Not expected
+     */
+    @Test
+    public void tokenIsRefreshedInBackgroundBeforeItExpires() throws ApiException {
+        assertEquals("token1", cache.get(SESSION));
+        now += LIFETIME_MS - ExpiringCache.REFRESH_AHEAD_MS - ExpiringCache.EXPIRATION_MARGIN_MS;
+
+        assertEquals("token1", cache.get(SESSION));
+        assertEquals("token1", cache.get(SESSION));
+        assertEquals(1, pendingRefreshes.size());
+
+        pendingRefreshes.remove(0).run();
+        assertEquals("token2", cache.get(SESSION));
+        assertEquals(2, fetchCount.get());
+    }
+
+    /**
+     * A token fetched by the caller is served from the cache once it is put there, unless the
+     * cache was invalidated while the caller fetched it.
+     */
+    @Test
+    public void tokenPutByCallerIsCachedUnlessInvalidated() {
+        assertNull(cache.getIfValid(SESSION));
+
+        expiresAt = now + LIFETIME_MS;
+        long generation = cache.getGeneration();
+        cache.invalidate();
+        cache.put("stale", generation, SESSION);
+        assertNull(cache.getIfValid(SESSION));
+
+        cache.put("fresh", cache.getGeneration(), SESSION);
+        assertEquals("fresh", cache.getIfValid(SESSION));
+        assertEquals(0, fetchCount.get());
+    }
+
+    /**
+     * An expired token is not served; a new one is fetched instead.
+     * @throws ApiException Not expected
+     */
+    @Test
+    public void expiredTokenIsFetchedAgain() throws ApiException {
+        assertEquals("token1", cache.get(SESSION));
+        now += LIFETIME_MS;
+        assertEquals("token2", cache.get(SESSION));
+        assertEquals(2, fetchCount.get());
+    }
+
+    /**
+     * Invalidating the cache drops the token, and a refresh that was in flight at the
+     * time does not put a token back into the cache.
+     * @throws ApiException Not expected
+     */
+    @Test
+    public void invalidateDropsTokenAndInFlightRefresh() throws ApiException {
+        assertEquals("token1", cache.get(SESSION));
+        now += LIFETIME_MS - ExpiringCache.REFRESH_AHEAD_MS;
+        assertEquals("token1", cache.get(SESSION));
+
+        cache.invalidate();
+        pendingRefreshes.remove(0).run();
+
+        assertEquals("token3", cache.get(SESSION));
+    }
+
+    /**
+     * A token is only served to the session it was fetched for, so a token of a user who signed
+     * out is not served to the next one, even before the cache is invalidated.
+     * @throws ApiException Not expected
+     */
+    @Test
+    public void tokenOfAnotherSessionIsNotServed() throws ApiException {
+        assertEquals("token1", cache.get(SESSION));
+        assertNull(cache.getIfValid("user-2"));
+        assertEquals("token2", cache.get("user-2"));
+        assertNull(cache.getIfValid(SESSION));
+        assertEquals(2, fetchCount.get());
+    }
+
+    /**
+     * A token without a known expiration is never cached.
+     * @throws ApiException Not expected
+     */
+    @Test
+    public void tokenWithoutExpirationIsNotCached() throws ApiException {
+        ExpiringCache<String> uncached = new ExpiringCache<>(
+            () -> "token" + fetchCount.incrementAndGet(),
+            token -> 0,
+            pendingRefreshes::add,
+            () -> now
+        );
+        assertEquals("token1", uncached.get(SESSION));
+        assertEquals("token2", uncached.get(SESSION));
+    }
+
+    /**
+     * The expiration of a Cognito token is read from its exp claim.
+     */
+    @Test
+    public void expirationIsReadFromExpClaim() {
+        String token = FakeJWTToken.builder()
+            .putPayload("exp", 1_700_000_000L)
+            .build()
+            .asString();
+        assertEquals(1_700_000_000_000L, AuthTokenCache.getExpiration(token));
+        assertEquals(0, AuthTokenCache.getExpiration("not a token"));
+    }
+}
@@ -30,6 +30,7 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -38,9 +39,12 @@ import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okio.Okio;
 
 import static java.util.Collections.emptyMap;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
@@ -113,6 +117,34 @@ public final class AWSRestOperationTest {
         assertEquals(expected, response.getHeaders());
     }
 
+    /**
+     * When the body of the response is streamed, it is not read into the data of the response,
+     * and is instead read from the stream of the response.
+     * @throws ApiException
+     *         A possible outcome of the operation. This is not
+     *         expected, and would constitute a test failure.
+     * @throws IOException On failure to read the stream
+     * @throws JSONException On failure to parse the body
+     */
+    @Test
+    public void responseBodyIsStreamedWhenRequested() throws ApiException, IOException, JSONException {
+        RestOperationRequest request =
+            new RestOperationRequest(HttpMethod.GET, baseUrl.uri().getPath(), emptyMap(), emptyMap());
+        RestResponse response = Await.<RestResponse, ApiException>result((onResult, onError) -> {
+            AWSRestOperation operation =
+                new AWSRestOperation(request, baseUrl.url().toString(), client, onResult, onError, true);
+            operation.start();
+        });
+
+        assertTrue(response.getCode().isSuccessful());
+        assertNull(response.getData().getRawBytes());
+        try (InputStream dataStream = response.getDataStream()) {
+            assertNotNull(dataStream);
+            String body = Okio.buffer(Okio.source(dataStream)).readUtf8();
+            assertEquals("thanks!", new JSONObject(body).getString("message"));
+        }
+    }
+
     /**
      * If the user calls {@link AWSRestOperation#cancel()}, then the operation
      * will not fire any callback. This behavior is consistent with iOS's REST operation.
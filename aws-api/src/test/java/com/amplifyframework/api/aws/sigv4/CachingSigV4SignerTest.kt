@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.api.aws.sigv4
+
+import aws.smithy.kotlin.runtime.auth.awscredentials.Credentials
+import java.util.Date
+import okhttp3.Request
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+/**
+ * Tests [CachingSigV4Signer] against the examples of the AWS Signature Version 4 documentation
+ * and test suite.
+ */
+class CachingSigV4SignerTest {
+    private val credentials = Credentials("AKIDEXAMPLE", "wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY")
+    private val signingDate = Date(1440938160000L) // 20150830T123600Z
+
+    @Test
+    fun `derives the documented signing key`() {
+        val signer = CachingSigV4Signer("us-east-1", "iam", false)
+
+        val key = signer.getSigningKey(credentials.secretAccessKey, "20120215")
+
+        assertEquals(
+            "f4780e2d9f65fa895f9c67b32ce1baf0b0d8a43505a000a1a9e090d414db404d",
+            key.joinToString("") { "%02x".format(it) }
+        )
+    }
+
+    @Test
+    fun `reuses the signing key for the same credentials and date`() {
+        val signer = CachingSigV4Signer("us-east-1", "service", false)
+
+        val first = signer.getSigningKey(credentials.secretAccessKey, "20150830")
+        val second = signer.getSigningKey(credentials.secretAccessKey, "20150830")
+
+        assertSame(first, second)
+    }
+
+    @Test
+    fun `signs get-vanilla`() {
+        val signer = CachingSigV4Signer("us-east-1", "service", false)
+        val request = Request.Builder().url("https://example.amazonaws.com/").build()
+
+        val signed = signer.sign(request, ByteArray(0), credentials, signingDate)
+
+        assertEquals("20150830T123600Z", signed.header("X-Amz-Date"))
+        assertEquals(
+            "AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/20150830/us-east-1/service/aws4_request, " +
+                "SignedHeaders=host;x-amz-date, " +
+                "Signature=5fa00fa31553b73ebf1942676e86291e8372ff2a2260956d9b8aae1d763fbf31",
+            signed.header("Authorization")
+        )
+    }
+
+    @Test
+    fun `signs get-vanilla-query-order-key-case`() {
+        val signer = CachingSigV4Signer("us-east-1", "service", false)
+        val request = Request.Builder().url("https://example.amazonaws.com/?Param2=value2&Param1=value1").build()
+
+        val signed = signer.sign(request, ByteArray(0), credentials, signingDate)
+
+        assertEquals(
+            "AWS4-HMAC-SHA256 Credential=AKIDEXAMPLE/20150830/us-east-1/service/aws4_request, " +
+                "SignedHeaders=host;x-amz-date, " +
+                "Signature=b97d918cfa904a5beff61c982a1b6f458b799221646efd99d3219ec94cdf2500",
+            signed.header("Authorization")
+        )
+    }
+}
@@ -96,22 +96,28 @@ public final class SynchronousStorageAdapter {
      */
     @SuppressWarnings("UnusedReturnValue")
     public List<ModelSchema> initialize(@NonNull Context context) throws DataStoreException {
+        return initialize(context, DataStoreConfiguration.builder()
+            .syncInterval(2L, TimeUnit.MINUTES)
+            .observeQueryMaxRecords(2)
+            .observeQueryMaxTime(1)
+            .build());
+    }
+
+    /**
+     * Initializes the storage adapter with a specific configuration.
+     * @param context An Android Context
+     * @param dataStoreConfiguration The configuration of the DataStore
+     * @return The list of model schema that are available for use in the adapter
+     * @throws DataStoreException On any initialization failure
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public List<ModelSchema> initialize(@NonNull Context context,
+                                        @NonNull DataStoreConfiguration dataStoreConfiguration)
+            throws DataStoreException {
         return Await.result(
             operationTimeoutMs,
-            (Consumer<List<ModelSchema>> onResult, Consumer<DataStoreException> onError) -> {
-                try {
-                    asyncDelegate.initialize(context,
-                            onResult,
-                            onError,
-                            DataStoreConfiguration.builder()
-                                    .syncInterval(2L, TimeUnit.MINUTES)
-                                    .observeQueryMaxRecords(2)
-                                    .observeQueryMaxTime(1)
-                                    .build());
-                } catch (DataStoreException exception) {
-                    onError.accept(exception);
-                }
-            }
+            (Consumer<List<ModelSchema>> onResult, Consumer<DataStoreException> onError) ->
+                asyncDelegate.initialize(context, onResult, onError, dataStoreConfiguration)
         );
     }
 
@@ -156,6 +162,27 @@ public final class SynchronousStorageAdapter {
         );
     }
 
+    /**
+     * Save a batch of models into the storage adapter, in a single transaction.
+     * @param models Models to save
+     * @param <T> Type of models being saved
+     * @return One storage item change for each model that was saved
+     * @throws DataStoreException On any failure to save the models into storage adapter
+     */
+    public <T extends Model> List<StorageItemChange<T>> saveAll(@NonNull List<T> models)
+            throws DataStoreException {
+        return Await.result(
+            operationTimeoutMs,
+            (Consumer<List<StorageItemChange<T>>> onResult, Consumer<DataStoreException> onError) ->
+                asyncDelegate.saveAll(
+                    models,
+                    StorageItemChange.Initiator.DATA_STORE_API,
+                    onResult,
+                    onError
+                )
+        );
+    }
+
     /**
      * Try to save a model, but /expect/ it not to work.
      * @param model A model to save
@@ -223,6 +250,32 @@ public final class SynchronousStorageAdapter {
         return resultSet;
     }
 
+    /**
+     * Stream the models of a given class which meet some criteria out of the storage adapter,
+     * and collect them into a list.
+     * @param modelClass Class of models being queried
+     * @param options Query options with predicate and pagination info
+     * @param <T> Type of model being queried
+     * @return The list of models which were streamed, in the order they were received
+     * @throws DataStoreException On any failure to query the storage adapter
+     */
+    public <T extends Model> List<T> queryStream(@NonNull Class<T> modelClass, @NonNull QueryOptions options)
+            throws DataStoreException {
+        final List<T> resultSet = new ArrayList<>();
+        return Await.result(
+            operationTimeoutMs,
+            (Consumer<List<T>> onResult, Consumer<DataStoreException> onError) ->
+                asyncDelegate.queryStream(
+                    modelClass,
+                    options,
+                    cancelable -> { },
+                    resultSet::add,
+                    onError,
+                    () -> onResult.accept(resultSet)
+                )
+        );
+    }
+
     /**
      * Query the storage adapter for models of a given class, and considering some additional criteria
      * that each model must meet.
@@ -17,6 +17,7 @@ package com.amplifyframework.datastore.storage.sqlite;
 
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.core.model.query.Page;
+import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.core.model.temporal.Temporal;
@@ -162,6 +163,27 @@ public final class SQLiteStorageAdapterQueryTest {
         );
     }
 
+    /**
+     * Test that streaming a query returns the same items as a regular query does.
+     * @throws DataStoreException On unexpected failure manipulating items in/out of DataStore
+     */
+    @Test
+    public void queryStreamReturnsSameItemsAsQuery() throws DataStoreException {
+        final int numModels = 10;
+        for (int counter = 0; counter < numModels; counter++) {
+            adapter.save(BlogOwner.builder()
+                .name("namePrefix:" + counter)
+                .build());
+        }
+
+        final QueryOptions options = Where.matches(BlogOwner.NAME.beginsWith("namePrefix"))
+            .sorted(BlogOwner.NAME.ascending());
+        assertEquals(
+            adapter.query(BlogOwner.class, options),
+            adapter.queryStream(BlogOwner.class, options)
+        );
+    }
+
     /**
      * Test that querying the saved item with a foreign key
      * also populates that instance variable with object.
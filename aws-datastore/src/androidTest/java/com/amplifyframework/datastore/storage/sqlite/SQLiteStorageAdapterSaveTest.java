@@ -35,6 +35,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -128,6 +129,36 @@ public final class SQLiteStorageAdapterSaveTest {
         assertTrue(blogOwners.contains(alan));
     }
 
+    /**
+     * Assert that saveAll stores a batch of items in the SQLite database, updating the
+     * items which already exist and inserting the rest.
+     * @throws DataStoreException from possible underlying DataStore exceptions
+     */
+    @Test
+    public void saveAllInsertsAndUpdatesData() throws DataStoreException {
+        final BlogOwner alan = BlogOwner.builder()
+            .name("Alan Turing")
+            .build();
+        adapter.save(alan);
+
+        final BlogOwner alanTuring = alan.copyOfBuilder()
+            .name("Alan M. Turing")
+            .build();
+        final BlogOwner grace = BlogOwner.builder()
+            .name("Grace Hopper")
+            .build();
+        List<StorageItemChange<BlogOwner>> changes = adapter.saveAll(Arrays.asList(alanTuring, grace));
+        assertEquals(2, changes.size());
+        assertEquals(StorageItemChange.Type.UPDATE, changes.get(0).type());
+        assertEquals(StorageItemChange.Type.CREATE, changes.get(1).type());
+
+        // Get the BlogOwners from the database
+        final List<BlogOwner> blogOwners = adapter.query(BlogOwner.class);
+        assertEquals(2, blogOwners.size());
+        assertTrue(blogOwners.contains(alanTuring));
+        assertTrue(blogOwners.contains(grace));
+    }
+
     /**
      * Assert that save stores data in the SQLite database correctly
      * even if some optional values are null.
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.SchemaRegistry;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
+import com.amplifyframework.datastore.DataStoreConfiguration;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.datastore.StrictMode;
+import com.amplifyframework.datastore.storage.StorageItemChange;
+import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
+import com.amplifyframework.testmodels.commentsblog.AmplifyModelProvider;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the {@link SQLiteStorageAdapter} when write-ahead logging is enabled.
+ */
+public final class SQLiteStorageAdapterWriteAheadLoggingTest {
+    private static final long TIMEOUT_MS = TimeUnit.SECONDS.toMillis(5);
+    private static final int NUMBER_OF_WRITES = 50;
+
+    private SQLiteStorageAdapter sqliteStorageAdapter;
+    private SynchronousStorageAdapter adapter;
+
+    /**
+     * Enable strict mode.
+     */
+    @BeforeClass
+    public static void enableStrictMode() {
+        StrictMode.enable();
+    }
+
+    /**
+     * Creates a storage adapter with write-ahead logging enabled.
+     * @throws AmplifyException On failure to register the models, or to initialize the adapter
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        TestStorageAdapter.cleanup();
+        SchemaRegistry schemaRegistry = SchemaRegistry.instance();
+        schemaRegistry.clear();
+        schemaRegistry.register(AmplifyModelProvider.getInstance().models());
+        sqliteStorageAdapter = SQLiteStorageAdapter.forModels(schemaRegistry, AmplifyModelProvider.getInstance());
+        adapter = SynchronousStorageAdapter.delegatingTo(sqliteStorageAdapter);
+        adapter.initialize(ApplicationProvider.getApplicationContext(), DataStoreConfiguration.builder()
+            .syncInterval(2L, TimeUnit.MINUTES)
+            .writeAheadLoggingEnabled(true)
+            .build());
+    }
+
+    /**
+     * Terminates the adapter, and deletes the database.
+     */
+    @After
+    public void teardown() {
+        TestStorageAdapter.cleanup(adapter);
+    }
+
+    /**
+     * The database is opened with the WAL journal mode.
+     */
+    @Test
+    public void databaseUsesWriteAheadLogging() {
+        Context context = ApplicationProvider.getApplicationContext();
+        String path = context.getDatabasePath(SQLiteStorageAdapter.DEFAULT_DATABASE_NAME).getPath();
+        try (SQLiteDatabase database = SQLiteDatabase.openDatabase(path, null, SQLiteDatabase.OPEN_READONLY);
+             Cursor cursor = database.rawQuery("PRAGMA journal_mode", null)) {
+            assertTrue(cursor.moveToFirst());
+            assertTrue("wal".equalsIgnoreCase(cursor.getString(0)));
+        }
+    }
+
+    /**
+     * All writes run on the single write executor, even when they are submitted at the same time,
+     * while queries made during those writes still complete.
+     * @throws DataStoreException On failure to query the adapter
+     * @throws InterruptedException If interrupted while awaiting the writes
+     */
+    @Test
+    public void writesRunOnSingleThreadWhileQueriesComplete() throws DataStoreException, InterruptedException {
+        Set<Thread> writeThreads = Collections.synchronizedSet(new HashSet<>());
+        List<DataStoreException> errors = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch writesDone = new CountDownLatch(NUMBER_OF_WRITES);
+
+        // Act: submit all of the writes at once, and query while they are being applied.
+        for (int index = 0; index < NUMBER_OF_WRITES; index++) {
+            BlogOwner owner = BlogOwner.builder()
+                .name("Owner " + index)
+                .build();
+            sqliteStorageAdapter.save(owner, StorageItemChange.Initiator.DATA_STORE_API, QueryPredicates.all(),
+                change -> {
+                    writeThreads.add(Thread.currentThread());
+                    writesDone.countDown();
+                },
+                error -> {
+                    errors.add(error);
+                    writesDone.countDown();
+                }
+            );
+        }
+        // The query must complete while writes are pending; the synchronous adapter throws on a timeout.
+        int queriedBeforeWritesDone = adapter.query(BlogOwner.class).size();
+        assertTrue(queriedBeforeWritesDone <= NUMBER_OF_WRITES);
+
+        // Assert: every write succeeded, on one and the same thread.
+        assertTrue(writesDone.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        assertTrue(errors.toString(), errors.isEmpty());
+        assertEquals(1, writeThreads.size());
+        assertEquals(NUMBER_OF_WRITES, adapter.query(BlogOwner.class).size());
+    }
+}
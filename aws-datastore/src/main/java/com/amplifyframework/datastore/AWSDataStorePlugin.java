@@ -54,7 +54,9 @@ import com.amplifyframework.logging.Logger;
 import org.json.JSONObject;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -422,6 +424,32 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
         ), onFailureToSave);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void saveAll(
+            @NonNull List<T> items,
+            @NonNull Consumer<List<DataStoreItemChange<T>>> onItemsSaved,
+            @NonNull Consumer<DataStoreException> onFailureToSave) {
+        start(() -> sqliteStorageAdapter.saveAll(
+            items,
+            StorageItemChange.Initiator.DATA_STORE_API,
+            itemSaves -> {
+                try {
+                    List<DataStoreItemChange<T>> changes = new ArrayList<>(itemSaves.size());
+                    for (StorageItemChange<T> itemSave : itemSaves) {
+                        changes.add(ItemChangeMapper.map(itemSave));
+                    }
+                    onItemsSaved.accept(changes);
+                } catch (DataStoreException dataStoreException) {
+                    onFailureToSave.accept(dataStoreException);
+                }
+            },
+            onFailureToSave
+        ), onFailureToSave);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -522,6 +550,19 @@ public final class AWSDataStorePlugin extends DataStorePlugin<Void> {
         start(() -> sqliteStorageAdapter.query(itemClass, options, onQueryResults, onQueryFailure), onQueryFailure);
     }
 
+    @Override
+    public <T extends Model> void queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onQueryStarted,
+            @NonNull Consumer<T> onQueryResult,
+            @NonNull Consumer<DataStoreException> onQueryFailure,
+            @NonNull Action onQueryComplete) {
+        start(() -> sqliteStorageAdapter.queryStream(
+            itemClass, options, onQueryStarted, onQueryResult, onQueryFailure, onQueryComplete
+        ), onQueryFailure);
+    }
+
     @Override
     public void observe(
             @NonNull Consumer<Cancelable> onObservationStarted,
@@ -47,6 +47,20 @@ public final class DataStoreConfiguration {
     static final int DEFAULT_SYNC_PAGE_SIZE = 1_000;
     @VisibleForTesting
     static final boolean DEFAULT_DO_SYNC_RETRY = false;
+    @VisibleForTesting
+    static final boolean DEFAULT_SYNC_MERGE_BATCHING_ENABLED = false;
+    @VisibleForTesting
+    static final int DEFAULT_SYNC_MAX_CONCURRENT_MODELS = 1;
+    @VisibleForTesting
+    static final int DEFAULT_SYNC_PAGE_PREFETCH_DEPTH = 2;
+    @VisibleForTesting
+    static final int DEFAULT_SUBSCRIPTION_BUFFER_CAPACITY = 0;
+    @VisibleForTesting
+    static final boolean DEFAULT_WRITE_AHEAD_LOGGING_ENABLED = false;
+    @VisibleForTesting
+    static final int DEFAULT_MAX_CONCURRENT_MUTATIONS = 1;
+    @VisibleForTesting
+    static final int DEFAULT_MUTATION_BATCH_SIZE = 1;
     static final int MAX_RECORDS = 1000;
     static final long MAX_TIME_SEC = 2;
 
@@ -57,6 +71,13 @@ public final class DataStoreConfiguration {
     private final Integer syncMaxRecords;
     private final Integer syncPageSize;
     private final boolean doSyncRetry;
+    private final boolean syncMergeBatchingEnabled;
+    private final Integer syncMaxConcurrentModels;
+    private final Integer syncPagePrefetchDepth;
+    private final Integer subscriptionBufferCapacity;
+    private final boolean writeAheadLoggingEnabled;
+    private final Integer maxConcurrentMutations;
+    private final Integer mutationBatchSize;
     private final Map<String, DataStoreSyncExpression> syncExpressions;
     private final Long syncIntervalInMinutes;
     private final Long maxTimeLapseForObserveQuery;
@@ -70,6 +91,13 @@ public final class DataStoreConfiguration {
         this.syncIntervalInMinutes = builder.syncIntervalInMinutes;
         this.syncExpressions = builder.syncExpressions;
         this.doSyncRetry = builder.doSyncRetry;
+        this.syncMergeBatchingEnabled = builder.syncMergeBatchingEnabled;
+        this.syncMaxConcurrentModels = builder.syncMaxConcurrentModels;
+        this.syncPagePrefetchDepth = builder.syncPagePrefetchDepth;
+        this.subscriptionBufferCapacity = builder.subscriptionBufferCapacity;
+        this.writeAheadLoggingEnabled = builder.writeAheadLoggingEnabled;
+        this.maxConcurrentMutations = builder.maxConcurrentMutations;
+        this.mutationBatchSize = builder.mutationBatchSize;
         this.maxTimeLapseForObserveQuery = builder.maxTimeLapseForObserveQuery;
         this.observeQueryMaxRecords = builder.observeQueryMaxRecords;
     }
@@ -126,6 +154,13 @@ public final class DataStoreConfiguration {
             .syncPageSize(DEFAULT_SYNC_PAGE_SIZE)
             .syncMaxRecords(DEFAULT_SYNC_MAX_RECORDS)
                 .doSyncRetry(DEFAULT_DO_SYNC_RETRY)
+                .syncMergeBatchingEnabled(DEFAULT_SYNC_MERGE_BATCHING_ENABLED)
+                .syncMaxConcurrentModels(DEFAULT_SYNC_MAX_CONCURRENT_MODELS)
+                .syncPagePrefetchDepth(DEFAULT_SYNC_PAGE_PREFETCH_DEPTH)
+                .subscriptionBufferCapacity(DEFAULT_SUBSCRIPTION_BUFFER_CAPACITY)
+                .writeAheadLoggingEnabled(DEFAULT_WRITE_AHEAD_LOGGING_ENABLED)
+                .maxConcurrentMutations(DEFAULT_MAX_CONCURRENT_MUTATIONS)
+                .mutationBatchSize(DEFAULT_MUTATION_BATCH_SIZE)
                 .observeQueryMaxTime(MAX_TIME_SEC)
                 .observeQueryMaxRecords(MAX_RECORDS)
             .build();
@@ -200,6 +235,75 @@ public final class DataStoreConfiguration {
         return this.doSyncRetry;
     }
 
+    /**
+     * Gets whether the items in a page of sync results are merged into the local store
+     * as a single batch, instead of one at a time.
+     * @return true if sync pages are merged in a batch
+     */
+    public Boolean isSyncMergeBatchingEnabled() {
+        return this.syncMergeBatchingEnabled;
+    }
+
+    /**
+     * Gets the maximum number of models which are synced at the same time, during the initial sync.
+     * Only models which do not depend on each other are synced at the same time.
+     * @return The max number of models synced concurrently
+     */
+    @IntRange(from = 1)
+    public Integer getSyncMaxConcurrentModels() {
+        return this.syncMaxConcurrentModels;
+    }
+
+    /**
+     * Gets the maximum number of pages of sync results which are fetched ahead of the page
+     * that is being merged into the local store.
+     * @return The max number of sync pages fetched ahead
+     */
+    @IntRange(from = 1)
+    public Integer getSyncPagePrefetchDepth() {
+        return this.syncPagePrefetchDepth;
+    }
+
+    /**
+     * Gets the maximum number of subscription events which are buffered while the initial sync
+     * is in progress. When set, only the latest event for each model instance is buffered.
+     * A value of 0 means that the buffer is unbounded.
+     * @return The capacity of the subscription event buffer
+     */
+    @IntRange(from = 0)
+    public Integer getSubscriptionBufferCapacity() {
+        return this.subscriptionBufferCapacity;
+    }
+
+    /**
+     * Gets whether the local SQLite database uses write-ahead logging, so that queries can
+     * run concurrently with writes.
+     * @return true if write-ahead logging is enabled
+     */
+    public Boolean isWriteAheadLoggingEnabled() {
+        return this.writeAheadLoggingEnabled;
+    }
+
+    /**
+     * Gets the maximum number of pending mutations which are published to the cloud at the same time,
+     * while draining the mutation outbox. When mutations are batched, this is the max number of batches.
+     * @return The max number of mutations published concurrently
+     */
+    @IntRange(from = 1)
+    public Integer getMaxConcurrentMutations() {
+        return this.maxConcurrentMutations;
+    }
+
+    /**
+     * Gets the maximum number of pending mutations which are published to the cloud in a single
+     * GraphQL request, while draining the mutation outbox.
+     * @return The max number of mutations in a batch
+     */
+    @IntRange(from = 1)
+    public Integer getMutationBatchSize() {
+        return this.mutationBatchSize;
+    }
+
     /**
      * Returns the Map of all {@link DataStoreSyncExpression}s used to filter data received from AppSync, either during
      * a sync or over the real-time subscription.
@@ -240,6 +344,27 @@ public final class DataStoreConfiguration {
         if (!ObjectsCompat.equals(getDoSyncRetry(), that.getDoSyncRetry())) {
             return false;
         }
+        if (!ObjectsCompat.equals(isSyncMergeBatchingEnabled(), that.isSyncMergeBatchingEnabled())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getSyncMaxConcurrentModels(), that.getSyncMaxConcurrentModels())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getSyncPagePrefetchDepth(), that.getSyncPagePrefetchDepth())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getSubscriptionBufferCapacity(), that.getSubscriptionBufferCapacity())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(isWriteAheadLoggingEnabled(), that.isWriteAheadLoggingEnabled())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getMaxConcurrentMutations(), that.getMaxConcurrentMutations())) {
+            return false;
+        }
+        if (!ObjectsCompat.equals(getMutationBatchSize(), that.getMutationBatchSize())) {
+            return false;
+        }
         if (!ObjectsCompat.equals(getMaxTimeLapseForObserveQuery(), that.getMaxTimeLapseForObserveQuery())) {
             return false;
         }
@@ -258,6 +383,14 @@ public final class DataStoreConfiguration {
         result = 31 * result + (getSyncIntervalInMinutes() != null ? getSyncIntervalInMinutes().hashCode() : 0);
         result = 31 * result + (getSyncExpressions() != null ? getSyncExpressions().hashCode() : 0);
         result = 31 * result + getDoSyncRetry().hashCode();
+        result = 31 * result + isSyncMergeBatchingEnabled().hashCode();
+        result = 31 * result + (getSyncMaxConcurrentModels() != null ? getSyncMaxConcurrentModels().hashCode() : 0);
+        result = 31 * result + (getSyncPagePrefetchDepth() != null ? getSyncPagePrefetchDepth().hashCode() : 0);
+        result = 31 * result +
+            (getSubscriptionBufferCapacity() != null ? getSubscriptionBufferCapacity().hashCode() : 0);
+        result = 31 * result + isWriteAheadLoggingEnabled().hashCode();
+        result = 31 * result + (getMaxConcurrentMutations() != null ? getMaxConcurrentMutations().hashCode() : 0);
+        result = 31 * result + (getMutationBatchSize() != null ? getMutationBatchSize().hashCode() : 0);
         result = 31 * result + (getObserveQueryMaxRecords() != null ? getObserveQueryMaxRecords().hashCode() : 0);
         result = 31 * result + getMaxTimeLapseForObserveQuery().hashCode();
         return result;
@@ -273,6 +406,13 @@ public final class DataStoreConfiguration {
             ", syncIntervalInMinutes=" + syncIntervalInMinutes +
             ", syncExpressions=" + syncExpressions +
                 ", doSyncRetry=" + doSyncRetry +
+                ", syncMergeBatchingEnabled=" + syncMergeBatchingEnabled +
+                ", syncMaxConcurrentModels=" + syncMaxConcurrentModels +
+                ", syncPagePrefetchDepth=" + syncPagePrefetchDepth +
+                ", subscriptionBufferCapacity=" + subscriptionBufferCapacity +
+                ", writeAheadLoggingEnabled=" + writeAheadLoggingEnabled +
+                ", maxConcurrentMutations=" + maxConcurrentMutations +
+                ", mutationBatchSize=" + mutationBatchSize +
                 ", maxTimeRelapseForObserveQuery=" + maxTimeLapseForObserveQuery +
                 ", observeQueryMaxRecords=" + observeQueryMaxRecords +
             '}';
@@ -308,6 +448,13 @@ public final class DataStoreConfiguration {
         private Integer syncMaxRecords;
         private Integer syncPageSize;
         private boolean doSyncRetry;
+        private boolean syncMergeBatchingEnabled;
+        private Integer syncMaxConcurrentModels;
+        private Integer syncPagePrefetchDepth;
+        private Integer subscriptionBufferCapacity;
+        private boolean writeAheadLoggingEnabled;
+        private Integer maxConcurrentMutations;
+        private Integer mutationBatchSize;
         private Map<String, DataStoreSyncExpression> syncExpressions;
         private boolean ensureDefaults;
         private JSONObject pluginJson;
@@ -417,6 +564,104 @@ public final class DataStoreConfiguration {
             return Builder.this;
         }
 
+        /**
+         * Sets whether each page of sync results is merged into the local store as a single batch.
+         * When enabled, the local versions of all items in a page are looked up together, and
+         * the page is written in a single transaction, which is much faster for large syncs.
+         * @param syncMergeBatchingEnabled Whether to merge sync pages in a batch
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder syncMergeBatchingEnabled(boolean syncMergeBatchingEnabled) {
+            this.syncMergeBatchingEnabled = syncMergeBatchingEnabled;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the maximum number of models which are synced at the same time, during the initial sync.
+         * Models are still synced in topological order: a model is only synced after every model
+         * it belongs to has been synced. A value of 1, the default, syncs one model at a time.
+         * @param syncMaxConcurrentModels Max number of models synced concurrently
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder syncMaxConcurrentModels(@IntRange(from = 1) Integer syncMaxConcurrentModels) {
+            this.syncMaxConcurrentModels = syncMaxConcurrentModels;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the maximum number of pages of sync results which are fetched ahead of the page
+         * that is being merged into the local store. Fetching ahead overlaps the network requests
+         * for the next pages with the merge of the current one, while bounding the number of pages
+         * held in memory.
+         * @param syncPagePrefetchDepth Max number of sync pages fetched ahead
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder syncPagePrefetchDepth(@IntRange(from = 1) Integer syncPagePrefetchDepth) {
+            this.syncPagePrefetchDepth = syncPagePrefetchDepth;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the maximum number of subscription events which are buffered while the initial sync
+         * is in progress. Events are only merged into the local store once the initial sync completes.
+         * When a capacity is set, the buffer only keeps the latest event for each model instance, since
+         * later versions supersede earlier ones. If the buffer is still full, further events are dropped,
+         * and those changes are only applied by a later sync. By default, the buffer is unbounded.
+         * @param subscriptionBufferCapacity Max number of buffered subscription events, or 0 for no limit
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder subscriptionBufferCapacity(@IntRange(from = 0) Integer subscriptionBufferCapacity) {
+            this.subscriptionBufferCapacity = subscriptionBufferCapacity;
+            return Builder.this;
+        }
+
+        /**
+         * Sets whether the local SQLite database uses write-ahead logging. When enabled, queries
+         * run on a pool of read-only connections, and are not blocked by writes, such as those made
+         * while syncing. All writes are made, one at a time, on a single thread.
+         * @param writeAheadLoggingEnabled Whether to enable write-ahead logging
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder writeAheadLoggingEnabled(boolean writeAheadLoggingEnabled) {
+            this.writeAheadLoggingEnabled = writeAheadLoggingEnabled;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the maximum number of pending mutations which are published to the cloud at the same time,
+         * while draining the mutation outbox. Mutations of the same model instance are still published
+         * one at a time, in the order they were made, and mutations of a model are only published after
+         * the earlier mutations of the models it belongs to. A value of 1 publishes one mutation at a time.
+         * When mutations are batched, this is the max number of batches published at the same time.
+         * @param maxConcurrentMutations Max number of mutations published concurrently
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder maxConcurrentMutations(@IntRange(from = 1) Integer maxConcurrentMutations) {
+            this.maxConcurrentMutations = maxConcurrentMutations;
+            return Builder.this;
+        }
+
+        /**
+         * Sets the maximum number of pending mutations which are published to the cloud in a single
+         * GraphQL request, while draining the mutation outbox. The mutations of a batch are made as
+         * aliased fields of one document, and follow the same ordering rules as concurrent mutations.
+         * A batch is also split if its request would be too large. Batching is only used with the
+         * default auth mode strategy. A value of 1 publishes each mutation in its own request.
+         * @param mutationBatchSize Max number of mutations in a batch
+         * @return Current builder instance
+         */
+        @NonNull
+        public Builder mutationBatchSize(@IntRange(from = 1) Integer mutationBatchSize) {
+            this.mutationBatchSize = mutationBatchSize;
+            return Builder.this;
+        }
+
         /**
          * Sets the number of items requested in each page of sync results.
          * @param syncPageSize Number of items requested per page in sync operation
@@ -517,6 +762,20 @@ public final class DataStoreConfiguration {
             syncPageSize = getValueOrDefault(userProvidedConfiguration.getSyncPageSize(), syncPageSize);
             syncExpressions = userProvidedConfiguration.getSyncExpressions();
             doSyncRetry = getValueOrDefault(userProvidedConfiguration.getDoSyncRetry(), doSyncRetry);
+            syncMergeBatchingEnabled = getValueOrDefault(userProvidedConfiguration.isSyncMergeBatchingEnabled(),
+                    syncMergeBatchingEnabled);
+            syncMaxConcurrentModels = getValueOrDefault(userProvidedConfiguration.getSyncMaxConcurrentModels(),
+                    syncMaxConcurrentModels);
+            syncPagePrefetchDepth = getValueOrDefault(userProvidedConfiguration.getSyncPagePrefetchDepth(),
+                    syncPagePrefetchDepth);
+            subscriptionBufferCapacity = getValueOrDefault(userProvidedConfiguration.getSubscriptionBufferCapacity(),
+                    subscriptionBufferCapacity);
+            writeAheadLoggingEnabled = getValueOrDefault(userProvidedConfiguration.isWriteAheadLoggingEnabled(),
+                    writeAheadLoggingEnabled);
+            maxConcurrentMutations = getValueOrDefault(userProvidedConfiguration.getMaxConcurrentMutations(),
+                    maxConcurrentMutations);
+            mutationBatchSize = getValueOrDefault(userProvidedConfiguration.getMutationBatchSize(),
+                    mutationBatchSize);
             observeQueryMaxRecords = getValueOrDefault(userProvidedConfiguration.getObserveQueryMaxRecords(),
                     observeQueryMaxRecords);
             maxTimeLapseForObserveQuery = userProvidedConfiguration.getMaxTimeLapseForObserveQuery()
@@ -547,6 +806,13 @@ public final class DataStoreConfiguration {
                 syncIntervalInMinutes = getValueOrDefault(syncIntervalInMinutes, DEFAULT_SYNC_INTERVAL_MINUTES);
                 syncMaxRecords = getValueOrDefault(syncMaxRecords, DEFAULT_SYNC_MAX_RECORDS);
                 syncPageSize = getValueOrDefault(syncPageSize, DEFAULT_SYNC_PAGE_SIZE);
+                syncMaxConcurrentModels = getValueOrDefault(syncMaxConcurrentModels,
+                        DEFAULT_SYNC_MAX_CONCURRENT_MODELS);
+                syncPagePrefetchDepth = getValueOrDefault(syncPagePrefetchDepth, DEFAULT_SYNC_PAGE_PREFETCH_DEPTH);
+                subscriptionBufferCapacity = getValueOrDefault(subscriptionBufferCapacity,
+                        DEFAULT_SUBSCRIPTION_BUFFER_CAPACITY);
+                maxConcurrentMutations = getValueOrDefault(maxConcurrentMutations, DEFAULT_MAX_CONCURRENT_MUTATIONS);
+                mutationBatchSize = getValueOrDefault(mutationBatchSize, DEFAULT_MUTATION_BATCH_SIZE);
                 observeQueryMaxRecords = getValueOrDefault(observeQueryMaxRecords, MAX_RECORDS);
                 maxTimeLapseForObserveQuery = maxTimeLapseForObserveQuery == 0 ? MAX_TIME_SEC :
                         maxTimeLapseForObserveQuery;
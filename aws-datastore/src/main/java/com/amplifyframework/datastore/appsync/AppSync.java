@@ -20,6 +20,7 @@ import androidx.annotation.Nullable;
 
 import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.api.graphql.MutationType;
 import com.amplifyframework.api.graphql.PaginatedResult;
 import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Consumer;
@@ -29,6 +30,8 @@ import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.datastore.DataStoreException;
 
+import java.util.List;
+
 /**
  * Client interface for an AppSync service endpoint.
  *
@@ -178,6 +181,43 @@ public interface AppSync {
             @NonNull Consumer<DataStoreException> onFailure
     );
 
+    /**
+     * Builds a mutation {@link GraphQLRequest} that can be passed to the
+     * {@link AppSync#mutateBatch(List, Consumer, Consumer)} method.
+     * @param model An instance of the Model with the values to mutate
+     * @param modelSchema The schema of the object being mutated
+     * @param mutationType The type of mutation: creation, update, or deletion
+     * @param version The version of the model we have. Not used for creations, which may pass null.
+     * @param predicate Condition to use for an update or deletion.
+     * @param <T> The type of data in the response. Must extend Model.
+     * @return A {@link GraphQLRequest} for making a mutation
+     * @throws DataStoreException on error building GraphQLRequest due to inability to obtain model schema.
+     */
+    @NonNull
+    <T extends Model> GraphQLRequest<ModelWithMetadata<T>> buildMutationRequest(
+            @NonNull T model,
+            @NonNull ModelSchema modelSchema,
+            @NonNull MutationType mutationType,
+            @Nullable Integer version,
+            @NonNull QueryPredicate predicate
+    ) throws DataStoreException;
+
+    /**
+     * Uses Amplify API to make several mutations in a single GraphQL request. Each of the mutations
+     * is made as an aliased field of one document. The response is split back into one response per
+     * mutation, in the order of the requests, each with the errors that belong to its mutation.
+     * @param requests Mutation requests, as built by {@link #buildMutationRequest}
+     * @param onResponse Invoked with one response per request, when response data is available.
+     * @param onFailure Invoked on failure to obtain response data for the batch
+     * @return A {@link Cancelable} to provide a means to cancel the asynchronous operation
+     */
+    @NonNull
+    Cancelable mutateBatch(
+            @NonNull List<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>> requests,
+            @NonNull Consumer<List<GraphQLResponse<? extends ModelWithMetadata<? extends Model>>>> onResponse,
+            @NonNull Consumer<DataStoreException> onFailure
+    );
+
     /**
      * Get notified when a create event happens on a given class.
      * @param modelSchema The schema of the Model we are listening on
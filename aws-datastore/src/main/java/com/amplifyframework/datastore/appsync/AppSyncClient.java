@@ -25,6 +25,7 @@ import com.amplifyframework.api.aws.AuthModeStrategyType;
 import com.amplifyframework.api.graphql.GraphQLBehavior;
 import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.api.graphql.MutationType;
 import com.amplifyframework.api.graphql.PaginatedResult;
 import com.amplifyframework.api.graphql.SubscriptionType;
 import com.amplifyframework.core.Action;
@@ -39,6 +40,10 @@ import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.logging.Logger;
 
+import com.google.gson.JsonObject;
+
+import java.util.List;
+
 /**
  * An implementation of the {@link AppSync} client interface.
  *
@@ -246,6 +251,80 @@ public final class AppSyncClient implements AppSync {
         return new NoOpCancelable();
     }
 
+    @NonNull
+    @Override
+    public <T extends Model> GraphQLRequest<ModelWithMetadata<T>> buildMutationRequest(
+            @NonNull T model,
+            @NonNull ModelSchema modelSchema,
+            @NonNull MutationType mutationType,
+            @Nullable Integer version,
+            @NonNull QueryPredicate predicate) throws DataStoreException {
+        switch (mutationType) {
+            case CREATE:
+                return AppSyncRequestFactory.buildCreationRequest(modelSchema, model, authModeStrategyType);
+            case UPDATE:
+                return AppSyncRequestFactory.buildUpdateRequest(modelSchema,
+                                                                model,
+                                                                version,
+                                                                predicate,
+                                                                authModeStrategyType);
+            case DELETE:
+                return AppSyncRequestFactory.buildDeletionRequest(modelSchema,
+                                                                  model,
+                                                                  version,
+                                                                  predicate,
+                                                                  authModeStrategyType);
+            default:
+                throw new DataStoreException(
+                    "Unknown mutation type = " + mutationType,
+                    AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+                );
+        }
+    }
+
+    @NonNull
+    @Override
+    public Cancelable mutateBatch(
+            @NonNull List<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>> requests,
+            @NonNull Consumer<List<GraphQLResponse<? extends ModelWithMetadata<? extends Model>>>> onResponse,
+            @NonNull Consumer<DataStoreException> onFailure) {
+        if (!AuthModeStrategyType.DEFAULT.equals(authModeStrategyType)) {
+            // Each mutation may need a different authorization type, so they can't share a request.
+            onFailure.accept(new DataStoreException(
+                "Mutations can only be batched with the default auth mode strategy.",
+                "Publish the mutations one at a time, or don't batch mutations when using multi-auth."
+            ));
+            return new NoOpCancelable();
+        }
+        final GraphQLRequest<JsonObject> request;
+        try {
+            request = AppSyncRequestFactory.buildBatchMutationRequest(requests);
+        } catch (DataStoreException requestGenerationException) {
+            onFailure.accept(requestGenerationException);
+            return new NoOpCancelable();
+        }
+
+        final Consumer<GraphQLResponse<JsonObject>> responseConsumer = response -> {
+            final List<GraphQLResponse<? extends ModelWithMetadata<? extends Model>>> responses;
+            try {
+                responses = AppSyncRequestFactory.splitBatchMutationResponse(requests, response);
+            } catch (DataStoreException splitFailure) {
+                onFailure.accept(splitFailure);
+                return;
+            }
+            onResponse.accept(responses);
+        };
+        final Consumer<ApiException> failureConsumer =
+            failure -> onFailure.accept(new DataStoreException(
+                "Failure during batch of mutations.", failure, "Check details."
+            ));
+        final Cancelable cancelable = api.mutate(request, responseConsumer, failureConsumer);
+        if (cancelable != null) {
+            return cancelable;
+        }
+        return new NoOpCancelable();
+    }
+
     @NonNull
     @Override
     public <T extends Model> Cancelable onCreate(
@@ -15,15 +15,21 @@
 
 package com.amplifyframework.datastore.appsync;
 
+import android.text.TextUtils;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.aws.AppSyncGraphQLRequest;
 import com.amplifyframework.api.aws.AuthModeStrategyType;
+import com.amplifyframework.api.aws.GsonVariablesSerializer;
+import com.amplifyframework.api.graphql.GraphQLPathSegment;
+import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.GraphQLResponse;
 import com.amplifyframework.api.graphql.MutationType;
 import com.amplifyframework.api.graphql.PaginatedResult;
 import com.amplifyframework.api.graphql.QueryType;
+import com.amplifyframework.api.graphql.SimpleGraphQLRequest;
 import com.amplifyframework.api.graphql.SubscriptionType;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.model.AuthRule;
@@ -53,7 +59,13 @@ import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.logging.Logger;
 import com.amplifyframework.util.Casing;
+import com.amplifyframework.util.GsonFactory;
 import com.amplifyframework.util.TypeMaker;
+import com.amplifyframework.util.Wrap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 
 import java.io.Serializable;
 import java.lang.reflect.Field;
@@ -78,6 +90,7 @@ import java.util.Map;
  */
 final class AppSyncRequestFactory {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    private static final String BATCH_ALIAS_PREFIX = "mutation";
 
     private AppSyncRequestFactory() {}
 
@@ -228,6 +241,136 @@ final class AppSyncRequestFactory {
         }
     }
 
+    /**
+     * Combines several mutation requests into a single GraphQL document. Each mutation becomes a field
+     * of the document, aliased by its position in the list, and each of its variables is suffixed with
+     * that position, so that the variables of different mutations don't collide. For example:
+     *
+     *   mutation BatchMutation($input0: CreateBlogInput!, $input1: UpdatePostInput!) {
+     *     mutation0: createBlog(input: $input0) { ... }
+     *     mutation1: updatePost(input: $input1) { ... }
+     *   }
+     *
+     * @param requests Mutation requests, as built by this factory
+     * @return A request for all of the mutations, whose response data is keyed by alias
+     * @throws DataStoreException If any of the requests is not an AppSync mutation
+     */
+    @NonNull
+    static GraphQLRequest<JsonObject> buildBatchMutationRequest(
+            @NonNull List<? extends GraphQLRequest<?>> requests) throws DataStoreException {
+        final List<String> variableDeclarations = new ArrayList<>();
+        final List<String> fields = new ArrayList<>();
+        final Map<String, Object> variables = new HashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            final GraphQLRequest<?> request = requests.get(index);
+            if (!(request instanceof AppSyncGraphQLRequest) ||
+                    !(((AppSyncGraphQLRequest<?>) request).getOperation() instanceof MutationType)) {
+                throw new DataStoreException(
+                    "Only AppSync mutations can be batched, but found " + request + ".",
+                    AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+                );
+            }
+            final AppSyncGraphQLRequest<?> mutation = (AppSyncGraphQLRequest<?>) request;
+            final Map<String, String> variableTypes = mutation.getVariableTypes();
+            final List<String> keys = new ArrayList<>(variableTypes.keySet());
+            Collections.sort(keys);
+
+            final List<String> arguments = new ArrayList<>();
+            for (String key : keys) {
+                String batchKey = key + index;
+                variableDeclarations.add("$" + batchKey + ": " + variableTypes.get(key));
+                arguments.add(key + ": $" + batchKey);
+                variables.put(batchKey, mutation.getVariables().get(key));
+            }
+            String fieldName = Casing.from(Casing.CaseType.SCREAMING_SNAKE_CASE)
+                    .to(Casing.CaseType.CAMEL_CASE)
+                    .convert(mutation.getOperation().toString()) +
+                Casing.capitalizeFirst(mutation.getModelSchema().getName());
+            fields.add(batchAlias(index) + ": " + fieldName +
+                Wrap.inParentheses(TextUtils.join(", ", arguments)) +
+                mutation.getSelectionSet().toString("  "));
+        }
+        String document = "mutation BatchMutation" +
+            Wrap.inParentheses(TextUtils.join(", ", variableDeclarations)) +
+            Wrap.inPrettyBraces(TextUtils.join("\n  ", fields), "", "  ") +
+            "\n";
+        return new SimpleGraphQLRequest<>(document, variables, JsonObject.class, new GsonVariablesSerializer());
+    }
+
+    /**
+     * Splits the response to a request built by {@link #buildBatchMutationRequest(List)} into one
+     * response per mutation, in the order of the requests. Each response holds the data of its alias,
+     * and the errors whose path starts at that alias. Errors without a path are given to the mutations
+     * that have no data.
+     * @param requests The mutation requests that were batched
+     * @param response The response to the batch
+     * @return One response per mutation request
+     * @throws DataStoreException If the batch was rejected as a whole, or its data can't be parsed
+     */
+    @NonNull
+    static List<GraphQLResponse<? extends ModelWithMetadata<? extends Model>>> splitBatchMutationResponse(
+            @NonNull List<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>> requests,
+            @NonNull GraphQLResponse<JsonObject> response) throws DataStoreException {
+        if (!response.hasData()) {
+            // Nothing was executed, e.g. because the document failed validation.
+            throw new DataStoreException.GraphQLResponseException(
+                "Batch of mutations was rejected. AppSync response contained errors = " + response.getErrors(),
+                response.getErrors()
+            );
+        }
+        final JsonObject data = response.getData();
+        final List<GraphQLResponse.Error> unattributedErrors = new ArrayList<>();
+        final Map<String, List<GraphQLResponse.Error>> errorsByAlias = new HashMap<>();
+        for (GraphQLResponse.Error error : response.getErrors()) {
+            List<GraphQLPathSegment> path = error.getPath();
+            if (path == null || path.isEmpty() || !path.get(0).isString()) {
+                unattributedErrors.add(error);
+                continue;
+            }
+            String alias = path.get(0).getAsString();
+            List<GraphQLResponse.Error> errors = errorsByAlias.get(alias);
+            if (errors == null) {
+                errors = new ArrayList<>();
+                errorsByAlias.put(alias, errors);
+            }
+            errors.add(error);
+        }
+
+        final List<GraphQLResponse<? extends ModelWithMetadata<? extends Model>>> responses =
+            new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            final String alias = batchAlias(index);
+            final JsonElement element = data.get(alias);
+            final List<GraphQLResponse.Error> errors = new ArrayList<>();
+            if (errorsByAlias.containsKey(alias)) {
+                errors.addAll(errorsByAlias.get(alias));
+            }
+            if (element == null || element.isJsonNull()) {
+                errors.addAll(unattributedErrors);
+            }
+            if (!errors.isEmpty() || element == null || element.isJsonNull()) {
+                responses.add(new GraphQLResponse<ModelWithMetadata<? extends Model>>(null, errors));
+                continue;
+            }
+            try {
+                ModelWithMetadata<? extends Model> modelWithMetadata =
+                    GsonFactory.instance().fromJson(element, requests.get(index).getResponseType());
+                responses.add(new GraphQLResponse<>(modelWithMetadata, errors));
+            } catch (JsonParseException parseError) {
+                throw new DataStoreException(
+                    "Failed to parse the response to a batched mutation.",
+                    parseError,
+                    AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+                );
+            }
+        }
+        return responses;
+    }
+
+    private static String batchAlias(int index) {
+        return BATCH_ALIAS_PREFIX + index;
+    }
+
     static Map<String, Object> parsePredicate(QueryPredicate queryPredicate) throws DataStoreException {
         if (queryPredicate instanceof QueryPredicateOperation) {
             QueryPredicateOperation<?> qpo = (QueryPredicateOperation<?>) queryPredicate;
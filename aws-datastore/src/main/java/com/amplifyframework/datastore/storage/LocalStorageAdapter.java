@@ -27,12 +27,18 @@ import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.query.ObserveQueryOptions;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreConfiguration;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.DataStoreQuerySnapshot;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 
 /**
  * A LocalStorageAdapter provides a simple set of interactions to
@@ -89,6 +95,37 @@ public interface LocalStorageAdapter {
             @NonNull Consumer<DataStoreException> onError
     );
 
+    /**
+     * Save a batch of items into local storage. All of the items are written in a single
+     * transaction: either every item is saved, or none of them are. Item changes are only
+     * published to observers after the whole batch has been committed.
+     *
+     * The default implementation saves the items one at a time, in order, and so is not atomic.
+     * Adapters which support transactions should override it.
+     * @param <T> The type of the items being stored
+     * @param items the items to save into the repository
+     * @param initiator An identification of the actor who initiated this save
+     * @param onSuccess A callback that will be invoked with one change per item, if the save succeeds
+     * @param onError A callback that will be invoked if the save fails with an error
+     */
+    default <T extends Model> void saveAll(
+            @NonNull List<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Observable.fromIterable(items)
+            .concatMapSingle(item -> Single.<StorageItemChange<T>>create(emitter ->
+                save(item, initiator, QueryPredicates.all(), emitter::onSuccess, emitter::onError)
+            ))
+            .toList()
+            .subscribe(onSuccess::accept, error -> onError.accept(error instanceof DataStoreException ?
+                (DataStoreException) error :
+                new DataStoreException(
+                    "Failed to write the batch of items.", error, "See attached exception for details."
+                )
+            ));
+    }
+
     /**
      * Query the storage for items of a given type with specific conditions.
      * @param itemClass Items that have this class will be solicited
@@ -104,6 +141,42 @@ public interface LocalStorageAdapter {
             @NonNull Consumer<DataStoreException> onError
     );
 
+    /**
+     * Query the storage for items of a given type with specific conditions, and stream the
+     * results back one at a time, as they are read. Items are not buffered: the next item is
+     * only read after {@code onItem} returns for the previous one.
+     *
+     * The default implementation reads the items with
+     * {@link #query(Class, QueryOptions, Consumer, Consumer)}, and so does buffer them.
+     * Adapters which can read items one at a time should override it.
+     * @param itemClass Items that have this class will be solicited
+     * @param options options, such as predicates, pagination to apply to query
+     * @param onStarted A callback that receives a {@link Cancelable}, with which the query may be
+     *                  stopped early, releasing any resources it holds
+     * @param onItem A callback that will be invoked once for each item that matches the query
+     * @param onError A callback that will be notified if the query fails with an error
+     * @param onComplete A callback that will be invoked after the last item, if the query was not cancelled
+     * @param <T> Type type of the items that are being queried
+     */
+    default <T extends Model> void queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onStarted,
+            @NonNull Consumer<T> onItem,
+            @NonNull Consumer<DataStoreException> onError,
+            @NonNull Action onComplete) {
+        final AtomicBoolean canceled = new AtomicBoolean(false);
+        onStarted.accept(() -> canceled.set(true));
+        query(itemClass, options, results -> {
+            while (!canceled.get() && results.hasNext()) {
+                onItem.accept(results.next());
+            }
+            if (!canceled.get()) {
+                onComplete.call();
+            }
+        }, onError);
+    }
+
     /**
      * Query the storage for items of a given type with specific conditions.
      * @param modelName name of the Model to query
@@ -137,6 +210,69 @@ public interface LocalStorageAdapter {
             @NonNull Consumer<DataStoreException> onError
     );
 
+    /**
+     * Deletes a batch of items from storage. All of the items, and any items which are removed
+     * by cascading deletion, are deleted in a single transaction. Items that do not exist are
+     * ignored. Item changes are only published to observers after the whole batch has been committed.
+     *
+     * The default implementation deletes the items one at a time, in order, and so is not atomic.
+     * Adapters which support transactions should override it.
+     * @param <T> The type of items being deleted
+     * @param items Items to delete
+     * @param initiator An identification of the actor who initiated this deletion
+     * @param onSuccess A callback that will be invoked with one change per item, when deletion succeeds
+     * @param onError A callback that will be invoked when deletion fails with an error
+     */
+    default <T extends Model> void deleteAll(
+            @NonNull List<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Observable.fromIterable(items)
+            .concatMapSingle(item -> Single.<StorageItemChange<T>>create(emitter ->
+                delete(item, initiator, QueryPredicates.all(), emitter::onSuccess, emitter::onError)
+            ))
+            .toList()
+            .subscribe(onSuccess::accept, error -> onError.accept(error instanceof DataStoreException ?
+                (DataStoreException) error :
+                new DataStoreException(
+                    "Failed to write the batch of items.", error, "See attached exception for details."
+                )
+            ));
+    }
+
+    /**
+     * Deletes a batch of items, and then saves another batch of items, all in a single
+     * transaction: either every write is applied, or none of them are. Deletions behave as in
+     * {@link #deleteAll(List, StorageItemChange.Initiator, Consumer, Consumer)}, and saves as in
+     * {@link #saveAll(List, StorageItemChange.Initiator, Consumer, Consumer)}. Item changes are
+     * only published to observers after the whole batch has been committed.
+     *
+     * The default implementation calls {@link #deleteAll(List, StorageItemChange.Initiator, Consumer, Consumer)},
+     * and then {@link #saveAll(List, StorageItemChange.Initiator, Consumer, Consumer)}, and so is not atomic.
+     * Adapters which support transactions should override it.
+     * @param <T> The type of items being written
+     * @param itemsToDelete Items to delete
+     * @param itemsToSave Items to save, after the deletions
+     * @param initiator An identification of the actor who initiated these writes
+     * @param onSuccess A callback that will be invoked with the changes of the deletions, followed
+     *                  by the changes of the saves, when the writes succeed
+     * @param onError A callback that will be invoked if the writes fail with an error
+     */
+    default <T extends Model> void deleteAllAndSaveAll(
+            @NonNull List<T> itemsToDelete,
+            @NonNull List<T> itemsToSave,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        deleteAll(itemsToDelete, initiator, deletions -> saveAll(itemsToSave, initiator, saves -> {
+            List<StorageItemChange<T>> changes = new ArrayList<>(deletions.size() + saves.size());
+            changes.addAll(deletions);
+            changes.addAll(saves);
+            onSuccess.accept(changes);
+        }, onError), onError);
+    }
+
     /**
      * Deletes all items of a given type from storage that meet the
      * specific conditions. A {@link Consumer} will be invoked when the
@@ -84,7 +84,9 @@ public final class ModelComparator<T extends Model> implements Comparator<T> {
             if (method != null) {
                 Object valueLeft = getValue(method, modelLeft);
                 Object valueRight = getValue(method, modelRight);
-                if (valueLeft == null) {
+                if (valueLeft == null && valueRight == null) {
+                    return 0;
+                } else if (valueLeft == null) {
                     return -1;
                 } else if (valueRight == null) {
                     return 1;
@@ -170,8 +172,8 @@ public final class ModelComparator<T extends Model> implements Comparator<T> {
                     return valueModel1.compareTo(valueModel2);
                 }
                 if (method.getReturnType() == Temporal.Date.class) {
-                    Temporal.DateTime valueModel1 = (Temporal.DateTime) valueLeft;
-                    Temporal.DateTime valueModel2 = (Temporal.DateTime) valueRight;
+                    Temporal.Date valueModel1 = (Temporal.Date) valueLeft;
+                    Temporal.Date valueModel2 = (Temporal.Date) valueRight;
                     return valueModel1.compareTo(valueModel2);
                 }
             }
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.Cursor;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelField;
+import com.amplifyframework.core.model.SerializedModel;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the field values read from a row of a SQLite {@link Cursor} directly onto an instance of a
+ * {@link Model} class.
+ *
+ * Previously, the values of a row were read into a map by
+ * {@link SQLiteModelFieldTypeConverter#buildMapForModel(Cursor)}, serialized to a JSON string, and then
+ * parsed back into the model class with {@link Gson}. Instead, this mapper creates an empty model instance
+ * with the model's {@link TypeAdapter}, and assigns each value to the model's field as soon as it is read
+ * from the cursor. The joined columns of a belongsTo association are mapped onto the associated model the
+ * same way. Reflection lookups are done once per model class, and reused for every row.
+ *
+ * Values which can't be assigned directly, such as lists and custom types, are converted with {@link Gson}
+ * one field at a time, and model classes which can't be handled reflectively fall back to the full
+ * JSON round trip.
+ */
+final class ModelRowMapper {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+
+    private final Gson gson;
+    private final Map<Class<?>, ModelBinding<?>> bindings;
+
+    ModelRowMapper(@NonNull Gson gson) {
+        this.gson = Objects.requireNonNull(gson);
+        this.bindings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates an instance of the provided model class from the current row of a cursor.
+     * @param itemClass The class of model to create
+     * @param converter A converter for the model, which reads its field values from the cursor
+     * @param cursor A cursor, positioned on the row to map
+     * @param <T> The type of model
+     * @return A model instance, populated with the field values of the row
+     * @throws DataStoreException If the model can not be created from the row
+     */
+    @NonNull
+    <T extends Model> T map(
+            @NonNull Class<T> itemClass,
+            @NonNull SQLiteModelFieldTypeConverter converter,
+            @NonNull Cursor cursor) throws DataStoreException {
+        Objects.requireNonNull(itemClass);
+        Objects.requireNonNull(converter);
+        Objects.requireNonNull(cursor);
+        final T model = read(itemClass, converter, cursor);
+        converter.finishRow();
+        return model;
+    }
+
+    /**
+     * Creates an instance of the provided model class from a map of field name to field value.
+     * @param itemClass The class of model to create
+     * @param data Field values by field name
+     * @param <T> The type of model
+     * @return A model instance, populated with the provided field values
+     * @throws DataStoreException If the model can not be created from the values
+     */
+    @NonNull
+    <T extends Model> T map(@NonNull Class<T> itemClass, @NonNull Map<String, Object> data)
+            throws DataStoreException {
+        Objects.requireNonNull(itemClass);
+        Objects.requireNonNull(data);
+        try {
+            final ModelBinding<T> binding = bindingFor(itemClass);
+            if (binding == null) {
+                return gson.fromJson(gson.toJson(data), itemClass);
+            }
+            final T instance = binding.newInstance();
+            for (Map.Entry<String, Object> entry : data.entrySet()) {
+                final Field field = binding.field(entry.getKey());
+                // Like Gson, ignore values which have no matching field on the class.
+                if (field != null) {
+                    assign(instance, field, entry.getValue());
+                }
+            }
+            return instance;
+        } catch (Exception exception) {
+            throw mappingFailure(itemClass, exception);
+        }
+    }
+
+    // Reads a model, and any associated models, from the columns of the current row.
+    private <T> T read(Class<T> itemClass, SQLiteModelFieldTypeConverter converter, Cursor cursor)
+            throws DataStoreException {
+        try {
+            final ModelBinding<T> binding = bindingFor(itemClass);
+            if (binding == null) {
+                return gson.fromJson(gson.toJson(converter.buildMapForModel(cursor)), itemClass);
+            }
+            final T instance = binding.newInstance();
+            for (ModelField modelField : converter.getFields()) {
+                final Field field = binding.field(modelField.getName());
+                // Every field is read, even if the class has no matching field, so that the
+                // converter keeps track of the joined columns of associations.
+                final Object value = converter.readValueFromSource(cursor, modelField,
+                    (nestedConverter, nestedCursor) -> readAssociation(field, nestedConverter, nestedCursor));
+                if (field != null) {
+                    assign(instance, field, value);
+                }
+            }
+            return instance;
+        } catch (DataStoreException exception) {
+            throw exception;
+        } catch (Exception exception) {
+            throw mappingFailure(itemClass, exception);
+        }
+    }
+
+    @Nullable
+    private Object readAssociation(
+            @Nullable Field field,
+            SQLiteModelFieldTypeConverter converter,
+            Cursor cursor) throws DataStoreException {
+        final Class<?> fieldType = field == null ? null : field.getType();
+        if (fieldType == null || !Model.class.isAssignableFrom(fieldType) || SerializedModel.class.equals(fieldType)) {
+            return converter.buildMapForModel(cursor);
+        }
+        return read(fieldType, converter, cursor);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked") // Bindings are only ever stored under their own class.
+    private <T> ModelBinding<T> bindingFor(Class<T> itemClass) {
+        ModelBinding<?> binding = bindings.get(itemClass);
+        if (binding == null) {
+            binding = ModelBinding.create(itemClass, gson);
+            bindings.put(itemClass, binding);
+        }
+        return binding == ModelBinding.UNSUPPORTED ? null : (ModelBinding<T>) binding;
+    }
+
+    @Nullable
+    // Like Gson, a null value leaves a primitive field at its default value, since it can't be assigned.
+    private void assign(@NonNull Object instance, @NonNull Field field, @Nullable Object value)
+            throws DataStoreException, IllegalAccessException {
+        if (value == null && field.getType().isPrimitive()) {
+            return;
+        }
+        field.set(instance, convert(value, field));
+    }
+
+    private Object convert(@Nullable Object value, @NonNull Field field) throws DataStoreException {
+        if (value == null) {
+            return null;
+        }
+        final Class<?> fieldType = boxed(field.getType());
+        if (value instanceof Map && Model.class.isAssignableFrom(fieldType)
+                && !SerializedModel.class.equals(fieldType)) {
+            @SuppressWarnings("unchecked") // Nested maps are always keyed by field name.
+            Map<String, Object> nested = (Map<String, Object>) value;
+            return map(fieldType.asSubclass(Model.class), nested);
+        }
+        if (fieldType.isInstance(value) && field.getGenericType() instanceof Class) {
+            return value;
+        }
+        // Lists, custom types, and any value whose type doesn't line up with the field
+        // (e.g., a numeric column on a differently typed field) are converted by Gson.
+        return gson.fromJson(gson.toJsonTree(value), field.getGenericType());
+    }
+
+    private static DataStoreException mappingFailure(Class<?> itemClass, Exception exception) {
+        return new DataStoreException(
+            "Failed to map a row of the " + itemClass.getSimpleName() + " table to a model.",
+            exception,
+            AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+        );
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+
+    /**
+     * The reflective information needed to create instances of one model class.
+     * @param <T> The model class
+     */
+    private static final class ModelBinding<T> {
+        static final ModelBinding<Object> UNSUPPORTED = new ModelBinding<>(null, Collections.emptyMap());
+
+        private final TypeAdapter<T> adapter;
+        private final Map<String, Field> fields;
+
+        private ModelBinding(TypeAdapter<T> adapter, Map<String, Field> fields) {
+            this.adapter = adapter;
+            this.fields = fields;
+        }
+
+        static <T> ModelBinding<?> create(Class<T> itemClass, Gson gson) {
+            // SerializedModel has a dedicated Gson adapter, so it keeps using Gson.
+            if (SerializedModel.class.isAssignableFrom(itemClass) || itemClass.isInterface()
+                    || Modifier.isAbstract(itemClass.getModifiers())) {
+                return UNSUPPORTED;
+            }
+            try {
+                final Map<String, Field> fields = new HashMap<>();
+                for (Class<?> type = itemClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                    for (Field field : type.getDeclaredFields()) {
+                        final int modifiers = field.getModifiers();
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                                || field.isSynthetic() || fields.containsKey(field.getName())) {
+                            continue;
+                        }
+                        field.setAccessible(true);
+                        fields.put(field.getName(), field);
+                    }
+                }
+                final ModelBinding<T> binding = new ModelBinding<>(gson.getAdapter(itemClass), fields);
+                // Models are created by reading an empty JSON object with the model's adapter. If the
+                // adapter can't do that, the class keeps using the full JSON round trip.
+                if (!itemClass.isInstance(binding.newInstance())) {
+                    return UNSUPPORTED;
+                }
+                return binding;
+            } catch (RuntimeException unsupported) {
+                LOG.verbose("Falling back to JSON mapping for " + itemClass.getSimpleName() + ": " + unsupported);
+                return UNSUPPORTED;
+            }
+        }
+
+        T newInstance() {
+            return adapter.fromJsonTree(new JsonObject());
+        }
+
+        @Nullable
+        Field field(String name) {
+            return fields.get(name);
+        }
+    }
+}
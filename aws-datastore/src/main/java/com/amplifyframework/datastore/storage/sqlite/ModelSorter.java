@@ -15,6 +15,8 @@
 
 package com.amplifyframework.datastore.storage.sqlite;
 
+import androidx.annotation.Nullable;
+
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.query.ObserveQueryOptions;
@@ -43,30 +45,39 @@ public class ModelSorter<T extends Model> {
                      List<T> list,
                      Class<T> itemClass,
                      Consumer<DataStoreException> onObservationError) {
-        if (options != null && options.getSortBy() != null && options.getSortBy().size() > 0) {
-            Comparator<T> comparator = getComparator(options.getSortBy(), itemClass, onObservationError);
+        Comparator<T> comparator = comparator(options, itemClass, onObservationError);
+        if (comparator != null) {
             Collections.sort(list, comparator);
         }
     }
 
+    /**
+     * Builds the comparator which orders items by the sort criteria of the options.
+     * @param options query options.
+     * @param itemClass the class of type to be sorted.
+     * @param onObservationError invoked on observation error.
+     * @return A comparator, or null if the options do not specify any sort criteria.
+     */
+    @Nullable
+    Comparator<T> comparator(ObserveQueryOptions options,
+                             Class<T> itemClass,
+                             Consumer<DataStoreException> onObservationError) {
+        if (options != null && options.getSortBy() != null && options.getSortBy().size() > 0) {
+            return getComparator(options.getSortBy(), itemClass, onObservationError);
+        }
+        return null;
+    }
+
     private Comparator<T> getComparator(List<QuerySortBy> sortByList,
                                         Class<T> itemClass,
                                         Consumer<DataStoreException> onObservationError) {
-        QuerySortBy sortBy = sortByList.get(0);
-
-        Comparator<T> comparator = new ModelComparator<T>(sortBy, itemClass, onObservationError);
-        QuerySortOrder sortOrder = sortBy.getSortOrder();
-        if (sortOrder == QuerySortOrder.DESCENDING) {
-            comparator = comparator.reversed();
-        }
-
-        for (int i = 1; i < sortByList.size(); i++) {
-            QuerySortBy nextSortBy = sortByList.get(i);
-            Comparator<T> nextComparator = comparator.thenComparing(new ModelComparator<T>(nextSortBy,
-                    itemClass, onObservationError));
-            if (nextSortBy.getSortOrder() == QuerySortOrder.DESCENDING) {
-                nextComparator.reversed();
+        Comparator<T> comparator = null;
+        for (QuerySortBy sortBy : sortByList) {
+            Comparator<T> nextComparator = new ModelComparator<T>(sortBy, itemClass, onObservationError);
+            if (sortBy.getSortOrder() == QuerySortOrder.DESCENDING) {
+                nextComparator = nextComparator.reversed();
             }
+            comparator = comparator == null ? nextComparator : comparator.thenComparing(nextComparator);
         }
         return comparator;
     }
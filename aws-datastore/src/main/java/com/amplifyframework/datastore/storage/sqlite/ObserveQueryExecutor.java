@@ -16,13 +16,23 @@
 package com.amplifyframework.datastore.storage.sqlite;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.amplifyframework.core.Action;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelField;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.SerializedModel;
 import com.amplifyframework.core.model.query.ObserveQueryOptions;
 import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.MatchAllQueryPredicate;
+import com.amplifyframework.core.model.query.predicate.MatchNoneQueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryOperator;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicateGroup;
+import com.amplifyframework.core.model.query.predicate.QueryPredicateOperation;
 import com.amplifyframework.datastore.DataStoreConfiguration;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.DataStoreItemChange;
@@ -32,12 +42,15 @@ import com.amplifyframework.datastore.storage.StorageItemChange;
 import com.amplifyframework.util.Immutable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -46,6 +59,10 @@ import io.reactivex.rxjava3.subjects.Subject;
 
 /***
  * Executes observe query operations.
+ *
+ * Where possible, changed items are matched against the query predicate in memory, instead of
+ * querying the database for each change. When the query is sorted, the matching items are kept
+ * in a sorted set, so that each change is applied in O(log n) and snapshots need no re-sort.
  * @param <T> type of Model.
  */
 public class ObserveQueryExecutor<T extends Model> implements Cancelable {
@@ -62,6 +79,10 @@ public class ObserveQueryExecutor<T extends Model> implements Cancelable {
     private boolean isCanceled = false;
     private boolean isSynced = false;
     private final Map<String, T> completeItemMap = new ConcurrentHashMap<>();
+    // Only used when the query is sorted. Holds the same items as completeItemMap, in sorted order.
+    private NavigableSet<T> sortedItems;
+    // Whether the query predicate can be evaluated in memory. Decided on the first change.
+    private Boolean evaluatesInMemory;
 
     /**
      * Class to manage observeQuery operations.
@@ -132,6 +153,11 @@ public class ObserveQueryExecutor<T extends Model> implements Cancelable {
         Objects.requireNonNull(onObservationStarted);
         Objects.requireNonNull(onObservationError);
         Objects.requireNonNull(onObservationComplete);
+        Comparator<T> comparator = modelSorter.comparator(options, itemClass, onObservationError);
+        if (comparator != null) {
+            // Break ties on the primary key, so that distinct items which sort equally are all kept.
+            sortedItems = new ConcurrentSkipListSet<>(comparator.thenComparing(Model::getPrimaryKeyString));
+        }
         onObservationStarted.accept(this);
 
         Consumer<Object> onItemChanged = value -> {
@@ -139,10 +165,11 @@ public class ObserveQueryExecutor<T extends Model> implements Cancelable {
             @SuppressWarnings("unchecked") 
             StorageItemChange<T> itemChanged = (StorageItemChange<T>) value;
             try {
-                if (sqlQueryProcessor.modelExists(itemChanged.item(), options.getQueryPredicate())) {
-                    updateCompleteItemMap(itemChanged);
-                } else if (itemChanged.type() == StorageItemChange.Type.UPDATE) {
-                    completeItemMap.remove(itemChanged.item().getPrimaryKeyString());
+                if (itemChanged.type() != StorageItemChange.Type.DELETE
+                        && matches(itemChanged, options.getQueryPredicate())) {
+                    putItem(itemChanged.item());
+                } else {
+                    removeItem(itemChanged.item());
                 }
                 collect(itemChanged, onQuerySnapshot, itemClass, options, onObservationError);
             } catch (DataStoreException exception) {
@@ -183,8 +210,61 @@ public class ObserveQueryExecutor<T extends Model> implements Cancelable {
         };
         callOnQuerySnapshot(onQuerySnapshot, itemClass, onQueryError, models);
         for (T model : models) {
-            completeItemMap.put(model.getPrimaryKeyString(), model);
+            putItem(model);
+        }
+    }
+
+    private boolean matches(StorageItemChange<T> itemChanged, QueryPredicate predicate) throws DataStoreException {
+        T item = itemChanged.item();
+        if (evaluatesInMemory == null) {
+            evaluatesInMemory = !(item instanceof SerializedModel)
+                    && isEvaluableInMemory(predicate, itemChanged.modelSchema());
         }
+        if (evaluatesInMemory) {
+            try {
+                return predicate.evaluate(item);
+            } catch (IllegalArgumentException typeMismatch) {
+                // The predicate's value is not of the field's type. Let SQLite decide.
+                return sqlQueryProcessor.modelExists(item, predicate);
+            }
+        }
+        return sqlQueryProcessor.modelExists(item, predicate);
+    }
+
+    /**
+     * Checks whether a predicate gives the same result when evaluated against a model instance,
+     * as it would when evaluated by SQLite against the model's row. This is the case when it only
+     * compares the model's own scalar fields, and does not use operators which SQLite evaluates
+     * differently, such as the case-insensitive LIKE behind beginsWith.
+     * @param predicate A query predicate
+     * @param modelSchema The schema of the model being observed
+     * @return true if the predicate can be evaluated in memory
+     */
+    static boolean isEvaluableInMemory(@NonNull QueryPredicate predicate, @Nullable ModelSchema modelSchema) {
+        if (predicate instanceof MatchAllQueryPredicate || predicate instanceof MatchNoneQueryPredicate) {
+            return true;
+        } else if (modelSchema == null) {
+            return false;
+        } else if (predicate instanceof QueryPredicateGroup) {
+            for (QueryPredicate nested : ((QueryPredicateGroup) predicate).predicates()) {
+                if (!isEvaluableInMemory(nested, modelSchema)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (predicate instanceof QueryPredicateOperation) {
+            QueryPredicateOperation<?> operation = (QueryPredicateOperation<?>) predicate;
+            if (operation.modelName() != null && !operation.modelName().equals(modelSchema.getName())) {
+                return false;
+            }
+            if (operation.operator().type() == QueryOperator.Type.BEGINS_WITH) {
+                return false;
+            }
+            ModelField field = modelSchema.getFields().get(operation.field());
+            return field != null && !field.isModel() && !field.isEnum()
+                    && !field.isCustomType() && !field.isArray();
+        }
+        return false;
     }
 
     /***
@@ -195,6 +275,9 @@ public class ObserveQueryExecutor<T extends Model> implements Cancelable {
         isCanceled = true;
         resetTimer();
         completeItemMap.clear();
+        if (sortedItems != null) {
+            sortedItems.clear();
+        }
         changedItemList.clear();
         if (disposable != null) {
             disposable.dispose();
@@ -255,8 +338,8 @@ public class ObserveQueryExecutor<T extends Model> implements Cancelable {
                                       Class<T> itemClass,
                                       ObserveQueryOptions options,
                                       Consumer<DataStoreException> onObservationError) {
-        List<T> completeList = new ArrayList<>(completeItemMap.values());
-        sortIfNeeded(options, completeList, itemClass, onObservationError);
+        List<T> completeList = sortedItems != null
+                ? new ArrayList<>(sortedItems) : new ArrayList<>(completeItemMap.values());
         callOnQuerySnapshot(onQuerySnapshot, itemClass, onObservationError, completeList);
     }
 
@@ -271,21 +354,27 @@ public class ObserveQueryExecutor<T extends Model> implements Cancelable {
         changedItemList.clear();
     }
 
-    private void sortIfNeeded(ObserveQueryOptions options,
-                              List<T> completeList,
-                              Class<T> itemClass,
-                              Consumer<DataStoreException> onObservationError) {
-        if (options != null && options.getSortBy() != null && options.getSortBy().size() > 0) {
-            modelSorter.sort(options, completeList, itemClass, onObservationError);
+    private void putItem(T item) {
+        T previous = completeItemMap.put(item.getPrimaryKeyString(), item);
+        if (sortedItems != null) {
+            removeSorted(previous);
+            sortedItems.add(item);
         }
     }
 
-    private void updateCompleteItemMap(StorageItemChange<T> itemChanged) {
-        T item = itemChanged.item();
-        if (itemChanged.type() == StorageItemChange.Type.DELETE) {
-            completeItemMap.remove(item.getPrimaryKeyString());
-        } else {
-            completeItemMap.put(item.getPrimaryKeyString(), item);
+    private void removeItem(T item) {
+        T previous = completeItemMap.remove(item.getPrimaryKeyString());
+        if (sortedItems != null) {
+            removeSorted(previous);
+        }
+    }
+
+    private void removeSorted(@Nullable T previous) {
+        if (previous != null && !sortedItems.remove(previous)) {
+            // The comparator could not locate the item, e.g., because a sort field has a type
+            // that the ModelComparator does not support. Fall back to a linear scan.
+            String primaryKey = previous.getPrimaryKeyString();
+            sortedItems.removeIf(item -> item.getPrimaryKeyString().equals(primaryKey));
         }
     }
 
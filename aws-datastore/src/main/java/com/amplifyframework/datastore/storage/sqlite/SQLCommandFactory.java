@@ -112,4 +112,10 @@ interface SQLCommandFactory {
      */
     @NonNull
     SqlCommand deleteFor(@NonNull ModelSchema modelSchema, @NonNull QueryPredicate predicate) throws DataStoreException;
+
+    /**
+     * Forgets any SQL text that was built ahead of time for a table. This must be called
+     * whenever the underlying schema changes (e.g., after a migration).
+     */
+    void clearStatementTemplates();
 }
@@ -20,27 +20,46 @@ import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
 import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
 
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
- * Responsible for compiling, binding values to, and executing SQLiteStatements.   Currently, each statement is run in
- * its own transaction.  In the future, we can extend this class to support batching  multiple commands in the same
- * transaction to improve performance.
+ * Responsible for compiling, binding values to, and executing SQLiteStatements.  By default, each statement is run in
+ * its own transaction.  Multiple commands can be batched into a single transaction by running them inside of
+ * {@link #runInTransaction(TransactionBlock)}.
+ *
+ * Compiled statements are kept in a small LRU cache, keyed by their SQL text, so that repeated writes against
+ * the same table only need to bind new values instead of re-compiling the statement every time. Each thread has
+ * its own cache: a statement holds its bound values, so it must never be shared by threads which may run it at
+ * the same time. Statements are never locked while they run, since a thread which waits for a statement while
+ * another thread holds the database connection in a transaction may never get either of them.
  */
 final class SQLCommandProcessor {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
 
+    @VisibleForTesting
+    static final int STATEMENT_CACHE_SIZE = 64;
+
     private final SQLiteDatabase sqliteDatabase;
+    private final ThreadLocal<StatementCache> statementCaches;
+    private final Set<StatementCache> allStatementCaches;
 
     SQLCommandProcessor(@NonNull SQLiteDatabase sqliteDatabase) {
         this.sqliteDatabase = sqliteDatabase;
+        this.statementCaches = new ThreadLocal<>();
+        this.allStatementCaches = new HashSet<>();
     }
 
     Cursor rawQuery(SqlCommand command) throws DataStoreException {
@@ -56,11 +75,16 @@ final class SQLCommandProcessor {
     }
 
     boolean executeExists(SqlCommand command) throws DataStoreException {
-        SQLiteStatement sqliteStatement = sqliteDatabase.compileStatement(command.sqlStatement());
         try {
             long startTime = System.currentTimeMillis();
-            bindValuesToStatement(sqliteStatement, command.getBindings());
-            boolean result = sqliteStatement.simpleQueryForLong() > 0;
+            SQLiteStatement sqliteStatement = acquireStatement(command.sqlStatement());
+            boolean result;
+            try {
+                bindValuesToStatement(sqliteStatement, command.getBindings());
+                result = sqliteStatement.simpleQueryForLong() > 0;
+            } finally {
+                sqliteStatement.releaseReference();
+            }
             LOG.verbose("SQLCommandProcessor executeExists in " + (System.currentTimeMillis() - startTime)
                     + " ms inTransaction: " + sqliteDatabase.inTransaction() + " SQL: " + command.sqlStatement());
             return result;
@@ -70,11 +94,15 @@ final class SQLCommandProcessor {
     }
 
     void execute(SqlCommand command) throws DataStoreException {
-        SQLiteStatement sqliteStatement = sqliteDatabase.compileStatement(command.sqlStatement());
         try {
             long startTime = System.currentTimeMillis();
-            bindValuesToStatement(sqliteStatement, command.getBindings());
-            sqliteStatement.execute();
+            SQLiteStatement sqliteStatement = acquireStatement(command.sqlStatement());
+            try {
+                bindValuesToStatement(sqliteStatement, command.getBindings());
+                sqliteStatement.execute();
+            } finally {
+                sqliteStatement.releaseReference();
+            }
             LOG.verbose("SQLCommandProcessor execute in " + (System.currentTimeMillis() - startTime)
                     + " ms inTransaction: " + sqliteDatabase.inTransaction() + " SQL: " + command.sqlStatement());
         } catch (SQLException sqlException) {
@@ -82,6 +110,84 @@ final class SQLCommandProcessor {
         }
     }
 
+    /**
+     * Runs all of the commands issued by the provided block inside of a single SQLite transaction.
+     * The transaction is committed only if the block completes without throwing. If the block
+     * throws, the transaction is rolled back and the error is propagated to the caller.
+     * Transactions may be nested; in that case, the work is only committed when the outer-most
+     * transaction completes.
+     * @param block A block of work which issues commands against this processor
+     * @throws DataStoreException If the block fails, or if the transaction can not be committed
+     */
+    void runInTransaction(@NonNull TransactionBlock block) throws DataStoreException {
+        Objects.requireNonNull(block);
+        long startTime = System.currentTimeMillis();
+        sqliteDatabase.beginTransaction();
+        try {
+            block.run();
+            sqliteDatabase.setTransactionSuccessful();
+        } catch (SQLException sqlException) {
+            throw new DataStoreException(
+                    "Failed to execute transaction.",
+                    sqlException,
+                    AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+            );
+        } finally {
+            sqliteDatabase.endTransaction();
+            LOG.verbose("SQLCommandProcessor runInTransaction in " + (System.currentTimeMillis() - startTime) + " ms");
+        }
+    }
+
+    /**
+     * Closes and forgets all of the cached compiled statements. This must be called whenever the
+     * underlying schema changes (e.g., after a migration), or before the database is closed.
+     */
+    void clearStatementCache() {
+        List<StatementCache> caches;
+        synchronized (allStatementCaches) {
+            caches = new ArrayList<>(allStatementCaches);
+            allStatementCaches.clear();
+        }
+        for (StatementCache cache : caches) {
+            cache.close();
+        }
+    }
+
+    @VisibleForTesting
+    int cachedStatementCount() {
+        int count = 0;
+        synchronized (allStatementCaches) {
+            for (StatementCache cache : allStatementCaches) {
+                count += cache.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the compiled statement for the provided SQL, compiling and caching it if needed. The caller holds
+     * a reference to the returned statement, and must release it when done. This keeps the statement usable
+     * even if its cache is closed by another thread while the caller is still using it.
+     */
+    private SQLiteStatement acquireStatement(String sqlStatement) {
+        StatementCache cache = statementCaches.get();
+        if (cache == null || cache.isClosed()) {
+            cache = new StatementCache();
+            statementCaches.set(cache);
+            synchronized (allStatementCaches) {
+                allStatementCaches.add(cache);
+            }
+        }
+        SQLiteStatement statement = cache.acquire(sqlStatement);
+        if (statement != null) {
+            return statement;
+        }
+        // Compiling may wait for the database connection, so it is done without holding any lock.
+        statement = sqliteDatabase.compileStatement(sqlStatement);
+        cache.put(sqlStatement, statement);
+        return statement;
+    }
+
     private DataStoreException dataStoreException(SQLException sqlException, String sqlStatement) {
         return new DataStoreException(
                 "Invalid SQL statement: " + sqlStatement,
@@ -131,4 +237,71 @@ final class SQLCommandProcessor {
             );
         }
     }
+
+    /**
+     * The compiled statements of one thread, with the least recently used statement evicted first. Only
+     * its own thread reads and writes a cache; the lock is only contended when another thread closes it.
+     */
+    private static final class StatementCache {
+        private final Map<String, SQLiteStatement> statements;
+        private boolean closed;
+
+        StatementCache() {
+            this.statements = new LinkedHashMap<String, SQLiteStatement>(STATEMENT_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SQLiteStatement> eldest) {
+                    if (size() > STATEMENT_CACHE_SIZE) {
+                        eldest.getValue().close();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        // Gets a cached statement, on which the caller then holds a reference; or null, if there is none.
+        synchronized SQLiteStatement acquire(String sqlStatement) {
+            SQLiteStatement statement = statements.get(sqlStatement);
+            if (statement != null) {
+                statement.acquireReference();
+            }
+            return statement;
+        }
+
+        // Caches a newly compiled statement, on which the caller holds the reference it was created with.
+        // If the cache has been closed, the statement is not cached, and is closed when the caller releases it.
+        synchronized void put(String sqlStatement, SQLiteStatement statement) {
+            if (!closed) {
+                statement.acquireReference();
+                statements.put(sqlStatement, statement);
+            }
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        synchronized int size() {
+            return statements.size();
+        }
+
+        synchronized void close() {
+            closed = true;
+            for (SQLiteStatement statement : statements.values()) {
+                statement.close();
+            }
+            statements.clear();
+        }
+    }
+
+    /**
+     * A unit of work to be run inside of a transaction by {@link #runInTransaction(TransactionBlock)}.
+     */
+    interface TransactionBlock {
+        /**
+         * Issues commands against the database.
+         * @throws DataStoreException On failure to execute any of the commands
+         */
+        void run() throws DataStoreException;
+    }
 }
@@ -52,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A factory that produces the SQLite commands for a given
@@ -67,6 +68,12 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     private final SchemaRegistry schemaRegistry;
     private final Gson gson;
 
+    // The SQL text of inserts, updates, and existence checks only depends on the table, so it is
+    // built once per table and reused for every subsequent write. Keyed by table name.
+    private final Map<String, String> insertStatements;
+    private final Map<String, String> updateStatementPrefixes;
+    private final Map<String, String> existsStatementPrefixes;
+
     /**
      * Default constructor.
      */
@@ -75,6 +82,9 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
             @NonNull Gson gson) {
         this.schemaRegistry = Objects.requireNonNull(schemaRegistry);
         this.gson = Objects.requireNonNull(gson);
+        this.insertStatements = new ConcurrentHashMap<>();
+        this.updateStatementPrefixes = new ConcurrentHashMap<>();
+        this.existsStatementPrefixes = new ConcurrentHashMap<>();
     }
 
     @NonNull
@@ -311,24 +321,9 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     public SqlCommand existsFor(@NonNull ModelSchema modelSchema,
                                 @NonNull QueryPredicate predicate) throws DataStoreException {
         final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
-        final String tableName = table.getName();
-        StringBuilder rawQuery = new StringBuilder();
+        StringBuilder rawQuery = new StringBuilder(existsStatementPrefixFor(table));
         final List<Object> bindings = new ArrayList<>();
 
-        // Start SELECT statement.
-        // SELECT EXISTS(SELECT 1 FROM tableName
-        rawQuery.append(SqlKeyword.SELECT)
-                .append(SqlKeyword.DELIMITER)
-                .append(SqlKeyword.EXISTS)
-                .append("(")
-                .append(SqlKeyword.SELECT)
-                .append(SqlKeyword.DELIMITER)
-                .append("1")
-                .append(SqlKeyword.DELIMITER)
-                .append(SqlKeyword.FROM)
-                .append(SqlKeyword.DELIMITER)
-                .append(Wrap.inBackticks(tableName));
-
         // Append predicates.
         // WHERE condition
         if (!QueryPredicates.all().equals(predicate)) {
@@ -351,6 +346,76 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
     public <T extends Model> SqlCommand insertFor(@NonNull ModelSchema modelSchema,
                                                   @NonNull T item) throws DataStoreException {
         final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
+        final String preparedInsertStatement = insertStatementFor(table);
+
+        return new SqlCommand(table.getName(),
+                preparedInsertStatement,
+                extractFieldValues(item) // VALUES clause
+        );
+    }
+
+    @NonNull
+    @Override
+    public <T extends Model> SqlCommand updateFor(@NonNull ModelSchema modelSchema,
+                                                  @NonNull T model) throws DataStoreException {
+        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
+        final StringBuilder stringBuilder = new StringBuilder(updateStatementPrefixFor(table));
+
+        // Append WHERE statement
+        final SQLiteTable sqliteTable = SQLiteTable.fromSchema(modelSchema);
+        final String primaryKeyName = sqliteTable.getPrimaryKeyColumnName();
+        final QueryPredicate matchId = QueryField.field(primaryKeyName).eq(model.getPrimaryKeyString());
+        SQLPredicate sqlPredicate = new SQLPredicate(matchId);
+        stringBuilder.append(SqlKeyword.DELIMITER)
+                .append(SqlKeyword.WHERE)
+                .append(SqlKeyword.DELIMITER)
+                .append(sqlPredicate)
+                .append(";");
+
+        final String preparedUpdateStatement = stringBuilder.toString();
+        List<Object> bindings = extractFieldValues(model); // SET clause
+        bindings.addAll(sqlPredicate.getBindings()); // WHERE clause
+        return new SqlCommand(table.getName(),
+                preparedUpdateStatement,
+                bindings);
+    }
+
+    @NonNull
+    @Override
+    public SqlCommand deleteFor(@NonNull ModelSchema modelSchema,
+                                @NonNull QueryPredicate predicate) throws DataStoreException {
+        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
+        final SQLPredicate sqlPredicate = new SQLPredicate(predicate);
+
+        final String preparedDeleteStatement =
+                "DELETE FROM" +
+                SqlKeyword.DELIMITER +
+                Wrap.inBackticks(table.getName()) +
+                SqlKeyword.DELIMITER +
+                SqlKeyword.WHERE +
+                SqlKeyword.DELIMITER +
+                sqlPredicate +
+                ";";
+        return new SqlCommand(table.getName(),
+                preparedDeleteStatement,
+                sqlPredicate.getBindings() // WHERE clause
+        );
+    }
+
+    @Override
+    public void clearStatementTemplates() {
+        insertStatements.clear();
+        updateStatementPrefixes.clear();
+        existsStatementPrefixes.clear();
+    }
+
+    // Builds (or looks up) the INSERT statement for a table, e.g.
+    // INSERT INTO `table` (`a`, `b`) VALUES (?, ?)
+    private String insertStatementFor(SQLiteTable table) {
+        final String cached = insertStatements.get(table.getName());
+        if (cached != null) {
+            return cached;
+        }
         final StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("INSERT INTO")
                 .append(SqlKeyword.DELIMITER)
@@ -379,19 +444,18 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
             }
         }
         stringBuilder.append(")");
-        final String preparedInsertStatement = stringBuilder.toString();
-
-        return new SqlCommand(table.getName(),
-                preparedInsertStatement,
-                extractFieldValues(item) // VALUES clause
-        );
+        final String insertStatement = stringBuilder.toString();
+        insertStatements.put(table.getName(), insertStatement);
+        return insertStatement;
     }
 
-    @NonNull
-    @Override
-    public <T extends Model> SqlCommand updateFor(@NonNull ModelSchema modelSchema,
-                                                  @NonNull T model) throws DataStoreException {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
+    // Builds (or looks up) the UPDATE statement for a table, up to its WHERE clause, e.g.
+    // UPDATE `table` SET `a` = ?, `b` = ?
+    private String updateStatementPrefixFor(SQLiteTable table) {
+        final String cached = updateStatementPrefixes.get(table.getName());
+        if (cached != null) {
+            return cached;
+        }
         final StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("UPDATE")
                 .append(SqlKeyword.DELIMITER)
@@ -416,46 +480,33 @@ final class SQLiteCommandFactory implements SQLCommandFactory {
                 stringBuilder.append(", ");
             }
         }
-
-        // Append WHERE statement
-        final SQLiteTable sqliteTable = SQLiteTable.fromSchema(modelSchema);
-        final String primaryKeyName = sqliteTable.getPrimaryKeyColumnName();
-        final QueryPredicate matchId = QueryField.field(primaryKeyName).eq(model.getPrimaryKeyString());
-        SQLPredicate sqlPredicate = new SQLPredicate(matchId);
-        stringBuilder.append(SqlKeyword.DELIMITER)
-                .append(SqlKeyword.WHERE)
-                .append(SqlKeyword.DELIMITER)
-                .append(sqlPredicate)
-                .append(";");
-
-        final String preparedUpdateStatement = stringBuilder.toString();
-        List<Object> bindings = extractFieldValues(model); // SET clause
-        bindings.addAll(sqlPredicate.getBindings()); // WHERE clause
-        return new SqlCommand(table.getName(),
-                preparedUpdateStatement,
-                bindings);
+        final String updateStatementPrefix = stringBuilder.toString();
+        updateStatementPrefixes.put(table.getName(), updateStatementPrefix);
+        return updateStatementPrefix;
     }
 
-    @NonNull
-    @Override
-    public SqlCommand deleteFor(@NonNull ModelSchema modelSchema,
-                                @NonNull QueryPredicate predicate) throws DataStoreException {
-        final SQLiteTable table = SQLiteTable.fromSchema(modelSchema);
-        final SQLPredicate sqlPredicate = new SQLPredicate(predicate);
-
-        final String preparedDeleteStatement =
-                "DELETE FROM" +
-                SqlKeyword.DELIMITER +
-                Wrap.inBackticks(table.getName()) +
-                SqlKeyword.DELIMITER +
-                SqlKeyword.WHERE +
-                SqlKeyword.DELIMITER +
-                sqlPredicate +
-                ";";
-        return new SqlCommand(table.getName(),
-                preparedDeleteStatement,
-                sqlPredicate.getBindings() // WHERE clause
-        );
+    // Builds (or looks up) the start of an existence check for a table, e.g.
+    // SELECT EXISTS(SELECT 1 FROM `table`
+    private String existsStatementPrefixFor(SQLiteTable table) {
+        final String cached = existsStatementPrefixes.get(table.getName());
+        if (cached != null) {
+            return cached;
+        }
+        final String existsStatementPrefix = new StringBuilder()
+                .append(SqlKeyword.SELECT)
+                .append(SqlKeyword.DELIMITER)
+                .append(SqlKeyword.EXISTS)
+                .append("(")
+                .append(SqlKeyword.SELECT)
+                .append(SqlKeyword.DELIMITER)
+                .append("1")
+                .append(SqlKeyword.DELIMITER)
+                .append(SqlKeyword.FROM)
+                .append(SqlKeyword.DELIMITER)
+                .append(Wrap.inBackticks(table.getName()))
+                .toString();
+        existsStatementPrefixes.put(table.getName(), existsStatementPrefix);
+        return existsStatementPrefix;
     }
 
     private String getIndexName(String indexName, List<String> indexFieldNames) {
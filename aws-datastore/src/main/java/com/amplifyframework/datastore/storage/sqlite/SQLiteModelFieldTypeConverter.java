@@ -44,6 +44,7 @@ import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -182,20 +183,53 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
 
     Map<String, Object> buildMapForModel(@NonNull Cursor cursor) throws DataStoreException {
         final Map<String, Object> mapForModel = new HashMap<>();
-        for (Map.Entry<String, ModelField> entry : parentSchema.getFields().entrySet()) {
-            mapForModel.put(entry.getKey(), convertValueFromSource(cursor, entry.getValue()));
+        for (ModelField field : getFields()) {
+            mapForModel.put(field.getName(), convertValueFromSource(cursor, field));
         }
+        finishRow();
+        return mapForModel;
+    }
+
+    /**
+     * Gets the fields of the model which this converter reads.
+     * @return The fields of the model
+     */
+    Collection<ModelField> getFields() {
+        return parentSchema.getFields().values();
+    }
+
+    /**
+     * Must be called once every field of the current row has been read with
+     * {@link #readValueFromSource(Cursor, ModelField, AssociationReader)}, before moving to the next row.
+     */
+    void finishRow() {
         if (!this.isInnerModel) {
             cursorInnerModelCounts.clear();
             cursorInnerModelCounts.put(parentSchema.getName(), 1);
         }
-        return mapForModel;
     }
 
     @Override
     public Object convertValueFromSource(
             @NonNull Cursor cursor,
             @NonNull ModelField field
+    ) throws DataStoreException {
+        return readValueFromSource(cursor, field, SQLiteModelFieldTypeConverter::buildMapForModel);
+    }
+
+    /**
+     * Reads the value of a field from the current row of the cursor. The columns of an associated
+     * model are read by the provided {@link AssociationReader}, with a converter for the associated model.
+     * @param cursor A cursor, positioned on a row
+     * @param field The field to read
+     * @param associationReader Reads the associated model, when the field is an association
+     * @return The value of the field
+     * @throws DataStoreException If the value can not be read
+     */
+    Object readValueFromSource(
+            @NonNull Cursor cursor,
+            @NonNull ModelField field,
+            @NonNull AssociationReader associationReader
     ) throws DataStoreException {
         final JavaFieldType javaFieldType = TypeConverter.getJavaFieldType(field);
         try {
@@ -240,7 +274,7 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
                 case STRING:
                     return cursor.getString(columnIndex);
                 case MODEL:
-                    return convertModelAssociationToTarget(cursor, field);
+                    return convertModelAssociationToTarget(cursor, field, associationReader);
                 case ENUM:
                     return convertEnumValueToTarget(valueAsString, field);
                 case CUSTOM_TYPE:
@@ -278,7 +312,9 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
     }
 
     private Object convertModelAssociationToTarget(
-            @NonNull Cursor cursor, @NonNull ModelField field) throws DataStoreException {
+            @NonNull Cursor cursor,
+            @NonNull ModelField field,
+            @NonNull AssociationReader associationReader) throws DataStoreException {
         // Eager load model if the necessary columns are present inside the cursor.
         // At the time of implementation, cursor should have been joined with these
         // columns IF AND ONLY IF the model is a foreign key to the inner model.
@@ -286,7 +322,7 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
             schemaRegistry.getModelSchemaForModelClass(field.getTargetType());
         SQLiteModelFieldTypeConverter nestedModelConverter =
             new SQLiteModelFieldTypeConverter(innerModelSchema, schemaRegistry, gson, cursorInnerModelCounts);
-        return nestedModelConverter.buildMapForModel(cursor);
+        return associationReader.read(nestedModelConverter, cursor);
     }
 
     private Object convertCustomTypeToTarget(Cursor cursor, ModelField field, int columnIndex) throws IOException {
@@ -318,4 +354,19 @@ public final class SQLiteModelFieldTypeConverter implements ModelFieldTypeConver
         final JavaFieldType javaFieldType = TypeConverter.getJavaFieldType(field);
         return convertRawValueToTarget(fieldValue, javaFieldType, gson);
     }
+
+    /**
+     * Reads an associated model from the columns that were joined into the current row of a cursor.
+     */
+    interface AssociationReader {
+        /**
+         * Reads the associated model.
+         * @param converter A converter for the associated model
+         * @param cursor A cursor, positioned on a row
+         * @return The associated model
+         * @throws DataStoreException If the associated model can not be read
+         */
+        Object read(@NonNull SQLiteModelFieldTypeConverter converter, @NonNull Cursor cursor)
+                throws DataStoreException;
+    }
 }
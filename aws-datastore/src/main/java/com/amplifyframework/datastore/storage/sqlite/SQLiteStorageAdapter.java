@@ -64,6 +64,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -71,6 +72,7 @@ import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
@@ -109,6 +111,10 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     // ThreadPool for SQLite operations.
     private ExecutorService threadPool;
 
+    // Executor for SQLite writes. With write-ahead logging, this is a single thread, so that writes
+    // don't contend for the one writable connection. Otherwise, it is the same as the threadPool.
+    private ExecutorService writeExecutor;
+
     // Data is read from SQLite and de-serialized using GSON
     // into a strongly typed Java object.
     private final Gson gson;
@@ -134,6 +140,9 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
     // The helper object to iterate through associated models of a given model.
     private SQLiteModelTree sqliteModelTree;
 
+    // Maps rows read from the database onto model instances.
+    private ModelRowMapper modelRowMapper;
+
     // Stores the reference to disposable objects for cleanup
     private final CompositeDisposable toBeDisposed;
 
@@ -225,6 +234,9 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         // OutOfMemoryError and CursorWindowAllocationException issues.
         this.threadPool = Executors.newFixedThreadPool(
                 Runtime.getRuntime().availableProcessors() * THREAD_POOL_SIZE_MULTIPLIER);
+        final boolean writeAheadLoggingEnabled =
+            Boolean.TRUE.equals(dataStoreConfiguration.isWriteAheadLoggingEnabled());
+        this.writeExecutor = writeAheadLoggingEnabled ? Executors.newSingleThreadExecutor() : threadPool;
         this.context = context;
         this.dataStoreConfiguration = dataStoreConfiguration;
         threadPool.submit(() -> {
@@ -252,6 +264,12 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                         databaseName,
                         DATABASE_VERSION,
                         createSqlCommands);
+                /*
+                 * With write-ahead logging, reads don't block behind writes: the framework keeps a
+                 * small pool of read-only connections alongside the single writable connection.
+                 * This must be set before the database is opened.
+                 */
+                sqliteStorageHelper.setWriteAheadLoggingEnabled(writeAheadLoggingEnabled);
 
                 /*
                  * Create and/or open a database. This also invokes
@@ -281,10 +299,12 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                  * Create a command processor which runs the actual SQL transactions.
                  */
                 this.sqlCommandProcessor = new SQLCommandProcessor(databaseConnectionHandle);
+                this.modelRowMapper = new ModelRowMapper(gson);
 
                 sqlQueryProcessor = new SqlQueryProcessor(sqlCommandProcessor,
                         sqlCommandFactory,
-                        schemaRegistry);
+                        schemaRegistry,
+                        modelRowMapper);
                 syncStatus = new SyncStatus(sqlQueryProcessor, dataStoreConfiguration);
 
                 /*
@@ -325,7 +345,7 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(predicate);
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
-        threadPool.submit(() -> {
+        writeExecutor.submit(() -> {
             try {
                 final ModelSchema modelSchema = schemaRegistry.getModelSchemaForModelClass(item.getModelName());
 
@@ -388,6 +408,89 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void saveAll(
+            @NonNull List<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(items);
+        Objects.requireNonNull(initiator);
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onError);
+        writeExecutor.submit(() -> {
+            final List<StorageItemChange<T>> changes = new ArrayList<>(items.size());
+            try {
+                // Write every item in a single transaction, so that the batch is committed with one disk sync.
+                sqlCommandProcessor.runInTransaction(() -> saveAllInTransaction(items, initiator, changes));
+
+                // publish successful saves, only once the batch has been committed
+                for (StorageItemChange<T> change : changes) {
+                    itemChangeSubject.onNext(change);
+                }
+                onSuccess.accept(changes);
+            } catch (DataStoreException dataStoreException) {
+                onError.accept(dataStoreException);
+            } catch (Exception someOtherTypeOfException) {
+                DataStoreException dataStoreException = new DataStoreException(
+                    "Error in saving a batch of " + items.size() + " models.",
+                    someOtherTypeOfException, "See attached exception for details."
+                );
+                onError.accept(dataStoreException);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void deleteAllAndSaveAll(
+            @NonNull List<T> itemsToDelete,
+            @NonNull List<T> itemsToSave,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(itemsToDelete);
+        Objects.requireNonNull(itemsToSave);
+        Objects.requireNonNull(initiator);
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onError);
+        writeExecutor.submit(() -> {
+            final List<StorageItemChange<T>> deletions = new ArrayList<>(itemsToDelete.size());
+            final List<StorageItemChange<T>> deletionsToPublish = new ArrayList<>(itemsToDelete.size());
+            final List<Model> cascadedModels = new ArrayList<>();
+            final List<StorageItemChange<T>> saves = new ArrayList<>(itemsToSave.size());
+            try {
+                sqlCommandProcessor.runInTransaction(() -> {
+                    deleteAllInTransaction(itemsToDelete, initiator, deletions, deletionsToPublish, cascadedModels);
+                    saveAllInTransaction(itemsToSave, initiator, saves);
+                });
+
+                // publish the deletions and saves, only once the whole batch has been committed
+                publishDeletions(cascadedModels, deletionsToPublish, initiator);
+                for (StorageItemChange<T> change : saves) {
+                    itemChangeSubject.onNext(change);
+                }
+                final List<StorageItemChange<T>> changes = new ArrayList<>(deletions);
+                changes.addAll(saves);
+                onSuccess.accept(changes);
+            } catch (DataStoreException dataStoreException) {
+                onError.accept(dataStoreException);
+            } catch (Exception someOtherTypeOfException) {
+                DataStoreException dataStoreException = new DataStoreException(
+                    "Error in writing a batch of " + itemsToDelete.size() + " deletions and " +
+                        itemsToSave.size() + " saves.",
+                    someOtherTypeOfException, "See attached exception for details."
+                );
+                onError.accept(dataStoreException);
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -407,6 +510,42 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onStarted,
+            @NonNull Consumer<T> onItem,
+            @NonNull Consumer<DataStoreException> onError,
+            @NonNull Action onComplete) {
+        Objects.requireNonNull(itemClass);
+        Objects.requireNonNull(options);
+        Objects.requireNonNull(onStarted);
+        Objects.requireNonNull(onItem);
+        Objects.requireNonNull(onError);
+        Objects.requireNonNull(onComplete);
+        final AtomicBoolean canceled = new AtomicBoolean(false);
+        onStarted.accept(() -> canceled.set(true));
+        threadPool.submit(() -> {
+            try {
+                sqlQueryProcessor.streamOfflineData(itemClass, options, canceled, onItem);
+                if (!canceled.get()) {
+                    onComplete.call();
+                }
+            } catch (DataStoreException dataStoreException) {
+                onError.accept(dataStoreException);
+            } catch (Exception exception) {
+                onError.accept(new DataStoreException(
+                        "Error in querying the model.", exception,
+                        "See attached exception for details."
+                ));
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -471,7 +610,7 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(predicate);
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
-        threadPool.submit(() -> {
+        writeExecutor.submit(() -> {
             try {
                 final String modelName = item.getModelName();
                 final ModelSchema modelSchema = schemaRegistry.getModelSchemaForModelClass(modelName);
@@ -541,6 +680,135 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void deleteAll(
+            @NonNull List<T> items,
+            @NonNull StorageItemChange.Initiator initiator,
+            @NonNull Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull Consumer<DataStoreException> onError) {
+        Objects.requireNonNull(items);
+        Objects.requireNonNull(initiator);
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onError);
+        writeExecutor.submit(() -> {
+            final List<StorageItemChange<T>> changes = new ArrayList<>(items.size());
+            final List<StorageItemChange<T>> changesToPublish = new ArrayList<>(items.size());
+            final List<Model> cascadedModels = new ArrayList<>();
+            try {
+                sqlCommandProcessor.runInTransaction(() ->
+                    deleteAllInTransaction(items, initiator, changes, changesToPublish, cascadedModels));
+
+                // publish the deletions, only once the batch has been committed
+                publishDeletions(cascadedModels, changesToPublish, initiator);
+                onSuccess.accept(changes);
+            } catch (DataStoreException dataStoreException) {
+                onError.accept(dataStoreException);
+            } catch (Exception someOtherTypeOfException) {
+                DataStoreException dataStoreException = new DataStoreException(
+                    "Error in deleting a batch of " + items.size() + " models.",
+                    someOtherTypeOfException, "See attached exception for details."
+                );
+                onError.accept(dataStoreException);
+            }
+        });
+    }
+
+    // Saves a batch of items. Must be called inside of a transaction; the changes are not published.
+    private <T extends Model> void saveAllInTransaction(
+            List<T> items,
+            StorageItemChange.Initiator initiator,
+            List<StorageItemChange<T>> changes) throws DataStoreException {
+        for (T item : items) {
+            final ModelSchema modelSchema = schemaRegistry.getModelSchemaForModelClass(item.getModelName());
+            final StorageItemChange.Type writeType = sqlQueryProcessor.modelExists(item, QueryPredicates.all()) ?
+                StorageItemChange.Type.UPDATE : StorageItemChange.Type.CREATE;
+            writeData(item, writeType);
+            changes.add(StorageItemChange.<T>builder()
+                .item(item)
+                .patchItem(SerializedModel.create(item, modelSchema))
+                .modelSchema(modelSchema)
+                .type(writeType)
+                .predicate(QueryPredicates.all())
+                .initiator(initiator)
+                .build());
+        }
+    }
+
+    // Deletes a batch of items. Must be called inside of a transaction; the changes are not published.
+    // One change is collected into changes for every item, but only items which existed are deleted,
+    // and collected into changesToPublish. Models removed by cascading deletion go into cascadedModels.
+    private <T extends Model> void deleteAllInTransaction(
+            List<T> items,
+            StorageItemChange.Initiator initiator,
+            List<StorageItemChange<T>> changes,
+            List<StorageItemChange<T>> changesToPublish,
+            List<Model> cascadedModels) throws DataStoreException {
+        // Only items that exist are deleted; group them by model, so that
+        // cascading deletions can be identified with one traversal per model.
+        final Map<String, List<T>> existingItemsByModel = new LinkedHashMap<>();
+        for (T item : items) {
+            final ModelSchema modelSchema = schemaRegistry.getModelSchemaForModelClass(item.getModelName());
+            StorageItemChange<T> change = StorageItemChange.<T>builder()
+                .item(item)
+                .patchItem(SerializedModel.create(item, modelSchema))
+                .modelSchema(modelSchema)
+                .type(StorageItemChange.Type.DELETE)
+                .predicate(QueryPredicates.all())
+                .initiator(initiator)
+                .build();
+            changes.add(change);
+            if (!sqlQueryProcessor.modelExists(item, QueryPredicates.all())) {
+                LOG.verbose(item.getModelName() + " model with id = " + item.getPrimaryKeyString() +
+                    " does not exist.");
+                continue;
+            }
+            changesToPublish.add(change);
+            List<T> existingItems = existingItemsByModel.get(item.getModelName());
+            if (existingItems == null) {
+                existingItems = new ArrayList<>();
+                existingItemsByModel.put(item.getModelName(), existingItems);
+            }
+            existingItems.add(item);
+        }
+
+        // identify items affected by cascading delete before deleting them
+        for (List<T> existingItems : existingItemsByModel.values()) {
+            cascadedModels.addAll(sqliteModelTree.descendantsOf(existingItems));
+        }
+
+        // execute local deletions
+        for (StorageItemChange<T> change : changesToPublish) {
+            writeData(change.item(), StorageItemChange.Type.DELETE);
+        }
+    }
+
+    // Publishes the deletions made by deleteAllInTransaction(), once they have been committed.
+    private <T extends Model> void publishDeletions(
+            List<Model> cascadedModels,
+            List<StorageItemChange<T>> changesToPublish,
+            StorageItemChange.Initiator initiator) {
+        // publish cascaded deletions
+        for (Model cascadedModel : cascadedModels) {
+            ModelSchema schema = schemaRegistry.getModelSchemaForModelClass(cascadedModel.getModelName());
+            itemChangeSubject.onNext(StorageItemChange.builder()
+                .item(cascadedModel)
+                .patchItem(SerializedModel.create(cascadedModel, schema))
+                .modelSchema(schema)
+                .type(StorageItemChange.Type.DELETE)
+                .predicate(QueryPredicates.all())
+                .initiator(initiator)
+                .build());
+        }
+
+        // publish successful deletion of top-level items
+        for (StorageItemChange<T> change : changesToPublish) {
+            itemChangeSubject.onNext(change);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -558,7 +826,7 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         Objects.requireNonNull(onSuccess);
         Objects.requireNonNull(onError);
 
-        threadPool.submit(() -> {
+        writeExecutor.submit(() -> {
             final ModelSchema modelSchema = schemaRegistry.getModelSchemaForModelClass(itemClass);
             QueryOptions options = Where.matches(predicate);
             try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.queryFor(modelSchema, options))) {
@@ -571,15 +839,13 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                     /** Populate the mapOfModelPrimaryKeys with the values of
                      *  the primary key/ keys for the model**/
                     do {
-                        HashMap<String, String> mapOfModelPrimaryKeys = new HashMap<>();
+                        Map<String, Object> mapOfModelPrimaryKeys = new HashMap<>();
                         for (String field : primaryKeyNames) {
                             int index = cursor.getColumnIndexOrThrow(sqliteTable.getName() + "_" + field);
                             String fieldValue = cursor.getString(index);
                             mapOfModelPrimaryKeys.put(field, fieldValue);
                         }
-                        String dummyJson = gson.toJson(mapOfModelPrimaryKeys);
-                        T dummyItem = gson.fromJson(dummyJson, itemClass);
-                        items.add(dummyItem);
+                        items.add(modelRowMapper.map(itemClass, mapOfModelPrimaryKeys));
                     } while (cursor.moveToNext());
                 }
 
@@ -689,6 +955,12 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
             if (threadPool != null) {
                 threadPool.shutdown();
             }
+            if (writeExecutor != null) {
+                writeExecutor.shutdown();
+            }
+            if (sqlCommandProcessor != null) {
+                sqlCommandProcessor.clearStatementCache();
+            }
             if (databaseConnectionHandle != null) {
                 databaseConnectionHandle.close();
             }
@@ -709,7 +981,11 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                                    @NonNull Consumer<DataStoreException> onError) {
         try {
             LOG.debug("Shutting down thread pool for the storage adapter.");
+            writeExecutor.shutdown();
             threadPool.shutdown();
+            if (!writeExecutor.awaitTermination(THREAD_POOL_TERMINATE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                writeExecutor.shutdownNow();
+            }
             if (!threadPool.awaitTermination(THREAD_POOL_TERMINATE_TIMEOUT, TimeUnit.MILLISECONDS)) {
                 threadPool.shutdownNow();
             }
@@ -717,6 +993,7 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
         } catch (InterruptedException exception) {
             LOG.warn("Storage adapter thread pool was interrupted during shutdown.", exception);
         }
+        sqlCommandProcessor.clearStatementCache();
         sqliteStorageHelper.close();
         databaseConnectionHandle.close();
         LOG.debug("Clearing DataStore.");
@@ -847,6 +1124,9 @@ public final class SQLiteStorageAdapter implements LocalStorageAdapter {
                     LOG.debug("Database up to date. Checking ModelMetadata.");
                     new ModelMigrations(databaseConnectionHandle, modelsProvider).apply();
                 }
+                // Statements built and compiled against the old schema must not be reused.
+                sqlCommandFactory.clearStatementTemplates();
+                sqlCommandProcessor.clearStatementCache();
             }
             PersistentModelVersion persistentModelVersion = new PersistentModelVersion(modelsProvider.version());
             return PersistentModelVersion.saveToLocalStorage(this, persistentModelVersion);
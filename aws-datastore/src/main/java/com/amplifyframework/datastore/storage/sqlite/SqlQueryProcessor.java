@@ -36,7 +36,7 @@ import com.google.gson.Gson;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 class SqlQueryProcessor {
 
@@ -45,14 +45,17 @@ class SqlQueryProcessor {
     private final SQLCommandFactory sqlCommandFactory;
     private final SQLCommandProcessor sqlCommandProcessor;
     private final Gson gson;
+    private final ModelRowMapper modelRowMapper;
 
     SqlQueryProcessor(SQLCommandProcessor sqlCommandProcessor,
                       SQLCommandFactory sqlCommandFactory,
-                      SchemaRegistry modelSchemaRegistry) {
+                      SchemaRegistry modelSchemaRegistry,
+                      ModelRowMapper modelRowMapper) {
         this.sqlCommandProcessor = sqlCommandProcessor;
         this.sqlCommandFactory = sqlCommandFactory;
         this.modelSchemaRegistry = modelSchemaRegistry;
         this.gson = GsonFactory.instance();
+        this.modelRowMapper = modelRowMapper;
     }
 
     <T extends Model> List<T> queryOfflineData(@NonNull Class<T> itemClass,
@@ -73,9 +76,7 @@ class SqlQueryProcessor {
                 ));
             } else if (cursor.moveToFirst()) {
                 do {
-                    Map<String, Object> map = converter.buildMapForModel(cursor);
-                    String jsonString = gson.toJson(map);
-                    models.add(gson.fromJson(jsonString, itemClass));
+                    models.add(modelRowMapper.map(itemClass, converter, cursor));
                 } while (cursor.moveToNext());
             }
         } catch (Exception exception) {
@@ -87,6 +88,32 @@ class SqlQueryProcessor {
         return models;
     }
 
+    /**
+     * Reads the items which match a query one row at a time, handing each one to the provided
+     * consumer before reading the next. Reading stops early once {@code canceled} is set.
+     */
+    <T extends Model> void streamOfflineData(@NonNull Class<T> itemClass,
+                                             @NonNull QueryOptions options,
+                                             @NonNull AtomicBoolean canceled,
+                                             @NonNull Consumer<T> onItem) throws DataStoreException {
+        final ModelSchema modelSchema = modelSchemaRegistry.getModelSchemaForModelClass(itemClass.getSimpleName());
+
+        try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.queryFor(modelSchema, options))) {
+            LOG.debug("Streaming items for: " + itemClass.getSimpleName());
+            if (cursor == null) {
+                throw new DataStoreException(
+                        "Error in getting a cursor to the table for class: " + itemClass.getSimpleName(),
+                        AmplifyException.TODO_RECOVERY_SUGGESTION
+                );
+            }
+            final SQLiteModelFieldTypeConverter converter =
+                    new SQLiteModelFieldTypeConverter(modelSchema, modelSchemaRegistry, gson);
+            while (!canceled.get() && cursor.moveToNext()) {
+                onItem.accept(modelRowMapper.map(itemClass, converter, cursor));
+            }
+        }
+    }
+
     boolean modelExists(Model model, QueryPredicate predicate) throws DataStoreException {
         final String modelName = model.getModelName();
         final ModelSchema schema = modelSchemaRegistry.getModelSchemaForModelClass(modelName);
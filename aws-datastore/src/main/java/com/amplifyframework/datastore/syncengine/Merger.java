@@ -33,10 +33,18 @@ import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.hub.HubEvent;
 import com.amplifyframework.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
 
 /**
  * The merger is responsible for merging cloud data back into the local store.
@@ -135,6 +143,114 @@ final class Merger {
         });
     }
 
+    /**
+     * Merge a page of items back into the local store, using the same strategy as
+     * {@link #merge(ModelWithMetadata, Consumer)}. Instead of looking up and writing each item
+     * on its own, the current versions of the whole page are found at once, and all of the model
+     * and metadata writes for the page are applied in a single batch. If the batch can't be
+     * applied, the page is merged again, one item at a time.
+     * @param page A page of models, combined with metadata about them
+     * @param changeTypeConsumer A callback invoked once for each model that is saved or deleted.
+     * @param <T> Type of model
+     * @return A completable operation to merge the page
+     */
+    <T extends Model> Completable mergeAll(
+            List<ModelWithMetadata<T>> page, Consumer<StorageItemChange.Type> changeTypeConsumer) {
+        AtomicReference<Long> startTime = new AtomicReference<>();
+        return Completable.defer(() -> {
+            final List<T> models = new ArrayList<>(page.size());
+            for (ModelWithMetadata<T> modelWithMetadata : page) {
+                models.add(modelWithMetadata.getModel());
+            }
+            return versionRepository.findModelVersions(models)
+                .flatMapCompletable(currentVersions -> {
+                    final List<ModelWithMetadata<T>> toMerge = new ArrayList<>();
+                    final List<Model> toSave = new ArrayList<>();
+                    final List<Model> toDelete = new ArrayList<>();
+                    final List<Model> metadataToSave = new ArrayList<>();
+                    for (ModelWithMetadata<T> modelWithMetadata : latestVersions(page)) {
+                        ModelMetadata metadata = modelWithMetadata.getSyncMetadata();
+                        T model = modelWithMetadata.getModel();
+                        int incomingVersion = versionOf(modelWithMetadata);
+                        Integer currentVersion = currentVersions.get(VersionRepository.metadataId(model));
+                        // Same as for a single item: only merge items that are strictly newer than ours.
+                        if (currentVersion != null && incomingVersion <= currentVersion) {
+                            continue;
+                        }
+                        toMerge.add(modelWithMetadata);
+                        metadataToSave.add(metadata);
+                        if (mutationOutbox.hasPendingMutation(model.getPrimaryKeyString())) {
+                            LOG.info("Mutation outbox has pending mutation for " + model.resolveIdentifier()
+                                + ". Saving the metadata, but not model itself.");
+                        } else if (Boolean.TRUE.equals(metadata.isDeleted())) {
+                            toDelete.add(model);
+                        } else {
+                            toSave.add(model);
+                        }
+                    }
+                    final List<Model> modelsAndMetadataToSave = new ArrayList<>(toSave);
+                    modelsAndMetadataToSave.addAll(metadataToSave);
+                    return deleteAllAndSaveAll(toDelete, modelsAndMetadataToSave)
+                        .map(changes -> {
+                            for (StorageItemChange<Model> change : changes) {
+                                // Changes to the metadata are not counted.
+                                if (!(change.item() instanceof ModelMetadata)) {
+                                    changeTypeConsumer.accept(change.type());
+                                }
+                            }
+                            return toMerge;
+                        })
+                        .doOnSuccess(mergedItems -> {
+                            for (ModelWithMetadata<T> mergedItem : mergedItems) {
+                                announceSuccessfulMerge(mergedItem);
+                            }
+                            LOG.debug("A page of " + mergedItems.size() + " remote model updates " +
+                                "was sync'd down into local storage.");
+                        })
+                        .ignoreElement();
+                })
+                // The batch fails as a whole. Fall back to merging one item at a time, so that a single bad
+                // item (e.g., one which violates a foreign key constraint) is handled just like before.
+                .onErrorResumeNext(failure -> {
+                    LOG.warn("Failed to merge a page of " + page.size() + " items in a batch. " +
+                        "Merging them one at a time, instead.", failure);
+                    return Flowable.fromIterable(page)
+                        .concatMapCompletable(item -> merge(item, changeTypeConsumer));
+                });
+        })
+        .doOnSubscribe(disposable -> startTime.set(System.currentTimeMillis()))
+        .doOnTerminate(() -> {
+            long duration = System.currentTimeMillis() - startTime.get();
+            LOG.verbose("Merged a page of " + page.size() + " items in " + duration + " ms.");
+        });
+    }
+
+    /**
+     * Within a page, the same model may appear more than once. Keeps only the item with the
+     * highest version for each model, in the order the models first appear in the page.
+     * @param page A page of models with their metadata
+     * @param <T> Type of model
+     * @return The latest version of each model in the page
+     */
+    private static <T extends Model> Collection<ModelWithMetadata<T>> latestVersions(
+            List<ModelWithMetadata<T>> page) {
+        final Map<String, ModelWithMetadata<T>> latest = new LinkedHashMap<>();
+        for (ModelWithMetadata<T> modelWithMetadata : page) {
+            String id = VersionRepository.metadataId(modelWithMetadata.getModel());
+            ModelWithMetadata<T> existing = latest.get(id);
+            if (existing == null || versionOf(modelWithMetadata) > versionOf(existing)) {
+                latest.put(id, modelWithMetadata);
+            }
+        }
+        return latest.values();
+    }
+
+    // The version of a model, or -1 if its metadata has none.
+    private static int versionOf(ModelWithMetadata<? extends Model> modelWithMetadata) {
+        Integer version = modelWithMetadata.getSyncMetadata().getVersion();
+        return version == null ? -1 : version;
+    }
+
     /**
      * Announce a successful merge over Hub.
      * @param modelWithMetadata Model with metadata that was successfully merged
@@ -178,4 +294,19 @@ final class Merger {
             )
         );
     }
+
+    // Delete a batch of models, and then save another, in a single transaction.
+    private Single<List<StorageItemChange<Model>>> deleteAllAndSaveAll(
+            List<Model> modelsToDelete, List<Model> modelsToSave) {
+        if (modelsToDelete.isEmpty() && modelsToSave.isEmpty()) {
+            return Single.just(Collections.emptyList());
+        }
+        return Single.create(emitter ->
+            localStorageAdapter.deleteAllAndSaveAll(modelsToDelete, modelsToSave,
+                StorageItemChange.Initiator.SYNC_ENGINE,
+                emitter::onSuccess,
+                emitter::onError
+            )
+        );
+    }
 }
@@ -21,6 +21,8 @@ import androidx.annotation.Nullable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.datastore.DataStoreException;
 
+import java.util.List;
+
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 
@@ -85,9 +87,26 @@ interface MutationOutbox {
     /**
      * Take a peek at the next item in the outbox.
      * @return The next pending mutation, if there is one. Null otherwise.
+     * @throws DataStoreException If the next pending mutation could not be read from storage
      */
     @Nullable
-    PendingMutation<? extends Model> peek();
+    PendingMutation<? extends Model> peek() throws DataStoreException;
+
+    /**
+     * Take a peek at the next items in the outbox, in the order they will be processed.
+     * @param count The max number of pending mutations to return
+     * @return Up to count pending mutations, from the head of the outbox. Empty if there are none.
+     * @throws DataStoreException If the next pending mutations could not be read from storage
+     */
+    @NonNull
+    List<PendingMutation<? extends Model>> peek(int count) throws DataStoreException;
+
+    /**
+     * Checks if the outbox is empty. Unlike {@link #peek()}, this doesn't read any
+     * pending mutations from storage.
+     * @return true if there are no pending mutations in the outbox
+     */
+    boolean isEmpty();
 
     /**
      * Marks a pending mutation as "in-flight." An in-flight mutation becomes
@@ -18,10 +18,13 @@ package com.amplifyframework.datastore.syncengine;
 import androidx.annotation.NonNull;
 
 import com.amplifyframework.api.ApiException;
+import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLResponse;
+import com.amplifyframework.api.graphql.MutationType;
 import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.Consumer;
 import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.SchemaRegistry;
 import com.amplifyframework.core.model.SerializedModel;
@@ -37,10 +40,14 @@ import com.amplifyframework.logging.Logger;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
@@ -52,6 +59,8 @@ import io.reactivex.rxjava3.schedulers.Schedulers;
  */
 final class MutationProcessor {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    // Batches whose mutation requests are larger than this, in total, are split before publishing.
+    private static final int MAX_BATCH_CONTENT_LENGTH = 256 * 1024;
 
     private final Merger merger;
     private final VersionRepository versionRepository;
@@ -62,6 +71,8 @@ final class MutationProcessor {
     private final ConflictResolver conflictResolver;
     private final CompositeDisposable ongoingOperationsDisposable;
     private final RetryHandler retryHandler;
+    private final ModelProvider modelProvider;
+    private TopologicalOrdering topologicalOrdering;
 
     private MutationProcessor(Builder builder) {
         this.merger = Objects.requireNonNull(builder.merger);
@@ -72,6 +83,7 @@ final class MutationProcessor {
         this.dataStoreConfiguration = Objects.requireNonNull(builder.dataStoreConfiguration);
         this.conflictResolver = new ConflictResolver(this.dataStoreConfiguration, this.appSync);
         this.retryHandler = Objects.requireNonNull(builder.retryHandler);
+        this.modelProvider = builder.modelProvider;
         this.ongoingOperationsDisposable = new CompositeDisposable();
     }
 
@@ -94,6 +106,9 @@ final class MutationProcessor {
      * it again later, when network conditions become favorable again.
      */
     void startDrainingMutationOutbox() {
+        if (modelProvider != null) {
+            topologicalOrdering = TopologicalOrdering.forRegisteredModels(schemaRegistry, modelProvider);
+        }
         ongoingOperationsDisposable.add(mutationOutbox.events()
             .doOnSubscribe(disposable ->
                 LOG.info(
@@ -112,15 +127,34 @@ final class MutationProcessor {
         );
     }
 
-    private Completable drainMutationOutbox() {
-        PendingMutation<? extends Model> next;
+    private Completable drainMutationOutbox() throws DataStoreException {
+        final int maxConcurrentMutations = getMaxConcurrentMutations();
+        final int mutationBatchSize = getMutationBatchSize();
+        List<PendingMutation<? extends Model>> next;
         do {
-            next = mutationOutbox.peek();
-            if (next == null) {
+            try {
+                next = nextMutationsToPublish(maxConcurrentMutations * mutationBatchSize);
+            } catch (DataStoreException error) {
+                return Completable.error(error);
+            }
+            if (next.isEmpty()) {
                 return Completable.complete();
             }
+            List<Completable> publications = new ArrayList<>(next.size());
+            if (mutationBatchSize > 1) {
+                for (int start = 0; start < next.size(); start += mutationBatchSize) {
+                    int end = Math.min(start + mutationBatchSize, next.size());
+                    publications.add(processOutboxBatch(new ArrayList<>(next.subList(start, end))));
+                }
+            } else {
+                for (PendingMutation<? extends Model> mutation : next) {
+                    publications.add(processOutboxItem(mutation));
+                }
+            }
             try {
-                processOutboxItem(next)
+                // A failed publication must not dispose the others, which may already be in flight.
+                // Its error is only raised once all of them have finished.
+                Completable.mergeDelayError(publications)
                     .blockingAwait();
             } catch (RuntimeException error) {
                 return Completable.error(error);
@@ -128,6 +162,65 @@ final class MutationProcessor {
         } while (true);
     }
 
+    private int getMaxConcurrentMutations() throws DataStoreException {
+        Integer maxConcurrentMutations = dataStoreConfiguration.getConfiguration().getMaxConcurrentMutations();
+        return maxConcurrentMutations == null ? 1 : Math.max(1, maxConcurrentMutations);
+    }
+
+    private int getMutationBatchSize() throws DataStoreException {
+        Integer mutationBatchSize = dataStoreConfiguration.getConfiguration().getMutationBatchSize();
+        return mutationBatchSize == null ? 1 : Math.max(1, mutationBatchSize);
+    }
+
+    /**
+     * Gets the next mutations from the head of the outbox, which can be published at the same time.
+     * This stops at the first mutation which has to wait for one before it: a mutation of the same
+     * model instance, or of a model which may depend on, or be depended on by, the model of the first
+     * mutation. So, mutations of a model instance are published in order, and parents are published
+     * before their children.
+     * @param maxConcurrentMutations The max number of mutations to return
+     * @return The next mutations to publish, or an empty list if the outbox is empty
+     * @throws DataStoreException If the next mutations could not be read from storage
+     */
+    private List<PendingMutation<? extends Model>> nextMutationsToPublish(int maxConcurrentMutations)
+            throws DataStoreException {
+        List<PendingMutation<? extends Model>> candidates = mutationOutbox.peek(maxConcurrentMutations);
+        if (candidates.size() <= 1) {
+            return candidates;
+        }
+        ModelSchema firstSchema = candidates.get(0).getModelSchema();
+        Set<String> modelKeys = new HashSet<>();
+        List<PendingMutation<? extends Model>> next = new ArrayList<>(candidates.size());
+        for (PendingMutation<? extends Model> candidate : candidates) {
+            ModelSchema schema = candidate.getModelSchema();
+            String modelKey = schema.getName() + ":" + candidate.getMutatedItem().getPrimaryKeyString();
+            if (!isIndependent(firstSchema, schema) || !modelKeys.add(modelKey)) {
+                break;
+            }
+            next.add(candidate);
+        }
+        return next;
+    }
+
+    /**
+     * Checks whether the mutations of two models can be published in any order. That is the case
+     * for mutations of the same model, and of models in the same layer of the topological ordering,
+     * since neither of those belongs to the other.
+     */
+    private boolean isIndependent(ModelSchema one, ModelSchema two) {
+        if (one.getName().equals(two.getName())) {
+            return true;
+        }
+        if (topologicalOrdering == null) {
+            return false;
+        }
+        try {
+            return topologicalOrdering.layerOf(one) == topologicalOrdering.layerOf(two);
+        } catch (NoSuchElementException notProvided) {
+            return false;
+        }
+    }
+
     /**
      * Process an item in the mutation outbox.
      * @param mutationOutboxItem An item in the mutation outbox
@@ -136,21 +229,136 @@ final class MutationProcessor {
      */
     private <T extends Model> Completable processOutboxItem(PendingMutation<T> mutationOutboxItem) {
         // First, mark the item as in-flight.
-        return mutationOutbox.markInFlight(mutationOutboxItem.getMutationId())
+        Single<ModelWithMetadata<T>> publication = mutationOutbox.markInFlight(mutationOutboxItem.getMutationId())
             // Then, put it "into flight"
-            .andThen(publishWithRetry(mutationOutboxItem)
-                .map(modelWithMetadata -> ensureModelHasSchema(mutationOutboxItem, modelWithMetadata))
-                .flatMapCompletable(modelWithMetadata ->
-                            // Once the server knows about it, it's safe to remove from the outbox.
-                            // This is done before merging, because the merger will refuse to merge
-                            // if there are outstanding mutations in the outbox.
-                            mutationOutbox.remove(mutationOutboxItem.getMutationId())
-                                .andThen(merger.merge(modelWithMetadata))
-                                .doOnComplete(() -> {
-                                    String modelName = mutationOutboxItem.getModelSchema().getName();
-                                    announceMutationProcessed(modelName, modelWithMetadata);
-                                })
-                )
+            .andThen(publishWithRetry(mutationOutboxItem));
+        return processPublication(mutationOutboxItem, publication);
+    }
+
+    /**
+     * Process a batch of items in the mutation outbox, by publishing them in a single request.
+     * If the batch can't be published, each of its items is published on its own, instead.
+     * @param batch Items in the mutation outbox, which can be published in any order
+     * @return A Completable that emits success when all of the items are processed
+     */
+    private Completable processOutboxBatch(List<PendingMutation<? extends Model>> batch) {
+        if (batch.size() == 1) {
+            return processOutboxItem(batch.get(0));
+        }
+        List<Completable> markInFlight = new ArrayList<>(batch.size());
+        for (PendingMutation<? extends Model> mutation : batch) {
+            markInFlight.add(mutationOutbox.markInFlight(mutation.getMutationId()));
+        }
+        return Completable.concat(markInFlight)
+            .andThen(Observable.fromIterable(batch)
+                .concatMapSingle(this::buildMutationRequest)
+                .toList())
+            .onErrorReturn(error -> {
+                LOG.warn("Failed to build a batch of mutations, they will be published one at a time.", error);
+                return Collections.emptyList();
+            })
+            .flatMapCompletable(requests -> {
+                if (requests.isEmpty()) {
+                    return processOutboxItems(batch);
+                }
+                return publishBatches(batch, requests);
+            });
+    }
+
+    private Completable processOutboxItems(List<PendingMutation<? extends Model>> mutations) {
+        List<Completable> publications = new ArrayList<>(mutations.size());
+        for (PendingMutation<? extends Model> mutation : mutations) {
+            publications.add(processOutboxItem(mutation));
+        }
+        return Completable.mergeDelayError(publications);
+    }
+
+    /**
+     * Splits the requests for a batch of mutations, so that no request which is sent is too large,
+     * and publishes them one after the other.
+     */
+    private Completable publishBatches(
+            List<PendingMutation<? extends Model>> mutations,
+            List<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>> requests) {
+        List<Completable> publications = new ArrayList<>();
+        int start = 0;
+        int contentLength = 0;
+        for (int index = 0; index < requests.size(); index++) {
+            int requestLength = requests.get(index).getContent().length();
+            if (index > start && contentLength + requestLength > MAX_BATCH_CONTENT_LENGTH) {
+                publications.add(publishBatch(mutations.subList(start, index), requests.subList(start, index)));
+                start = index;
+                contentLength = 0;
+            }
+            contentLength += requestLength;
+        }
+        int end = requests.size();
+        publications.add(publishBatch(mutations.subList(start, end), requests.subList(start, end)));
+        return Completable.concat(publications);
+    }
+
+    private Completable publishBatch(
+            List<PendingMutation<? extends Model>> mutations,
+            List<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>> requests) {
+        final List<PendingMutation<? extends Model>> batch = new ArrayList<>(mutations);
+        final List<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>> batchRequests =
+            new ArrayList<>(requests);
+        return Single
+            .<List<GraphQLResponse<? extends ModelWithMetadata<? extends Model>>>>create(subscriber ->
+                appSync.mutateBatch(batchRequests, subscriber::onSuccess, exception -> {
+                    if (!subscriber.isDisposed()) {
+                        subscriber.onError(exception);
+                    }
+                })
+            )
+            .onErrorReturn(error -> {
+                LOG.warn("Failed to publish a batch of mutations, they will be published one at a time.", error);
+                return Collections.emptyList();
+            })
+            .flatMapCompletable(responses -> {
+                if (responses.isEmpty()) {
+                    return processOutboxItems(batch);
+                }
+                List<Completable> publications = new ArrayList<>(batch.size());
+                for (int index = 0; index < batch.size(); index++) {
+                    publications.add(processBatchedOutboxItem(batch.get(index), responses.get(index)));
+                }
+                return Completable.mergeDelayError(publications);
+            });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Model> Completable processBatchedOutboxItem(
+            PendingMutation<T> mutationOutboxItem,
+            GraphQLResponse<? extends ModelWithMetadata<? extends Model>> response) {
+        // The responses of a batch are in the order of its mutations, so this response is for this mutation.
+        GraphQLResponse<ModelWithMetadata<T>> mutationResponse = (GraphQLResponse<ModelWithMetadata<T>>) response;
+        return processPublication(mutationOutboxItem,
+            Single.defer(() -> handleResponse(mutationOutboxItem, mutationResponse)));
+    }
+
+    /**
+     * Completes the processing of an item in the mutation outbox, once it has been published.
+     * @param mutationOutboxItem An item in the mutation outbox
+     * @param publication The publication of the item, which emits the model as the server knows it
+     * @param <T> Type of model
+     * @return A Completable that emits success when the item is processed, emits failure, otherwise
+     */
+    private <T extends Model> Completable processPublication(
+            PendingMutation<T> mutationOutboxItem,
+            Single<ModelWithMetadata<T>> publication) {
+        return publication
+            .map(modelWithMetadata -> ensureModelHasSchema(mutationOutboxItem, modelWithMetadata))
+            .flatMapCompletable(modelWithMetadata ->
+                        // Once the server knows about it, it's safe to remove from the outbox.
+                        // This is done before merging, because the merger will refuse to merge
+                        // if there are outstanding mutations in the outbox.
+                        mutationOutbox.remove(mutationOutboxItem.getMutationId())
+                            .andThen(merger.merge(modelWithMetadata))
+                            .doOnComplete(() -> {
+                                String modelName = mutationOutboxItem.getModelSchema().getName();
+                                announceMutationProcessed(modelName, modelWithMetadata);
+                            })
             )
             .doOnComplete(() -> {
                 LOG.debug(
@@ -246,7 +454,7 @@ final class MutationProcessor {
      */
     private void publishCurrentOutboxStatus() {
         HubEvent<OutboxStatusEvent> hubEvent =
-            new OutboxStatusEvent(mutationOutbox.peek() == null).toHubEvent();
+            new OutboxStatusEvent(mutationOutbox.isEmpty()).toHubEvent();
         Amplify.Hub.publish(HubChannel.DATASTORE, hubEvent);
     }
 
@@ -337,14 +545,40 @@ final class MutationProcessor {
                     }
                 })
             )
-            .flatMap(response -> {
-                // If there are no errors, and the response has data, just return.
-                if (!response.hasErrors() && response.hasData()) {
-                    return Single.just(response.getData());
-                } else {
-                    return handleResponseErrors(mutation, response.getErrors());
-                }
-            });
+            .flatMap(response -> handleResponse(mutation, response));
+    }
+
+    private <T extends Model> Single<ModelWithMetadata<T>> handleResponse(
+            PendingMutation<T> mutation,
+            GraphQLResponse<ModelWithMetadata<T>> response) {
+        // If there are no errors, and the response has data, just return.
+        if (!response.hasErrors() && response.hasData()) {
+            return Single.just(response.getData());
+        } else {
+            return handleResponseErrors(mutation, response.getErrors());
+        }
+    }
+
+    /**
+     * Builds the request to publish a pending mutation, so that it can be published in a batch.
+     * @param mutation A mutation that is waiting to be published
+     * @param <T> The model type of the item
+     * @return A single which emits the request for the mutation
+     */
+    private <T extends Model> Single<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>>
+            buildMutationRequest(PendingMutation<T> mutation) {
+        final T item = mutation.getMutatedItem();
+        final ModelSchema schema = this.schemaRegistry.getModelSchemaForModelClass(item.getModelName());
+        final MutationType mutationType = MutationType.valueOf(mutation.getMutationType().name());
+        if (PendingMutation.Type.CREATE.equals(mutation.getMutationType())) {
+            return Single.<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>>fromCallable(() ->
+                appSync.buildMutationRequest(item, schema, mutationType, null, mutation.getPredicate())
+            );
+        }
+        return versionRepository.findModelVersion(item)
+            .<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>>map(version ->
+                appSync.buildMutationRequest(item, schema, mutationType, version, mutation.getPredicate())
+            );
     }
 
     private <T extends Model> Single<ModelWithMetadata<T>> publishWithRetry(
@@ -423,6 +657,7 @@ final class MutationProcessor {
         private AppSync appSync;
         private DataStoreConfigurationProvider dataStoreConfiguration;
         private RetryHandler retryHandler;
+        private ModelProvider modelProvider;
 
         @NonNull
         @Override
@@ -474,6 +709,13 @@ final class MutationProcessor {
             return Builder.this;
         }
 
+        @NonNull
+        @Override
+        public BuilderSteps.BuildStep modelProvider(@NonNull ModelProvider modelProvider) {
+            this.modelProvider = Objects.requireNonNull(modelProvider);
+            return Builder.this;
+        }
+
         @NonNull
         @Override
         public MutationProcessor build() {
@@ -519,6 +761,9 @@ final class MutationProcessor {
         }
 
         interface BuildStep {
+            @NonNull
+            BuildStep modelProvider(@NonNull ModelProvider modelProvider);
+
             @NonNull
             MutationProcessor build();
         }
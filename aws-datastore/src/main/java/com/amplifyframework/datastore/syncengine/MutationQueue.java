@@ -20,7 +20,10 @@ import androidx.annotation.Nullable;
 
 import com.amplifyframework.core.model.Model;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,17 +31,36 @@ import java.util.Map;
  * achieve O(1) time complexity for both getting a {@link PendingMutation} and update an existing mutation with
  * valid id.
  * MutationQueue is implementing the Queue interface and provide most of the queue operations,
+ * The queue also indexes its nodes by the primary key of the mutated model, so that the next
+ * mutation for a model can be found without walking the whole queue.
+ * A queue may be given a window size. Then, it only needs to hold that many deserialized mutations.
+ * The other nodes are just an entry in the index, whose mutation is loaded from storage when it is needed.
  */
 public final class MutationQueue {
 
+    private final int windowSize;
     private final Map<TimeBasedUuid, Node> mutationMap = new HashMap<>();
+    // Nodes by the primary key of their mutated model, each in queue order.
+    private final Map<String, LinkedHashSet<Node>> modelIdIndex = new HashMap<>();
     private final Node dummyHead;
     private final Node dummyTail;
+    private int loadedCount;
 
     /**
-     * Default constructor for {@link MutationQueue}.
+     * Default constructor for {@link MutationQueue}, which holds all of its mutations in memory.
      */
     public MutationQueue() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a {@link MutationQueue} which holds up to a window of mutations in memory.
+     * Mutations which are added once the window is full are only indexed.
+     *
+     * @param windowSize the max number of mutations to hold in memory, when adding mutations
+     */
+    public MutationQueue(int windowSize) {
+        this.windowSize = Math.max(1, windowSize);
         dummyHead = new Node();
         dummyTail = new Node();
         dummyHead.next = dummyTail;
@@ -46,23 +68,20 @@ public final class MutationQueue {
     }
 
     /**
-     * Find the first Pending Mutation which its model has the same id.
+     * Find the id of the first Pending Mutation which its model has the same id. This also
+     * finds mutations which are not loaded; use {@link #getMutationById(TimeBasedUuid)} to
+     * check whether the mutation itself is loaded.
      *
      * @param modelId the model id
-     * @return the {@link PendingMutation} instance
+     * @return the {@link TimeBasedUuid} of the mutation, or null if there is none
      */
-    synchronized PendingMutation<? extends Model> nextMutationForModelId(String modelId) {
-        Node head = dummyHead.next;
-        if (head == dummyTail) {
+    @Nullable
+    synchronized TimeBasedUuid nextMutationIdForModelId(String modelId) {
+        LinkedHashSet<Node> nodes = modelIdIndex.get(modelId);
+        if (nodes == null) {
             return null;
         }
-        while (head != dummyTail) {
-            if (head.mutation.getMutatedItem().getPrimaryKeyString().equals(modelId)) {
-                return head.mutation;
-            }
-            head = head.next;
-        }
-        return null;
+        return nodes.iterator().next().id;
     }
 
     /**
@@ -81,6 +100,10 @@ public final class MutationQueue {
         Node removingNext = removingNode.next;
         //remove from map
         mutationMap.remove(timeBasedUuid);
+        unindex(removingNode);
+        if (removingNode.mutation != null) {
+            loadedCount--;
+        }
         //remove from current linkedlist
         removingPrev.next = removingNext;
         removingNext.prev = removingPrev;
@@ -94,10 +117,23 @@ public final class MutationQueue {
      * @return true if successfully added a pending mutation
      */
     private synchronized boolean addToTail(@NonNull PendingMutation<? extends Model> pendingMutation) {
+        // Once the window is full, the mutation is left in storage, until it is needed.
+        PendingMutation<? extends Model> mutation = loadedCount < windowSize ? pendingMutation : null;
+        return addToTail(pendingMutation.getMutationId(), pendingMutation.getMutatedItem().getPrimaryKeyString(),
+            mutation);
+    }
+
+    private boolean addToTail(@NonNull TimeBasedUuid id,
+                              @NonNull String modelId,
+                              @Nullable PendingMutation<? extends Model> pendingMutation) {
         //constructing a new node
         Node pendingNode = new Node();
-        pendingNode.id = pendingMutation.getMutationId();
+        pendingNode.id = id;
+        pendingNode.modelId = modelId;
         pendingNode.mutation = pendingMutation;
+        if (pendingMutation != null) {
+            loadedCount++;
+        }
         //insert the new node into the current linkedlist
         Node addingPrev = dummyTail.prev;
         addingPrev.next = pendingNode;
@@ -105,10 +141,53 @@ public final class MutationQueue {
         pendingNode.prev = addingPrev;
         pendingNode.next = dummyTail;
         //put the mutation into the mutationmap
-        mutationMap.put(pendingMutation.getMutationId(), pendingNode);
+        mutationMap.put(id, pendingNode);
+        index(pendingNode);
         return true;
     }
 
+    private void index(Node node) {
+        LinkedHashSet<Node> nodes = modelIdIndex.get(node.modelId);
+        if (nodes == null) {
+            nodes = new LinkedHashSet<>();
+            modelIdIndex.put(node.modelId, nodes);
+        }
+        nodes.add(node);
+    }
+
+    private void unindex(Node node) {
+        LinkedHashSet<Node> nodes = modelIdIndex.get(node.modelId);
+        if (nodes != null) {
+            nodes.remove(node);
+            if (nodes.isEmpty()) {
+                modelIdIndex.remove(node.modelId);
+            }
+        }
+    }
+
+    /**
+     * Moves a node to the index entry of its mutation's current model id. The node keeps its
+     * place in the queue, so the entry is rebuilt in queue order. This only happens if a mutation
+     * is replaced by one for a different model, which the outbox does not do in practice.
+     * @param node A node whose mutation has been replaced
+     * @param modelId The model id of the node's new mutation
+     */
+    private void reindex(Node node, String modelId) {
+        unindex(node);
+        node.modelId = modelId;
+        index(node);
+        LinkedHashSet<Node> nodes = modelIdIndex.get(node.modelId);
+        if (nodes.size() > 1) {
+            LinkedHashSet<Node> ordered = new LinkedHashSet<>();
+            for (Node current = dummyHead.next; current != dummyTail; current = current.next) {
+                if (nodes.contains(current)) {
+                    ordered.add(current);
+                }
+            }
+            modelIdIndex.put(node.modelId, ordered);
+        }
+    }
+
     /**
      * Replace an existing {@link PendingMutation} inside the Queue.
      *
@@ -120,18 +199,93 @@ public final class MutationQueue {
         // If there is already a mutation with same ID in the queue,
         // we'll go find it, and then update it, with this contents.
         if (mutationMap.containsKey(timeBasedUuid)) {
-            mutationMap.get(timeBasedUuid).mutation = pendingMutation;
+            Node existingNode = mutationMap.get(timeBasedUuid);
+            if (existingNode.mutation == null) {
+                loadedCount++;
+            }
+            existingNode.mutation = pendingMutation;
+            String modelId = pendingMutation.getMutatedItem().getPrimaryKeyString();
+            if (!existingNode.modelId.equals(modelId)) {
+                reindex(existingNode, modelId);
+            }
         } else {
             // Otherwise, just add it to the end of the queue.
             addToTail(pendingMutation);
         }
     }
 
+    /**
+     * Add a mutation to the tail of the queue, without loading it. Only its id, and the
+     * primary key of its model, are held, until it is loaded with {@link #load(PendingMutation)}.
+     *
+     * @param timeBasedUuid the UUID of a pending mutation
+     * @param modelId the primary key of the mutated model
+     * @return true if the mutation was added, false if it was already in the queue
+     */
+    synchronized boolean addUnloaded(@NonNull TimeBasedUuid timeBasedUuid, @NonNull String modelId) {
+        if (mutationMap.containsKey(timeBasedUuid)) {
+            return false;
+        }
+        return addToTail(timeBasedUuid, modelId, null);
+    }
+
+    /**
+     * Load a mutation that was added with {@link #addUnloaded(TimeBasedUuid, String)}.
+     * Nothing happens if the mutation is no longer in the queue, or is already loaded.
+     *
+     * @param pendingMutation the mutation, as read from storage
+     */
+    synchronized void load(@NonNull PendingMutation<? extends Model> pendingMutation) {
+        Node node = mutationMap.get(pendingMutation.getMutationId());
+        if (node != null && node.mutation == null) {
+            node.mutation = pendingMutation;
+            loadedCount++;
+        }
+    }
+
+    /**
+     * Get the ids of the mutations which are not loaded, among the first count mutations of the queue.
+     *
+     * @param count the number of mutations to look at, from the head of the queue
+     * @return ids of the mutations which need to be loaded, in queue order
+     */
+    @NonNull
+    synchronized List<TimeBasedUuid> unloadedIds(int count) {
+        List<TimeBasedUuid> ids = new ArrayList<>();
+        int seen = 0;
+        for (Node current = dummyHead.next; current != dummyTail && seen < count; current = current.next) {
+            if (current.mutation == null) {
+                ids.add(current.id);
+            }
+            seen++;
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the max number of mutations which are held in memory, when adding mutations.
+     *
+     * @return the window size of the queue
+     */
+    int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Checks if there is a mutation with the UUID in the queue, whether it is loaded, or not.
+     *
+     * @param timeBasedUuid the UUID of a pending mutation
+     * @return true if the queue contains the mutation
+     */
+    synchronized boolean containsId(TimeBasedUuid timeBasedUuid) {
+        return mutationMap.containsKey(timeBasedUuid);
+    }
+
     /**
      * Get a {@link PendingMutation} instance by its UUID from {@link #mutationMap}.
      *
      * @param timeBasedUuid the UUID of a pending mutation
-     * @return an instance of {@link PendingMutation}
+     * @return an instance of {@link PendingMutation}, or null if it is not in the queue, or not loaded
      */
     @Nullable // When there is no match.
     synchronized PendingMutation<? extends Model> getMutationById(TimeBasedUuid timeBasedUuid) {
@@ -194,16 +348,45 @@ public final class MutationQueue {
         dummyHead.next = dummyTail;
         dummyTail.prev = dummyHead;
         mutationMap.clear();
+        modelIdIndex.clear();
+        loadedCount = 0;
     }
 
     /**
      * Get the first {@link PendingMutation} instance from the queue, if queue is empty, return null.
+     * The first mutation must have been loaded, if the queue isn't empty.
      *
      * @return return a {@link PendingMutation} or null
+     * @throws IllegalStateException If the queue isn't empty, but its first mutation is not loaded
      */
     @Nullable
     public synchronized PendingMutation<? extends Model> peek() {
-        return mutationMap.isEmpty() ? null : dummyHead.next.mutation;
+        if (mutationMap.isEmpty()) {
+            return null;
+        }
+        if (dummyHead.next.mutation == null) {
+            throw new IllegalStateException(
+                "The mutation with ID = " + dummyHead.next.id + " is at the head of the queue, but is not loaded."
+            );
+        }
+        return dummyHead.next.mutation;
+    }
+
+    /**
+     * Get up to count {@link PendingMutation} instances from the head of the queue, in queue order.
+     * This stops at the first mutation which is not loaded.
+     *
+     * @param count the max number of mutations to get
+     * @return return a list of {@link PendingMutation}, which is empty if the queue is empty
+     */
+    @NonNull
+    public synchronized List<PendingMutation<? extends Model>> peek(int count) {
+        List<PendingMutation<? extends Model>> mutations = new ArrayList<>(Math.min(count, mutationMap.size()));
+        for (Node current = dummyHead.next; current != dummyTail && current.mutation != null &&
+                mutations.size() < count; current = current.next) {
+            mutations.add(current.mutation);
+        }
+        return mutations;
     }
 
     /**
@@ -213,6 +396,7 @@ public final class MutationQueue {
     private class Node {
         private TimeBasedUuid id;
         private PendingMutation<? extends Model> mutation;
+        private String modelId;
         private Node next;
         private Node prev;
     }
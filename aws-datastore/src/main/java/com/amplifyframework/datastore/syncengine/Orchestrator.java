@@ -109,6 +109,7 @@ public final class Orchestrator {
             .appSync(appSync)
             .dataStoreConfigurationProvider(dataStoreConfigurationProvider)
             .retryHandler(new RetryHandler())
+            .modelProvider(modelProvider)
             .build();
         this.syncProcessor = SyncProcessor.builder()
             .modelProvider(modelProvider)
@@ -128,6 +129,7 @@ public final class Orchestrator {
                 .merger(merger)
                 .queryPredicateProvider(queryPredicateProvider)
                 .onFailure(this::onApiSyncFailure)
+                .dataStoreConfigurationProvider(dataStoreConfigurationProvider)
                 .build();
         this.storageObserver = new StorageObserver(localStorageAdapter, mutationOutbox);
         this.currentState = new AtomicReference<>(State.STOPPED);
@@ -21,10 +21,12 @@ import androidx.annotation.VisibleForTesting;
 
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.SerializedModel;
 import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.QueryField;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
@@ -34,14 +36,20 @@ import com.amplifyframework.datastore.storage.StorageItemChange;
 import com.amplifyframework.hub.HubChannel;
 import com.amplifyframework.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 import io.reactivex.rxjava3.subjects.Subject;
 
@@ -56,6 +64,15 @@ import io.reactivex.rxjava3.subjects.Subject;
  */
 final class PersistentMutationOutbox implements MutationOutbox {
     private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+    // Max number of mutations which are held in memory, deserialized. The rest of the outbox
+    // is only indexed, and its mutations are read from storage as the window drains.
+    @VisibleForTesting
+    static final int DEFAULT_WINDOW_SIZE = 100;
+    // Upper bound on the number of mutations which are read by a single query, to keep
+    // the depth of the WHERE clause under SQLite's limits.
+    private static final int MAX_MUTATIONS_PER_LOOKUP = 500;
+    private static final QueryField RECORD_ID_FIELD =
+        QueryField.field(PendingMutation.PersistentRecord.class.getSimpleName(), "id");
 
     private final LocalStorageAdapter storage;
     private final MutationQueue mutationQueue;
@@ -65,7 +82,7 @@ final class PersistentMutationOutbox implements MutationOutbox {
     private final Semaphore semaphore;
 
     PersistentMutationOutbox(@NonNull final LocalStorageAdapter localStorageAdapter) {
-        this(localStorageAdapter, new MutationQueue());
+        this(localStorageAdapter, new MutationQueue(DEFAULT_WINDOW_SIZE));
     }
 
     @VisibleForTesting
@@ -73,7 +90,8 @@ final class PersistentMutationOutbox implements MutationOutbox {
                              @NonNull MutationQueue mutationQueue) {
         this.storage = Objects.requireNonNull(localStorageAdapter);
         this.mutationQueue = mutationQueue;
-        this.inFlightMutations = new HashSet<>();
+        // Mutations may be marked in-flight and removed from different threads, if they are published concurrently.
+        this.inFlightMutations = Collections.synchronizedSet(new HashSet<>());
         this.converter = new GsonPendingMutationConverter();
         this.events = PublishSubject.<OutboxEvent>create().toSerialized();
         this.semaphore = new Semaphore(1);
@@ -82,7 +100,7 @@ final class PersistentMutationOutbox implements MutationOutbox {
     @Override
     public boolean hasPendingMutation(@NonNull String modelId) {
         Objects.requireNonNull(modelId);
-        return mutationQueue.nextMutationForModelId(modelId) != null;
+        return mutationQueue.nextMutationIdForModelId(modelId) != null;
     }
 
     @NonNull
@@ -93,14 +111,17 @@ final class PersistentMutationOutbox implements MutationOutbox {
             // If there is no existing mutation for the model, then just apply the incoming
             // mutation, and be done with this.
             String modelId = incomingMutation.getMutatedItem().getPrimaryKeyString();
-            @SuppressWarnings("unchecked")
-            PendingMutation<T> existingMutation = (PendingMutation<T>) mutationQueue.nextMutationForModelId(modelId);
-            if (existingMutation == null || inFlightMutations.contains(existingMutation.getMutationId())) {
+            TimeBasedUuid existingMutationId = mutationQueue.nextMutationIdForModelId(modelId);
+            if (existingMutationId == null || inFlightMutations.contains(existingMutationId)) {
                 return save(incomingMutation)
                     .andThen(notifyContentAvailable());
-            } else {
-                return resolveConflict(existingMutation, incomingMutation);
             }
+            return getMutationById(existingMutationId)
+                .flatMapCompletable(existing -> {
+                    @SuppressWarnings("unchecked")
+                    PendingMutation<T> existingMutation = (PendingMutation<T>) existing;
+                    return resolveConflict(existingMutation, incomingMutation);
+                });
         })
         .doOnSubscribe(disposable -> semaphore.acquire())
         .doOnTerminate(semaphore::release);
@@ -147,59 +168,168 @@ final class PersistentMutationOutbox implements MutationOutbox {
     private Completable removeNotLocking(@NonNull TimeBasedUuid pendingMutationId) {
         Objects.requireNonNull(pendingMutationId);
         return Completable.defer(() -> {
-            PendingMutation<? extends Model> pendingMutation = mutationQueue.getMutationById(pendingMutationId);
-            if (pendingMutation == null) {
+            if (!mutationQueue.containsId(pendingMutationId)) {
                 throw new DataStoreException(
                     "Outbox was asked to remove a mutation with ID = " + pendingMutationId + ". " +
                         "However, there was no mutation with that ID in the outbox, to begin with.",
                     AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
                 );
             }
-            return Maybe.<OutboxEvent>create(subscriber -> {
-                storage.delete(
-                    converter.toRecord(pendingMutation),
-                    StorageItemChange.Initiator.SYNC_ENGINE,
-                    QueryPredicates.all(),
-                    ignored -> {
-                        mutationQueue.removeById(pendingMutation.getMutationId());
-                        inFlightMutations.remove(pendingMutationId);
-                        LOG.info("Successfully removed from mutations outbox" + pendingMutation);
-                        final boolean contentAvailable = !mutationQueue.isEmpty();
-                        if (contentAvailable) {
-                            subscriber.onSuccess(OutboxEvent.CONTENT_AVAILABLE);
-                        } else {
-                            subscriber.onComplete();
+            return getMutationById(pendingMutationId)
+                .flatMapMaybe(pendingMutation -> Maybe.<OutboxEvent>create(subscriber -> {
+                    storage.delete(
+                        converter.toRecord(pendingMutation),
+                        StorageItemChange.Initiator.SYNC_ENGINE,
+                        QueryPredicates.all(),
+                        ignored -> {
+                            mutationQueue.removeById(pendingMutation.getMutationId());
+                            inFlightMutations.remove(pendingMutationId);
+                            LOG.info("Successfully removed from mutations outbox" + pendingMutation);
+                            final boolean contentAvailable = !mutationQueue.isEmpty();
+                            if (contentAvailable) {
+                                subscriber.onSuccess(OutboxEvent.CONTENT_AVAILABLE);
+                            } else {
+                                subscriber.onComplete();
+                            }
+                        },
+                        subscriber::onError
+                    );
+                }))
+                .flatMapCompletable(contentAvailable -> notifyContentAvailable());
+        });
+    }
+
+    /**
+     * Gets a mutation which is in the outbox. If it isn't loaded, it is read from storage.
+     * @param pendingMutationId ID of a mutation in the outbox
+     * @return A Single which emits the mutation, or an error if it can't be read from storage
+     */
+    private Single<PendingMutation<? extends Model>> getMutationById(@NonNull TimeBasedUuid pendingMutationId) {
+        return Single.defer(() -> {
+            PendingMutation<? extends Model> pendingMutation = mutationQueue.getMutationById(pendingMutationId);
+            if (pendingMutation != null) {
+                return Single.just(pendingMutation);
+            }
+            return loadMutations(Collections.singletonList(pendingMutationId))
+                .andThen(Single.fromCallable(() -> {
+                    PendingMutation<? extends Model> loaded = mutationQueue.getMutationById(pendingMutationId);
+                    if (loaded == null) {
+                        throw new DataStoreException(
+                            "Failed to read the mutation with ID = " + pendingMutationId + " from storage.",
+                            AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+                        );
+                    }
+                    return loaded;
+                }));
+        });
+    }
+
+    /**
+     * Reads mutations which are indexed in the outbox from storage, and loads them into the queue.
+     * @param pendingMutationIds IDs of mutations in the outbox, which aren't loaded
+     * @return A Completable which completes when the mutations have been loaded
+     */
+    private Completable loadMutations(@NonNull List<TimeBasedUuid> pendingMutationIds) {
+        final List<Completable> lookups = new ArrayList<>();
+        for (int start = 0; start < pendingMutationIds.size(); start += MAX_MUTATIONS_PER_LOOKUP) {
+            int end = Math.min(start + MAX_MUTATIONS_PER_LOOKUP, pendingMutationIds.size());
+            lookups.add(loadMutationsInChunk(pendingMutationIds.subList(start, end)));
+        }
+        return Completable.concat(lookups);
+    }
+
+    private Completable loadMutationsInChunk(@NonNull List<TimeBasedUuid> pendingMutationIds) {
+        return Completable.create(emitter -> {
+            QueryPredicate matchAnyId = QueryPredicates.none();
+            for (TimeBasedUuid pendingMutationId : pendingMutationIds) {
+                matchAnyId = matchAnyId.or(RECORD_ID_FIELD.eq(pendingMutationId.toString()));
+            }
+            storage.query(PendingMutation.PersistentRecord.class, Where.matches(matchAnyId),
+                results -> {
+                    while (results.hasNext()) {
+                        try {
+                            mutationQueue.load(converter.fromRecord(results.next()));
+                        } catch (Throwable throwable) {
+                            emitter.onError(throwable);
+                            return;
                         }
-                    },
-                    subscriber::onError
-                );
-            })
-            .flatMapCompletable(contentAvailable -> notifyContentAvailable());
+                    }
+                    emitter.onComplete();
+                },
+                emitter::onError
+            );
         });
     }
 
+    /**
+     * Makes sure that the first count mutations of the outbox are loaded. If any of them aren't,
+     * this reads a whole window of mutations, so that storage isn't read for every mutation.
+     * @param count The number of mutations which are needed, from the head of the outbox
+     * @throws DataStoreException If the mutations could not be read from storage
+     */
+    private void fillWindow(int count) throws DataStoreException {
+        if (mutationQueue.unloadedIds(count).isEmpty()) {
+            return;
+        }
+        List<TimeBasedUuid> unloadedIds = mutationQueue.unloadedIds(Math.max(count, mutationQueue.getWindowSize()));
+        try {
+            loadMutations(unloadedIds).blockingAwait();
+        } catch (RuntimeException error) {
+            if (error.getCause() instanceof DataStoreException) {
+                throw (DataStoreException) error.getCause();
+            }
+            throw new DataStoreException(
+                "Failed to read pending mutations from storage.", error,
+                "See attached exception for details."
+            );
+        }
+        List<TimeBasedUuid> missingIds = mutationQueue.unloadedIds(count);
+        if (!missingIds.isEmpty()) {
+            throw new DataStoreException(
+                "Failed to read the mutation with ID = " + missingIds.get(0) + " from storage.",
+                AmplifyException.REPORT_BUG_TO_AWS_SUGGESTION
+            );
+        }
+    }
+
     @NonNull
     @Override
     public Completable load() {
         return Completable.create(emitter -> {
             inFlightMutations.clear();
             mutationQueue.clear();
-            storage.query(PendingMutation.PersistentRecord.class, Where.matchesAll(),
-                results -> {
-                    while (results.hasNext()) {
-                        try {
-                            PendingMutation.PersistentRecord persistentRecord = results.next();
+            // Only the first window of mutations is deserialized. The others are indexed
+            // by their IDs and model IDs, which are stored alongside the serialized mutation.
+            // The records are streamed, so that only one of them is held in memory at a time.
+            AtomicReference<Cancelable> query = new AtomicReference<>();
+            AtomicInteger loadedCount = new AtomicInteger(0);
+            storage.queryStream(PendingMutation.PersistentRecord.class, Where.matchesAll(),
+                query::set,
+                persistentRecord -> {
+                    if (emitter.isDisposed()) {
+                        return;
+                    }
+                    try {
+                        if (loadedCount.get() < mutationQueue.getWindowSize()) {
                             mutationQueue.add(converter.fromRecord(persistentRecord));
-                        } catch (Throwable throwable) {
-                            emitter.onError(throwable);
-                            return;
+                            loadedCount.incrementAndGet();
+                        } else {
+                            mutationQueue.addUnloaded(
+                                TimeBasedUuid.fromString(persistentRecord.resolveIdentifier()),
+                                persistentRecord.getContainedModelId()
+                            );
                         }
+                    } catch (Throwable throwable) {
+                        query.get().cancel();
+                        emitter.onError(throwable);
                     }
+                },
+                emitter::onError,
+                () -> {
                     // Publish outbox status upon loading
                     publishCurrentOutboxStatus();
                     emitter.onComplete();
-                },
-                emitter::onError
+                }
             );
         })
         .doOnSubscribe(disposable -> semaphore.acquire())
@@ -218,17 +348,29 @@ final class PersistentMutationOutbox implements MutationOutbox {
 
     @Nullable
     @Override
-    public PendingMutation<? extends Model> peek() {
+    public PendingMutation<? extends Model> peek() throws DataStoreException {
+        fillWindow(1);
         return mutationQueue.peek();
     }
 
+    @NonNull
+    @Override
+    public List<PendingMutation<? extends Model>> peek(int count) throws DataStoreException {
+        fillWindow(count);
+        return mutationQueue.peek(count);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mutationQueue.isEmpty();
+    }
+
     @NonNull
     @Override
     public Completable markInFlight(@NonNull TimeBasedUuid pendingMutationId) {
         return Completable.create(emitter -> {
-            PendingMutation<? extends Model> mutation = mutationQueue.getMutationById(pendingMutationId);
-            if (mutation != null) {
-                inFlightMutations.add(mutation.getMutationId());
+            if (mutationQueue.containsId(pendingMutationId)) {
+                inFlightMutations.add(pendingMutationId);
                 emitter.onComplete();
                 return;
             }
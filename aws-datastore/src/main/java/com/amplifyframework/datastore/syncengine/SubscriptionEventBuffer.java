@@ -0,0 +1,210 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amplifyframework.core.Amplify;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.datastore.appsync.ModelMetadata;
+import com.amplifyframework.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableEmitter;
+
+/**
+ * Holds the {@link SubscriptionEvent}s which arrive before the {@link SubscriptionProcessor}
+ * starts to merge them, which is only after the initial sync has completed.
+ *
+ * By default, the buffer is unbounded, and holds every event. When it is given a capacity,
+ * it only keeps the latest event for each model instance: a newer version of a model replaces
+ * the buffered one, in the buffered one's place. If the buffer is full, events for model instances
+ * which aren't in it yet are dropped, and will only be reconciled by a later sync.
+ *
+ * Once draining starts, buffered events are emitted in arrival order, and subsequent events
+ * are passed straight through. The buffer keeps no reference to events it has emitted.
+ */
+final class SubscriptionEventBuffer {
+    private static final Logger LOG = Amplify.Logging.forNamespace("amplify:aws-datastore");
+
+    private final int capacity;
+    private final Map<String, SubscriptionEvent<? extends Model>> coalescedEvents;
+    private final List<SubscriptionEvent<? extends Model>> events;
+    private ObservableEmitter<SubscriptionEvent<? extends Model>> emitter;
+    private Throwable terminalError;
+    private boolean completed;
+    private int peakDepth;
+    private long coalescedCount;
+    private long droppedCount;
+
+    /**
+     * Creates a new buffer.
+     * @param capacity The max number of events held before draining starts. A value of 0
+     *                 or less leaves the buffer unbounded, and disables coalescing.
+     */
+    SubscriptionEventBuffer(int capacity) {
+        this.capacity = capacity;
+        this.coalescedEvents = new LinkedHashMap<>();
+        this.events = new ArrayList<>();
+    }
+
+    /**
+     * Adds an event to the buffer, or passes it through, if the buffer is being drained.
+     * @param event A subscription event
+     */
+    synchronized void onNext(@NonNull SubscriptionEvent<? extends Model> event) {
+        if (emitter != null) {
+            emitter.onNext(event);
+        } else if (capacity <= 0) {
+            events.add(event);
+            peakDepth = Math.max(peakDepth, events.size());
+        } else {
+            String key = keyOf(event);
+            SubscriptionEvent<? extends Model> buffered = coalescedEvents.get(key);
+            if (buffered != null) {
+                coalescedCount++;
+                if (!isOlder(event, buffered)) {
+                    // Replacing the value of an existing key keeps its place in the buffer.
+                    coalescedEvents.put(key, event);
+                }
+            } else if (coalescedEvents.size() < capacity) {
+                coalescedEvents.put(key, event);
+                peakDepth = Math.max(peakDepth, coalescedEvents.size());
+            } else {
+                if (droppedCount == 0) {
+                    LOG.warn("Subscription event buffer is full, with " + capacity + " events. Dropping new " +
+                        "events until the initial sync completes; they will be reconciled by a later sync.");
+                }
+                droppedCount++;
+            }
+        }
+    }
+
+    /**
+     * Fails the buffer. The error is delivered once draining starts, after the buffered events.
+     * @param error The failure of the subscriptions
+     */
+    synchronized void onError(@NonNull Throwable error) {
+        if (emitter != null) {
+            emitter.onError(error);
+        } else {
+            terminalError = error;
+        }
+    }
+
+    /**
+     * Completes the buffer. Completion is delivered once draining starts, after the buffered events.
+     */
+    synchronized void onComplete() {
+        if (emitter != null) {
+            emitter.onComplete();
+        } else {
+            completed = true;
+        }
+    }
+
+    /**
+     * Drains the buffer. The returned observable emits the buffered events, followed by any
+     * events which arrive while it is subscribed. It may only be subscribed once.
+     * @return An observable of subscription events
+     */
+    @NonNull
+    Observable<SubscriptionEvent<? extends Model>> drain() {
+        return Observable.create(this::startDraining);
+    }
+
+    private synchronized void startDraining(ObservableEmitter<SubscriptionEvent<? extends Model>> emitter) {
+        LOG.info(String.format(Locale.US,
+            "Draining subscription event buffer: %d events, peak depth %d, %d coalesced, %d dropped.",
+            depth(), peakDepth, coalescedCount, droppedCount
+        ));
+        for (SubscriptionEvent<? extends Model> event : events) {
+            emitter.onNext(event);
+        }
+        for (SubscriptionEvent<? extends Model> event : coalescedEvents.values()) {
+            emitter.onNext(event);
+        }
+        events.clear();
+        coalescedEvents.clear();
+        if (terminalError != null) {
+            emitter.onError(terminalError);
+        } else if (completed) {
+            emitter.onComplete();
+        } else {
+            this.emitter = emitter;
+            emitter.setCancellable(this::stopDraining);
+        }
+    }
+
+    private synchronized void stopDraining() {
+        emitter = null;
+    }
+
+    /**
+     * Gets the number of events currently held in the buffer.
+     * @return Current depth of the buffer
+     */
+    synchronized int depth() {
+        return events.size() + coalescedEvents.size();
+    }
+
+    /**
+     * Gets the largest number of events that were held in the buffer at once.
+     * @return Peak depth of the buffer
+     */
+    synchronized int peakDepth() {
+        return peakDepth;
+    }
+
+    /**
+     * Gets the number of events which were merged with an event already in the buffer.
+     * @return Number of coalesced events
+     */
+    synchronized long coalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Gets the number of events which were dropped because the buffer was full.
+     * @return Number of dropped events
+     */
+    synchronized long droppedCount() {
+        return droppedCount;
+    }
+
+    private static String keyOf(SubscriptionEvent<? extends Model> event) {
+        return event.modelSchema().getName() + ":" + event.modelWithMetadata().getModel().getPrimaryKeyString();
+    }
+
+    private static boolean isOlder(SubscriptionEvent<? extends Model> event,
+                                   SubscriptionEvent<? extends Model> other) {
+        Integer version = versionOf(event.modelWithMetadata().getSyncMetadata());
+        Integer otherVersion = versionOf(other.modelWithMetadata().getSyncMetadata());
+        return version != null && otherVersion != null && version < otherVersion;
+    }
+
+    @Nullable
+    private static Integer versionOf(@Nullable ModelMetadata metadata) {
+        return metadata == null ? null : metadata.getVersion();
+    }
+}
@@ -33,6 +33,7 @@ import com.amplifyframework.core.model.SerializedModel;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 import com.amplifyframework.datastore.AmplifyDisposables;
 import com.amplifyframework.datastore.DataStoreChannelEventName;
+import com.amplifyframework.datastore.DataStoreConfigurationProvider;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.DataStoreException.GraphQLResponseException;
 import com.amplifyframework.datastore.appsync.AppSync;
@@ -57,7 +58,6 @@ import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
-import io.reactivex.rxjava3.subjects.ReplaySubject;
 
 /**
  * Observes mutations occurring on a remote {@link AppSync} system. The mutations arrive
@@ -78,7 +78,8 @@ final class SubscriptionProcessor {
     private final Consumer<Throwable> onFailure;
     private final CompositeDisposable ongoingOperationsDisposable;
     private final long adjustedTimeoutSeconds;
-    private ReplaySubject<SubscriptionEvent<? extends Model>> buffer;
+    private final DataStoreConfigurationProvider dataStoreConfigurationProvider;
+    private SubscriptionEventBuffer buffer;
 
     /**
      * Constructs a new SubscriptionProcessor.
@@ -91,6 +92,7 @@ final class SubscriptionProcessor {
         this.queryPredicateProvider = builder.queryPredicateProvider;
         this.onFailure = builder.onFailure;
         this.schemaRegistry = builder.schemaRegistry;
+        this.dataStoreConfigurationProvider = builder.dataStoreConfigurationProvider;
 
         this.ongoingOperationsDisposable = new CompositeDisposable();
 
@@ -123,8 +125,7 @@ final class SubscriptionProcessor {
         AbortableCountDownLatch<DataStoreException> latch = new AbortableCountDownLatch<>(subscriptionCount);
 
         // Need to create a new buffer so we can properly handle retries and stop/start scenarios.
-        // Re-using the same buffer has some unexpected results due to the replay aspect of the subject.
-        buffer = ReplaySubject.create();
+        buffer = new SubscriptionEventBuffer(getSubscriptionBufferCapacity());
 
         Set<Observable<SubscriptionEvent<? extends Model>>> subscriptions = new HashSet<>();
         for (ModelSchema modelSchema : modelProvider.modelSchemas().values()) {
@@ -163,6 +164,14 @@ final class SubscriptionProcessor {
         }
     }
 
+    private int getSubscriptionBufferCapacity() throws DataStoreException {
+        if (dataStoreConfigurationProvider == null) {
+            return 0;
+        }
+        Integer capacity = dataStoreConfigurationProvider.getConfiguration().getSubscriptionBufferCapacity();
+        return capacity == null ? 0 : capacity;
+    }
+
     private boolean isExceptionType(DataStoreException exception, AppSyncErrorType errorType) {
         if (exception instanceof GraphQLResponseException) {
             List<GraphQLResponse.Error> errors = ((GraphQLResponseException) exception).getErrors();
@@ -250,7 +259,7 @@ final class SubscriptionProcessor {
      */
     void startDrainingMutationBuffer() {
         ongoingOperationsDisposable.add(
-            buffer
+            buffer.drain()
                 .doOnSubscribe(disposable -> LOG.info("Starting processing subscription data buffer."))
                 .flatMapCompletable(this::mergeEvent)
                 .doOnError(failure -> LOG.warn("Reading subscriptions buffer has failed.", failure))
@@ -356,6 +365,7 @@ final class SubscriptionProcessor {
         private QueryPredicateProvider queryPredicateProvider;
         private Consumer<Throwable> onFailure;
         private SchemaRegistry schemaRegistry;
+        private DataStoreConfigurationProvider dataStoreConfigurationProvider;
 
         @NonNull
         @Override
@@ -392,6 +402,14 @@ final class SubscriptionProcessor {
             return Builder.this;
         }
 
+        @NonNull
+        @Override
+        public BuildStep dataStoreConfigurationProvider(
+                @NonNull DataStoreConfigurationProvider dataStoreConfigurationProvider) {
+            this.dataStoreConfigurationProvider = Objects.requireNonNull(dataStoreConfigurationProvider);
+            return Builder.this;
+        }
+
         @NonNull
         @Override
         public SubscriptionProcessor build() {
@@ -437,6 +455,10 @@ final class SubscriptionProcessor {
     }
 
     interface BuildStep {
+        @NonNull
+        BuildStep dataStoreConfigurationProvider(
+                @NonNull DataStoreConfigurationProvider dataStoreConfigurationProvider);
+
         @NonNull
         SubscriptionProcessor build();
     }
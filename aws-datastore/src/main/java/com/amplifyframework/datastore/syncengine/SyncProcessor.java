@@ -47,6 +47,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.rxjava3.core.Completable;
@@ -111,7 +113,8 @@ final class SyncProcessor {
      * @return An Rx {@link Completable} which can be used to perform the operation.
      */
     Completable hydrate() {
-        final List<Completable> hydrationTasks = new ArrayList<>();
+        // Hydration tasks, by topological layer
+        final SortedMap<Integer, List<Completable>> hydrationTasks = new TreeMap<>();
         List<ModelSchema> modelSchemas = new ArrayList<>(modelProvider.modelSchemas().values());
 
         // And sort them all, according to their model's topological order,
@@ -124,12 +127,24 @@ final class SyncProcessor {
             //Check to see if query predicate for this schema is not equal to none. This means customer does
             // not want to sync the data for this model.
             if (!QueryPredicates.none().equals(queryPredicateProvider.getPredicate(schema.getName()))) {
-                hydrationTasks.add(createHydrationTask(schema));
+                int layer = ordering.layerOf(schema);
+                if (!hydrationTasks.containsKey(layer)) {
+                    hydrationTasks.put(layer, new ArrayList<>());
+                }
+                hydrationTasks.get(layer).add(createHydrationTask(schema));
                 toBeSyncedModelArray.add(schema.getName());
             }
         }
 
-        return Completable.concat(hydrationTasks)
+        // Models in the same layer don't depend on each other, so they are synced concurrently.
+        // Each layer is only started once the layer before it has been synced.
+        final List<Completable> layerTasks = new ArrayList<>();
+        for (List<Completable> tasksInLayer : hydrationTasks.values()) {
+            layerTasks.add(Completable.defer(() ->
+                Completable.merge(Flowable.fromIterable(tasksInLayer), getMaxConcurrentModels())));
+        }
+
+        return Completable.concat(layerTasks)
             .doOnSubscribe(ignore -> {
                 // This is where we trigger the syncQueriesStarted event since
                 // doOnSubscribe means that all upstream hydration tasks
@@ -147,6 +162,17 @@ final class SyncProcessor {
             });
     }
 
+    private int getSyncPagePrefetchDepth() throws DataStoreException {
+        Integer prefetchDepth = dataStoreConfigurationProvider.getConfiguration().getSyncPagePrefetchDepth();
+        return prefetchDepth == null ? 1 : Math.max(1, prefetchDepth);
+    }
+
+    private int getMaxConcurrentModels() throws DataStoreException {
+        Integer maxConcurrentModels =
+            dataStoreConfigurationProvider.getConfiguration().getSyncMaxConcurrentModels();
+        return maxConcurrentModels == null ? 1 : Math.max(1, maxConcurrentModels);
+    }
+
     private Completable createHydrationTask(ModelSchema schema) {
         ModelSyncMetricsAccumulator metricsAccumulator = new ModelSyncMetricsAccumulator(schema.getName());
         return syncTimeRegistry.lookupLastSyncTime(schema.getName())
@@ -154,13 +180,27 @@ final class SyncProcessor {
             // And for each, perform a sync. The network response will contain an Iterable<ModelWithMetadata<T>>
             .flatMap(lastSyncTime -> {
                 // Sync all the pages
-                return syncModel(schema, lastSyncTime)
+                final int prefetchDepth = getSyncPagePrefetchDepth();
+                final PrefetchWindow prefetchWindow = new PrefetchWindow(prefetchDepth);
+                Flowable<List<ModelWithMetadata<Model>>> pages = syncModel(schema, lastSyncTime, prefetchWindow)
                     // Switch to a new thread so that subsequent API fetches will happen in parallel with DB writes.
-                    .observeOn(Schedulers.io())
-                    // Flatten to a stream of ModelWithMetadata objects
-                    .concatMap(Flowable::fromIterable)
-                    .concatMapCompletable(item -> merger.merge(item, metricsAccumulator::increment))
-                    .toSingle(() -> lastSyncTime.exists() ? SyncType.DELTA : SyncType.BASE);
+                    // The prefetch window already bounds the pages that are fetched ahead of the merge.
+                    .observeOn(Schedulers.io(), false, prefetchDepth + 1);
+                final boolean mergeBatchingEnabled =
+                    dataStoreConfigurationProvider.getConfiguration().isSyncMergeBatchingEnabled();
+                Completable mergePages = pages.concatMapCompletable(page -> {
+                    Completable mergePage;
+                    if (mergeBatchingEnabled) {
+                        // Merge the page as a single batch
+                        mergePage = merger.mergeAll(page, metricsAccumulator::increment);
+                    } else {
+                        // Merge the ModelWithMetadata objects of the page one at a time
+                        mergePage = Flowable.fromIterable(page)
+                            .concatMapCompletable(item -> merger.merge(item, metricsAccumulator::increment));
+                    }
+                    return mergePage.doOnComplete(prefetchWindow::pageMerged);
+                }, 1);
+                return mergePages.toSingle(() -> lastSyncTime.exists() ? SyncType.DELTA : SyncType.BASE);
             })
             .flatMapCompletable(syncType -> {
                 Completable syncTimeSaveCompletable = SyncType.DELTA.equals(syncType) ?
@@ -225,8 +265,8 @@ final class SyncProcessor {
      * @return a stream of all ModelWithMetadata&lt;T&gt; objects from all pages for the provided model.
      * @throws DataStoreException if dataStoreConfigurationProvider.getConfiguration() fails
      */
-    private <T extends Model> Flowable<List<ModelWithMetadata<T>>> syncModel(ModelSchema schema, SyncTime syncTime)
-            throws DataStoreException {
+    private <T extends Model> Flowable<List<ModelWithMetadata<T>>> syncModel(
+            ModelSchema schema, SyncTime syncTime, PrefetchWindow prefetchWindow) throws DataStoreException {
         final Long lastSyncTimeAsLong = syncTime.exists() ? syncTime.toLong() : null;
         final Integer syncPageSize = dataStoreConfigurationProvider.getConfiguration().getSyncPageSize();
         final Integer syncMaxRecords = dataStoreConfigurationProvider.getConfiguration().getSyncMaxRecords();
@@ -246,17 +286,21 @@ final class SyncProcessor {
         })
                 .doOnNext(paginatedResult -> {
                     if (paginatedResult.hasNextResult()) {
-                        processor.onNext(paginatedResult.getRequestForNextResult());
+                        // The next page is only requested once it fits into the prefetch window.
+                        prefetchWindow.requestNextPage(() ->
+                            processor.onNext(paginatedResult.getRequestForNextResult()));
                     } else {
                         processor.onComplete();
                     }
                 })
                 // If it's a SerializedModel, add the ModelSchema, since it isn't added during deserialization.
-                .map(paginatedResult -> Flowable.fromIterable(paginatedResult)
-                        .map(modelWithMetadata -> hydrateSchemaIfNeeded(modelWithMetadata, schema))
-                        .toList()
-                        .blockingGet()
-                )
+                .map(paginatedResult -> {
+                    List<ModelWithMetadata<T>> items = new ArrayList<>();
+                    for (ModelWithMetadata<T> modelWithMetadata : paginatedResult) {
+                        items.add(hydrateSchemaIfNeeded(modelWithMetadata, schema));
+                    }
+                    return items;
+                })
                 .takeUntil(items -> recordsFetched.accumulateAndGet(items.size(), Integer::sum) >= syncMaxRecords);
     }
 
@@ -317,6 +361,50 @@ final class SyncProcessor {
         return requestRetry.retry(syncPage(request), skipException);
     }
 
+    /**
+     * Bounds the sync pages of a model which are requested ahead of the merge. While a page is
+     * being merged, at most {@code prefetchDepth} of the pages after it have been requested.
+     * The request for a page which does not fit is held back until a page has been merged.
+     */
+    private static final class PrefetchWindow {
+        private final int prefetchDepth;
+        private int pagesRequested;
+        private int pagesMerged;
+        private Runnable pendingRequest;
+
+        PrefetchWindow(int prefetchDepth) {
+            this.prefetchDepth = prefetchDepth;
+            // The first page is always requested.
+            this.pagesRequested = 1;
+        }
+
+        void requestNextPage(Runnable request) {
+            synchronized (this) {
+                if (pagesRequested - pagesMerged > prefetchDepth) {
+                    pendingRequest = request;
+                    return;
+                }
+                pagesRequested++;
+            }
+            request.run();
+        }
+
+        void pageMerged() {
+            final Runnable request;
+            synchronized (this) {
+                pagesMerged++;
+                request = pendingRequest;
+                pendingRequest = null;
+                if (request != null) {
+                    pagesRequested++;
+                }
+            }
+            if (request != null) {
+                request.run();
+            }
+        }
+    }
+
     /**
      * Builds instances of {@link SyncProcessor}s.
      */
@@ -24,8 +24,10 @@ import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.SchemaRegistry;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
@@ -41,13 +43,30 @@ import java.util.Stack;
  *   input := [Comment, Post, Blog]
  * than the topological ordering is:
  *   output := [Blog, Post, Comment]
+ *
+ * Each ModelSchema is also assigned a layer: a ModelSchema with no dependencies is in
+ * layer 0, and every other ModelSchema is one layer after the last of its dependencies.
+ * ModelSchema in the same layer do not depend on one another.
  */
 @SuppressWarnings("unused")
 final class TopologicalOrdering {
     private final List<ModelSchema> modelSchema;
+    private final Map<String, Integer> layers;
 
     private TopologicalOrdering(List<ModelSchema> modelSchema) {
         this.modelSchema = modelSchema;
+        this.layers = new HashMap<>();
+        // Dependencies come first in the ordering, so their layers are known by the time they are needed.
+        for (ModelSchema schema : modelSchema) {
+            int layer = 0;
+            for (ModelAssociation association : schema.getAssociations().values()) {
+                Integer ownerLayer = layers.get(association.getAssociatedType());
+                if (association.isOwner() && ownerLayer != null) {
+                    layer = Math.max(layer, ownerLayer + 1);
+                }
+            }
+            layers.put(schema.getName(), layer);
+        }
     }
 
     /**
@@ -95,6 +114,21 @@ final class TopologicalOrdering {
         return onePosition - twoPosition;
     }
 
+    /**
+     * Gets the layer of a ModelSchema. Every ModelSchema that the provided one depends on
+     * is in a lower layer.
+     * @param modelSchema A model schema
+     * @return The layer of the model schema, starting from 0
+     */
+    int layerOf(@NonNull ModelSchema modelSchema) {
+        Objects.requireNonNull(modelSchema);
+        Integer layer = layers.get(modelSchema.getName());
+        if (layer == null) {
+            throw new NoSuchElementException("No model schema matching " + modelSchema.getName());
+        }
+        return layer;
+    }
+
     /**
      * Check the ordering of a ModelSchema.
      * @param modelSchema A model schema
@@ -19,13 +19,18 @@ import androidx.annotation.NonNull;
 
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.core.model.query.predicate.QueryField;
+import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.ModelMetadata;
 import com.amplifyframework.datastore.storage.LocalStorageAdapter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import io.reactivex.rxjava3.core.Single;
@@ -36,6 +41,11 @@ import io.reactivex.rxjava3.core.Single;
  */
 @SuppressWarnings("CodeBlock2Expr")
 final class VersionRepository {
+    // Upper bound on the number of models whose versions are found by a single query. This keeps the
+    // number of bound arguments, and the depth of the WHERE clause, under SQLite's limits.
+    private static final int MAX_MODELS_PER_LOOKUP = 500;
+    private static final QueryField METADATA_ID_FIELD = QueryField.field(ModelMetadata.class.getSimpleName(), "id");
+
     private final LocalStorageAdapter localStorageAdapter;
 
     /**
@@ -57,8 +67,7 @@ final class VersionRepository {
             // The ModelMetadata for the model uses the same ID as an identifier.
             localStorageAdapter.query(
                 ModelMetadata.class,
-                Where.identifier(ModelMetadata.class,
-                        model.getModelName() + "|" + model.getPrimaryKeyString()),
+                Where.identifier(ModelMetadata.class, metadataId(model)),
                 iterableResults -> {
                     try {
                         emitter.onSuccess(extractVersion(model, iterableResults));
@@ -70,6 +79,58 @@ final class VersionRepository {
         });
     }
 
+    /**
+     * Find the current versions of a batch of models, that we have in the local store.
+     * The versions are looked up with as few queries as possible, instead of one query per model.
+     * Models which are not known locally, or which have no version, are absent from the result.
+     * @param models A batch of models
+     * @param <T> Type of model
+     * @return A map of the current versions known locally, keyed by {@link #metadataId(Model)}
+     */
+    <T extends Model> Single<Map<String, Integer>> findModelVersions(List<T> models) {
+        final List<Single<Map<String, Integer>>> lookups = new ArrayList<>();
+        for (int start = 0; start < models.size(); start += MAX_MODELS_PER_LOOKUP) {
+            List<T> chunk = models.subList(start, Math.min(start + MAX_MODELS_PER_LOOKUP, models.size()));
+            lookups.add(findModelVersionsInChunk(chunk));
+        }
+        return Single.concat(lookups)
+            .collect(HashMap::new, Map::putAll);
+    }
+
+    private <T extends Model> Single<Map<String, Integer>> findModelVersionsInChunk(List<T> models) {
+        return Single.create(emitter -> {
+            // Match any of the ModelMetadata which share an identifier with one of the models.
+            QueryPredicate matchAnyId = QueryPredicates.none();
+            for (T model : models) {
+                matchAnyId = matchAnyId.or(METADATA_ID_FIELD.eq(metadataId(model)));
+            }
+            localStorageAdapter.query(
+                ModelMetadata.class,
+                Where.matches(matchAnyId),
+                iterableResults -> {
+                    final Map<String, Integer> versions = new HashMap<>();
+                    while (iterableResults.hasNext()) {
+                        ModelMetadata metadata = iterableResults.next();
+                        if (metadata.getVersion() != null) {
+                            versions.put(metadata.resolveIdentifier(), metadata.getVersion());
+                        }
+                    }
+                    emitter.onSuccess(versions);
+                },
+                emitter::onError);
+        });
+    }
+
+    /**
+     * Gets the identifier of the {@link ModelMetadata} which tracks the provided model.
+     * @param model A model
+     * @param <T> Type of model
+     * @return Identifier of the model's metadata
+     */
+    static <T extends Model> String metadataId(T model) {
+        return model.getModelName() + "|" + model.getPrimaryKeyString();
+    }
+
     /**
      * Extract a model version from an metadata iterator.
      * @param model The model for which metadata is being interrogated, used only for creating error messages.
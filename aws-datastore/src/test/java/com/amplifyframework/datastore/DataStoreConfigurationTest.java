@@ -67,6 +67,16 @@ public final class DataStoreConfigurationTest {
         assertTrue(dataStoreConfiguration.getErrorHandler() instanceof DefaultDataStoreErrorHandler);
         assertEquals(Collections.emptyMap(), dataStoreConfiguration.getSyncExpressions());
         assertFalse(dataStoreConfiguration.getDoSyncRetry());
+        assertFalse(dataStoreConfiguration.isSyncMergeBatchingEnabled());
+        assertFalse(dataStoreConfiguration.isWriteAheadLoggingEnabled());
+        assertEquals(DataStoreConfiguration.DEFAULT_MAX_CONCURRENT_MUTATIONS,
+            dataStoreConfiguration.getMaxConcurrentMutations().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_MUTATION_BATCH_SIZE,
+            dataStoreConfiguration.getMutationBatchSize().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_SYNC_MAX_CONCURRENT_MODELS,
+            dataStoreConfiguration.getSyncMaxConcurrentModels().intValue());
+        assertEquals(DataStoreConfiguration.DEFAULT_SYNC_PAGE_PREFETCH_DEPTH,
+            dataStoreConfiguration.getSyncPagePrefetchDepth().intValue());
     }
 
     /**
@@ -122,6 +132,11 @@ public final class DataStoreConfigurationTest {
             .syncExpression(BlogOwner.class, ownerSyncExpression)
             .syncExpression("Post", postSyncExpression)
                 .doSyncRetry(true)
+            .syncMergeBatchingEnabled(true)
+            .syncMaxConcurrentModels(4)
+            .writeAheadLoggingEnabled(true)
+            .maxConcurrentMutations(8)
+            .mutationBatchSize(10)
             .build();
 
         JSONObject jsonConfigFromFile = new JSONObject()
@@ -135,6 +150,11 @@ public final class DataStoreConfigurationTest {
         assertEquals(DataStoreConfiguration.DEFAULT_SYNC_PAGE_SIZE,
             dataStoreConfiguration.getSyncPageSize().longValue());
         assertTrue(dataStoreConfiguration.getDoSyncRetry());
+        assertTrue(dataStoreConfiguration.isSyncMergeBatchingEnabled());
+        assertEquals(4, dataStoreConfiguration.getSyncMaxConcurrentModels().intValue());
+        assertTrue(dataStoreConfiguration.isWriteAheadLoggingEnabled());
+        assertEquals(8, dataStoreConfiguration.getMaxConcurrentMutations().intValue());
+        assertEquals(10, dataStoreConfiguration.getMutationBatchSize().intValue());
 
         assertEquals(dummyConflictHandler, dataStoreConfiguration.getConflictHandler());
         assertEquals(errorHandler, dataStoreConfiguration.getErrorHandler());
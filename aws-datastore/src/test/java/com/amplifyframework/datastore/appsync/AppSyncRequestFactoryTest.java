@@ -20,7 +20,9 @@ import androidx.annotation.NonNull;
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.aws.AppSyncGraphQLRequest;
 import com.amplifyframework.api.aws.AuthModeStrategyType;
+import com.amplifyframework.api.graphql.GraphQLPathSegment;
 import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.GraphQLResponse;
 import com.amplifyframework.api.graphql.SubscriptionType;
 import com.amplifyframework.core.model.AuthStrategy;
 import com.amplifyframework.core.model.CustomTypeField;
@@ -54,6 +56,10 @@ import com.amplifyframework.testmodels.parenting.Parent;
 import com.amplifyframework.testmodels.parenting.Phonenumber;
 import com.amplifyframework.testmodels.personcar.Person;
 import com.amplifyframework.testutils.Resources;
+import com.amplifyframework.util.GsonFactory;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
 
 import org.json.JSONException;
 import org.junit.Test;
@@ -65,9 +71,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests the {@link AppSyncRequestFactory}.
@@ -890,6 +900,66 @@ public final class AppSyncRequestFactoryTest {
         assertEquals(expected, actual);
     }
 
+    /**
+     * Mutations which are batched are made as aliased fields of a single document, and
+     * each of their variables is renamed to not collide with the variables of the others.
+     * @throws AmplifyException On failure to parse ModelSchema from model class
+     */
+    @Test
+    public void validateBatchMutationRequestGeneration() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(BlogOwner.class);
+        BlogOwner tony = BlogOwner.builder().name("Tony").build();
+        BlogOwner jameson = BlogOwner.builder().name("Jameson").build();
+        List<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>> requests = Arrays.asList(
+            AppSyncRequestFactory.buildCreationRequest(schema, tony, DEFAULT_STRATEGY),
+            AppSyncRequestFactory.buildDeletionRequest(schema, jameson, 3, QueryPredicates.all(), DEFAULT_STRATEGY)
+        );
+
+        GraphQLRequest<JsonObject> batch = AppSyncRequestFactory.buildBatchMutationRequest(requests);
+
+        String query = batch.getQuery();
+        assertTrue(query.startsWith(
+            "mutation BatchMutation($input0: CreateBlogOwnerInput!, $input1: DeleteBlogOwnerInput!)"));
+        assertTrue(query.contains("mutation0: createBlogOwner(input: $input0)"));
+        assertTrue(query.contains("mutation1: deleteBlogOwner(input: $input1)"));
+        assertEquals(requests.get(0).getVariables().get("input"), batch.getVariables().get("input0"));
+        assertEquals(requests.get(1).getVariables().get("input"), batch.getVariables().get("input1"));
+    }
+
+    /**
+     * The response to a batch of mutations is split into one response per mutation. Errors
+     * are given to the mutation whose alias begins their path.
+     * @throws AmplifyException On failure to parse ModelSchema from model class
+     */
+    @Test
+    public void validateBatchMutationResponseSplitting() throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(BlogOwner.class);
+        BlogOwner tony = BlogOwner.builder().name("Tony").build();
+        BlogOwner jameson = BlogOwner.builder().name("Jameson").build();
+        List<GraphQLRequest<? extends ModelWithMetadata<? extends Model>>> requests = Arrays.asList(
+            AppSyncRequestFactory.buildCreationRequest(schema, tony, DEFAULT_STRATEGY),
+            AppSyncRequestFactory.buildCreationRequest(schema, jameson, DEFAULT_STRATEGY)
+        );
+        ModelWithMetadata<BlogOwner> createdTony =
+            new ModelWithMetadata<>(tony, new ModelMetadata(tony.getId(), false, 1, Temporal.Timestamp.now()));
+        JsonObject data = new JsonObject();
+        data.add("mutation0", GsonFactory.instance().toJsonTree(createdTony));
+        data.add("mutation1", JsonNull.INSTANCE);
+        GraphQLResponse.Error error = new GraphQLResponse.Error("Conflict",
+            null, Collections.singletonList(new GraphQLPathSegment("mutation1")), null);
+
+        List<GraphQLResponse<? extends ModelWithMetadata<? extends Model>>> responses =
+            AppSyncRequestFactory.splitBatchMutationResponse(requests,
+                new GraphQLResponse<>(data, Collections.singletonList(error)));
+
+        assertEquals(2, responses.size());
+        assertFalse(responses.get(0).hasErrors());
+        assertEquals(tony, responses.get(0).getData().getModel());
+        assertEquals(Integer.valueOf(1), responses.get(0).getData().getSyncMetadata().getVersion());
+        assertNull(responses.get(1).getData());
+        assertEquals(Collections.singletonList(error), responses.get(1).getErrors());
+    }
+
     @ModelConfig(authRules = { @AuthRule(allow = AuthStrategy.OWNER) })
     static final class Todo implements Model {
         @com.amplifyframework.core.model.annotations.ModelField(targetType = "ID", isRequired = true)
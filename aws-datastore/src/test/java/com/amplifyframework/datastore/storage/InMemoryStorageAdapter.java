@@ -28,6 +28,7 @@ import com.amplifyframework.core.model.SerializedModel;
 import com.amplifyframework.core.model.query.ObserveQueryOptions;
 import com.amplifyframework.core.model.query.QueryOptions;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.datastore.DataStoreConfiguration;
 import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.DataStoreQuerySnapshot;
@@ -35,6 +36,7 @@ import com.amplifyframework.datastore.DataStoreQuerySnapshot;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
@@ -117,6 +119,24 @@ public final class InMemoryStorageAdapter implements LocalStorageAdapter {
         onSuccess.accept(change);
     }
 
+    @Override
+    public <T extends Model> void saveAll(
+            @NonNull final List<T> items,
+            @NonNull final StorageItemChange.Initiator initiator,
+            @NonNull final Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError) {
+        final List<StorageItemChange<T>> changes = new ArrayList<>();
+        final List<DataStoreException> errors = new ArrayList<>();
+        for (T item : items) {
+            save(item, initiator, QueryPredicates.all(), changes::add, errors::add);
+            if (!errors.isEmpty()) {
+                onError.accept(errors.get(0));
+                return;
+            }
+        }
+        onSuccess.accept(changes);
+    }
+
     @SuppressWarnings("unchecked") // (T) item *is* checked, via isAssignableFrom().
     @Override
     public <T extends Model> void query(
@@ -135,6 +155,30 @@ public final class InMemoryStorageAdapter implements LocalStorageAdapter {
         onSuccess.accept(result.iterator());
     }
 
+    @SuppressWarnings("unchecked") // (T) item *is* checked, via isAssignableFrom().
+    @Override
+    public <T extends Model> void queryStream(
+            @NonNull final Class<T> itemClass,
+            @NonNull final QueryOptions options,
+            @NonNull final Consumer<Cancelable> onStarted,
+            @NonNull final Consumer<T> onItem,
+            @NonNull final Consumer<DataStoreException> onError,
+            @NonNull final Action onComplete
+    ) {
+        final AtomicBoolean canceled = new AtomicBoolean(false);
+        onStarted.accept(() -> canceled.set(true));
+        final QueryPredicate predicate = options.getQueryPredicate();
+        for (Model item : new ArrayList<>(items)) {
+            if (canceled.get()) {
+                return;
+            }
+            if (itemClass.isAssignableFrom(item.getClass()) && predicate.evaluate(item)) {
+                onItem.accept((T) item);
+            }
+        }
+        onComplete.call();
+    }
+
     @Override
     public void query(
             @NonNull String modelName,
@@ -199,6 +243,46 @@ public final class InMemoryStorageAdapter implements LocalStorageAdapter {
         onSuccess.accept(deletion);
     }
 
+    @Override
+    public <T extends Model> void deleteAll(
+            @NonNull final List<T> items,
+            @NonNull final StorageItemChange.Initiator initiator,
+            @NonNull final Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError) {
+        final List<StorageItemChange<T>> changes = new ArrayList<>();
+        for (T item : items) {
+            if (indexOf(item) > -1) {
+                final List<DataStoreException> errors = new ArrayList<>();
+                delete(item, initiator, QueryPredicates.all(), changes::add, errors::add);
+                if (!errors.isEmpty()) {
+                    onError.accept(errors.get(0));
+                    return;
+                }
+            }
+        }
+        onSuccess.accept(changes);
+    }
+
+    @Override
+    public <T extends Model> void deleteAllAndSaveAll(
+            @NonNull final List<T> itemsToDelete,
+            @NonNull final List<T> itemsToSave,
+            @NonNull final StorageItemChange.Initiator initiator,
+            @NonNull final Consumer<List<StorageItemChange<T>>> onSuccess,
+            @NonNull final Consumer<DataStoreException> onError) {
+        final List<StorageItemChange<T>> changes = new ArrayList<>();
+        final List<DataStoreException> errors = new ArrayList<>();
+        deleteAll(itemsToDelete, initiator, changes::addAll, errors::add);
+        if (errors.isEmpty()) {
+            saveAll(itemsToSave, initiator, changes::addAll, errors::add);
+        }
+        if (!errors.isEmpty()) {
+            onError.accept(errors.get(0));
+            return;
+        }
+        onSuccess.accept(changes);
+    }
+
     @SuppressWarnings("unchecked") // item.getClass() -> Class<?>, but type is T. So cast as Class<T> is OK.
     @Override
     public <T extends Model> void delete(
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.storage.sqlite;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import androidx.core.util.ObjectsCompat;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelProvider;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.SchemaRegistry;
+import com.amplifyframework.core.model.query.Where;
+import com.amplifyframework.datastore.DataStoreException;
+import com.amplifyframework.testmodels.commentsblog.AmplifyModelProvider;
+import com.amplifyframework.testmodels.commentsblog.Blog;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.testmodels.commentsblog.Post;
+import com.amplifyframework.testmodels.commentsblog.PostStatus;
+import com.amplifyframework.util.GsonFactory;
+
+import com.google.gson.Gson;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@link ModelRowMapper} builds the same models from a query's rows
+ * as a round trip through JSON would.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ModelRowMapperTest {
+    private SQLCommandFactory sqlCommandFactory;
+    private SQLCommandProcessor sqlCommandProcessor;
+    private SQLiteDatabase sqliteDatabase;
+    private SchemaRegistry schemaRegistry;
+    private ModelRowMapper modelRowMapper;
+    private Gson gson;
+
+    /**
+     * Sets up model registry and in-memory database.
+     * @throws AmplifyException if model fails to register.
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        ModelProvider modelProvider = AmplifyModelProvider.getInstance();
+        schemaRegistry = SchemaRegistry.instance();
+        schemaRegistry.register(modelProvider.models());
+        gson = GsonFactory.instance();
+        sqlCommandFactory = new SQLiteCommandFactory(schemaRegistry, gson);
+        sqliteDatabase = SQLiteDatabase.createInMemory(new SQLiteDatabase.OpenParams.Builder().build());
+        for (String modelName : modelProvider.modelNames()) {
+            ModelSchema modelSchema = schemaRegistry.getModelSchemaForModelClass(modelName);
+            sqliteDatabase.execSQL(sqlCommandFactory.createTableFor(modelSchema).sqlStatement());
+        }
+        sqlCommandProcessor = new SQLCommandProcessor(sqliteDatabase);
+        modelRowMapper = new ModelRowMapper(gson);
+    }
+
+    /**
+     * Closes in-memory database.
+     */
+    @After
+    public void clear() {
+        schemaRegistry.clear();
+        sqliteDatabase.close();
+    }
+
+    /**
+     * A Post belongs to a Blog, which belongs to a BlogOwner. Query for the Post, and verify
+     * that the mapper builds it, along with its nested Blog and BlogOwner, with the same values
+     * as the JSON round trip, and with the values that were saved.
+     * @throws AmplifyException on failure to build schemas or to query the database
+     */
+    @Test
+    public void mapsRowsWithNestedModels() throws AmplifyException {
+        BlogOwner owner = BlogOwner.builder()
+                .name("Abigail McGregor")
+                .build();
+        Blog blog = Blog.builder()
+                .name("Abigail's Cooking Blog")
+                .owner(owner)
+                .build();
+        Post post = Post.builder()
+                .title("Making bread")
+                .status(PostStatus.ACTIVE)
+                .rating(5)
+                .blog(blog)
+                .build();
+        sqlCommandProcessor.execute(sqlCommandFactory.insertFor(ModelSchema.fromModelClass(BlogOwner.class), owner));
+        sqlCommandProcessor.execute(sqlCommandFactory.insertFor(ModelSchema.fromModelClass(Blog.class), blog));
+        ModelSchema postSchema = schemaRegistry.getModelSchemaForModelClass(Post.class);
+        sqlCommandProcessor.execute(sqlCommandFactory.insertFor(postSchema, post));
+
+        SQLiteModelFieldTypeConverter converter = new SQLiteModelFieldTypeConverter(postSchema, schemaRegistry, gson);
+        try (Cursor cursor = sqlCommandProcessor.rawQuery(sqlCommandFactory.queryFor(postSchema, Where.matchesAll()))) {
+            assertTrue(cursor.moveToFirst());
+            Map<String, Object> data = converter.buildMapForModel(cursor);
+
+            Post mapped = modelRowMapper.map(Post.class, converter, cursor);
+            assertEquals(gson.fromJson(gson.toJson(data), Post.class), mapped);
+            assertEquals(post.getId(), mapped.getId());
+            assertEquals(post.getTitle(), mapped.getTitle());
+            assertEquals(post.getStatus(), mapped.getStatus());
+            assertEquals(post.getRating(), mapped.getRating());
+            assertEquals(blog, mapped.getBlog());
+            assertEquals(owner, mapped.getBlog().getOwner());
+        }
+    }
+
+    /**
+     * A null value can't be assigned to a primitive field. Like Gson, the mapper leaves
+     * the field at its default value, instead of failing to map the model.
+     * @throws DataStoreException if the model fails to map
+     */
+    @Test
+    public void nullValueLeavesPrimitiveFieldAtDefault() throws DataStoreException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", "counter-id");
+        data.put("count", null);
+        data.put("label", null);
+
+        Counter mapped = modelRowMapper.map(Counter.class, data);
+        assertEquals(gson.fromJson(gson.toJson(data), Counter.class), mapped);
+        assertEquals("counter-id", mapped.id);
+        assertEquals(0, mapped.count);
+        assertNull(mapped.label);
+    }
+
+    private static final class Counter implements Model {
+        private final String id;
+        private final int count;
+        private final String label;
+
+        Counter(String id, int count, String label) {
+            this.id = id;
+            this.count = count;
+            this.label = label;
+        }
+
+        @Override
+        public boolean equals(Object thatObject) {
+            if (this == thatObject) {
+                return true;
+            }
+            if (thatObject == null || getClass() != thatObject.getClass()) {
+                return false;
+            }
+            Counter that = (Counter) thatObject;
+            return count == that.count && ObjectsCompat.equals(id, that.id) && ObjectsCompat.equals(label, that.label);
+        }
+
+        @Override
+        public int hashCode() {
+            return ObjectsCompat.hash(id, count, label);
+        }
+    }
+}
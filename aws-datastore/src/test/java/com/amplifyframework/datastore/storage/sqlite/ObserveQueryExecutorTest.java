@@ -32,11 +32,14 @@ import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.DataStoreQuerySnapshot;
 import com.amplifyframework.datastore.storage.StorageItemChange;
 import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+import com.amplifyframework.util.GsonFactory;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
@@ -52,6 +55,8 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ObserveQueryExecutorTest {
@@ -176,6 +181,81 @@ public class ObserveQueryExecutorTest {
         Assert.assertTrue(changeLatch.await(5, TimeUnit.SECONDS));
     }
 
+    /***
+     * When the predicate only compares the model's own fields, changes are matched in memory,
+     * without querying the database, and snapshots are kept in sorted order as items are
+     * created, updated, and deleted.
+     * @throws InterruptedException InterruptedException
+     * @throws AmplifyException On failure to build a model schema
+     */
+    @Test
+    public void observeQueryEvaluatesPredicateInMemoryAndKeepsItemsSorted() throws InterruptedException,
+            AmplifyException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<String> expectedNames = Arrays.asList("Alan B", "Alan C", "Alan D");
+        Consumer<DataStoreQuerySnapshot<BlogOwner>> onQuerySnapshot = value -> {
+            List<String> names = new ArrayList<>();
+            for (BlogOwner owner : value.getItems()) {
+                names.add(owner.getName());
+            }
+            if (expectedNames.equals(names)) {
+                latch.countDown();
+            }
+        };
+        SyncStatus mockSyncStatus = mock(SyncStatus.class);
+        when(mockSyncStatus.get(any(), any())).thenReturn(false);
+        SqlQueryProcessor mockSqlQueryProcessor = mock(SqlQueryProcessor.class);
+        when(mockSqlQueryProcessor.queryOfflineData(eq(BlogOwner.class), any(), any()))
+                .thenReturn(new ArrayList<>());
+        Subject<StorageItemChange<? extends Model>> subject =
+                PublishSubject.<StorageItemChange<? extends Model>>create().toSerialized();
+        ExecutorService threadPool = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors() * 5);
+        ObserveQueryExecutor<BlogOwner> observeQueryExecutor = new ObserveQueryExecutor<>(subject,
+                mockSqlQueryProcessor,
+                threadPool,
+                mockSyncStatus,
+                new ModelSorter<>(),
+                1, 1);
+        observeQueryExecutor.observeQuery(
+                BlogOwner.class,
+                new ObserveQueryOptions(BlogOwner.NAME.contains("Alan"),
+                        Collections.singletonList(BlogOwner.NAME.ascending())),
+                NoOpConsumer.create(),
+                onQuerySnapshot,
+                NoOpConsumer.create(),
+                NoOpAction.create());
+
+        BlogOwner ownerA = BlogOwner.builder().name("Alan A").build();
+        BlogOwner ownerE = BlogOwner.builder().name("Alan E").build();
+        subject.onNext(changeOf(BlogOwner.builder().name("Alan C").build(), StorageItemChange.Type.CREATE));
+        subject.onNext(changeOf(ownerA, StorageItemChange.Type.CREATE));
+        subject.onNext(changeOf(ownerE, StorageItemChange.Type.CREATE));
+        subject.onNext(changeOf(BlogOwner.builder().name("Grace").build(), StorageItemChange.Type.CREATE));
+        subject.onNext(changeOf(BlogOwner.builder().name("Alan B").build(), StorageItemChange.Type.CREATE));
+        subject.onNext(changeOf(BlogOwner.builder().name("Alan D").id(ownerA.getId()).build(),
+                StorageItemChange.Type.UPDATE));
+        subject.onNext(changeOf(ownerE, StorageItemChange.Type.DELETE));
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(expectedNames.size(), observeQueryExecutor.getCompleteMap().size());
+        verify(mockSqlQueryProcessor, never()).modelExists(any(), any());
+    }
+
+    private static StorageItemChange<BlogOwner> changeOf(BlogOwner owner, StorageItemChange.Type type)
+            throws AmplifyException {
+        ModelSchema schema = ModelSchema.fromModelClass(BlogOwner.class);
+        return StorageItemChange.<BlogOwner>builder()
+                .changeId(UUID.randomUUID().toString())
+                .initiator(StorageItemChange.Initiator.SYNC_ENGINE)
+                .item(owner)
+                .patchItem(SerializedModel.create(owner, schema))
+                .modelSchema(schema)
+                .predicate(QueryPredicates.all())
+                .type(type)
+                .build();
+    }
+
     /***
      * testing cancel on observe query.
      * @throws DataStoreException DataStoreException
@@ -235,7 +315,8 @@ public class ObserveQueryExecutorTest {
 
         SqlQueryProcessor sqlQueryProcessor = new SqlQueryProcessor(sqlCommandProcessor,
                 mock(SQLiteCommandFactory.class),
-                mock(SchemaRegistry.class));
+                mock(SchemaRegistry.class),
+                new ModelRowMapper(GsonFactory.instance()));
         Subject<StorageItemChange<? extends Model>> subject =
                 PublishSubject.<StorageItemChange<? extends Model>>create().toSerialized();
         ExecutorService threadPool = Executors.newFixedThreadPool(
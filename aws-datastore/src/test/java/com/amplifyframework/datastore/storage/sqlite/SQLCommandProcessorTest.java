@@ -24,6 +24,7 @@ import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.SchemaRegistry;
 import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
+import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.testmodels.commentsblog.AmplifyModelProvider;
 import com.amplifyframework.testmodels.commentsblog.BlogOwner;
 import com.amplifyframework.testmodels.customprimarykey.Comment;
@@ -44,6 +45,7 @@ import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -169,6 +171,117 @@ public class SQLCommandProcessorTest {
         assertFalse(sqlCommandProcessor.executeExists(existsCommand));
     }
 
+    /**
+     * Insert two BlogOwners inside of a single transaction, and verify that both are committed.
+     * @throws AmplifyException on failure to create ModelSchema from class.
+     */
+    @Test
+    public void runInTransactionCommitsAllCommands() throws AmplifyException {
+        ModelSchema blogOwnerSchema = ModelSchema.fromModelClass(BlogOwner.class);
+        BlogOwner abigailMcGregor = BlogOwner.builder()
+                .name("Abigail McGregor")
+                .build();
+        BlogOwner jamesMcGregor = BlogOwner.builder()
+                .name("James McGregor")
+                .build();
+        sqlCommandProcessor.runInTransaction(() -> {
+            sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, abigailMcGregor));
+            sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, jamesMcGregor));
+        });
+
+        assertFalse(sqliteDatabase.inTransaction());
+        assertTrue(sqlCommandProcessor.executeExists(
+                sqlCommandFactory.existsFor(blogOwnerSchema, BlogOwner.ID.eq(abigailMcGregor.getId()))));
+        assertTrue(sqlCommandProcessor.executeExists(
+                sqlCommandFactory.existsFor(blogOwnerSchema, BlogOwner.ID.eq(jamesMcGregor.getId()))));
+    }
+
+    /**
+     * Insert a BlogOwner inside of a transaction which then fails, and verify that
+     * the insertion is rolled back.
+     * @throws AmplifyException on failure to create ModelSchema from class.
+     */
+    @Test
+    public void runInTransactionRollsBackOnFailure() throws AmplifyException {
+        ModelSchema blogOwnerSchema = ModelSchema.fromModelClass(BlogOwner.class);
+        BlogOwner abigailMcGregor = BlogOwner.builder()
+                .name("Abigail McGregor")
+                .build();
+        DataStoreException expected = new DataStoreException("Failed on purpose.", "Expected by the test.");
+        DataStoreException actual = assertThrows(DataStoreException.class, () ->
+            sqlCommandProcessor.runInTransaction(() -> {
+                sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, abigailMcGregor));
+                throw expected;
+            })
+        );
+
+        assertEquals(expected, actual);
+        assertFalse(sqliteDatabase.inTransaction());
+        assertFalse(sqlCommandProcessor.executeExists(
+                sqlCommandFactory.existsFor(blogOwnerSchema, BlogOwner.ID.eq(abigailMcGregor.getId()))));
+    }
+
+    /**
+     * Insert two BlogOwners, and verify that the compiled INSERT statement is reused for the second one.
+     * Then clear the statement cache, and verify that statements are compiled again on next use.
+     * @throws AmplifyException on failure to create ModelSchema from class.
+     */
+    @Test
+    public void compiledStatementsAreReusedUntilCacheIsCleared() throws AmplifyException {
+        ModelSchema blogOwnerSchema = ModelSchema.fromModelClass(BlogOwner.class);
+        BlogOwner abigailMcGregor = BlogOwner.builder()
+                .name("Abigail McGregor")
+                .build();
+        BlogOwner jamesMcGregor = BlogOwner.builder()
+                .name("James McGregor")
+                .build();
+        sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, abigailMcGregor));
+        sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, jamesMcGregor));
+        assertEquals(1, sqlCommandProcessor.cachedStatementCount());
+
+        sqlCommandProcessor.clearStatementCache();
+        assertEquals(0, sqlCommandProcessor.cachedStatementCount());
+
+        assertTrue(sqlCommandProcessor.executeExists(
+                sqlCommandFactory.existsFor(blogOwnerSchema, BlogOwner.ID.eq(abigailMcGregor.getId()))));
+        assertTrue(sqlCommandProcessor.executeExists(
+                sqlCommandFactory.existsFor(blogOwnerSchema, BlogOwner.ID.eq(jamesMcGregor.getId()))));
+        assertEquals(1, sqlCommandProcessor.cachedStatementCount());
+    }
+
+    /**
+     * Each thread compiles and caches its own statements, so that a statement is never bound
+     * by two threads at once. Clearing the cache closes the statements of every thread.
+     * @throws AmplifyException on failure to create ModelSchema from class.
+     * @throws InterruptedException If interrupted while waiting for the other thread
+     */
+    @Test
+    public void compiledStatementsAreCachedPerThread() throws AmplifyException, InterruptedException {
+        ModelSchema blogOwnerSchema = ModelSchema.fromModelClass(BlogOwner.class);
+        sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, BlogOwner.builder()
+                .name("Abigail McGregor")
+                .build()));
+        assertEquals(1, sqlCommandProcessor.cachedStatementCount());
+
+        List<DataStoreException> errors = new ArrayList<>();
+        Thread otherThread = new Thread(() -> {
+            try {
+                sqlCommandProcessor.execute(sqlCommandFactory.insertFor(blogOwnerSchema, BlogOwner.builder()
+                        .name("James McGregor")
+                        .build()));
+            } catch (DataStoreException error) {
+                errors.add(error);
+            }
+        });
+        otherThread.start();
+        otherThread.join();
+        assertTrue(errors.isEmpty());
+        assertEquals(2, sqlCommandProcessor.cachedStatementCount());
+
+        sqlCommandProcessor.clearStatementCache();
+        assertEquals(0, sqlCommandProcessor.cachedStatementCount());
+    }
+
     /**
      * Verify that index for fields included in belongs to is not created for Comments.
      * @throws AmplifyException on failure to create ModelSchema from class.
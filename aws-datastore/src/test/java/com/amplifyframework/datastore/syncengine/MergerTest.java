@@ -26,6 +26,7 @@ import com.amplifyframework.datastore.DataStoreException;
 import com.amplifyframework.datastore.appsync.ModelMetadata;
 import com.amplifyframework.datastore.appsync.ModelWithMetadata;
 import com.amplifyframework.datastore.storage.InMemoryStorageAdapter;
+import com.amplifyframework.datastore.storage.StorageItemChange;
 import com.amplifyframework.datastore.storage.SynchronousStorageAdapter;
 import com.amplifyframework.testmodels.commentsblog.Blog;
 import com.amplifyframework.testmodels.commentsblog.BlogOwner;
@@ -36,6 +37,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -45,9 +48,12 @@ import io.reactivex.rxjava3.observers.TestObserver;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests the {@link Merger}.
@@ -202,6 +208,98 @@ public final class MergerTest {
         assertEquals(Collections.singletonList(updatedMetadata), storageAdapter.query(ModelMetadata.class));
     }
 
+    /**
+     * When a page of items is merged as a batch, the items with a newer version than the
+     * one in the store are saved or deleted, and the items with an older version are skipped.
+     * A change is reported for each model which was saved or deleted.
+     * @throws DataStoreException On failure to arrange data into store, or to query it for assertions
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void mergeAllAppliesOnlyNewerItemsInPage() throws DataStoreException, InterruptedException {
+        // Arrange: two blog owners are already in the store.
+        BlogOwner outdated = BlogOwner.builder()
+            .name("Jameson The Original")
+            .build();
+        ModelMetadata outdatedMetadata = new ModelMetadata(
+            outdated.getModelName() + "|" + outdated.getId(), false, 5, Temporal.Timestamp.now());
+        storageAdapter.save(outdated, outdatedMetadata);
+        BlogOwner deleted = BlogOwner.builder()
+            .name("Jameson The Deleted")
+            .build();
+        ModelMetadata deletedMetadata = new ModelMetadata(
+            deleted.getModelName() + "|" + deleted.getId(), false, 1, Temporal.Timestamp.now());
+        storageAdapter.save(deleted, deletedMetadata);
+
+        // Act: merge a page with an older update, a deletion, and a creation.
+        BlogOwner olderUpdate = outdated.copyOfBuilder()
+            .name("Jameson The Older")
+            .build();
+        BlogOwner created = BlogOwner.builder()
+            .name("Jameson The New")
+            .build();
+        ModelMetadata createdMetadata = new ModelMetadata(
+            created.getModelName() + "|" + created.getId(), false, 1, Temporal.Timestamp.now());
+        List<ModelWithMetadata<BlogOwner>> page = Arrays.asList(
+            new ModelWithMetadata<>(olderUpdate, new ModelMetadata(
+                outdatedMetadata.resolveIdentifier(), false, 3, Temporal.Timestamp.now())),
+            new ModelWithMetadata<>(deleted, new ModelMetadata(
+                deletedMetadata.resolveIdentifier(), true, 2, Temporal.Timestamp.now())),
+            new ModelWithMetadata<>(created, createdMetadata)
+        );
+        List<StorageItemChange.Type> changeTypes = new ArrayList<>();
+        TestObserver<Void> observer = merger.mergeAll(page, changeTypes::add).test();
+        assertTrue(observer.await(REASONABLE_WAIT_TIME, TimeUnit.MILLISECONDS));
+        observer.assertNoErrors().assertComplete();
+
+        // Assert: the older update was skipped, and the rest of the page was merged.
+        assertEquals(Arrays.asList(outdated, created), storageAdapter.query(BlogOwner.class));
+        assertEquals(2, changeTypes.size());
+        assertTrue(changeTypes.contains(StorageItemChange.Type.DELETE));
+        assertTrue(changeTypes.contains(StorageItemChange.Type.CREATE));
+        assertTrue(storageAdapter.query(ModelMetadata.class).contains(createdMetadata));
+    }
+
+    /**
+     * When a page contains the same model more than once, only the item with the highest
+     * version is merged, and the page is written to storage in one call.
+     * @throws DataStoreException On failure to query the store for assertions
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void mergeAllKeepsHighestVersionOfDuplicateItems() throws DataStoreException, InterruptedException {
+        // Arrange: a page with three versions of the same blog owner, out of order.
+        BlogOwner first = BlogOwner.builder()
+            .name("Jameson The First")
+            .build();
+        BlogOwner third = first.copyOfBuilder()
+            .name("Jameson The Third")
+            .build();
+        BlogOwner second = first.copyOfBuilder()
+            .name("Jameson The Second")
+            .build();
+        String metadataId = first.getModelName() + "|" + first.getId();
+        ModelMetadata thirdMetadata = new ModelMetadata(metadataId, false, 3, Temporal.Timestamp.now());
+        List<ModelWithMetadata<BlogOwner>> page = Arrays.asList(
+            new ModelWithMetadata<>(first, new ModelMetadata(metadataId, false, 1, Temporal.Timestamp.now())),
+            new ModelWithMetadata<>(third, thirdMetadata),
+            new ModelWithMetadata<>(second, new ModelMetadata(metadataId, false, 2, Temporal.Timestamp.now()))
+        );
+
+        // Act: merge the page.
+        List<StorageItemChange.Type> changeTypes = new ArrayList<>();
+        TestObserver<Void> observer = merger.mergeAll(page, changeTypes::add).test();
+        assertTrue(observer.await(REASONABLE_WAIT_TIME, TimeUnit.MILLISECONDS));
+        observer.assertNoErrors().assertComplete();
+
+        // Assert: only the highest version was written, in a single call to the storage adapter.
+        assertEquals(Collections.singletonList(third), storageAdapter.query(BlogOwner.class));
+        assertEquals(Collections.singletonList(thirdMetadata), storageAdapter.query(ModelMetadata.class));
+        assertEquals(Collections.singletonList(StorageItemChange.Type.CREATE), changeTypes);
+        verify(inMemoryStorageAdapter, times(1))
+            .deleteAllAndSaveAll(anyList(), anyList(), any(), any(), any());
+    }
+
     /**
      * When an item comes into the merger to be merged,
      * if there is a pending mutation in the outbox, for a model of the same ID,
@@ -19,8 +19,10 @@ import com.amplifyframework.AmplifyException;
 import com.amplifyframework.api.graphql.GraphQLLocation;
 import com.amplifyframework.api.graphql.GraphQLOperation;
 import com.amplifyframework.api.graphql.GraphQLPathSegment;
+import com.amplifyframework.api.graphql.GraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLResponse;
 import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelSchema;
 import com.amplifyframework.core.model.SchemaRegistry;
 import com.amplifyframework.core.model.query.predicate.QueryPredicate;
@@ -49,6 +51,7 @@ import org.robolectric.RobolectricTestRunner;
 import org.robolectric.shadows.ShadowLog;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -67,6 +70,7 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -100,6 +104,7 @@ public final class MutationProcessorTest {
         Merger merger = new Merger(mutationOutbox, versionRepository, localStorageAdapter);
         this.appSync = mock(AppSync.class);
         this.configurationProvider = mock(DataStoreConfigurationProvider.class);
+        when(configurationProvider.getConfiguration()).thenReturn(DataStoreConfiguration.defaults());
         RetryHandler retryHandler = new RetryHandler(0, Duration.ofMinutes(1).toMillis());
         schemaRegistry = SchemaRegistry.instance();
         schemaRegistry.register(Collections.singleton(BlogOwner.class));
@@ -183,6 +188,123 @@ public final class MutationProcessorTest {
         verify(appSync).create(eq(tony), any(), any(), any());
     }
 
+    /**
+     * When the configuration allows more than one mutation to be published at a time, mutations
+     * of different models are published concurrently. AppSync only responds once it has received
+     * all of the creations, so the outbox would not drain if they were published one at a time.
+     * @throws DataStoreException On failure to interact with storage adapter during arrangement
+     */
+    @Test
+    public void canDrainMutationOutboxConcurrently() throws DataStoreException {
+        when(configurationProvider.getConfiguration())
+            .thenReturn(DataStoreConfiguration.builder()
+                .maxConcurrentMutations(2)
+                .build());
+        BlogOwner tony = BlogOwner.builder()
+            .name("Tony Daniels")
+            .build();
+        BlogOwner jameson = BlogOwner.builder()
+            .name("Jameson Williams")
+            .build();
+        synchronousStorageAdapter.save(tony);
+        synchronousStorageAdapter.save(jameson);
+
+        // Hold each response until both creations have been received.
+        List<Runnable> pendingResponses = new ArrayList<>();
+        doAnswer(invocation -> {
+            BlogOwner owner = invocation.getArgument(0);
+            Consumer<GraphQLResponse<ModelWithMetadata<BlogOwner>>> onResponse = invocation.getArgument(2);
+            ModelMetadata metadata = new ModelMetadata(owner.getId(), false, 1, Temporal.Timestamp.now());
+            synchronized (pendingResponses) {
+                pendingResponses.add(() -> onResponse.accept(
+                    new GraphQLResponse<>(new ModelWithMetadata<>(owner, metadata), Collections.emptyList())
+                ));
+                if (pendingResponses.size() == 2) {
+                    for (Runnable response : pendingResponses) {
+                        response.run();
+                    }
+                }
+            }
+            return mock(GraphQLOperation.class);
+        }).when(appSync).create(any(), any(), any(), any());
+
+        HubAccumulator accumulator =
+            HubAccumulator.create(HubChannel.DATASTORE, isOutboxEmpty(true), 1)
+                .start();
+        ModelSchema schema = schemaRegistry.getModelSchemaForModelClass(BlogOwner.class);
+        assertTrue(mutationOutbox.enqueue(PendingMutation.creation(tony, schema))
+            .blockingAwait(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(mutationOutbox.enqueue(PendingMutation.creation(jameson, schema))
+            .blockingAwait(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        mutationProcessor.startDrainingMutationOutbox();
+        accumulator.await();
+
+        assertFalse(mutationOutbox.hasPendingMutation(tony.getPrimaryKeyString()));
+        assertFalse(mutationOutbox.hasPendingMutation(jameson.getPrimaryKeyString()));
+    }
+
+    /**
+     * When the configuration allows mutations to be batched, mutations which can be published
+     * at the same time are published in a single request, and each is processed with its own
+     * response from the batch.
+     * @throws DataStoreException On failure to interact with storage adapter during arrangement
+     */
+    @Test
+    public void canDrainMutationOutboxInBatches() throws DataStoreException {
+        when(configurationProvider.getConfiguration())
+            .thenReturn(DataStoreConfiguration.builder()
+                .mutationBatchSize(2)
+                .build());
+        BlogOwner tony = BlogOwner.builder()
+            .name("Tony Daniels")
+            .build();
+        BlogOwner jameson = BlogOwner.builder()
+            .name("Jameson Williams")
+            .build();
+        synchronousStorageAdapter.save(tony);
+        synchronousStorageAdapter.save(jameson);
+
+        // Remember the model of each request, so that the batch can respond with it.
+        Map<GraphQLRequest<?>, BlogOwner> requestedOwners = new HashMap<>();
+        doAnswer(invocation -> {
+            GraphQLRequest<?> request = mock(GraphQLRequest.class);
+            when(request.getContent()).thenReturn("{}");
+            requestedOwners.put(request, invocation.getArgument(0));
+            return request;
+        }).when(appSync).buildMutationRequest(any(), any(), any(), any(), any());
+        doAnswer(invocation -> {
+            List<GraphQLRequest<?>> requests = invocation.getArgument(0);
+            Consumer<List<GraphQLResponse<? extends ModelWithMetadata<? extends Model>>>> onResponse =
+                invocation.getArgument(1);
+            List<GraphQLResponse<? extends ModelWithMetadata<? extends Model>>> responses = new ArrayList<>();
+            for (GraphQLRequest<?> request : requests) {
+                BlogOwner owner = requestedOwners.get(request);
+                ModelMetadata metadata = new ModelMetadata(owner.getId(), false, 1, Temporal.Timestamp.now());
+                responses.add(new GraphQLResponse<>(new ModelWithMetadata<>(owner, metadata), Collections.emptyList()));
+            }
+            onResponse.accept(responses);
+            return mock(GraphQLOperation.class);
+        }).when(appSync).mutateBatch(any(), any(), any());
+
+        HubAccumulator accumulator =
+            HubAccumulator.create(HubChannel.DATASTORE, isOutboxEmpty(true), 1)
+                .start();
+        ModelSchema schema = schemaRegistry.getModelSchemaForModelClass(BlogOwner.class);
+        assertTrue(mutationOutbox.enqueue(PendingMutation.creation(tony, schema))
+            .blockingAwait(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(mutationOutbox.enqueue(PendingMutation.creation(jameson, schema))
+            .blockingAwait(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        mutationProcessor.startDrainingMutationOutbox();
+        accumulator.await();
+
+        assertFalse(mutationOutbox.hasPendingMutation(tony.getPrimaryKeyString()));
+        assertFalse(mutationOutbox.hasPendingMutation(jameson.getPrimaryKeyString()));
+        verify(appSync).mutateBatch(any(), any(), any());
+        verify(appSync, never()).create(any(), any(), any(), any());
+    }
+
     /**
      * If the AppSync response to the mutation contains a ConflictUnhandled
      * error in the GraphQLResponse error list, then the user-provided
@@ -17,6 +17,7 @@ package com.amplifyframework.datastore.syncengine;
 
 import com.amplifyframework.AmplifyException;
 import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.query.predicate.QueryPredicates;
 import com.amplifyframework.testmodels.commentsblog.BlogOwner;
 
 import org.junit.Before;
@@ -24,8 +25,13 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -121,5 +127,67 @@ public final class MutationQueueTest {
         mutationQueue.add(createQing);
         mutationQueue.add(createTony);
         assertEquals(createQing, mutationQueue.peek());
+        assertEquals(Collections.singletonList(createQing), mutationQueue.peek(1));
+        assertEquals(Arrays.asList(createQing, createTony), mutationQueue.peek(3));
+    }
+
+    /**
+     * A queue which isn't empty never peeks null. If its first mutation isn't loaded,
+     * that is an error, and peeking only the loaded mutations returns nothing.
+     */
+    @Test
+    public void peekingUnloadedHeadFails() {
+        mutationQueue.clear();
+        BlogOwner qing = BlogOwner.builder()
+                .name("Qing Zhong")
+                .build();
+        PendingMutation<BlogOwner> createQing = PendingMutation.creation(qing, schema);
+
+        mutationQueue.addUnloaded(createQing.getMutationId(), qing.getId());
+        assertThrows(IllegalStateException.class, mutationQueue::peek);
+        assertEquals(Collections.emptyList(), mutationQueue.peek(1));
+
+        mutationQueue.load(createQing);
+        assertEquals(createQing, mutationQueue.peek());
+    }
+
+    /**
+     * The next mutation for a model id is the oldest one in the queue for that model, and
+     * the lookup follows the queue as mutations are removed, replaced, and cleared.
+     */
+    @Test
+    public void nextMutationIdForModelIdFollowsQueueOrder() {
+        BlogOwner qing = BlogOwner.builder()
+                .name("Qing Zhong")
+                .build();
+        BlogOwner tony = BlogOwner.builder()
+                .name("The Real Papa Tony")
+                .build();
+        PendingMutation<BlogOwner> createQing = PendingMutation.creation(qing, schema);
+        PendingMutation<BlogOwner> createTony = PendingMutation.creation(tony, schema);
+        PendingMutation<BlogOwner> updateQing = PendingMutation.update(qing, schema);
+        mutationQueue.add(createQing);
+        mutationQueue.add(createTony);
+        mutationQueue.add(updateQing);
+        assertEquals(createQing.getMutationId(), mutationQueue.nextMutationIdForModelId(qing.getPrimaryKeyString()));
+        assertEquals(createTony.getMutationId(), mutationQueue.nextMutationIdForModelId(tony.getPrimaryKeyString()));
+
+        mutationQueue.removeById(createQing.getMutationId());
+        assertEquals(updateQing.getMutationId(), mutationQueue.nextMutationIdForModelId(qing.getPrimaryKeyString()));
+
+        BlogOwner renamedQing = qing.copyOfBuilder()
+                .name("Qing")
+                .build();
+        PendingMutation<BlogOwner> replacement = PendingMutation.instance(
+            updateQing.getMutationId(), renamedQing, schema, PendingMutation.Type.UPDATE, QueryPredicates.all()
+        );
+        mutationQueue.updateExistingQueueItemOrAppendNew(updateQing.getMutationId(), replacement);
+        assertEquals(replacement.getMutationId(), mutationQueue.nextMutationIdForModelId(qing.getPrimaryKeyString()));
+        assertEquals(replacement, mutationQueue.getMutationById(replacement.getMutationId()));
+
+        mutationQueue.remove(replacement);
+        assertNull(mutationQueue.nextMutationIdForModelId(qing.getPrimaryKeyString()));
+        mutationQueue.clear();
+        assertNull(mutationQueue.nextMutationIdForModelId(tony.getPrimaryKeyString()));
     }
 }
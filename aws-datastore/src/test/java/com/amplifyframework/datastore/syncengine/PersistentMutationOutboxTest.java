@@ -36,6 +36,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -50,6 +52,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -210,6 +213,69 @@ public final class PersistentMutationOutboxTest {
         assertEquals(updateTony, mutationOutbox.peek());
     }
 
+    /**
+     * When the outbox holds a window of mutations, load() only deserializes the first window
+     * of mutations. The others are read from storage when they are peeked, or removed.
+     * @throws DataStoreException On failure to arrange models into storage before test action
+     */
+    @Test
+    public void loadOnlyDeserializesFirstWindow() throws DataStoreException {
+        InMemoryStorageAdapter windowedStorageAdapter = InMemoryStorageAdapter.create();
+        SynchronousStorageAdapter windowedStorage = SynchronousStorageAdapter.delegatingTo(windowedStorageAdapter);
+        MutationQueue windowedQueue = new MutationQueue(1);
+        MutationOutbox windowedOutbox = new PersistentMutationOutbox(windowedStorageAdapter, windowedQueue);
+        List<PendingMutation<BlogOwner>> creations = new ArrayList<>();
+        for (String name : Arrays.asList("Tony", "Sam", "Jameson")) {
+            BlogOwner owner = BlogOwner.builder().name(name).build();
+            PendingMutation<BlogOwner> creation = PendingMutation.creation(owner, schema);
+            windowedStorage.save(converter.toRecord(creation));
+            creations.add(creation);
+        }
+
+        windowedOutbox.load().blockingAwait(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+        // Only the first mutation is in memory, but all of them are in the outbox.
+        assertEquals(creations.get(0), windowedQueue.getMutationById(creations.get(0).getMutationId()));
+        assertNull(windowedQueue.getMutationById(creations.get(2).getMutationId()));
+        assertTrue(windowedOutbox.hasPendingMutation(creations.get(2).getMutatedItem().getId()));
+        assertFalse(windowedOutbox.isEmpty());
+
+        // An unloaded mutation can be removed.
+        windowedOutbox.remove(creations.get(2).getMutationId()).blockingAwait(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        assertFalse(windowedOutbox.hasPendingMutation(creations.get(2).getMutatedItem().getId()));
+
+        // Peeking reads the mutations from storage.
+        assertEquals(Arrays.asList(creations.get(0), creations.get(1)), windowedOutbox.peek(3));
+    }
+
+    /**
+     * When the mutation at the head of the outbox can't be read from storage, peeking fails,
+     * instead of reporting that there is no mutation to publish.
+     * @throws DataStoreException On failure to arrange models into storage before test action
+     */
+    @Test
+    public void peekFailsWhenMutationCannotBeRead() throws DataStoreException {
+        InMemoryStorageAdapter windowedStorageAdapter = InMemoryStorageAdapter.create();
+        SynchronousStorageAdapter windowedStorage = SynchronousStorageAdapter.delegatingTo(windowedStorageAdapter);
+        MutationOutbox windowedOutbox = new PersistentMutationOutbox(windowedStorageAdapter, new MutationQueue(1));
+        List<PendingMutation<BlogOwner>> creations = new ArrayList<>();
+        for (String name : Arrays.asList("Tony", "Sam")) {
+            BlogOwner owner = BlogOwner.builder().name(name).build();
+            PendingMutation<BlogOwner> creation = PendingMutation.creation(owner, schema);
+            windowedStorage.save(converter.toRecord(creation));
+            creations.add(creation);
+        }
+        windowedOutbox.load().blockingAwait(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+        // The second mutation isn't loaded, and disappears from storage.
+        windowedStorage.delete(converter.toRecord(creations.get(1)));
+        windowedOutbox.remove(creations.get(0).getMutationId()).blockingAwait(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+        assertFalse(windowedOutbox.isEmpty());
+        assertThrows(DataStoreException.class, windowedOutbox::peek);
+        assertThrows(DataStoreException.class, () -> windowedOutbox.peek(2));
+    }
+
     /**
      * Tests {@link MutationOutbox#remove(TimeBasedUuid)}.
      * @throws DataStoreException On failure to query results, for assertions
@@ -1004,8 +1070,8 @@ public final class PersistentMutationOutboxTest {
 
     /**
      * If the queue contains multiple items, then
-     * {@link MutationQueue#nextMutationForModelId(String)}
-     * returns the first one.
+     * {@link MutationQueue#nextMutationIdForModelId(String)}
+     * returns the id of the first one.
      * @throws DataStoreException On failure to arrange content into storage
      */
     @Test
@@ -1025,8 +1091,8 @@ public final class PersistentMutationOutboxTest {
         mutationOutbox.load().blockingAwait(TIMEOUT_MS, TimeUnit.MILLISECONDS);
 
         assertEquals(
-            firstMutation,
-            mutationQueue.nextMutationForModelId(originalJoe.getId())
+            firstMutation.getMutationId(),
+            mutationQueue.nextMutationIdForModelId(originalJoe.getId())
         );
     }
 
@@ -1034,9 +1100,10 @@ public final class PersistentMutationOutboxTest {
      * Ordinarily, a DELETE would remote a CREATE, in front of it. But if that
      * create is marked in flight, we can't remove it. We have to enqueue the new
      * mutation.
+     * @throws DataStoreException On failure to peek the outbox
      */
     @Test
-    public void mutationEnqueuedIfExistingMutationIsInFlight() {
+    public void mutationEnqueuedIfExistingMutationIsInFlight() throws DataStoreException {
         // Arrange an existing mutation.
         BlogOwner joe = BlogOwner.builder()
             .name("Joe")
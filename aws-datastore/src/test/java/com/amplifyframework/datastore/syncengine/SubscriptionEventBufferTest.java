@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amplifyframework.datastore.syncengine;
+
+import com.amplifyframework.AmplifyException;
+import com.amplifyframework.core.model.Model;
+import com.amplifyframework.core.model.ModelSchema;
+import com.amplifyframework.core.model.temporal.Temporal;
+import com.amplifyframework.datastore.appsync.ModelMetadata;
+import com.amplifyframework.datastore.appsync.ModelWithMetadata;
+import com.amplifyframework.testmodels.commentsblog.BlogOwner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+
+import io.reactivex.rxjava3.observers.TestObserver;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link SubscriptionEventBuffer}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class SubscriptionEventBufferTest {
+    private ModelSchema schema;
+
+    /**
+     * Creates the model schema used by the events.
+     * @throws AmplifyException On failure to arrange model schema
+     */
+    @Before
+    public void setup() throws AmplifyException {
+        schema = ModelSchema.fromModelClass(BlogOwner.class);
+    }
+
+    /**
+     * An unbounded buffer emits every event, in arrival order, followed by any events
+     * which arrive after draining has started.
+     */
+    @Test
+    public void unboundedBufferEmitsAllEventsInOrder() {
+        BlogOwner tony = BlogOwner.builder().name("Tony").build();
+        SubscriptionEvent<BlogOwner> createTony = event(tony, 1, SubscriptionEvent.Type.CREATE);
+        SubscriptionEvent<BlogOwner> updateTony = event(tony, 2, SubscriptionEvent.Type.UPDATE);
+        SubscriptionEvent<BlogOwner> deleteTony = event(tony, 3, SubscriptionEvent.Type.DELETE);
+        SubscriptionEventBuffer buffer = new SubscriptionEventBuffer(0);
+        buffer.onNext(createTony);
+        buffer.onNext(updateTony);
+
+        TestObserver<SubscriptionEvent<? extends Model>> observer = buffer.drain().test();
+        buffer.onNext(deleteTony);
+
+        observer.assertValueSequence(Arrays.asList(createTony, updateTony, deleteTony));
+        assertEquals(0, buffer.depth());
+        assertEquals(2, buffer.peakDepth());
+    }
+
+    /**
+     * A bounded buffer keeps only the latest version of each model instance, in the place of
+     * the first event for that instance. Older versions don't replace newer ones, and events for
+     * new instances are dropped once the buffer is full.
+     */
+    @Test
+    public void boundedBufferCoalescesByModelAndDropsWhenFull() {
+        BlogOwner tony = BlogOwner.builder().name("Tony").build();
+        BlogOwner jameson = BlogOwner.builder().name("Jameson").build();
+        BlogOwner sam = BlogOwner.builder().name("Sam").build();
+        SubscriptionEvent<BlogOwner> createTony = event(tony, 1, SubscriptionEvent.Type.CREATE);
+        SubscriptionEvent<BlogOwner> createJameson = event(jameson, 1, SubscriptionEvent.Type.CREATE);
+        SubscriptionEvent<BlogOwner> updateTony = event(tony, 3, SubscriptionEvent.Type.UPDATE);
+        SubscriptionEvent<BlogOwner> staleUpdateTony = event(tony, 2, SubscriptionEvent.Type.UPDATE);
+        SubscriptionEvent<BlogOwner> createSam = event(sam, 1, SubscriptionEvent.Type.CREATE);
+        SubscriptionEventBuffer buffer = new SubscriptionEventBuffer(2);
+        buffer.onNext(createTony);
+        buffer.onNext(createJameson);
+        buffer.onNext(updateTony);
+        buffer.onNext(staleUpdateTony);
+        buffer.onNext(createSam);
+
+        assertEquals(2, buffer.depth());
+        assertEquals(2, buffer.coalescedCount());
+        assertEquals(1, buffer.droppedCount());
+        buffer.drain()
+            .test()
+            .assertValueSequence(Arrays.asList(updateTony, createJameson));
+    }
+
+    /**
+     * Completion of the subscriptions is delivered after the buffered events.
+     */
+    @Test
+    public void completionIsDeliveredAfterBufferedEvents() {
+        SubscriptionEvent<BlogOwner> createTony =
+            event(BlogOwner.builder().name("Tony").build(), 1, SubscriptionEvent.Type.CREATE);
+        SubscriptionEventBuffer buffer = new SubscriptionEventBuffer(0);
+        buffer.onNext(createTony);
+        buffer.onComplete();
+
+        buffer.drain()
+            .test()
+            .assertValue(createTony)
+            .assertComplete();
+    }
+
+    private SubscriptionEvent<BlogOwner> event(BlogOwner owner, int version, SubscriptionEvent.Type type) {
+        ModelMetadata metadata = new ModelMetadata(owner.getId(), type == SubscriptionEvent.Type.DELETE,
+            version, Temporal.Timestamp.now());
+        return SubscriptionEvent.<BlogOwner>builder()
+            .modelWithMetadata(new ModelWithMetadata<>(owner, metadata))
+            .modelSchema(schema)
+            .type(type)
+            .build();
+    }
+}
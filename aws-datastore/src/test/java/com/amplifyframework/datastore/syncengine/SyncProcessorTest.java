@@ -18,8 +18,12 @@ package com.amplifyframework.datastore.syncengine;
 import android.util.Range;
 
 import com.amplifyframework.AmplifyException;
+import com.amplifyframework.api.aws.AppSyncGraphQLRequest;
 import com.amplifyframework.api.graphql.GraphQLRequest;
+import com.amplifyframework.api.graphql.GraphQLResponse;
 import com.amplifyframework.api.graphql.PaginatedResult;
+import com.amplifyframework.core.Consumer;
+import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.ModelProvider;
 import com.amplifyframework.core.model.ModelSchema;
@@ -57,10 +61,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.Invocation;
 import org.robolectric.RobolectricTestRunner;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -71,10 +77,12 @@ import java.util.Timer;
 import java.util.TimerTask;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.observers.TestObserver;
 
 import static com.amplifyframework.datastore.appsync.TestModelWithMetadataInstances.BLOGGER_ISLA;
@@ -86,7 +94,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -111,6 +121,8 @@ public final class SyncProcessorTest {
     private int modelCount;
     private RetryHandler requestRetry;
     private boolean isSyncRetryEnabled = true;
+    private int syncPagePrefetchDepth = 1;
+    private int syncMaxConcurrentModels = 1;
 
     /**
      * Wire up dependencies for the SyncProcessor, and build one for testing.
@@ -149,6 +161,8 @@ public final class SyncProcessorTest {
                 .syncInterval(BASE_SYNC_INTERVAL_MINUTES, TimeUnit.MINUTES)
                 .syncMaxRecords(syncMaxRecords)
                 .syncPageSize(1_000)
+                .syncPagePrefetchDepth(syncPagePrefetchDepth)
+                .syncMaxConcurrentModels(syncMaxConcurrentModels)
                 .errorHandler(dataStoreException -> errorHandlerCallCount++)
                 .syncExpression(BlogOwner.class, () -> BlogOwner.NAME.beginsWith("J"))
                 .syncExpression(Author.class, QueryPredicates::none)
@@ -724,6 +738,177 @@ public final class SyncProcessorTest {
         syncAndExpect(1000, 10000);
     }
 
+    /**
+     * Validate that all pages are synced, in order, when several pages are fetched ahead of the merge.
+     * @throws AmplifyException on error building sync request for next page.
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void syncWithPrefetchSyncsAllPages() throws AmplifyException, InterruptedException {
+        syncPagePrefetchDepth = 4;
+        syncAndExpect(100, 10000);
+    }
+
+    /**
+     * Validate that, while a page is being merged, at most the prefetch depth of the pages
+     * after it have been requested from AppSync.
+     * @throws AmplifyException on error building sync request for next page.
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void syncWithPrefetchRequestsAtMostPrefetchDepthPagesAhead() throws AmplifyException, InterruptedException {
+        syncPagePrefetchDepth = 3;
+        initSyncProcessor(10_000);
+        final int numPages = 20;
+
+        // Arrange: the pages of BlogOwners, each with a single item.
+        AppSyncMocking.SyncConfigurator configurator = AppSyncMocking.sync(appSync);
+        String token = null;
+        for (int pageIndex = 0; pageIndex < numPages; pageIndex++) {
+            String nextToken = pageIndex < numPages - 1 ? RandomString.string() : null;
+            configurator.mockSuccessResponse(BlogOwner.class, token, nextToken, randomBlogOwnerWithMetadata());
+            token = nextToken;
+        }
+
+        // Arrange: while each BlogOwner is merged, count the pages requested so far.
+        // The storage adapter publishes the change from within the merge of the page.
+        List<Integer> pagesRequestedAtMerge = Collections.synchronizedList(new ArrayList<>());
+        Disposable disposable = storageAdapter.observe()
+            .filter(change -> change.item() instanceof BlogOwner)
+            .subscribe(change -> pagesRequestedAtMerge.add(countSyncRequests(BlogOwner.class)));
+
+        // Act: Call hydrate, and await its completion.
+        TestObserver<Void> hydrationObserver = syncProcessor.hydrate().test();
+        assertTrue(hydrationObserver.await(OP_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        hydrationObserver.assertNoErrors().assertComplete();
+        disposable.dispose();
+
+        // Assert: while page N (from 0) was merged, at most N + 1 + prefetch depth pages were requested.
+        assertEquals(numPages, pagesRequestedAtMerge.size());
+        for (int pageIndex = 0; pageIndex < numPages; pageIndex++) {
+            assertTrue(pagesRequestedAtMerge.get(pageIndex) <= pageIndex + 1 + syncPagePrefetchDepth);
+        }
+    }
+
+    /**
+     * Validate that, when several models are synced concurrently, a model is only synced once
+     * every model of the topological layers before it has been synced.
+     * @throws AmplifyException On failure to build the sync requests
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void concurrentSyncStartsModelsOnlyAfterParentLayersComplete()
+            throws AmplifyException, InterruptedException {
+        syncMaxConcurrentModels = 3;
+        initSyncProcessor(10_000);
+
+        // Act: hydrate, while AppSync answers each sync request after a delay.
+        List<String> events = new ArrayList<>();
+        hydrateWithDelayedSyncResponses(events, new AtomicInteger());
+
+        // Assert: every synced model was started and completed.
+        TopologicalOrdering ordering =
+            TopologicalOrdering.forRegisteredModels(SchemaRegistry.instance(), modelProvider);
+        List<ModelSchema> syncedSchemas = new ArrayList<>();
+        for (ModelSchema schema : modelProvider.modelSchemas().values()) {
+            if (events.contains("start:" + schema.getName())) {
+                assertTrue(events.contains("end:" + schema.getName()));
+                syncedSchemas.add(schema);
+            }
+        }
+        assertTrue(events.indexOf("end:" + BlogOwner.class.getSimpleName()) <
+            events.indexOf("start:" + Post.class.getSimpleName()));
+
+        // Assert: no model was started before all models in lower layers had completed.
+        for (ModelSchema child : syncedSchemas) {
+            for (ModelSchema parent : syncedSchemas) {
+                if (ordering.layerOf(parent) < ordering.layerOf(child)) {
+                    assertTrue(parent.getName() + " had not completed when " + child.getName() + " started.",
+                        events.indexOf("end:" + parent.getName()) < events.indexOf("start:" + child.getName()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Validate that the number of models being synced at the same time never exceeds the
+     * configured maximum, and reaches it when a layer holds enough models.
+     * @throws AmplifyException On failure to build the sync requests
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    @Test
+    public void concurrentSyncNeverExceedsMaxConcurrentModels() throws AmplifyException, InterruptedException {
+        syncMaxConcurrentModels = 2;
+        initSyncProcessor(10_000);
+
+        // Act: hydrate, while AppSync answers each sync request after a delay.
+        AtomicInteger maxInFlight = new AtomicInteger();
+        hydrateWithDelayedSyncResponses(new ArrayList<>(), maxInFlight);
+
+        // Assert: the first layer holds more models than the cap, so exactly the cap was reached.
+        assertEquals(syncMaxConcurrentModels, maxInFlight.get());
+    }
+
+    /**
+     * Hydrates, while AppSync responds to every sync request with an empty page after a delay.
+     * A model is in flight from its sync request, until its last sync time has been saved.
+     * @param events Receives "start:Model" and "end:Model" for each model, in the order they happened
+     * @param maxInFlight Receives the largest number of models which were in flight at the same time
+     * @throws DataStoreException On failure to mock the sync requests
+     * @throws InterruptedException If interrupted while awaiting terminal result in test observer
+     */
+    private void hydrateWithDelayedSyncResponses(List<String> events, AtomicInteger maxInFlight)
+            throws DataStoreException, InterruptedException {
+        final long responseDelayMs = 50;
+        AtomicInteger inFlight = new AtomicInteger();
+        AppSyncMocking.sync(appSync);
+        doAnswer(invocation -> {
+            AppSyncGraphQLRequest<?> request = invocation.getArgument(0);
+            Consumer<GraphQLResponse<PaginatedResult<ModelWithMetadata<Model>>>> onResponse =
+                invocation.getArgument(1);
+            synchronized (events) {
+                events.add("start:" + request.getModelSchema().getName());
+                maxInFlight.set(Math.max(maxInFlight.get(), inFlight.incrementAndGet()));
+            }
+            Completable.timer(responseDelayMs, TimeUnit.MILLISECONDS)
+                .subscribe(() -> onResponse.accept(new GraphQLResponse<>(
+                    new PaginatedResult<>(Collections.emptyList(), null),
+                    Collections.emptyList()
+                )));
+            return mock(Cancelable.class);
+        }).when(appSync).sync(any(), any(), any());
+        Disposable disposable = storageAdapter.observe()
+            .filter(change -> change.item() instanceof LastSyncMetadata)
+            .subscribe(change -> {
+                synchronized (events) {
+                    events.add("end:" + ((LastSyncMetadata) change.item()).getModelClassName());
+                    inFlight.decrementAndGet();
+                }
+            });
+
+        TestObserver<Void> hydrationObserver = syncProcessor.hydrate().test();
+        assertTrue(hydrationObserver.await(OP_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        hydrationObserver.assertNoErrors().assertComplete();
+        disposable.dispose();
+    }
+
+    private int countSyncRequests(Class<? extends Model> modelClass) {
+        int count = 0;
+        for (Invocation invocation : mockingDetails(appSync).getInvocations()) {
+            if (!"sync".equals(invocation.getMethod().getName())) {
+                continue;
+            }
+            Object request = invocation.getArgument(0);
+            if (request instanceof AppSyncGraphQLRequest) {
+                String modelName = ((AppSyncGraphQLRequest<?>) request).getModelSchema().getName();
+                if (modelClass.getSimpleName().equals(modelName)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
     private void syncAndExpect(int numPages, int maxSyncRecords) throws AmplifyException, InterruptedException {
         initSyncProcessor(maxSyncRecords);
         // Arrange a subscription to the storage adapter. We're going to watch for changes.
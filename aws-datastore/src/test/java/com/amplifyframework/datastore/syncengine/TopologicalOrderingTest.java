@@ -28,6 +28,7 @@ import com.amplifyframework.testmodels.commentsblog.Post;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -66,6 +67,28 @@ public final class TopologicalOrderingTest {
         assertTrue(topologicalOrdering.check(postSchema).isAfter(blogSchema));
     }
 
+    /**
+     * Models are assigned to layers by the length of their chain of dependencies: a BlogOwner
+     * depends on nothing, a Blog belongs to a BlogOwner, a Post to a Blog, and a Comment to a Post.
+     * @throws AmplifyException On failure to load models into registry
+     */
+    @Test
+    public void layersOfBlogPostComment() throws AmplifyException {
+        final SimpleModelProvider provider =
+            SimpleModelProvider.withRandomVersion(Comment.class, Blog.class, BlogOwner.class, Post.class, Author.class);
+
+        final SchemaRegistry registry = SchemaRegistry.instance();
+        registry.clear();
+        registry.register(provider.models());
+
+        TopologicalOrdering topologicalOrdering = TopologicalOrdering.forRegisteredModels(registry, provider);
+
+        assertEquals(0, topologicalOrdering.layerOf(findSchema(registry, BlogOwner.class)));
+        assertEquals(1, topologicalOrdering.layerOf(findSchema(registry, Blog.class)));
+        assertEquals(2, topologicalOrdering.layerOf(findSchema(registry, Post.class)));
+        assertEquals(3, topologicalOrdering.layerOf(findSchema(registry, Comment.class)));
+    }
+
     /**
      * Find a {@link ModelSchema} in an {@link SchemaRegistry}, looking up by the
      * model's {@link Class}.
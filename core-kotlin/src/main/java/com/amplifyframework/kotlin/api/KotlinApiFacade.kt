@@ -24,14 +24,19 @@ import com.amplifyframework.api.rest.RestResponse
 import com.amplifyframework.core.Amplify
 import com.amplifyframework.core.async.Cancelable
 import com.amplifyframework.core.async.NoOpCancelable
+import java.io.InputStream
 import kotlin.coroutines.resume
 import kotlin.coroutines.resumeWithException
+import kotlinx.coroutines.CancellableContinuation
+import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.FlowPreview
+import kotlinx.coroutines.asExecutor
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.flow.flattenMerge
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.onCompletion
@@ -115,24 +120,87 @@ class KotlinApiFacade(private val delegate: Delegate = Amplify.API) : Api {
     @Throws(ApiException::class)
     override suspend fun get(request: RestOptions, apiName: String?): RestResponse {
         return suspendCancellableCoroutine { continuation ->
-            val operation = if (apiName != null) {
-                delegate.get(
-                    apiName,
-                    request,
-                    { continuation.resume(it) },
-                    { continuation.resumeWithException(it) }
-                )
-            } else {
-                delegate.get(
-                    request,
-                    { continuation.resume(it) },
-                    { continuation.resumeWithException(it) }
-                )
+            val operation = startGet(request, apiName, continuation)
+            continuation.invokeOnCancellation { operation?.cancel() }
+        }
+    }
+
+    private fun startGet(
+        request: RestOptions,
+        apiName: String?,
+        continuation: CancellableContinuation<RestResponse>
+    ): Cancelable? {
+        return if (apiName != null) {
+            delegate.get(
+                apiName,
+                request,
+                { continuation.resume(it) },
+                { continuation.resumeWithException(it) }
+            )
+        } else {
+            delegate.get(
+                request,
+                { continuation.resume(it) },
+                { continuation.resumeWithException(it) }
+            )
+        }
+    }
+
+    // Each chunk is read only once the previous one has been collected, so a slow
+    // collector slows down the download, instead of buffering the body.
+    // A blocking read from the socket can't be interrupted, so the operation is
+    // canceled instead, which fails the read, as soon as the collection is cancelled.
+    override fun getStream(request: RestOptions, apiName: String?): Flow<ByteArray> = flow {
+        var operation: Cancelable? = null
+        try {
+            val response = suspendCancellableCoroutine<RestResponse> { continuation ->
+                operation = startGet(withStreamingResponse(request), apiName, continuation)
+                continuation.invokeOnCancellation { operation?.cancel() }
             }
+            val dataStream = response.dataStream ?: return@flow
+            dataStream.use { stream ->
+                if (!response.code.isSuccessful) {
+                    throw ApiException(
+                        "GET request failed with ${response.code}.",
+                        "Check the status code of the response."
+                    )
+                }
+                val buffer = ByteArray(STREAM_CHUNK_SIZE)
+                while (true) {
+                    val count = readChunk(stream, buffer, operation)
+                    if (count < 0) {
+                        break
+                    }
+                    emit(buffer.copyOf(count))
+                }
+            }
+        } finally {
+            operation?.cancel()
+        }
+    }
+
+    private suspend fun readChunk(stream: InputStream, buffer: ByteArray, operation: Cancelable?): Int {
+        return suspendCancellableCoroutine { continuation ->
             continuation.invokeOnCancellation { operation?.cancel() }
+            Dispatchers.IO.asExecutor().execute {
+                continuation.resumeWith(runCatching { stream.read(buffer) })
+            }
         }
     }
 
+    private fun withStreamingResponse(request: RestOptions): RestOptions {
+        if (request.isStreamingResponse) {
+            return request
+        }
+        val builder = RestOptions.builder()
+            .addPath(request.path)
+            .addHeaders(request.headers)
+            .addQueryParameters(request.queryParameters)
+            .streamResponse(true)
+        request.data?.let { builder.addBody(it) }
+        return builder.build()
+    }
+
     @Throws(ApiException::class)
     override suspend fun put(request: RestOptions, apiName: String?): RestResponse {
         return suspendCancellableCoroutine { continuation ->
@@ -275,4 +343,8 @@ class KotlinApiFacade(private val delegate: Delegate = Amplify.API) : Api {
                 .onCompletion { cancelable.cancel() }
         }
     }
+
+    private companion object {
+        const val STREAM_CHUNK_SIZE = 8 * 1024
+    }
 }
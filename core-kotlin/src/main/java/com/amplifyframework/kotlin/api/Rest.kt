@@ -18,6 +18,8 @@ package com.amplifyframework.kotlin.api
 import com.amplifyframework.api.ApiException
 import com.amplifyframework.api.rest.RestOptions
 import com.amplifyframework.api.rest.RestResponse
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
 
 interface Rest {
     /**
@@ -30,6 +32,35 @@ interface Rest {
     @Throws(ApiException::class)
     suspend fun get(request: RestOptions, apiName: String? = null): RestResponse
 
+    /**
+     * Issue a GET request against an API, and stream the body of its response.
+     * The body is read from the network as the flow is collected, so it is never
+     * held in memory as a whole. Cancelling the collection cancels the request.
+     * The flow fails with an [ApiException] if the request fails, or if the
+     * response does not have a successful status code.
+     *
+     * By default, the response is fetched with [get], and its whole body is
+     * emitted as a single chunk. Implementations which can stream the body
+     * override this.
+     * @param request Request options
+     * @param apiName One of the named APIs in your configuration file;
+     *                if not specified, uses the first REST API found
+     * @return Flow of the chunks of the body of the response
+     */
+    fun getStream(request: RestOptions, apiName: String? = null): Flow<ByteArray> = flow {
+        val response = get(request, apiName)
+        if (!response.code.isSuccessful) {
+            throw ApiException(
+                "GET request failed with ${response.code}.",
+                "Check the status code of the response."
+            )
+        }
+        val body = response.data?.rawBytes
+        if (body != null && body.isNotEmpty()) {
+            emit(body)
+        }
+    }
+
     /**
      * Issue a PUT request against an API.
      * @param request Request options
@@ -73,6 +73,22 @@ interface DataStore {
     @Throws(DataStoreException::class)
     fun <T : Model> query(itemClass: KClass<T>, options: QueryOptions = Where.matchesAll()): Flow<T>
 
+    /**
+     * Query the DataStore to find items of the requested model, reading them from
+     * local storage one at a time as the flow is collected. Unlike [query], the results
+     * are not all loaded into memory first, and a slow collector slows down the read.
+     * Cancelling the flow stops the read, and releases its resources.
+     * By default, the results are read with [query], and so are all loaded into memory.
+     * @param itemClass Class of item to query
+     * @param options Additional search filter to match items;
+     *                if not provided, a "match all" option is used by default
+     * @return A flow of items matching the search criteria
+     */
+    @ExperimentalCoroutinesApi
+    @Throws(DataStoreException::class)
+    fun <T : Model> queryStream(itemClass: KClass<T>, options: QueryOptions = Where.matchesAll()): Flow<T> =
+        query(itemClass, options)
+
     /**
      * Observe all changes to items in the DataStore.
      * This function suspends until observation has been setup.
@@ -25,6 +25,7 @@ import com.amplifyframework.datastore.DataStoreCategoryBehavior as Delegate
 import com.amplifyframework.datastore.DataStoreException
 import com.amplifyframework.datastore.DataStoreItemChange
 import com.amplifyframework.datastore.DataStoreQuerySnapshot
+import java.util.concurrent.atomic.AtomicReference
 import kotlin.coroutines.resume
 import kotlin.coroutines.resumeWithException
 import kotlin.coroutines.suspendCoroutine
@@ -99,6 +100,25 @@ class KotlinDataStoreFacade(private val delegate: Delegate = Amplify.DataStore)
         }
     }
 
+    @ExperimentalCoroutinesApi
+    @Throws(DataStoreException::class)
+    override fun <T : Model> queryStream(itemClass: KClass<T>, options: QueryOptions): Flow<T> {
+        return callbackFlow {
+            val cancelable = AtomicReference<Cancelable>()
+            delegate.queryStream(
+                itemClass.java,
+                options,
+                { cancelable.set(it) },
+                // Items are delivered on the storage thread, one at a time. Blocking it
+                // while the channel is full stops the next row from being read.
+                { trySendBlocking(it) },
+                { close(it) },
+                { close() }
+            )
+            awaitClose { cancelable.get()?.cancel() }
+        }
+    }
+
     @OptIn(FlowPreview::class)
     @ExperimentalCoroutinesApi
     @Throws(DataStoreException::class)
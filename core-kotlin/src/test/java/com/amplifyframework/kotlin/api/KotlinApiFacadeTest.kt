@@ -20,19 +20,31 @@ import com.amplifyframework.api.ApiException
 import com.amplifyframework.api.graphql.GraphQLOperation
 import com.amplifyframework.api.graphql.GraphQLRequest
 import com.amplifyframework.api.graphql.GraphQLResponse
+import com.amplifyframework.api.rest.RestOperation
 import com.amplifyframework.api.rest.RestOptions
 import com.amplifyframework.api.rest.RestResponse
 import com.amplifyframework.core.Consumer
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.verify
+import java.io.ByteArrayInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.FlowPreview
 import kotlinx.coroutines.GlobalScope
+import kotlinx.coroutines.cancelAndJoin
 import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.Assert.assertArrayEquals
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
 import org.junit.Test
 
 /**
@@ -212,6 +224,81 @@ class KotlinApiFacadeTest {
         api.get(request)
     }
 
+    /**
+     * When the underlying get() emits a response with a streamed body,
+     * the body should be emitted in chunks from the flow.
+     */
+    @Test
+    fun getStreamEmitsBody() = runBlocking {
+        val request = RestOptions.builder().streamResponse(true).build()
+        val body = ByteArray(20_000) { it.toByte() }
+        val operation = mockk<RestOperation>(relaxed = true)
+        every {
+            delegate.get(eq(request), any(), any())
+        } answers {
+            val onResultArg = it.invocation.args[/* index of result consumer = */ 1]
+            val onResult = onResultArg as Consumer<RestResponse>
+            onResult.accept(RestResponse(200, emptyMap(), ByteArrayInputStream(body)))
+            operation
+        }
+        val chunks = api.getStream(request).toList()
+        assertTrue(chunks.size > 1)
+        assertArrayEquals(body, chunks.reduce { all, chunk -> all + chunk })
+        verify { operation.cancel() }
+    }
+
+    /**
+     * When the collection of the flow is cancelled while a chunk is being read,
+     * the underlying operation should be canceled, since that is what fails
+     * a read which is blocked on the socket.
+     */
+    @Test
+    fun getStreamCancelsOperationWhenCollectionIsCancelled() = runBlocking {
+        val request = RestOptions.builder().streamResponse(true).build()
+        val readStarted = CountDownLatch(1)
+        val operationCanceled = CountDownLatch(1)
+        val operation = mockk<RestOperation> {
+            every { cancel() } answers { operationCanceled.countDown() }
+        }
+        val blockingStream = object : InputStream() {
+            override fun read(): Int {
+                readStarted.countDown()
+                operationCanceled.await()
+                throw IOException("Canceled.")
+            }
+        }
+        every {
+            delegate.get(eq(request), any(), any())
+        } answers {
+            val onResultArg = it.invocation.args[/* index of result consumer = */ 1]
+            val onResult = onResultArg as Consumer<RestResponse>
+            onResult.accept(RestResponse(200, emptyMap(), blockingStream))
+            operation
+        }
+        val collection = launch(Dispatchers.IO) { api.getStream(request).toList() }
+        assertTrue(readStarted.await(5, TimeUnit.SECONDS))
+        withTimeout(TimeUnit.SECONDS.toMillis(5)) { collection.cancelAndJoin() }
+        verify { operation.cancel() }
+    }
+
+    /**
+     * When the underlying get() emits a response with an unsuccessful
+     * status code, the flow should fail.
+     */
+    @Test(expected = ApiException::class)
+    fun getStreamThrowsOnUnsuccessfulStatusCode(): Unit = runBlocking {
+        val request = RestOptions.builder().streamResponse(true).build()
+        every {
+            delegate.get(eq(request), any(), any())
+        } answers {
+            val onResultArg = it.invocation.args[/* index of result consumer = */ 1]
+            val onResult = onResultArg as Consumer<RestResponse>
+            onResult.accept(RestResponse(404, emptyMap(), ByteArrayInputStream("Not found".toByteArray())))
+            mockk<RestOperation>(relaxed = true)
+        }
+        api.getStream(request).toList()
+    }
+
     /**
      * When the underlying put() emits a response, it should
      * be returned from the Kotlin coroutine API.
@@ -233,6 +233,58 @@ class KotlinDataStoreFacadeTest {
             .toList() // Sufficient to exhaust the call chain
     }
 
+    /**
+     * When the delegate queryStream() streams results, they should be emitted as a
+     * flow on the Kotlin facade. Once the flow completes, the stream is cancelled.
+     */
+    @Test
+    fun queryStreamSucceeds(): Unit = runBlocking {
+        val cancelable = mockk<Cancelable>()
+        every { cancelable.cancel() } answers {}
+        val clazz = BlogOwner::class.java
+        val blogOwners = listOf(
+            BlogOwner.builder()
+                .name("Beatrice T. Smithers")
+                .build(),
+            BlogOwner.builder()
+                .name("Chuck & JoJo, Husband & Wife")
+                .build()
+        )
+        every {
+            delegate.queryStream(eq(clazz), any<QueryOptions>(), any(), any(), any(), any())
+        } answers {
+            val indexOfStartConsumer = 2
+            val indexOfItemConsumer = 3
+            val indexOfCompletionAction = 5
+            val onStart = it.invocation.args[indexOfStartConsumer] as Consumer<Cancelable>
+            val onItem = it.invocation.args[indexOfItemConsumer] as Consumer<BlogOwner>
+            val onComplete = it.invocation.args[indexOfCompletionAction] as Action
+            onStart.accept(cancelable)
+            blogOwners.forEach { blogOwner -> onItem.accept(blogOwner) }
+            onComplete.call()
+        }
+        assertEquals(blogOwners, dataStore.queryStream(BlogOwner::class).toList())
+        verify { cancelable.cancel() }
+    }
+
+    /**
+     * When the delegate queryStream() fails, the error should bubble up through
+     * the Kotlin facade.
+     */
+    @Test(expected = DataStoreException::class)
+    fun queryStreamFails(): Unit = runBlocking {
+        val error = DataStoreException("uh", "oh")
+        every {
+            delegate.queryStream(eq(BlogOwner::class.java), any<QueryOptions>(), any(), any(), any(), any())
+        } answers {
+            val indexOfErrorConsumer = 4
+            val onError = it.invocation.args[indexOfErrorConsumer] as Consumer<DataStoreException>
+            onError.accept(error)
+        }
+        dataStore.queryStream(BlogOwner::class)
+            .toList() // Sufficient to exhaust the call chain
+    }
+
     /**
      * When the underlying observe() method starts and emits values,
      * the Kotlin flow API should emit them onto the flow. When the user
@@ -34,6 +34,7 @@ public final class RestOptions {
     private final byte[] data;
     private final Map<String, String> headers;
     private final Map<String, String> queryParameters;
+    private final boolean streamingResponse;
 
     /**
      * Construct a REST request.
@@ -41,12 +42,15 @@ public final class RestOptions {
      * @param data Data for the rest option
      * @param headers Headers for the request.
      * @param queryParameters Query parameters for the request. This value is nullable
+     * @param streamingResponse Whether the body of the response is streamed
      */
     private RestOptions(String path,
                        byte[] data,
                        Map<String, String> headers,
-                       Map<String, String> queryParameters) {
+                       Map<String, String> queryParameters,
+                       boolean streamingResponse) {
         this.path = path;
+        this.streamingResponse = streamingResponse;
         this.data = data == null ? null : Arrays.copyOf(data, data.length);
         this.headers = headers == null ? Collections.emptyMap() : Immutable.of(headers);
         this.queryParameters = queryParameters == null ? Collections.emptyMap() : Immutable.of(queryParameters);
@@ -92,6 +96,14 @@ public final class RestOptions {
         return data != null;
     }
 
+    /**
+     * Checks if the body of the response is streamed, instead of being read into memory.
+     * @return True if the body of the response is available from {@link RestResponse#getDataStream()}
+     */
+    public boolean isStreamingResponse() {
+        return streamingResponse;
+    }
+
     /**
      * Gets a builder instance.
      * @return A builder instance
@@ -118,6 +130,9 @@ public final class RestOptions {
         if (!ObjectsCompat.equals(this.getHeaders(), that.getHeaders())) {
             return false;
         }
+        if (this.isStreamingResponse() != that.isStreamingResponse()) {
+            return false;
+        }
         return ObjectsCompat.equals(this.getQueryParameters(), that.getQueryParameters());
     }
 
@@ -127,6 +142,7 @@ public final class RestOptions {
         result = 31 * result + Arrays.hashCode(getData());
         result = 31 * result + (getHeaders() != null ? getHeaders().hashCode() : 0);
         result = 31 * result + (getQueryParameters() != null ? getQueryParameters().hashCode() : 0);
+        result = 31 * result + (isStreamingResponse() ? 1 : 0);
         return result;
     }
 
@@ -138,6 +154,7 @@ public final class RestOptions {
             ", data=" + Arrays.toString(data) +
             ", headers=" + headers +
             ", queryParameters=" + queryParameters +
+            ", streamingResponse=" + streamingResponse +
             '}';
     }
 
@@ -153,6 +170,7 @@ public final class RestOptions {
         private byte[] data;
         private Map<String, String> queryParameters;
         private Map<String, String> headers;
+        private boolean streamingResponse;
 
         Builder() { }
 
@@ -216,6 +234,18 @@ public final class RestOptions {
             return this;
         }
 
+        /**
+         * Configures whether the body of the response is streamed. A streamed body is not read into
+         * memory, and is instead available from {@link RestResponse#getDataStream()}, as it is received.
+         * This is meant for large downloads. Defaults to false.
+         * @param streamingResponse Whether to stream the body of the response
+         * @return Current Builder instance, for fluent method chaining
+         */
+        public Builder streamResponse(final boolean streamingResponse) {
+            this.streamingResponse = streamingResponse;
+            return this;
+        }
+
         /**
          * Builds the RestOptions.
          * @return RestOptions with all the property set.
@@ -225,7 +255,8 @@ public final class RestOptions {
                     this.path,
                     this.data,
                     this.headers,
-                    this.queryParameters);
+                    this.queryParameters,
+                    this.streamingResponse);
         }
     }
 }
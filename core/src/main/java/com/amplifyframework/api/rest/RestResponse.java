@@ -25,6 +25,7 @@ import com.amplifyframework.util.Range;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Map;
 
@@ -35,6 +36,7 @@ public final class RestResponse {
     private final Data data;
     private final Code code;
     private final Map<String, String> headers;
+    private final InputStream dataStream;
 
     /**
      * Constructs a response for the rest operation with empty data.
@@ -42,7 +44,7 @@ public final class RestResponse {
      * @param headers Map of HTTP headers of the response
      */
     public RestResponse(int statusCode, Map<String, String> headers) {
-        this(statusCode, headers, null);
+        this(statusCode, headers, (byte[]) null);
     }
 
     /**
@@ -55,6 +57,20 @@ public final class RestResponse {
         this.data = new Data(data);
         this.headers = headers;
         this.code = new Code(statusCode);
+        this.dataStream = null;
+    }
+
+    /**
+     * Constructs a response for the rest operation, whose body is streamed.
+     * @param statusCode Status code of the response
+     * @param headers Map of HTTP headers of the response
+     * @param dataStream Stream of the body of the response
+     */
+    public RestResponse(int statusCode, Map<String, String> headers, @NonNull InputStream dataStream) {
+        this.data = new Data(null);
+        this.headers = headers;
+        this.code = new Code(statusCode);
+        this.dataStream = dataStream;
     }
 
     /**
@@ -65,6 +81,19 @@ public final class RestResponse {
         return data;
     }
 
+    /**
+     * Get the stream of the body of the response, if it was requested with
+     * {@link RestOptions.Builder#streamResponse(boolean)}. The body is read from the network
+     * as the stream is read, so it is never held in memory as a whole. The stream may be read on
+     * any thread, and must be closed once it has been read, to release the connection. Reading
+     * the stream fails with an {@link java.io.IOException} once the operation is canceled.
+     * @return Stream of the body of the response, or null if the body is not streamed
+     */
+    @Nullable
+    public InputStream getDataStream() {
+        return dataStream;
+    }
+
     /**
      * Get the http status code of the response.
      * @return Valid status code. If the returned code is invalid, it returns -1.
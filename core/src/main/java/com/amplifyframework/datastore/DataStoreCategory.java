@@ -29,6 +29,7 @@ import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 
 import java.io.Serializable;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * DataStore simplifies local storage of your application data on the
@@ -73,6 +74,17 @@ public final class DataStoreCategory
         getSelectedPlugin().save(item, predicate, onItemSaved, onFailureToSave);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void saveAll(
+            @NonNull List<T> items,
+            @NonNull Consumer<List<DataStoreItemChange<T>>> onItemsSaved,
+            @NonNull Consumer<DataStoreException> onFailureToSave) {
+        getSelectedPlugin().saveAll(items, onItemsSaved, onFailureToSave);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -137,6 +149,21 @@ public final class DataStoreCategory
         getSelectedPlugin().query(itemClass, options, onQueryResults, onQueryFailure);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Model> void queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onQueryStarted,
+            @NonNull Consumer<T> onQueryResult,
+            @NonNull Consumer<DataStoreException> onQueryFailure,
+            @NonNull Action onQueryComplete) {
+        getSelectedPlugin().queryStream(
+            itemClass, options, onQueryStarted, onQueryResult, onQueryFailure, onQueryComplete);
+    }
+
     /**
      * {@inheritDoc}
      */
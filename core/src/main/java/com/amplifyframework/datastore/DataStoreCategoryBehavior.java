@@ -28,6 +28,8 @@ import com.amplifyframework.core.model.query.predicate.QueryPredicate;
 
 import java.io.Serializable;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A DataStore is a high-level abstraction of an object repository.
@@ -69,6 +71,29 @@ public interface DataStoreCategoryBehavior {
             @NonNull Consumer<DataStoreException> onFailureToSave
     );
 
+    /**
+     * Saves a batch of items into the DataStore. All of the items are written
+     * together: either every item is saved, or none of them are. This is
+     * considerably faster than saving the items one at a time, and is
+     * useful for importing large amounts of data.
+     *
+     * A DataStore which can't save a batch of items together emits a {@link DataStoreException},
+     * and saves none of the items. That is the default.
+     * @param items Items to save
+     * @param onItemsSaved Called upon successful save of all items, with one change per item
+     * @param onFailureToSave Called upon failure to save the items
+     * @param <T> The type of items being saved
+     */
+    default <T extends Model> void saveAll(
+            @NonNull List<T> items,
+            @NonNull Consumer<List<DataStoreItemChange<T>>> onItemsSaved,
+            @NonNull Consumer<DataStoreException> onFailureToSave) {
+        onFailureToSave.accept(new DataStoreException(
+            "This DataStore does not support saving a batch of items.",
+            "Save the items one at a time, with save(...)."
+        ));
+    }
+
     /**
      * Deletes an item from the DataStore. If item doesn't exist, then
      * operation succeeds with no-op.
@@ -163,6 +188,45 @@ public interface DataStoreCategoryBehavior {
             @NonNull Consumer<DataStoreException> onQueryFailure
     );
 
+    /**
+     * Query the DataStore to find items of the requested Java class, and stream the results
+     * back one at a time, as they are read from local storage. Unlike
+     * {@link #query(Class, QueryOptions, Consumer, Consumer)}, the results are not all loaded
+     * into memory first: the next item is only read after the previous one has been handed to
+     * {@code onQueryResult}, so a slow consumer slows down the read. This makes it suitable for
+     * scanning very large tables in constant memory.
+     *
+     * By default, the results are read with {@link #query(Class, QueryOptions, Consumer, Consumer)},
+     * and so are all loaded into memory, before they are streamed.
+     * @param itemClass Class of items that will be queried
+     * @param options Filtering, paging, and sorting options
+     * @param onQueryStarted Called when the query begins. The provided {@link Cancelable}
+     *                       may be used to stop the query early, and release its resources
+     * @param onQueryResult Called 0..n times, once for each item that matches the query
+     * @param onQueryFailure Called when there is a failure that interrupts the query
+     * @param onQueryComplete Called after the last item has been delivered, unless the query
+     *                        was cancelled or failed
+     * @param <T> The type of items being queried
+     */
+    default <T extends Model> void queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options,
+            @NonNull Consumer<Cancelable> onQueryStarted,
+            @NonNull Consumer<T> onQueryResult,
+            @NonNull Consumer<DataStoreException> onQueryFailure,
+            @NonNull Action onQueryComplete) {
+        final AtomicBoolean canceled = new AtomicBoolean(false);
+        onQueryStarted.accept(() -> canceled.set(true));
+        query(itemClass, options, results -> {
+            while (!canceled.get() && results.hasNext()) {
+                onQueryResult.accept(results.next());
+            }
+            if (!canceled.get()) {
+                onQueryComplete.call();
+            }
+        }, onQueryFailure);
+    }
+
 
         /**
          * Observe all changes to any/all item(s) in the DataStore.
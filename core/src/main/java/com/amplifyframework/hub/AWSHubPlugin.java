@@ -16,52 +16,95 @@
 package com.amplifyframework.hub;
 
 import android.content.Context;
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.core.util.ObjectsCompat;
 
+import com.amplifyframework.core.Amplify;
 import com.amplifyframework.core.BuildConfig;
 
 import org.json.JSONObject;
 
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An implementation of the {@link HubPlugin} which dispatches messages via
  * an {@link ExecutorService}.
+ *
+ * Subscriptions are indexed by channel, in copy-on-write lists, so publishing an event only visits
+ * the subscribers of its channel, without taking a lock. Each subscriber has its own queue of pending
+ * events, which it receives in order, one at a time. A subscriber with pending events occupies at most
+ * one task on a bounded thread pool, no matter how many events are published to it. The filter of a
+ * subscriber is run on that task too, right before an event would be delivered, so that a slow filter
+ * doesn't hold up the publisher.
+ *
+ * By default, a subscriber receives every event. A subscriber that only needs the latest state,
+ * or cannot keep up with a busy channel, can be subscribed with {@link SubscriberOptions} to coalesce
+ * pending events by name, or to cap the number of pending events. The number of pending and dropped
+ * events is exposed by {@link #getPendingEventCount()} and {@link #getDroppedEventCount()}. These options
+ * can be passed to {@link HubCategory#subscribe(HubChannel, HubEventFilter, HubSubscriber, SubscriberOptions)},
+ * as in {@code Amplify.Hub.subscribe(channel, filter, subscriber, options)}.
  */
 public final class AWSHubPlugin extends HubPlugin<Void> {
-    private final Set<Subscription> subscriptions;
+    // Number of events delivered to a subscriber before its task yields the thread to other subscribers.
+    private static final int MAX_EVENTS_PER_DISPATCH = 64;
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+    private final Map<HubChannel, List<Subscription>> subscriptionsByChannel;
+    private final Map<SubscriptionToken, Subscription> subscriptionsByToken;
     private final ExecutorService executorService;
+    private final AtomicInteger pendingEventCount;
+    private final AtomicLong droppedEventCount;
 
     /**
      * Constructs a new AWSHubPlugin.
      */
     @SuppressWarnings("WeakerAccess") // This is a public API
     public AWSHubPlugin() {
-        this.subscriptions = new HashSet<>();
-        this.executorService = Executors.newCachedThreadPool();
+        this(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    }
+
+    @VisibleForTesting
+    AWSHubPlugin(int maxThreads) {
+        Map<HubChannel, List<Subscription>> subscriptionsByChannel = new EnumMap<>(HubChannel.class);
+        for (HubChannel hubChannel : HubChannel.values()) {
+            subscriptionsByChannel.put(hubChannel, new CopyOnWriteArrayList<>());
+        }
+        this.subscriptionsByChannel = Collections.unmodifiableMap(subscriptionsByChannel);
+        this.subscriptionsByToken = new ConcurrentHashMap<>();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads,
+            IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        executor.allowCoreThreadTimeOut(true);
+        this.executorService = executor;
+        this.pendingEventCount = new AtomicInteger(0);
+        this.droppedEventCount = new AtomicLong(0);
     }
 
     @Override
     public <T> void publish(@NonNull HubChannel hubChannel, @NonNull HubEvent<T> hubEvent) {
         Objects.requireNonNull(hubChannel);
         Objects.requireNonNull(hubEvent);
-        executorService.execute(() -> {
-            synchronized (subscriptions) {
-                for (Subscription subscription : subscriptions) {
-                    if (subscription.getHubChannel().equals(hubChannel) &&
-                            subscription.getHubEventFilter().filter(hubEvent)) {
-                        executorService.execute(() -> subscription.getHubSubscriber().onEvent(hubEvent));
-                    }
-                }
-            }
-        });
+        for (Subscription subscription : subscriptionsByChannel.get(hubChannel)) {
+            subscription.enqueue(hubEvent);
+        }
     }
 
     @NonNull
@@ -77,29 +120,63 @@ public final class AWSHubPlugin extends HubPlugin<Void> {
             @NonNull HubChannel hubChannel,
             @NonNull HubEventFilter hubEventFilter,
             @NonNull HubSubscriber hubSubscriber) {
+        return subscribe(hubChannel, hubEventFilter, hubSubscriber, SubscriberOptions.defaults());
+    }
+
+    /**
+     * Subscribes to events on a channel, with options for how pending events are queued for the subscriber.
+     * @param hubChannel Channel to subscribe to
+     * @param hubEventFilter Filter for the events the subscriber receives
+     * @param hubSubscriber The subscriber
+     * @param options How pending events are queued for the subscriber
+     * @return A token which can be used to unsubscribe
+     */
+    @NonNull
+    public SubscriptionToken subscribe(
+            @NonNull HubChannel hubChannel,
+            @NonNull HubEventFilter hubEventFilter,
+            @NonNull HubSubscriber hubSubscriber,
+            @NonNull SubscriberOptions options) {
         Objects.requireNonNull(hubChannel);
         Objects.requireNonNull(hubEventFilter);
         Objects.requireNonNull(hubSubscriber);
+        Objects.requireNonNull(options);
         SubscriptionToken token = SubscriptionToken.create();
-        synchronized (subscriptions) {
-            subscriptions.add(new Subscription(token, hubChannel, hubEventFilter, hubSubscriber));
-        }
+        Subscription subscription = new Subscription(token, hubChannel, hubEventFilter, hubSubscriber, options,
+            executorService, pendingEventCount, droppedEventCount);
+        subscriptionsByToken.put(token, subscription);
+        subscriptionsByChannel.get(hubChannel).add(subscription);
         return token;
     }
 
     @Override
     public void unsubscribe(@NonNull SubscriptionToken subscriptionToken) {
         Objects.requireNonNull(subscriptionToken);
-        synchronized (subscriptions) {
-            Iterator<Subscription> iterator = subscriptions.iterator();
-            while (iterator.hasNext()) {
-                if (iterator.next().getSubscriptionToken().equals(subscriptionToken)) {
-                    iterator.remove();
-                }
-            }
+        Subscription subscription = subscriptionsByToken.remove(subscriptionToken);
+        if (subscription != null) {
+            subscriptionsByChannel.get(subscription.getHubChannel()).remove(subscription);
+            subscription.cancel();
         }
     }
 
+    /**
+     * Returns the number of events which have been published, but not yet delivered to a subscriber,
+     * across all subscribers.
+     * @return Number of pending events
+     */
+    public int getPendingEventCount() {
+        return pendingEventCount.get();
+    }
+
+    /**
+     * Returns the number of events which were never delivered to a subscriber because its queue of
+     * pending events was full. See {@link SubscriberOptions.Builder#maxPendingEvents(int)}.
+     * @return Number of dropped events, since the plugin was created
+     */
+    public long getDroppedEventCount() {
+        return droppedEventCount.get();
+    }
+
     @NonNull
     @Override
     public String getPluginKey() {
@@ -122,23 +199,230 @@ public final class AWSHubPlugin extends HubPlugin<Void> {
     }
 
     /**
-     * Encapsulates information about a subscription.
+     * Options for how the events published to a subscriber are queued until it receives them.
+     */
+    public static final class SubscriberOptions {
+        private final boolean coalesceByEventName;
+        private final int maxPendingEvents;
+
+        private SubscriberOptions(Builder builder) {
+            this.coalesceByEventName = builder.coalesceByEventName;
+            this.maxPendingEvents = builder.maxPendingEvents;
+        }
+
+        /**
+         * Returns the default options: every event is queued, and delivered.
+         * @return Default subscriber options
+         */
+        @NonNull
+        public static SubscriberOptions defaults() {
+            return builder().build();
+        }
+
+        /**
+         * Begins construction of subscriber options.
+         * @return A builder for subscriber options
+         */
+        @NonNull
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Returns whether a pending event is replaced by a newer event with the same name.
+         * @return true if pending events are coalesced by name
+         */
+        public boolean isCoalesceByEventName() {
+            return coalesceByEventName;
+        }
+
+        /**
+         * Returns the maximum number of events queued for the subscriber, after which the oldest
+         * pending event is dropped to make room for a new one.
+         * @return Maximum number of pending events
+         */
+        @IntRange(from = 1)
+        public int getMaxPendingEvents() {
+            return maxPendingEvents;
+        }
+
+        /**
+         * Builds {@link SubscriberOptions}.
+         */
+        public static final class Builder {
+            private boolean coalesceByEventName;
+            private int maxPendingEvents;
+
+            private Builder() {
+                this.coalesceByEventName = false;
+                this.maxPendingEvents = Integer.MAX_VALUE;
+            }
+
+            /**
+             * Sets whether a pending event is replaced by a newer event with the same name, so that
+             * a subscriber which falls behind only receives the latest event of each name. Events are
+             * filtered when they are delivered, so a pending event is replaced even by a newer event
+             * that the filter of the subscriber rejects.
+             * @param coalesceByEventName true to coalesce pending events by name
+             * @return Current builder instance, for fluent construction
+             */
+            @NonNull
+            public Builder coalesceByEventName(boolean coalesceByEventName) {
+                this.coalesceByEventName = coalesceByEventName;
+                return this;
+            }
+
+            /**
+             * Sets the maximum number of events queued for the subscriber. When it is reached, the
+             * oldest pending event is dropped to make room for a new one. Unbounded by default. Events
+             * are queued before they are filtered, so events that the filter rejects count too.
+             * @param maxPendingEvents Maximum number of pending events
+             * @return Current builder instance, for fluent construction
+             */
+            @NonNull
+            public Builder maxPendingEvents(@IntRange(from = 1) int maxPendingEvents) {
+                if (maxPendingEvents < 1) {
+                    throw new IllegalArgumentException("maxPendingEvents must be at least 1.");
+                }
+                this.maxPendingEvents = maxPendingEvents;
+                return this;
+            }
+
+            /**
+             * Builds the subscriber options.
+             * @return Subscriber options
+             */
+            @NonNull
+            public SubscriberOptions build() {
+                return new SubscriberOptions(this);
+            }
+        }
+    }
+
+    /**
+     * Encapsulates information about a subscription, and the events pending delivery to its subscriber.
      */
     static final class Subscription {
         private final SubscriptionToken subscriptionToken;
         private final HubChannel channel;
         private final HubEventFilter hubEventFilter;
         private final HubSubscriber hubSubscriber;
+        private final SubscriberOptions options;
+        private final Executor executor;
+        private final AtomicInteger pendingEventCount;
+        private final AtomicLong droppedEventCount;
+
+        // Guarded by this.
+        private final Deque<HubEvent<?>> pendingEvents;
+        private boolean dispatchScheduled;
+        private boolean cancelled;
 
         Subscription(
                 @NonNull SubscriptionToken subscriptionToken,
                 @NonNull HubChannel channel,
                 @NonNull HubEventFilter hubEventFilter,
-                @NonNull HubSubscriber hubSubscriber) {
+                @NonNull HubSubscriber hubSubscriber,
+                @NonNull SubscriberOptions options,
+                @NonNull Executor executor,
+                @NonNull AtomicInteger pendingEventCount,
+                @NonNull AtomicLong droppedEventCount) {
             this.subscriptionToken = Objects.requireNonNull(subscriptionToken);
             this.channel = Objects.requireNonNull(channel);
             this.hubEventFilter = Objects.requireNonNull(hubEventFilter);
             this.hubSubscriber = Objects.requireNonNull(hubSubscriber);
+            this.options = Objects.requireNonNull(options);
+            this.executor = Objects.requireNonNull(executor);
+            this.pendingEventCount = Objects.requireNonNull(pendingEventCount);
+            this.droppedEventCount = Objects.requireNonNull(droppedEventCount);
+            this.pendingEvents = new ArrayDeque<>();
+        }
+
+        // A filter that throws rejects the event, rather than failing the dispatch of the other events.
+        private boolean accepts(HubEvent<?> hubEvent) {
+            try {
+                return hubEventFilter.filter(hubEvent);
+            } catch (RuntimeException exception) {
+                Amplify.Logging.forNamespace("amplify:core")
+                    .warn("Hub event filter failed for " + hubEvent.getName(), exception);
+                return false;
+            }
+        }
+
+        /**
+         * Adds an event to the events pending delivery to the subscriber, and schedules their dispatch
+         * unless it is already scheduled.
+         * @param hubEvent Event to deliver
+         */
+        void enqueue(HubEvent<?> hubEvent) {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                addPendingEvent(hubEvent);
+                if (dispatchScheduled) {
+                    return;
+                }
+                dispatchScheduled = true;
+            }
+            executor.execute(this::dispatch);
+        }
+
+        // Guarded by this.
+        private void addPendingEvent(HubEvent<?> hubEvent) {
+            if (options.isCoalesceByEventName()) {
+                Iterator<HubEvent<?>> iterator = pendingEvents.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().getName().equals(hubEvent.getName())) {
+                        iterator.remove();
+                        pendingEventCount.decrementAndGet();
+                    }
+                }
+            }
+            if (pendingEvents.size() >= options.getMaxPendingEvents()) {
+                pendingEvents.removeFirst();
+                pendingEventCount.decrementAndGet();
+                droppedEventCount.incrementAndGet();
+            }
+            pendingEvents.addLast(hubEvent);
+            pendingEventCount.incrementAndGet();
+        }
+
+        /**
+         * Delivers the pending events that pass the filter to the subscriber, in the order they were published.
+         * After a batch of events, the dispatch is scheduled again, so that a busy subscriber does not hold on
+         * to a thread.
+         */
+        void dispatch() {
+            for (int delivered = 0; delivered < MAX_EVENTS_PER_DISPATCH; delivered++) {
+                HubEvent<?> hubEvent;
+                synchronized (this) {
+                    hubEvent = pendingEvents.pollFirst();
+                    if (hubEvent == null) {
+                        dispatchScheduled = false;
+                        return;
+                    }
+                }
+                pendingEventCount.decrementAndGet();
+                if (!accepts(hubEvent)) {
+                    continue;
+                }
+                try {
+                    hubSubscriber.onEvent(hubEvent);
+                } catch (RuntimeException exception) {
+                    Amplify.Logging.forNamespace("amplify:core")
+                        .warn("Hub subscriber failed to handle " + hubEvent.getName(), exception);
+                }
+            }
+            executor.execute(this::dispatch);
+        }
+
+        /**
+         * Drops the pending events. No more events are delivered to the subscriber.
+         */
+        synchronized void cancel() {
+            cancelled = true;
+            pendingEventCount.addAndGet(-pendingEvents.size());
+            pendingEvents.clear();
         }
 
         SubscriptionToken getSubscriptionToken() {
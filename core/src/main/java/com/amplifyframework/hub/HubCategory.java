@@ -59,6 +59,28 @@ public final class HubCategory extends Category<HubPlugin<?>> implements HubCate
         return getHubPlugin().subscribe(hubChannel, hubEventFilter, hubSubscriber);
     }
 
+    /**
+     * Subscribes to events on a channel, with options for how pending events are queued for the
+     * subscriber. The options apply when the Hub plugin in use is the {@link AWSHubPlugin}, which is
+     * the default one. Other Hub plugins are subscribed to without them.
+     * @param hubChannel Channel to subscribe to
+     * @param hubEventFilter Filter for the events the subscriber receives
+     * @param hubSubscriber The subscriber
+     * @param options How pending events are queued for the subscriber
+     * @return A token which can be used to unsubscribe
+     */
+    @NonNull
+    public SubscriptionToken subscribe(@NonNull HubChannel hubChannel,
+                                       @NonNull HubEventFilter hubEventFilter,
+                                       @NonNull HubSubscriber hubSubscriber,
+                                       @NonNull AWSHubPlugin.SubscriberOptions options) {
+        HubPlugin<?> hubPlugin = getHubPlugin();
+        if (hubPlugin instanceof AWSHubPlugin) {
+            return ((AWSHubPlugin) hubPlugin).subscribe(hubChannel, hubEventFilter, hubSubscriber, options);
+        }
+        return hubPlugin.subscribe(hubChannel, hubEventFilter, hubSubscriber);
+    }
+
     @Override
     public void unsubscribe(@NonNull SubscriptionToken subscriptionToken) {
         getHubPlugin().unsubscribe(subscriptionToken);
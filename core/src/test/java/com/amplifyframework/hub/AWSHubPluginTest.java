@@ -20,12 +20,17 @@ import com.amplifyframework.testutils.Latch;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 
@@ -126,6 +131,110 @@ public final class AWSHubPluginTest {
         }
     }
 
+    /**
+     * Validates that a subscriber receives the events published to it in the order they were published.
+     */
+    @Test
+    public void eventsAreReceivedInPublicationOrder() {
+        final int eventCount = 500;
+        CountDownLatch latch = new CountDownLatch(eventCount);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        hub.subscribe(HubChannel.API, event -> {
+            received.add(event.getName());
+            latch.countDown();
+        });
+        List<String> published = new ArrayList<>();
+        for (int index = 0; index < eventCount; index++) {
+            published.add("event" + index);
+            hub.publish(HubChannel.API, HubEvent.create("event" + index));
+        }
+        Latch.await(latch);
+        assertEquals(published, received);
+    }
+
+    /**
+     * Validates that the filter of a subscriber is run by the dispatch of its events, rather than
+     * on the thread which publishes them.
+     */
+    @Test
+    public void filterIsNotRunOnPublisherThread() {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Thread> filterThreads = Collections.synchronizedList(new ArrayList<>());
+        hub.subscribe(HubChannel.DATASTORE, event -> {
+            filterThreads.add(Thread.currentThread());
+            return "accepted".equals(event.getName());
+        }, event -> latch.countDown());
+
+        hub.publish(HubChannel.DATASTORE, HubEvent.create("rejected"));
+        hub.publish(HubChannel.DATASTORE, HubEvent.create("accepted"));
+        Latch.await(latch);
+
+        assertEquals(2, filterThreads.size());
+        assertFalse(filterThreads.contains(Thread.currentThread()));
+    }
+
+    /**
+     * Validates that a subscriber which coalesces events by name receives only the latest
+     * of the events with the same name that were published while it was busy.
+     */
+    @Test
+    public void pendingEventsAreCoalescedByName() {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        hub.subscribe(HubChannel.AUTH, HubEventFilters.always(), event -> {
+            Latch.await(busy);
+            received.add(event.getData());
+            done.countDown();
+        }, AWSHubPlugin.SubscriberOptions.builder().coalesceByEventName(true).build());
+
+        // The first event is taken by the subscriber, which then blocks.
+        hub.publish(HubChannel.AUTH, HubEvent.create("state", 1));
+        while (hub.getPendingEventCount() > 0) {
+            Thread.yield();
+        }
+        hub.publish(HubChannel.AUTH, HubEvent.create("state", 2));
+        hub.publish(HubChannel.AUTH, HubEvent.create("other", 3));
+        hub.publish(HubChannel.AUTH, HubEvent.create("state", 4));
+        busy.countDown();
+
+        Latch.await(done);
+        assertEquals(Arrays.asList(1, 3, 4), received);
+        assertEquals(0, hub.getDroppedEventCount());
+    }
+
+    /**
+     * Validates that the oldest pending events are dropped, and counted, when a subscriber
+     * has more pending events than it allows.
+     */
+    @Test
+    public void oldestPendingEventsAreDroppedWhenQueueIsFull() {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        hub.subscribe(HubChannel.STORAGE, HubEventFilters.always(), event -> {
+            Latch.await(busy);
+            received.add(event.getData());
+            done.countDown();
+        }, AWSHubPlugin.SubscriberOptions.builder().maxPendingEvents(2).build());
+
+        // The first event is taken by the subscriber, which then blocks.
+        hub.publish(HubChannel.STORAGE, HubEvent.create("progress", 1));
+        while (hub.getPendingEventCount() > 0) {
+            Thread.yield();
+        }
+        for (int progress = 2; progress <= 5; progress++) {
+            hub.publish(HubChannel.STORAGE, HubEvent.create("progress", progress));
+        }
+        assertEquals(2, hub.getPendingEventCount());
+        assertEquals(2, hub.getDroppedEventCount());
+        busy.countDown();
+
+        Latch.await(done);
+        assertEquals(Arrays.asList(1, 4, 5), received);
+        assertEquals(0, hub.getPendingEventCount());
+    }
+
     enum Musician {
         JON_PARDI,
         MEMPHIS_SLIM,
@@ -33,9 +33,14 @@ import com.amplifyframework.datastore.DataStoreQuerySnapshot;
 import com.amplifyframework.rx.RxAdapters.VoidBehaviors;
 
 import java.util.Iterator;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Emitter;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 
 final class RxDataStoreBinding implements RxDataStoreCategoryBehavior {
@@ -104,6 +109,19 @@ final class RxDataStoreBinding implements RxDataStoreCategoryBehavior {
             dataStore.query(itemClass, options, onResult, onError));
     }
 
+    @NonNull
+    @Override
+    public <T extends Model> Flowable<T> queryStream(
+            @NonNull Class<T> itemClass, @NonNull QueryOptions options) {
+        return Flowable.generate(
+            () -> QueryStream.<T>start((onStart, onItem, onError, onComplete) ->
+                dataStore.queryStream(itemClass, options, onStart, onItem, onError, onComplete)
+            ),
+            QueryStream::next,
+            QueryStream::cancel
+        );
+    }
+
     @NonNull
     @Override
     public Observable<DataStoreItemChange<? extends Model>> observe() {
@@ -207,4 +225,71 @@ final class RxDataStoreBinding implements RxDataStoreCategoryBehavior {
         return VoidBehaviors.<DataStoreException>toCompletable((onComplete, onError) ->
                 method.emitTo(result -> onComplete.call(), onError));
     }
+
+    /**
+     * Hands the items of a streamed query over to a {@link Flowable}, one at a time. The storage
+     * thread waits while it hands over an item, until the subscriber requests it, so the next item
+     * is only read from storage on request.
+     * @param <T> The type of items being queried
+     */
+    private static final class QueryStream<T> {
+        private static final long HANDOFF_TIMEOUT_MS = 100;
+        private static final Object COMPLETE = new Object();
+
+        private final SynchronousQueue<Object> handoff;
+        private final AtomicReference<Cancelable> cancelable;
+        private final AtomicBoolean canceled;
+
+        private QueryStream() {
+            this.handoff = new SynchronousQueue<>();
+            this.cancelable = new AtomicReference<>();
+            this.canceled = new AtomicBoolean(false);
+        }
+
+        static <T> QueryStream<T> start(VoidBehaviors.StreamEmitter<Cancelable, T, DataStoreException> method) {
+            QueryStream<T> stream = new QueryStream<>();
+            method.streamTo(stream::onStarted, stream::handOff, stream::handOff, () -> stream.handOff(COMPLETE));
+            return stream;
+        }
+
+        @SuppressWarnings("unchecked") // Anything other than the terminal signals is an item.
+        void next(Emitter<T> emitter) throws InterruptedException {
+            final Object signal = handoff.take();
+            if (signal == COMPLETE) {
+                emitter.onComplete();
+            } else if (signal instanceof DataStoreException) {
+                emitter.onError((DataStoreException) signal);
+            } else {
+                emitter.onNext((T) signal);
+            }
+        }
+
+        void cancel() {
+            canceled.set(true);
+            final Cancelable started = cancelable.get();
+            if (started != null) {
+                started.cancel();
+            }
+        }
+
+        private void onStarted(Cancelable started) {
+            cancelable.set(started);
+            if (canceled.get()) {
+                started.cancel();
+            }
+        }
+
+        // Waits until the subscriber takes the signal, or until the subscription is cancelled.
+        private void handOff(Object signal) {
+            try {
+                while (!canceled.get()) {
+                    if (handoff.offer(signal, HANDOFF_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
 }
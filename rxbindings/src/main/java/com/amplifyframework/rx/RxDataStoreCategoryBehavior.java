@@ -25,7 +25,9 @@ import com.amplifyframework.datastore.DataStoreCategoryBehavior;
 import com.amplifyframework.datastore.DataStoreItemChange;
 import com.amplifyframework.datastore.DataStoreQuerySnapshot;
 
+import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 
 /**
@@ -136,6 +138,28 @@ public interface RxDataStoreCategoryBehavior {
             @NonNull QueryOptions options
     );
 
+    /**
+     * Query the DataStore to find items of the requested Java class, reading them from local
+     * storage one at a time, as they are requested. Unlike {@link #query(Class, QueryOptions)}, the
+     * results are not all loaded into memory first, and the next item is only read from storage once
+     * the subscriber requests it. A request waits until the item has been read, so subscribe on a
+     * background scheduler. Cancelling the subscription stops the read, and releases the storage cursor.
+     * By default, the results are read with {@link #query(Class, QueryOptions)}, and so are all
+     * loaded into memory, and buffered until they are requested.
+     * @param itemClass Class of items that will be queried
+     * @param options Filtering, paging, and sorting options
+     * @param <T> The type of items being queried
+     * @return A flowable stream of 0..n query results.
+     *         The Flowable will then terminate with either a completion or error.
+     * @see DataStoreCategoryBehavior#queryStream
+     */
+    @NonNull
+    default <T extends Model> Flowable<T> queryStream(
+            @NonNull Class<T> itemClass,
+            @NonNull QueryOptions options) {
+        return query(itemClass, options).toFlowable(BackpressureStrategy.BUFFER);
+    }
+
     /**
      * Observe all changes to any/all item(s) in the DataStore.
      * @return An observable stream of {@link DataStoreItemChange}s,
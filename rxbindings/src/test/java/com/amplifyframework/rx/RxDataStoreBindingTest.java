@@ -24,6 +24,8 @@ import com.amplifyframework.core.async.Cancelable;
 import com.amplifyframework.core.async.NoOpCancelable;
 import com.amplifyframework.core.model.Model;
 import com.amplifyframework.core.model.query.ObserveQueryOptions;
+import com.amplifyframework.core.model.query.QueryOptions;
+import com.amplifyframework.core.model.query.Where;
 import com.amplifyframework.datastore.DataStoreCategory;
 import com.amplifyframework.datastore.DataStoreCategoryConfiguration;
 import com.amplifyframework.datastore.DataStoreException;
@@ -43,15 +45,19 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
 
 import static com.amplifyframework.rx.Matchers.anyAction;
 import static com.amplifyframework.rx.Matchers.anyConsumer;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -270,6 +276,90 @@ public final class RxDataStoreBindingTest {
             .query(eq(Model.class), anyConsumer(), anyConsumer());
     }
 
+    /**
+     * When the DataStore category behavior streams query results, each of them
+     * should be emitted onto a Flowable in the Rx binding, followed by completion.
+     * @throws InterruptedException If interrupted while test subscriber is awaiting terminal event
+     */
+    @Test
+    public void queryStreamEmitsCategoryBehaviorResults() throws InterruptedException {
+        // Arrange: queryStream will stream some results from category behavior
+        List<Model> models = Arrays.asList(RandomModel.model(), RandomModel.model());
+        QueryOptions options = Where.matchesAll();
+        AtomicInteger itemsRead = new AtomicInteger();
+        arrangeQueryStream(options, models, itemsRead, new NoOpCancelable());
+
+        // Act: call Rx Binding to stream Model.class
+        TestSubscriber<Model> subscriber = rxDataStore.queryStream(Model.class, options).test();
+
+        // Assert:
+        subscriber.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        subscriber.assertValueSequence(models);
+        subscriber.assertComplete();
+
+        verify(delegate)
+            .queryStream(eq(Model.class), eq(options), anyConsumer(), anyConsumer(), anyConsumer(), anyAction());
+    }
+
+    /**
+     * The Rx binding only reads the next query result once the subscriber requests it. When the
+     * subscription is cancelled, the read is cancelled.
+     * @throws InterruptedException If interrupted while waiting for the stream
+     */
+    @Test
+    public void queryStreamReadsOnRequestAndCancelsRead() throws InterruptedException {
+        // Arrange: the category behavior has five results to stream.
+        List<Model> models = Arrays.asList(RandomModel.model(), RandomModel.model(), RandomModel.model(),
+            RandomModel.model(), RandomModel.model());
+        QueryOptions options = Where.matchesAll();
+        AtomicInteger itemsRead = new AtomicInteger();
+        Cancelable cancelable = mock(Cancelable.class);
+        arrangeQueryStream(options, models, itemsRead, cancelable);
+
+        // Act: request a single item.
+        TestSubscriber<Model> subscriber = rxDataStore.queryStream(Model.class, options).test(0);
+        subscriber.request(1);
+        subscriber.awaitCount(1);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS) / 4);
+
+        // Assert: besides the item that was requested, at most one more item has been read,
+        // which waits to be handed over until it is requested.
+        subscriber.assertValuesOnly(models.get(0));
+        assertTrue(itemsRead.get() <= 2);
+
+        // Act: cancel the subscription.
+        subscriber.cancel();
+
+        // Assert: the read is cancelled.
+        verify(cancelable, timeout(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS))).cancel();
+    }
+
+    // Arranges the category behavior to stream the provided models from another thread, the way
+    // storage does, counting each one as it is read.
+    private void arrangeQueryStream(
+            QueryOptions options, List<Model> models, AtomicInteger itemsRead, Cancelable cancelable) {
+        doAnswer(invocation -> {
+            // 0 = clazz, 1 = options, 2 = onStart, 3 = onNext, 4 = onFailure, 5 = onComplete
+            final int positionOfOnStart = 2;
+            Consumer<Cancelable> onStart = invocation.getArgument(positionOfOnStart);
+            onStart.accept(cancelable);
+
+            final int positionOfOnNext = 3;
+            Consumer<Model> onNext = invocation.getArgument(positionOfOnNext);
+            final int positionOfOnComplete = 5;
+            Action onComplete = invocation.getArgument(positionOfOnComplete);
+            new Thread(() -> {
+                for (Model model : models) {
+                    itemsRead.incrementAndGet();
+                    onNext.accept(model);
+                }
+                onComplete.call();
+            }).start();
+            return null; // "void"
+        }).when(delegate)
+            .queryStream(eq(Model.class), eq(options), anyConsumer(), anyConsumer(), anyConsumer(), anyAction());
+    }
+
     /**
      * The Rx binding for observing the DataStore should be an Observable stream
      * of DataStore changes. It should emit events whenever they are observed